@@ -58,9 +58,13 @@ import main.java.com.djrapitops.plan.systems.listeners.*;
 import main.java.com.djrapitops.plan.systems.processing.Processor;
 import main.java.com.djrapitops.plan.systems.processing.importing.importers.OfflinePlayerImporter;
 import main.java.com.djrapitops.plan.systems.queue.ProcessingQueue;
+import main.java.com.djrapitops.plan.systems.queue.ShutdownDrainer;
 import main.java.com.djrapitops.plan.systems.tasks.TPSCountTimer;
+import main.java.com.djrapitops.plan.systems.tasks.TickSampler;
+import main.java.com.djrapitops.plan.systems.tasks.WorldLoadCounter;
 import main.java.com.djrapitops.plan.systems.webserver.PageCache;
 import main.java.com.djrapitops.plan.systems.webserver.WebServer;
+import main.java.com.djrapitops.plan.utilities.ManageUtils;
 import main.java.com.djrapitops.plan.utilities.file.FileUtil;
 import main.java.com.djrapitops.plan.utilities.file.export.HtmlExport;
 import main.java.com.djrapitops.plan.utilities.metrics.BStats;
@@ -104,6 +108,7 @@ public class Plan extends BukkitPlugin implements IPlan {
 
     private ServerVariableHolder serverVariableHolder;
     private TPSCountTimer tpsCountTimer;
+    private final WorldLoadCounter worldLoadCounter = new WorldLoadCounter();
     private int bootAnalysisTaskID = -1;
 
     /**
@@ -214,6 +219,26 @@ public class Plan extends BukkitPlugin implements IPlan {
                 }
             }
             serverInfoManager.updateServerInfo();
+            RunnableFactory.createNew("Save sessions of previous shutdown", new AbsRunnable() {
+                @Override
+                public void run() {
+                    try {
+                        ShutdownDrainer.replaySpill(db, getShutdownSpillFile());
+                    } finally {
+                        cancel();
+                    }
+                }
+            }).runTaskAsynchronously();
+            RunnableFactory.createNew("Load Analysis snapshot", new AbsRunnable() {
+                @Override
+                public void run() {
+                    try {
+                        infoManager.loadAnalysisSnapshot();
+                    } finally {
+                        cancel();
+                    }
+                }
+            }).runTaskAsynchronously();
 
             Benchmark.stop("Enable", "WebServer Initialization");
 
@@ -267,8 +292,18 @@ public class Plan extends BukkitPlugin implements IPlan {
         String bootAnalysisRunMsg = Locale.get(Msg.ENABLE_BOOT_ANALYSIS_RUN_INFO).toString();
 
         Benchmark.start("Task Registration");
-        tpsCountTimer = new TPSCountTimer(this);
-        RunnableFactory.createNew(tpsCountTimer).runTaskTimer(1000, TimeAmount.SECOND.ticks());
+        worldLoadCounter.recount(getServer().getWorlds());
+        RunnableFactory.createNew("WorldLoadRecountTask", new AbsRunnable() {
+            @Override
+            public void run() {
+                worldLoadCounter.recount(getServer().getWorlds());
+            }
+        }).runTaskTimer(TimeAmount.MINUTE.ticks() * 5L, TimeAmount.MINUTE.ticks() * 5L);
+
+        TickSampler tickSampler = new TickSampler();
+        RunnableFactory.createNew(tickSampler).runTaskTimer(1, 1);
+        tpsCountTimer = new TPSCountTimer(this, tickSampler, worldLoadCounter);
+        RunnableFactory.createNew(tpsCountTimer).runTaskTimerAsynchronously(1000, TimeAmount.SECOND.ticks());
 
         // Analysis refresh settings
         int analysisRefreshMinutes = Settings.ANALYSIS_AUTO_REFRESH.getNumber();
@@ -280,6 +315,7 @@ public class Plan extends BukkitPlugin implements IPlan {
         ITask bootAnalysisTask = RunnableFactory.createNew("BootAnalysisTask", new AbsRunnable() {
             @Override
             public void run() {
+                // Results loaded from the snapshot of the previous run are shown until this analysis is complete.
                 Log.info(bootAnalysisRunMsg);
                 infoManager.refreshAnalysis(getServerUUID());
                 this.cancel();
@@ -304,6 +340,21 @@ public class Plan extends BukkitPlugin implements IPlan {
             }
         }).runTaskTimerAsynchronously(TimeAmount.SECOND.ticks(), TimeAmount.MINUTE.ticks() * 5L);
 
+        int backupIntervalHours = Settings.DB_BACKUP_INTERVAL.getNumber();
+        if (backupIntervalHours > 0 && db instanceof SQLiteDB) {
+            long backupPeriod = backupIntervalHours * TimeAmount.HOUR.ticks();
+            RunnableFactory.createNew("PeriodicDBBackupTask", new AbsRunnable() {
+                @Override
+                public void run() {
+                    try {
+                        ManageUtils.autoBackup(db.getConfigName(), db);
+                    } catch (Exception e) {
+                        Log.toLog(this.getClass().getName(), e);
+                    }
+                }
+            }).runTaskTimerAsynchronously(backupPeriod, backupPeriod);
+        }
+
         Benchmark.stop("Enable", "Task Registration");
     }
 
@@ -333,14 +384,20 @@ public class Plan extends BukkitPlugin implements IPlan {
             webServer.stop();
         }
 
+        if (hookHandler != null) {
+            hookHandler.disable();
+        }
+
         // Processes unprocessed processors
         if (processingQueue != null) {
             List<Processor> processors = processingQueue.stopAndReturnLeftovers();
             if (!reloading) {
                 Log.info("Processing unprocessed processors. (" + processors.size() + ")"); // TODO Move to Locale
-                for (Processor processor : processors) {
-                    processor.process();
-                }
+                int deadlineSeconds = Settings.SHUTDOWN_DEADLINE.getNumber();
+                new ShutdownDrainer(db, getShutdownSpillFile(),
+                        (deadlineSeconds > 0 ? deadlineSeconds : 15) * TimeAmount.SECOND.ms(),
+                        Runtime.getRuntime().availableProcessors()
+                ).drain(processors);
             } else {
                 RunnableFactory.createNew("Re-Add processors", new AbsRunnable() {
                     @Override
@@ -357,6 +414,10 @@ public class Plan extends BukkitPlugin implements IPlan {
         TaskCenter.cancelAllKnownTasks(Plan.class);
     }
 
+    private File getShutdownSpillFile() {
+        return new File(getDataFolder(), "unsaved-sessions.json");
+    }
+
     @Override
     public String getVersion() {
         return getDescription().getVersion();
@@ -379,6 +440,7 @@ public class Plan extends BukkitPlugin implements IPlan {
         registerListener(new PlanWorldChangeListener(this));
         registerListener(new PlanCommandPreprocessListener(this));
         registerListener(new PlanDeathEventListener(this));
+        registerListener(new PlanWorldLoadListener(worldLoadCounter));
         Benchmark.stop("Enable", "Register Listeners");
     }
 
@@ -407,6 +469,7 @@ public class Plan extends BukkitPlugin implements IPlan {
         }
 
         db.init();
+        db.scheduleClean(10L);
         Log.info(Locale.get(Msg.ENABLE_DB_INFO).parse(db.getConfigName()));
     }
 
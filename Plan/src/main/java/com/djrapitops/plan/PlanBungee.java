@@ -196,6 +196,7 @@ public class PlanBungee extends BungeePlugin implements IPlan {
     private void initDatabase() throws DatabaseInitException {
         db = new MySQLDB(this);
         db.init();
+        db.scheduleClean(10L);
     }
 
     @Override
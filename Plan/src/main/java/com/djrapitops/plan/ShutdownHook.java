@@ -17,8 +17,7 @@ import main.java.com.djrapitops.plan.systems.cache.SessionCache;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 
 import java.sql.SQLException;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Thread that is run when JVM shuts down.
@@ -88,6 +87,7 @@ public class ShutdownHook extends Thread {
 
     private void saveActiveSessions(Map<UUID, Session> activeSessions, long now) {
         SessionsTable sessionsTable = db.getSessionsTable();
+        Map<UUID, List<Session>> toSave = new HashMap<>();
         for (Map.Entry<UUID, Session> entry : activeSessions.entrySet()) {
             UUID uuid = entry.getKey();
             Session session = entry.getValue();
@@ -96,13 +96,27 @@ public class ShutdownHook extends Thread {
                 continue;
             }
             session.endSession(now);
-            try {
-                Log.debug("Shutdown: Saving a session: " + session.getSessionStart());
-                sessionsTable.saveSession(uuid, session);
-            } catch (SQLException e) {
-                Log.toLog(this.getClass().getName(), e);
-            }
+            Log.debug("Shutdown: Saving a session: " + session.getSessionStart());
+            toSave.put(uuid, Collections.singletonList(session));
+        }
+        try {
+            sessionsTable.saveSessions(toSave);
+        } catch (SQLException e) {
+            // Transaction was rolled back, save one by one so that one bad session does not prevent saving the rest.
+            saveSessionsOneByOne(sessionsTable, toSave);
         }
         activeSessions.clear();
     }
-}
\ No newline at end of file
+
+    private void saveSessionsOneByOne(SessionsTable sessionsTable, Map<UUID, List<Session>> sessions) {
+        for (Map.Entry<UUID, List<Session>> entry : sessions.entrySet()) {
+            for (Session session : entry.getValue()) {
+                try {
+                    sessionsTable.saveSession(entry.getKey(), session);
+                } catch (SQLException e) {
+                    Log.toLog(this.getClass().getName(), e);
+                }
+            }
+        }
+    }
+}
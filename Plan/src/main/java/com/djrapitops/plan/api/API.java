@@ -147,7 +147,7 @@ public class API {
     }
 
     /**
-     * Condition if the Analysis has been run and is cached to the AnalysisCache.
+     * Condition if the Analysis has been run since enable and is cached to the AnalysisCache.
      *
      * @return true/false
      */
@@ -179,7 +179,7 @@ public class API {
      * <p>
      * Condition if the data is cached to AnalysisCache before calling this.
      *
-     * @return AnalysisData object.
+     * @return AnalysisData object, null if the Analysis has not been run since enable.
      * @see AnalysisData
      */
     public AnalysisData getAnalysisDataFromCache() {
@@ -77,7 +77,7 @@ public class ManageBackupCommand extends SubCommand {
             public void run() {
                 try {
                     sender.sendMessage(Locale.get(Msg.MANAGE_INFO_START).parse());
-                    ManageUtils.backup(args[0], database);
+                    ManageUtils.backup(args[0], database, sender::sendMessage);
                     sender.sendMessage(Locale.get(Msg.MANAGE_INFO_COPY_SUCCESS).toString());
                 } catch (Exception e) {
                     Log.toLog(this.getClass().getName() + " " + getTaskName(), e);
@@ -88,7 +88,7 @@ public class ManageMoveCommand extends SubCommand {
                 try {
                     sender.sendMessage(Locale.get(Msg.MANAGE_INFO_START).parse());
 
-                    ManageUtils.clearAndCopy(toDatabase, fromDatabase);
+                    ManageUtils.clearAndCopy(toDatabase, fromDatabase, sender::sendMessage);
                     sender.sendMessage(Locale.get(Msg.MANAGE_INFO_MOVE_SUCCESS).toString());
                     boolean movedToCurrentDatabase = Verify.equalsIgnoreCase(toDatabase.getConfigName(), plugin.getDB().getConfigName());
                     Condition.isTrue(!movedToCurrentDatabase, Locale.get(Msg.MANAGE_INFO_CONFIG_REMINDER).toString(), sender);
@@ -92,7 +92,7 @@ public class ManageRestoreCommand extends SubCommand {
 
                     sender.sendMessage(Locale.get(Msg.MANAGE_INFO_START).parse());
 
-                    ManageUtils.clearAndCopy(database, backupDB);
+                    ManageUtils.clearAndCopy(database, backupDB, sender::sendMessage);
                     if (database.getConfigName().equals(plugin.getDB().getConfigName())) {
 //                            plugin.getDataCache().getCommandUseFromDb();
                     }
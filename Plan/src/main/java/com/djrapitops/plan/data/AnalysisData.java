@@ -1,6 +1,7 @@
 package main.java.com.djrapitops.plan.data;
 
 import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.data.container.JVMStats;
 import main.java.com.djrapitops.plan.data.container.Session;
 import main.java.com.djrapitops.plan.data.container.StickyData;
 import main.java.com.djrapitops.plan.data.container.TPS;
@@ -11,10 +12,13 @@ import main.java.com.djrapitops.plan.data.time.WorldTimes;
 import main.java.com.djrapitops.plan.settings.Settings;
 import main.java.com.djrapitops.plan.settings.theme.Theme;
 import main.java.com.djrapitops.plan.settings.theme.ThemeVal;
+import main.java.com.djrapitops.plan.systems.metrics.AnalysisSection;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.utilities.FormatUtils;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.AnalysisUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
+import main.java.com.djrapitops.plan.utilities.analysis.TPSStatistics;
 import main.java.com.djrapitops.plan.utilities.comparators.SessionStartComparator;
 import main.java.com.djrapitops.plan.utilities.html.Html;
 import main.java.com.djrapitops.plan.utilities.html.HtmlUtils;
@@ -29,7 +33,12 @@ import main.java.com.djrapitops.plan.utilities.html.structure.SessionTabStructur
 import main.java.com.djrapitops.plan.utilities.html.tables.CommandUseTableCreator;
 import main.java.com.djrapitops.plan.utilities.html.tables.SessionsTableCreator;
 
+import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -48,17 +57,40 @@ import java.util.stream.Collectors;
  */
 public class AnalysisData extends RawData {
 
+    /**
+     * Garbage collection time during a minute that is long enough to be noticed as lag.
+     */
+    private static final long LONG_GC_PAUSE_MS = 100L;
+
     private long refreshDate;
 
-    private Map<String, Long> analyzedValues;
+    private final Map<String, Long> analyzedValues;
     private Set<StickyData> stickyMonthData;
     private List<PlayerProfile> players;
 
     public AnalysisData() {
-        analyzedValues = new HashMap<>();
+        analyzedValues = new ConcurrentHashMap<>();
         stickyMonthData = new HashSet<>();
     }
 
+    /**
+     * Constructor for restoring the results of an earlier analysis.
+     * <p>
+     * Players and sticky data are not restored, they are only used while analysing.
+     *
+     * @param refreshDate    Epoch ms the earlier analysis was run.
+     * @param values         Placeholders and values of the earlier analysis.
+     * @param analyzedValues Analyzed numbers of the earlier analysis.
+     * @see main.java.com.djrapitops.plan.systems.info.AnalysisSnapshot
+     */
+    public AnalysisData(long refreshDate, Map<String, Serializable> values, Map<String, Long> analyzedValues) {
+        this();
+        this.refreshDate = refreshDate;
+        this.analyzedValues.putAll(analyzedValues);
+        players = new ArrayList<>();
+        addValues(values);
+    }
+
     public void parsePluginsSection(Map<PluginData, AnalysisContainer> containers) {
         String[] navAndTabs = AnalysisPluginsTabContentCreator.createContent(containers);
         addValue("navPluginsTabs", navAndTabs[0]);
@@ -111,36 +143,71 @@ public class AnalysisData extends RawData {
         long playersTotal = got("playersTotal", players.size());
 
         List<TPS> tpsData = profile.getTPSData(0, now).collect(Collectors.toList());
-        List<TPS> tpsDataDay = profile.getTPSData(dayAgo, now).collect(Collectors.toList());
-        List<TPS> tpsDataWeek = profile.getTPSData(weekAgo, now).collect(Collectors.toList());
-        List<TPS> tpsDataMonth = profile.getTPSData(monthAgo, now).collect(Collectors.toList());
+        List<JVMStats> jvmStats = profile.getJvmStats();
+        TPSStatistics.Window[] tpsWindows = new TPSStatistics(tpsData).calculate(now, dayAgo, weekAgo, monthAgo);
+        TPSStatistics.Window tpsDay = tpsWindows[0];
+        TPSStatistics.Window tpsWeek = tpsWindows[1];
+        TPSStatistics.Window tpsMonth = tpsWindows[2];
 
         List<String> geoLocations = profile.getGeoLocations();
         Map<String, Integer> commandUsage = profile.getCommandUsage();
 
-        directProfileVariables(profile);
-        performanceTab(tpsData, tpsDataDay, tpsDataWeek, tpsDataMonth);
-        sessionData(monthAgo, sessions, allSessions);
-        onlineActivityNumbers(profile, sessions, players);
-        geolocationsTab(geoLocations);
-        commandUsage(commandUsage);
-
         addValue("ops", ops.size());
         addValue("playersTotal", playersTotal);
 
-        healthTab(now, players, tpsDataMonth);
-
         long totalPlaytime = profile.getTotalPlaytime();
         addValue("playtimeTotal", playersTotal != 0 ? FormatUtils.formatTimeAmount(totalPlaytime) : "No Players");
         addValue("playtimeAverage", playersTotal != 0 ? FormatUtils.formatTimeAmount(MathUtils.averageLong(totalPlaytime, playersTotal)) : "-");
+
+        // Sections only read the data above, health tab needs values from performance and online activity sections.
+        ForkJoinPool pool = new ForkJoinPool(Math.min(AnalysisSection.values().length, Runtime.getRuntime().availableProcessors()));
+        try {
+            CompletableFuture<Void> performance = section(pool, AnalysisSection.PERFORMANCE, () -> performanceTab(monthAgo, tpsData, jvmStats, tpsDay, tpsWeek, tpsMonth));
+            CompletableFuture<Void> onlineActivity = section(pool, AnalysisSection.ONLINE_ACTIVITY, () -> onlineActivityNumbers(profile, sessions, players));
+            CompletableFuture<Void> health = CompletableFuture.allOf(performance, onlineActivity)
+                    .thenCompose(ignored -> section(pool, AnalysisSection.HEALTH, () -> healthTab(now, profile, tpsMonth)));
+
+            CompletableFuture.allOf(
+                    section(pool, AnalysisSection.SERVER_PROFILE, () -> directProfileVariables(profile)),
+                    section(pool, AnalysisSection.SESSIONS, () -> sessionData(monthAgo, sessions, allSessions)),
+                    section(pool, AnalysisSection.GEOLOCATIONS, () -> geolocationsTab(geoLocations)),
+                    section(pool, AnalysisSection.COMMANDS, () -> commandUsage(commandUsage)),
+                    performance, onlineActivity, health
+            ).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> section(ForkJoinPool pool, AnalysisSection name, Runnable section) {
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                section.run();
+            } finally {
+                PlanMetrics.getAnalysisSectionTimer(name).recordSince(start);
+            }
+        }, pool);
     }
 
-    private void healthTab(long now, List<PlayerProfile> players, List<TPS> tpsDataMonth) {
-        TreeMap<Long, Map<String, Set<UUID>>> activityData = AnalysisUtils.turnToActivityDataMap(now, players);
+    private void healthTab(long now, ServerProfile profile, TPSStatistics.Window tpsMonth) {
+        Map<String, Set<UUID>> activityNow = AnalysisUtils.getActivityGroups(now, profile.getPlayers());
 
-        Map<String, Set<UUID>> activityNow = activityData.getOrDefault(now, new HashMap<>());
+        // Past weeks are stored in the database, only the current state is calculated.
+        TreeMap<Long, Map<String, Integer>> activityCounts = new TreeMap<>(profile.getActivityHistory());
+        Map<String, Integer> countsNow = new HashMap<>();
+        for (Map.Entry<String, Set<UUID>> entry : activityNow.entrySet()) {
+            countsNow.put(entry.getKey(), entry.getValue().size());
+        }
+        activityCounts.put(now, countsNow);
 
-        String[] activityStackSeries = ActivityStackGraphCreator.createSeries(activityData);
+        String[] activityStackSeries = ActivityStackGraphCreator.createSeries(activityCounts);
         String activityPieSeries = ActivityPieCreator.createSeriesData(activityNow);
 
         addValue("activityStackCategories", activityStackSeries[0]);
@@ -153,7 +220,7 @@ public class AnalysisData extends RawData {
 
         addValue("playersRegular", (veryActiveNow.size() + activeNow.size() + regularNow.size()));
 
-        HealthNotes healthNotes = new HealthNotes(this, activityData, tpsDataMonth, now);
+        HealthNotes healthNotes = new HealthNotes(this, activityNow, profile.getActivityFourWeeksAgo(), tpsMonth, now);
         healthNotes.analyzeHealth();
 
         addValue("healthNotes", healthNotes.parse());
@@ -305,10 +372,11 @@ public class AnalysisData extends RawData {
         addValue("playersBestPeak", allTimePeak != -1 ? profile.getAllTimePeakPlayers() : "-");
     }
 
-    private void performanceTab(List<TPS> tpsData, List<TPS> tpsDataDay, List<TPS> tpsDataWeek, List<TPS> tpsDataMonth) {
-        got("tpsSpikeMonth", ServerProfile.getLowSpikeCount(tpsDataMonth));
-        got("tpsSpikeWeek", ServerProfile.getLowSpikeCount(tpsDataWeek));
-        got("tpsSpikeDay", ServerProfile.getLowSpikeCount(tpsDataDay));
+    private void performanceTab(long monthAgo, List<TPS> tpsData, List<JVMStats> jvmStats,
+                                TPSStatistics.Window tpsDay, TPSStatistics.Window tpsWeek, TPSStatistics.Window tpsMonth) {
+        got("tpsSpikeMonth", tpsMonth.getLowSpikeCount());
+        got("tpsSpikeWeek", tpsWeek.getLowSpikeCount());
+        got("tpsSpikeDay", tpsDay.getLowSpikeCount());
         addValue("tpsSpikeMonth", value("tpsSpikeMonth"));
         addValue("tpsSpikeWeek", value("tpsSpikeWeek"));
         addValue("tpsSpikeDay", value("tpsSpikeDay"));
@@ -319,30 +387,65 @@ public class AnalysisData extends RawData {
         addValue("ramSeries", RamGraphCreator.buildSeriesDataString(tpsData));
         addValue("entitySeries", WorldLoadGraphCreator.buildSeriesDataStringEntities(tpsData));
         addValue("chunkSeries", WorldLoadGraphCreator.buildSeriesDataStringChunks(tpsData));
+        addValue("tickIntervalSeries", JVMGraphCreator.buildSeriesDataStringTickInterval(tpsData));
+        addValue("gcTimeSeries", JVMGraphCreator.buildSeriesDataStringGCTime(jvmStats));
+        addValue("allocationSeries", JVMGraphCreator.buildSeriesDataStringAllocationRate(jvmStats));
+        addValue("processCpuSeries", JVMGraphCreator.buildSeriesDataStringProcessCPU(jvmStats));
+        addValue("threadSeries", JVMGraphCreator.buildSeriesDataStringThreads(jvmStats));
+        addValue("metaspaceSeries", JVMGraphCreator.buildSeriesDataStringMetaspace(jvmStats));
+
+        lagMinutes(monthAgo, tpsData, jvmStats);
 
-        double averageCPUMonth = MathUtils.averageDouble(tpsDataMonth.stream().map(TPS::getCPUUsage).filter(i -> i != 0));
-        double averageCPUWeek = MathUtils.averageDouble(tpsDataWeek.stream().map(TPS::getCPUUsage).filter(i -> i != 0));
-        double averageCPUDay = MathUtils.averageDouble(tpsDataDay.stream().map(TPS::getCPUUsage).filter(i -> i != 0));
+        double averageCPUMonth = tpsMonth.getAverageCPU();
+        double averageCPUWeek = tpsWeek.getAverageCPU();
+        double averageCPUDay = tpsDay.getAverageCPU();
 
-        addValue("tpsAverageMonth", FormatUtils.cutDecimals(MathUtils.averageDouble(tpsDataMonth.stream().map(TPS::getTicksPerSecond))));
-        addValue("tpsAverageWeek", FormatUtils.cutDecimals(MathUtils.averageDouble(tpsDataWeek.stream().map(TPS::getTicksPerSecond))));
-        addValue("tpsAverageDay", FormatUtils.cutDecimals(MathUtils.averageDouble(tpsDataDay.stream().map(TPS::getTicksPerSecond))));
+        addValue("tpsAverageMonth", FormatUtils.cutDecimals(tpsMonth.getAverageTPS()));
+        addValue("tpsAverageWeek", FormatUtils.cutDecimals(tpsWeek.getAverageTPS()));
+        addValue("tpsAverageDay", FormatUtils.cutDecimals(tpsDay.getAverageTPS()));
 
         addValue("cpuAverageMonth", averageCPUMonth >= 0 ? FormatUtils.cutDecimals(averageCPUMonth) + "%" : "Unavailable");
         addValue("cpuAverageWeek", averageCPUWeek >= 0 ? FormatUtils.cutDecimals(averageCPUWeek) + "%" : "Unavailable");
         addValue("cpuAverageDay", averageCPUDay >= 0 ? FormatUtils.cutDecimals(averageCPUDay) + "%" : "Unavailable");
 
-        addValue("ramAverageMonth", FormatUtils.cutDecimals(MathUtils.averageLong(tpsDataMonth.stream().map(TPS::getUsedMemory).filter(i -> i != 0))));
-        addValue("ramAverageWeek", FormatUtils.cutDecimals(MathUtils.averageLong(tpsDataWeek.stream().map(TPS::getUsedMemory).filter(i -> i != 0))));
-        addValue("ramAverageDay", FormatUtils.cutDecimals(MathUtils.averageLong(tpsDataDay.stream().map(TPS::getUsedMemory).filter(i -> i != 0))));
+        addValue("ramAverageMonth", FormatUtils.cutDecimals(tpsMonth.getAverageRAM()));
+        addValue("ramAverageWeek", FormatUtils.cutDecimals(tpsWeek.getAverageRAM()));
+        addValue("ramAverageDay", FormatUtils.cutDecimals(tpsDay.getAverageRAM()));
 
-        addValue("entityAverageMonth", FormatUtils.cutDecimals(MathUtils.averageInt(tpsDataMonth.stream().map(TPS::getEntityCount).filter(i -> i != 0))));
-        addValue("entityAverageWeek", FormatUtils.cutDecimals(MathUtils.averageInt(tpsDataWeek.stream().map(TPS::getEntityCount).filter(i -> i != 0))));
-        addValue("entityAverageDay", FormatUtils.cutDecimals(MathUtils.averageInt(tpsDataDay.stream().map(TPS::getEntityCount).filter(i -> i != 0))));
+        addValue("entityAverageMonth", FormatUtils.cutDecimals(tpsMonth.getAverageEntities()));
+        addValue("entityAverageWeek", FormatUtils.cutDecimals(tpsWeek.getAverageEntities()));
+        addValue("entityAverageDay", FormatUtils.cutDecimals(tpsDay.getAverageEntities()));
+
+        addValue("chunkAverageMonth", FormatUtils.cutDecimals(tpsMonth.getAverageChunks()));
+        addValue("chunkAverageWeek", FormatUtils.cutDecimals(tpsWeek.getAverageChunks()));
+        addValue("chunkAverageDay", FormatUtils.cutDecimals(tpsDay.getAverageChunks()));
+    }
 
-        addValue("chunkAverageMonth", FormatUtils.cutDecimals(MathUtils.averageInt(tpsDataMonth.stream().map(TPS::getChunksLoaded).filter(i -> i != 0))));
-        addValue("chunkAverageWeek", FormatUtils.cutDecimals(MathUtils.averageInt(tpsDataWeek.stream().map(TPS::getChunksLoaded).filter(i -> i != 0))));
-        addValue("chunkAverageDay", FormatUtils.cutDecimals(MathUtils.averageInt(tpsDataDay.stream().map(TPS::getChunksLoaded).filter(i -> i != 0))));
+    /**
+     * Count minutes with lag spikes during the last month, and how many of them had long garbage collection pauses.
+     * <p>
+     * JVM statistics are saved with the same date as the TPS data point of the minute.
+     */
+    private void lagMinutes(long monthAgo, List<TPS> tpsData, List<JVMStats> jvmStats) {
+        Set<Long> gcMinutes = jvmStats.stream()
+                .filter(stats -> stats.getDate() >= monthAgo)
+                .filter(stats -> stats.getGCTime() >= LONG_GC_PAUSE_MS)
+                .map(JVMStats::getDate)
+                .collect(Collectors.toSet());
+
+        long lagMinutes = 0;
+        long gcLagMinutes = 0;
+        for (TPS tps : tpsData) {
+            if (tps.getDate() < monthAgo || tps.getLagSpikes() <= 0) {
+                continue;
+            }
+            lagMinutes++;
+            if (gcMinutes.contains(tps.getDate())) {
+                gcLagMinutes++;
+            }
+        }
+        got("lagMinutesMonth", lagMinutes);
+        got("gcLagMinutesMonth", gcLagMinutes);
     }
 
     private long got(String key, long v) {
@@ -354,6 +457,10 @@ public class AnalysisData extends RawData {
         return analyzedValues.getOrDefault(key, 0L);
     }
 
+    public Map<String, Long> getAnalyzedValues() {
+        return analyzedValues;
+    }
+
     public Set<StickyData> getStickyMonthData() {
         return stickyMonthData;
     }
@@ -0,0 +1,111 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data;
+
+import com.google.gson.Gson;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Groups of large AnalysisData values that the analysis page loads as JSON when a tab using them is opened.
+ * <p>
+ * Series values are already JSON arrays and are written as is, other values (Html and scripts) are written as JSON
+ * Strings.
+ *
+ * @author Rsl1122
+ */
+public enum AnalysisDataGroup {
+
+    PLAYERS_ONLINE("playersOnline", new String[]{"playersOnlineSeries"}),
+    PUNCH_CARD("punchCard", new String[]{"punchCardSeries"}),
+    PERFORMANCE("performance", new String[]{
+            "tpsSeries", "cpuSeries", "ramSeries", "entitySeries", "chunkSeries", "tickIntervalSeries",
+            "gcTimeSeries", "allocationSeries", "processCpuSeries", "threadSeries", "metaspaceSeries"
+    }),
+    SESSIONS("sessions", new String[0], "accordionSessions", "sessionTabGraphViewFunctions"),
+    PLAYERS("players", new String[0], "tablePlayerlist"),
+    GEOLOCATIONS("geolocations", new String[]{"geoMapSeries"});
+
+    private final String name;
+    private final String[] seriesKeys;
+    private final String[] textKeys;
+
+    AnalysisDataGroup(String name, String[] seriesKeys, String... textKeys) {
+        this.name = name;
+        this.seriesKeys = seriesKeys;
+        this.textKeys = textKeys;
+    }
+
+    /**
+     * Get a group by the name used in the address of the group.
+     *
+     * @param name Name of the group, for example "performance".
+     * @return Optional of the group, empty if there is no group with the name.
+     */
+    public static Optional<AnalysisDataGroup> getByName(String name) {
+        for (AnalysisDataGroup group : values()) {
+            if (group.name.equals(name)) {
+                return Optional.of(group);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Create a JSON object of all groups, used when the data is inlined to the analysis page.
+     *
+     * @param replaceMap Replace map of AnalysisData.
+     * @return JSON object of group name: JSON object of the group.
+     */
+    public static String allToJson(Map<String, Serializable> replaceMap) {
+        Gson gson = new Gson();
+        StringBuilder json = new StringBuilder("{");
+        AnalysisDataGroup[] groups = values();
+        for (int i = 0; i < groups.length; i++) {
+            if (i > 0) {
+                json.append(",");
+            }
+            json.append(gson.toJson(groups[i].name)).append(":");
+            groups[i].appendJson(json, replaceMap, gson);
+        }
+        return json.append("}").toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Create a JSON object of the values of this group.
+     *
+     * @param replaceMap Replace map of AnalysisData.
+     * @return JSON object of placeholder: value.
+     */
+    public String toJson(Map<String, Serializable> replaceMap) {
+        StringBuilder json = new StringBuilder();
+        appendJson(json, replaceMap, new Gson());
+        return json.toString();
+    }
+
+    private void appendJson(StringBuilder json, Map<String, Serializable> replaceMap, Gson gson) {
+        json.append("{");
+        boolean first = true;
+        for (String key : seriesKeys) {
+            Serializable value = replaceMap.get(key);
+            json.append(first ? "" : ",").append(gson.toJson(key)).append(":")
+                    .append(value != null ? value.toString() : "[]");
+            first = false;
+        }
+        for (String key : textKeys) {
+            Serializable value = replaceMap.get(key);
+            json.append(first ? "" : ",").append(gson.toJson(key)).append(":")
+                    .append(gson.toJson(value != null ? value.toString() : ""));
+            first = false;
+        }
+        json.append("}");
+    }
+}
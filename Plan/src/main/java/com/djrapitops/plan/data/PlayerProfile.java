@@ -21,6 +21,7 @@ import org.bukkit.entity.Player;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -76,7 +77,7 @@ public class PlayerProfile implements OfflinePlayer {
         geoInformation = new ArrayList<>();
 
         pluginReplaceMap = new HashMap<>();
-        activityIndex = new HashMap<>();
+        activityIndex = new ConcurrentHashMap<>();
     }
 
     // Calculating Getters
@@ -166,7 +167,7 @@ public class PlayerProfile implements OfflinePlayer {
      * @return returns the WorldTimes in the "null" key of the map.
      */
     public WorldTimes getWorldTimes() {
-        return worldTimesMap.getOrDefault(null, new WorldTimes(new HashMap<>()));
+        return worldTimesMap.getOrDefault(null, new WorldTimes());
     }
 
     /**
@@ -590,7 +591,7 @@ public class PlayerProfile implements OfflinePlayer {
             UUID serverUUID = entry.getKey();
             List<Session> sessions = entry.getValue();
 
-            WorldTimes times = worldTimesMap.getOrDefault(serverUUID, new WorldTimes(new HashMap<>()));
+            WorldTimes times = worldTimesMap.getOrDefault(serverUUID, new WorldTimes());
             for (Session session : sessions) {
                 WorldTimes worldTimes = session.getWorldTimes();
                 times.add(worldTimes);
@@ -3,6 +3,7 @@ package main.java.com.djrapitops.plan.data;
 import com.djrapitops.plugin.utilities.Verify;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,9 +19,11 @@ public abstract class RawData {
 
     /**
      * Only used by subclasses.
+     * <p>
+     * Values can be added from multiple threads, AnalysisData runs its sections in parallel.
      */
     public RawData() {
-        replaceMap = new HashMap<>();
+        replaceMap = Collections.synchronizedMap(new HashMap<>());
     }
 
     /**
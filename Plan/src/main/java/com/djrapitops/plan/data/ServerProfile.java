@@ -9,6 +9,7 @@ import com.djrapitops.plugin.api.TimeAmount;
 import main.java.com.djrapitops.plan.Plan;
 import main.java.com.djrapitops.plan.PlanBungee;
 import main.java.com.djrapitops.plan.data.container.GeoInfo;
+import main.java.com.djrapitops.plan.data.container.JVMStats;
 import main.java.com.djrapitops.plan.data.container.PlayerKill;
 import main.java.com.djrapitops.plan.data.container.Session;
 import main.java.com.djrapitops.plan.data.container.TPS;
@@ -40,6 +41,7 @@ public class ServerProfile {
     // Database information
     private List<PlayerProfile> players;
     private List<TPS> tps;
+    private List<JVMStats> jvmStats;
     private Map<String, Integer> commandUsage;
 
     // Information calculated with SQL
@@ -48,6 +50,8 @@ public class ServerProfile {
     private int lastPeakPlayers;
     private long allTimePeak;
     private int allTimePeakPlayers;
+    private TreeMap<Long, Map<String, Integer>> activityHistory;
+    private Map<String, Set<UUID>> activityFourWeeksAgo;
 
     // Calculated once
     private Map<UUID, PlayerProfile> playerMap;
@@ -56,7 +60,10 @@ public class ServerProfile {
         this.serverUUID = serverUUID;
         players = new ArrayList<>();
         tps = new ArrayList<>();
+        jvmStats = new ArrayList<>();
         commandUsage = new HashMap<>();
+        activityHistory = new TreeMap<>();
+        activityFourWeeksAgo = new HashMap<>();
 
         allTimePeak = -1;
         allTimePeakPlayers = -1;
@@ -80,6 +87,14 @@ public class ServerProfile {
         this.tps = tps;
     }
 
+    public List<JVMStats> getJvmStats() {
+        return jvmStats;
+    }
+
+    public void setJvmStats(List<JVMStats> jvmStats) {
+        this.jvmStats = jvmStats;
+    }
+
     public Map<String, Integer> getCommandUsage() {
         return commandUsage;
     }
@@ -189,8 +204,10 @@ public class ServerProfile {
     }
 
     public String createPlayersTableBody() {
-        players.sort(new PlayerProfileLastPlayedComparator());
-        return PlayersTableCreator.createTable(players);
+        // Sorted copy, players list is read by other analysis sections at the same time.
+        List<PlayerProfile> sorted = new ArrayList<>(players);
+        sorted.sort(new PlayerProfileLastPlayedComparator());
+        return PlayersTableCreator.createTable(sorted);
     }
 
     public List<String> getGeoLocations() {
@@ -217,7 +234,19 @@ public class ServerProfile {
     }
 
     public List<Session> getAllSessions() {
-        return players.stream().map(p -> p.getSessions(serverUUID)).flatMap(Collection::stream).collect(Collectors.toList());
+        List<List<Session>> sessionsOfPlayers = new ArrayList<>(players.size());
+        int count = 0;
+        for (PlayerProfile player : players) {
+            List<Session> sessions = player.getSessions(serverUUID);
+            sessionsOfPlayers.add(sessions);
+            count += sessions.size();
+        }
+        // Sized list, so that the references are copied only once.
+        List<Session> allSessions = new ArrayList<>(count);
+        for (List<Session> sessions : sessionsOfPlayers) {
+            allSessions.addAll(sessions);
+        }
+        return allSessions;
     }
 
     public static List<PlayerKill> getPlayerKills(List<Session> s) {
@@ -286,6 +315,27 @@ public class ServerProfile {
         this.allTimePeakPlayers = allTimePeakPlayers;
     }
 
+    /**
+     * Get stored activity group sizes of past weeks.
+     *
+     * @return TreeMap of Week boundary: (Activity group name: Player count)
+     */
+    public TreeMap<Long, Map<String, Integer>> getActivityHistory() {
+        return activityHistory;
+    }
+
+    public void setActivityHistory(TreeMap<Long, Map<String, Integer>> activityHistory) {
+        this.activityHistory = activityHistory;
+    }
+
+    public Map<String, Set<UUID>> getActivityFourWeeksAgo() {
+        return activityFourWeeksAgo;
+    }
+
+    public void setActivityFourWeeksAgo(Map<String, Set<UUID>> activityFourWeeksAgo) {
+        this.activityFourWeeksAgo = activityFourWeeksAgo;
+    }
+
     public static int getPlayersOnline() {
         if (Check.isBungeeAvailable()) {
             return PlanBungee.getInstance().getProxy().getOnlineCount();
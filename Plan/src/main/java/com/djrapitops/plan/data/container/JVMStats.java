@@ -0,0 +1,138 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.container;
+
+import main.java.com.djrapitops.plan.data.HasDate;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Objects;
+
+/**
+ * Class containing a single minute of JVM statistics.
+ * <p>
+ * Garbage collection values are for the minute before the date, the others are values at the date.
+ *
+ * @author Rsl1122
+ */
+public class JVMStats implements HasDate {
+
+    private final long date;
+    private final double processCPU;
+    private final int youngGCCount;
+    private final long youngGCTime;
+    private final int oldGCCount;
+    private final long oldGCTime;
+    private final double allocationRate;
+    private final int threadCount;
+    private final long metaspaceUsed;
+
+    /**
+     * Constructor.
+     *
+     * @param date           time of the sample.
+     * @param processCPU     CPU usage of the server process, 0-100, -1 if unavailable.
+     * @param youngGCCount   young generation collections during the minute.
+     * @param youngGCTime    ms spent in young generation collections during the minute.
+     * @param oldGCCount     old generation collections during the minute.
+     * @param oldGCTime      ms spent in old generation collections during the minute.
+     * @param allocationRate MB allocated per second during the minute, -1 if unavailable.
+     * @param threadCount    live threads.
+     * @param metaspaceUsed  used Metaspace in Megabytes, -1 if unavailable.
+     */
+    public JVMStats(long date, double processCPU, int youngGCCount, long youngGCTime, int oldGCCount, long oldGCTime,
+                    double allocationRate, int threadCount, long metaspaceUsed) {
+        this.date = date;
+        this.processCPU = processCPU;
+        this.youngGCCount = youngGCCount;
+        this.youngGCTime = youngGCTime;
+        this.oldGCCount = oldGCCount;
+        this.oldGCTime = oldGCTime;
+        this.allocationRate = allocationRate;
+        this.threadCount = threadCount;
+        this.metaspaceUsed = metaspaceUsed;
+    }
+
+    @Override
+    public long getDate() {
+        return date;
+    }
+
+    public double getProcessCPU() {
+        return processCPU;
+    }
+
+    public int getYoungGCCount() {
+        return youngGCCount;
+    }
+
+    public long getYoungGCTime() {
+        return youngGCTime;
+    }
+
+    public int getOldGCCount() {
+        return oldGCCount;
+    }
+
+    public long getOldGCTime() {
+        return oldGCTime;
+    }
+
+    /**
+     * Get time spent in garbage collection during the minute.
+     *
+     * @return ms
+     */
+    public long getGCTime() {
+        return youngGCTime + oldGCTime;
+    }
+
+    public double getAllocationRate() {
+        return allocationRate;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public long getMetaspaceUsed() {
+        return metaspaceUsed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JVMStats jvmStats = (JVMStats) o;
+        return date == jvmStats.date &&
+                Double.compare(jvmStats.processCPU, processCPU) == 0 &&
+                youngGCCount == jvmStats.youngGCCount &&
+                youngGCTime == jvmStats.youngGCTime &&
+                oldGCCount == jvmStats.oldGCCount &&
+                oldGCTime == jvmStats.oldGCTime &&
+                Double.compare(jvmStats.allocationRate, allocationRate) == 0 &&
+                threadCount == jvmStats.threadCount &&
+                metaspaceUsed == jvmStats.metaspaceUsed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, processCPU, youngGCCount, youngGCTime, oldGCCount, oldGCTime, allocationRate, threadCount, metaspaceUsed);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("date", date)
+                .append("processCPU", processCPU)
+                .append("youngGCCount", youngGCCount)
+                .append("youngGCTime", youngGCTime)
+                .append("oldGCCount", oldGCCount)
+                .append("oldGCTime", oldGCTime)
+                .append("allocationRate", allocationRate)
+                .append("threadCount", threadCount)
+                .append("metaspaceUsed", metaspaceUsed)
+                .toString();
+    }
+}
@@ -6,7 +6,7 @@ import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,13 +25,18 @@ import java.util.Objects;
  * <li>Playtime</li>
  * <li>LoginTimes</li>
  * </ul>
+ * <p>
+ * Sessions loaded from the database share the same empty kill list and WorldTimes until kills or world times are
+ * attached to them, as most sessions have no kills.
  *
  * @author Rsl1122
  */
 public class Session implements HasDate {
 
+    private static final int NO_ID = -1;
+
     private final long sessionStart;
-    private Integer sessionID;
+    private int sessionID;
     private WorldTimes worldTimes;
     private long sessionEnd;
     private List<PlayerKill> playerKills;
@@ -44,10 +49,11 @@ public class Session implements HasDate {
      * @param sessionStart Epoch millisecond the session was started.
      */
     public Session(long sessionStart, String world, String gm) {
+        this.sessionID = NO_ID;
         this.worldTimes = new WorldTimes(world, gm);
         this.sessionStart = sessionStart;
         this.sessionEnd = -1;
-        playerKills = new ArrayList<>();
+        playerKills = Collections.emptyList();
         mobKills = 0;
         deaths = 0;
     }
@@ -62,8 +68,8 @@ public class Session implements HasDate {
         this.sessionID = id;
         this.sessionStart = sessionStart;
         this.sessionEnd = sessionEnd;
-        this.worldTimes = new WorldTimes(new HashMap<>());
-        this.playerKills = new ArrayList<>();
+        this.worldTimes = WorldTimes.empty();
+        this.playerKills = Collections.emptyList();
         this.mobKills = mobKills;
         this.deaths = deaths;
     }
@@ -104,6 +110,10 @@ public class Session implements HasDate {
     }
 
     public void playerKilled(PlayerKill kill) {
+        if (playerKills.isEmpty()) {
+            // Replaces the shared empty list.
+            playerKills = new ArrayList<>();
+        }
         playerKills.add(kill);
     }
 
@@ -170,17 +180,16 @@ public class Session implements HasDate {
     }
 
     public boolean isFetchedFromDB() {
-        return sessionID != null;
+        return sessionID != NO_ID;
     }
 
     /**
      * Used to get the ID of the session in the Database.
      *
-     * @return ID if present.
-     * @throws NullPointerException if Session was not fetched from DB. Condition using {@code isFetchedFromDB}
+     * @return ID if present, -1 if Session was not fetched from DB. Condition using {@code isFetchedFromDB}
      */
     public int getSessionID() {
-        return sessionID != null ? sessionID : -1;
+        return sessionID;
     }
 
     public void setSessionID(int sessionID) {
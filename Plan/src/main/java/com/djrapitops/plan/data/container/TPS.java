@@ -25,6 +25,9 @@ public class TPS implements HasDate {
     private final long usedMemory;
     private final int entityCount;
     private final int chunksLoaded;
+    private final double tickIntervalMedian;
+    private final double tickIntervalPercentile95;
+    private final int lagSpikes;
 
     /**
      * Constructor.
@@ -38,6 +41,25 @@ public class TPS implements HasDate {
      * @param chunksLoaded   amount of chunks loaded at the time of fetching
      */
     public TPS(long date, double ticksPerSecond, int players, double cpuUsage, long usedMemory, int entityCount, int chunksLoaded) {
+        this(date, ticksPerSecond, players, cpuUsage, usedMemory, entityCount, chunksLoaded, 0, 0, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param date                     time of the TPS calculation.
+     * @param ticksPerSecond           average ticksPerSecond for the last minute.
+     * @param players                  players for the minute.
+     * @param cpuUsage                 CPU usage for the minute
+     * @param usedMemory               used memory at the time of fetching
+     * @param entityCount              amount of entities at the time of fetching
+     * @param chunksLoaded             amount of chunks loaded at the time of fetching
+     * @param tickIntervalMedian       median milliseconds between tick starts for the minute.
+     * @param tickIntervalPercentile95 95th percentile of milliseconds between tick starts for the minute.
+     * @param lagSpikes                amount of ticks that took over 100ms during the minute.
+     */
+    public TPS(long date, double ticksPerSecond, int players, double cpuUsage, long usedMemory, int entityCount, int chunksLoaded,
+               double tickIntervalMedian, double tickIntervalPercentile95, int lagSpikes) {
         this.date = date;
         this.ticksPerSecond = ticksPerSecond;
         this.players = players;
@@ -45,6 +67,9 @@ public class TPS implements HasDate {
         this.usedMemory = usedMemory;
         this.entityCount = entityCount;
         this.chunksLoaded = chunksLoaded;
+        this.tickIntervalMedian = tickIntervalMedian;
+        this.tickIntervalPercentile95 = tickIntervalPercentile95;
+        this.lagSpikes = lagSpikes;
     }
 
     /**
@@ -110,6 +135,33 @@ public class TPS implements HasDate {
         return chunksLoaded;
     }
 
+    /**
+     * Get the median milliseconds between tick starts for the minute.
+     *
+     * @return ms, 0 if not recorded.
+     */
+    public double getTickIntervalMedian() {
+        return tickIntervalMedian;
+    }
+
+    /**
+     * Get the 95th percentile of milliseconds between tick starts for the minute.
+     *
+     * @return ms, 0 if not recorded.
+     */
+    public double getTickIntervalPercentile95() {
+        return tickIntervalPercentile95;
+    }
+
+    /**
+     * Get the amount of ticks that took over 100ms during the minute.
+     *
+     * @return Amount of lag spikes, 0 if not recorded.
+     */
+    public int getLagSpikes() {
+        return lagSpikes;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -121,12 +173,16 @@ public class TPS implements HasDate {
                 Double.compare(tps.cpuUsage, cpuUsage) == 0 &&
                 usedMemory == tps.usedMemory &&
                 entityCount == tps.entityCount &&
-                chunksLoaded == tps.chunksLoaded;
+                chunksLoaded == tps.chunksLoaded &&
+                Double.compare(tps.tickIntervalMedian, tickIntervalMedian) == 0 &&
+                Double.compare(tps.tickIntervalPercentile95, tickIntervalPercentile95) == 0 &&
+                lagSpikes == tps.lagSpikes;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(date, ticksPerSecond, players, cpuUsage, usedMemory, entityCount, chunksLoaded);
+        return Objects.hash(date, ticksPerSecond, players, cpuUsage, usedMemory, entityCount, chunksLoaded,
+                tickIntervalMedian, tickIntervalPercentile95, lagSpikes);
     }
 
     @Override
@@ -139,6 +195,9 @@ public class TPS implements HasDate {
                 .append("usedMemory", usedMemory)
                 .append("entityCount", entityCount)
                 .append("chunksLoaded", chunksLoaded)
+                .append("tickIntervalMedian", tickIntervalMedian)
+                .append("tickIntervalPercentile95", tickIntervalPercentile95)
+                .append("lagSpikes", lagSpikes)
                 .toString();
     }
 }
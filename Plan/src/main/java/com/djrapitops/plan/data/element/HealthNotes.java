@@ -7,12 +7,11 @@ package main.java.com.djrapitops.plan.data.element;
 import com.djrapitops.plugin.api.TimeAmount;
 import main.java.com.djrapitops.plan.data.AnalysisData;
 import main.java.com.djrapitops.plan.data.PlayerProfile;
-import main.java.com.djrapitops.plan.data.ServerProfile;
 import main.java.com.djrapitops.plan.data.container.StickyData;
-import main.java.com.djrapitops.plan.data.container.TPS;
 import main.java.com.djrapitops.plan.settings.Settings;
 import main.java.com.djrapitops.plan.utilities.FormatUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
+import main.java.com.djrapitops.plan.utilities.analysis.TPSStatistics;
 import main.java.com.djrapitops.plan.utilities.html.Html;
 
 import java.util.*;
@@ -29,20 +28,20 @@ public class HealthNotes {
     private double serverHealth;
 
     private final AnalysisData analysisData;
-    private final TreeMap<Long, Map<String, Set<UUID>>> activityData;
-    private final List<TPS> tpsDataMonth;
+    private final Map<String, Set<UUID>> activityNow;
+    private final Map<String, Set<UUID>> activityFourWAgo;
+    private final TPSStatistics.Window tpsMonth;
     private final long now;
-    private final long fourWeeksAgo;
 
-    public HealthNotes(AnalysisData analysisData, TreeMap<Long, Map<String, Set<UUID>>> activityData, List<TPS> tpsDataMonth, long now) {
+    public HealthNotes(AnalysisData analysisData, Map<String, Set<UUID>> activityNow, Map<String, Set<UUID>> activityFourWAgo, TPSStatistics.Window tpsMonth, long now) {
         this.healthNotes = new ArrayList<>();
         serverHealth = 100.0;
 
         this.analysisData = analysisData;
-        this.activityData = activityData;
-        this.tpsDataMonth = tpsDataMonth;
+        this.activityNow = activityNow;
+        this.activityFourWAgo = activityFourWAgo;
+        this.tpsMonth = tpsMonth;
         this.now = now;
-        this.fourWeeksAgo = now - TimeAmount.WEEK.ms() * 4L;
     }
 
     public void analyzeHealth() {
@@ -50,6 +49,7 @@ public class HealthNotes {
         newPlayerNote();
         activePlayerPlaytimeChange();
         lowPerformance();
+        garbageCollectionLag();
     }
 
     public String parse() {
@@ -65,12 +65,10 @@ public class HealthNotes {
     }
 
     private void activityChangeNote() {
-        Map<String, Set<UUID>> activityNow = activityData.getOrDefault(now, new HashMap<>());
         Set<UUID> veryActiveNow = activityNow.getOrDefault("Very Active", new HashSet<>());
         Set<UUID> activeNow = activityNow.getOrDefault("Active", new HashSet<>());
         Set<UUID> regularNow = activityNow.getOrDefault("Regular", new HashSet<>());
 
-        Map<String, Set<UUID>> activityFourWAgo = activityData.getOrDefault(fourWeeksAgo, new HashMap<>());
         Set<UUID> veryActiveFWAG = activityFourWAgo.getOrDefault("Very Active", new HashSet<>());
         Set<UUID> activeFWAG = activityFourWAgo.getOrDefault("Active", new HashSet<>());
         Set<UUID> regularFWAG = activityFourWAgo.getOrDefault("Regular", new HashSet<>());
@@ -190,8 +188,8 @@ public class HealthNotes {
     }
 
     private void lowPerformance() {
-        long serverDownTime = ServerProfile.serverDownTime(tpsDataMonth);
-        double aboveThreshold = ServerProfile.aboveLowThreshold(tpsDataMonth);
+        long serverDownTime = tpsMonth.getDownTime();
+        double aboveThreshold = tpsMonth.getAboveLowThreshold();
         long tpsSpikeMonth = analysisData.value("tpsSpikeMonth");
 
         String avgLowThresholdString = "&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;";
@@ -240,6 +238,24 @@ public class HealthNotes {
         }
     }
 
+    private void garbageCollectionLag() {
+        long lagMinutes = analysisData.value("lagMinutesMonth");
+        if (lagMinutes <= 0) {
+            return;
+        }
+        long gcLagMinutes = analysisData.value("gcLagMinutesMonth");
+        double gcPercentage = gcLagMinutes * 100.0 / lagMinutes;
+
+        if (gcPercentage >= 50) {
+            healthNotes.add("<p>" + Html.YELLOW_FLAG.parse() + " " + FormatUtils.cutDecimals(gcPercentage)
+                    + "% of minutes with lag spikes had long Garbage Collection pauses (" + gcLagMinutes + "/" + lagMinutes + ")"
+                    + "<br>&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;Lag might be reduced by adjusting memory or garbage collector settings of the server</p>");
+        } else {
+            healthNotes.add("<p>" + Html.GREEN_THUMB.parse() + " " + FormatUtils.cutDecimals(gcPercentage)
+                    + "% of minutes with lag spikes had long Garbage Collection pauses (" + gcLagMinutes + "/" + lagMinutes + ")</p>");
+        }
+    }
+
     private int getNewActive(Set<UUID> veryActiveNow, Set<UUID> activeNow, Set<UUID> regularNow, Set<UUID> veryActiveFWAG, Set<UUID> activeFWAG, Set<UUID> regularFWAG) {
         Set<UUID> regularNewCompareSet = new HashSet<>(regularNow);
         regularNewCompareSet.addAll(activeNow);
@@ -0,0 +1,40 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.plugin;
+
+/**
+ * Interface for PluginData objects that can fetch values of many players at once.
+ * <p>
+ * The UUIDs are handed out in batches with {@link PlayerColumns#fetch(BatchedData, java.util.Collection)}, and the
+ * values are stored in primitive columns instead of a Map for each value.
+ * Sources that can only fetch one player at a time can use {@link PerPlayerBatch}.
+ * PluginData objects implement {@link BatchedServerData} to have Analysis fetch their values in batches.
+ *
+ * @author Rsl1122
+ */
+public interface BatchedData {
+
+    int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Get the amount of players given to {@link #fetchBatch(PlayerColumns.Batch)} at once.
+     *
+     * @return Amount of UUIDs in a batch.
+     */
+    default int getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Fetch the values of players in a batch.
+     * <p>
+     * Values are set with {@link PlayerColumns.Batch#setLong(String, int, long)} and
+     * {@link PlayerColumns.Batch#setDouble(String, int, double)}, players without a value can be skipped.
+     *
+     * @param batch Batch of UUIDs.
+     * @throws Exception If the values could not be fetched.
+     */
+    void fetchBatch(PlayerColumns.Batch batch) throws Exception;
+}
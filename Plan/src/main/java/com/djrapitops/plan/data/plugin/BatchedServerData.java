@@ -0,0 +1,30 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.plugin;
+
+import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
+
+/**
+ * Interface for PluginData objects that fetch the server data of Analysis in batches.
+ * <p>
+ * {@link PluginDataExecutor} fetches the values of the analyzed players with {@link #fetchBatch(PlayerColumns.Batch)}
+ * and passes the columns to {@link #getServerData(PlayerColumns, AnalysisContainer)} instead of calling
+ * {@link PluginData#getServerData(java.util.Collection, AnalysisContainer)}. The fetch is stopped between batches
+ * when the source runs out of time.
+ *
+ * @author Rsl1122
+ */
+public interface BatchedServerData extends BatchedData {
+
+    /**
+     * Fill the container of Analysis with the fetched values.
+     *
+     * @param columns  Values of the analyzed players.
+     * @param fillThis Container to add the values to.
+     * @return The given container.
+     * @throws Exception If the values can not be added.
+     */
+    AnalysisContainer getServerData(PlayerColumns columns, AnalysisContainer fillThis) throws Exception;
+}
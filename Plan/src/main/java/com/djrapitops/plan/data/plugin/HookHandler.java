@@ -1,9 +1,11 @@
 package main.java.com.djrapitops.plan.data.plugin;
 
 import com.djrapitops.plugin.StaticHolder;
+import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.api.utility.log.Log;
 import com.djrapitops.pluginbridge.plan.Bridge;
 import main.java.com.djrapitops.plan.Plan;
+import main.java.com.djrapitops.plan.settings.Settings;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +21,7 @@ public class HookHandler {
 
     private final List<PluginData> additionalDataSources;
     private final PluginConfigSectionHandler configHandler;
+    private final PluginDataExecutor executor;
 
     /**
      * Class constructor, hooks to plugins.
@@ -28,6 +31,11 @@ public class HookHandler {
     public HookHandler(Plan plugin) {
         additionalDataSources = new ArrayList<>();
         configHandler = new PluginConfigSectionHandler(plugin);
+        int timeoutSeconds = Settings.PLUGIN_DATA_TIMEOUT.getNumber();
+        executor = new PluginDataExecutor(
+                Settings.PLUGIN_DATA_THREADS.getNumber(),
+                (timeoutSeconds > 0 ? timeoutSeconds : 10) * TimeAmount.SECOND.ms()
+        );
         try {
             Bridge.hook(this);
         } catch (Exception e) {
@@ -58,6 +66,11 @@ public class HookHandler {
             if (configHandler.isEnabled(dataSource)) {
                 Log.debug("Registered a new datasource: " + dataSource.getSourcePlugin());
                 additionalDataSources.add(dataSource);
+                int cacheSeconds = configHandler.getCacheSeconds(dataSource);
+                if (cacheSeconds == -1) {
+                    cacheSeconds = Settings.PLUGIN_DATA_CACHE.getNumber();
+                }
+                executor.setCacheTime(dataSource, cacheSeconds * TimeAmount.SECOND.ms());
             }
         } catch (Exception e) {
             Log.toLog(this.getClass().getName(), e);
@@ -73,4 +86,20 @@ public class HookHandler {
     public List<PluginData> getAdditionalDataSources() {
         return additionalDataSources;
     }
+
+    /**
+     * Used to get the executor that runs the PluginData objects with a timeout.
+     *
+     * @return PluginDataExecutor of the registered sources.
+     */
+    public PluginDataExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Stops the threads used for running PluginData objects.
+     */
+    public void disable() {
+        executor.shutdown();
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.plugin;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * BatchedData adapter for sources that can only fetch the value of one player at a time.
+ * <p>
+ * Values are still stored in primitive columns, and the fetch can be interrupted between batches.
+ *
+ * @author Rsl1122
+ */
+public class PerPlayerBatch implements BatchedData {
+
+    private final String column;
+    private final LongValue longValue;
+    private final DoubleValue doubleValue;
+
+    private PerPlayerBatch(String column, LongValue longValue, DoubleValue doubleValue) {
+        this.column = column;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+    }
+
+    /**
+     * Create an adapter for a whole number value.
+     *
+     * @param column Name of the column the values are stored in.
+     * @param value  Function that fetches the value of a player.
+     * @return BatchedData that fetches the players one by one.
+     */
+    public static PerPlayerBatch ofLong(String column, LongValue value) {
+        return new PerPlayerBatch(column, value, null);
+    }
+
+    /**
+     * Create an adapter for a decimal value.
+     *
+     * @param column Name of the column the values are stored in.
+     * @param value  Function that fetches the value of a player, {@code Double.NaN} if the player has no value.
+     * @return BatchedData that fetches the players one by one.
+     */
+    public static PerPlayerBatch ofDouble(String column, DoubleValue value) {
+        return new PerPlayerBatch(column, null, value);
+    }
+
+    @Override
+    public void fetchBatch(PlayerColumns.Batch batch) throws Exception {
+        List<UUID> uuids = batch.getUuids();
+        for (int i = 0; i < uuids.size(); i++) {
+            UUID uuid = uuids.get(i);
+            if (longValue != null) {
+                batch.setLong(column, i, longValue.getValue(uuid));
+            } else {
+                double value = doubleValue.getValue(uuid);
+                if (!Double.isNaN(value)) {
+                    batch.setDouble(column, i, value);
+                }
+            }
+        }
+    }
+
+    public interface LongValue {
+        long getValue(UUID uuid) throws Exception;
+    }
+
+    public interface DoubleValue {
+        double getValue(UUID uuid) throws Exception;
+    }
+}
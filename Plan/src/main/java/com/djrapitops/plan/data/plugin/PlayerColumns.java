@@ -0,0 +1,196 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.plugin;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.DoubleFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Values of players fetched by a {@link BatchedData} source.
+ * <p>
+ * Each column is a primitive array with one slot for each player, so a column of thousands of players
+ * does not box each value.
+ *
+ * @author Rsl1122
+ */
+public class PlayerColumns {
+
+    private final List<UUID> uuids;
+    private final Map<String, long[]> longColumns;
+    private final Map<String, double[]> doubleColumns;
+    private final Map<String, BitSet> hasValue;
+
+    public PlayerColumns(List<UUID> uuids) {
+        this.uuids = uuids;
+        longColumns = new HashMap<>();
+        doubleColumns = new HashMap<>();
+        hasValue = new HashMap<>();
+    }
+
+    /**
+     * Fetch values of the given players in batches.
+     *
+     * @param source Source to fetch the values with.
+     * @param uuids  UUIDs of the players.
+     * @return Columns with the fetched values.
+     * @throws InterruptedException If the thread is interrupted between batches, for example because of a timeout.
+     * @throws Exception            If the source fails.
+     */
+    public static PlayerColumns fetch(BatchedData source, Collection<UUID> uuids) throws Exception {
+        PlayerColumns columns = new PlayerColumns(new ArrayList<>(uuids));
+        int batchSize = Math.max(1, source.getBatchSize());
+        int size = columns.uuids.size();
+        for (int from = 0; from < size; from += batchSize) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Fetch of player values was interrupted");
+            }
+            source.fetchBatch(columns.new Batch(from, Math.min(from + batchSize, size)));
+        }
+        return columns;
+    }
+
+    public List<UUID> getUuids() {
+        return uuids;
+    }
+
+    /**
+     * Get amount of players that have a value in a column.
+     *
+     * @param column Name of the column.
+     * @return Amount of players.
+     */
+    public int count(String column) {
+        BitSet present = hasValue.get(column);
+        return present != null ? present.cardinality() : 0;
+    }
+
+    public long sumLong(String column) {
+        long[] values = longColumns.get(column);
+        BitSet present = hasValue.get(column);
+        if (values == null) {
+            return 0L;
+        }
+        long sum = 0L;
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    public double sumDouble(String column) {
+        double[] values = doubleColumns.get(column);
+        BitSet present = hasValue.get(column);
+        if (values == null) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Create a Map for {@code AnalysisContainer#addPlayerTableValues} from a whole number column.
+     *
+     * @param column    Name of the column.
+     * @param formatter Function that formats the value for the players table.
+     * @return Map of UUID: formatted value, players without a value are left out.
+     */
+    public Map<UUID, Serializable> toLongMap(String column, LongFunction<Serializable> formatter) {
+        Map<UUID, Serializable> map = new HashMap<>();
+        long[] values = longColumns.get(column);
+        if (values == null) {
+            return map;
+        }
+        BitSet present = hasValue.get(column);
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            map.put(uuids.get(i), formatter.apply(values[i]));
+        }
+        return map;
+    }
+
+    /**
+     * Create a Map for {@code AnalysisContainer#addPlayerTableValues} from a decimal column.
+     *
+     * @param column    Name of the column.
+     * @param formatter Function that formats the value for the players table.
+     * @return Map of UUID: formatted value, players without a value are left out.
+     */
+    public Map<UUID, Serializable> toDoubleMap(String column, DoubleFunction<Serializable> formatter) {
+        Map<UUID, Serializable> map = new HashMap<>();
+        double[] values = doubleColumns.get(column);
+        if (values == null) {
+            return map;
+        }
+        BitSet present = hasValue.get(column);
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            map.put(uuids.get(i), formatter.apply(values[i]));
+        }
+        return map;
+    }
+
+    private long[] getLongColumn(String column) {
+        if (doubleColumns.containsKey(column)) {
+            throw new IllegalArgumentException("Column '" + column + "' already contains decimal values");
+        }
+        return longColumns.computeIfAbsent(column, name -> new long[uuids.size()]);
+    }
+
+    private double[] getDoubleColumn(String column) {
+        if (longColumns.containsKey(column)) {
+            throw new IllegalArgumentException("Column '" + column + "' already contains whole number values");
+        }
+        return doubleColumns.computeIfAbsent(column, name -> new double[uuids.size()]);
+    }
+
+    private BitSet getPresent(String column) {
+        return hasValue.computeIfAbsent(column, name -> new BitSet(uuids.size()));
+    }
+
+    /**
+     * A range of players given to {@link BatchedData#fetchBatch(Batch)}.
+     */
+    public class Batch {
+
+        private final int from;
+        private final int to;
+
+        private Batch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Get UUIDs of this batch.
+         *
+         * @return UUIDs, index of a UUID in this list is used when setting the values.
+         */
+        public List<UUID> getUuids() {
+            return uuids.subList(from, to);
+        }
+
+        public void setLong(String column, int index, long value) {
+            int slot = slot(index);
+            getLongColumn(column)[slot] = value;
+            getPresent(column).set(slot);
+        }
+
+        public void setDouble(String column, int index, double value) {
+            int slot = slot(index);
+            getDoubleColumn(column)[slot] = value;
+            getPresent(column).set(slot);
+        }
+
+        private int slot(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index " + index + " is outside the batch of " + (to - from));
+            }
+            return from + index;
+        }
+    }
+}
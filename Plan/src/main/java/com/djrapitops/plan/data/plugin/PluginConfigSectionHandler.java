@@ -53,4 +53,20 @@ public class PluginConfigSectionHandler {
         String pluginName = dataSource.getSourcePlugin();
         return section.getBoolean(pluginName + ".Enabled");
     }
+
+    /**
+     * Get how long data of the plugin should be cached.
+     *
+     * @param dataSource PluginData source.
+     * @return Seconds, -1 if not set for the plugin.
+     */
+    public int getCacheSeconds(PluginData dataSource) {
+        ConfigNode section = getPluginsSection();
+
+        String pluginName = dataSource.getSourcePlugin();
+        if (!section.getConfigNode(pluginName).getChildren().containsKey("CacheSeconds")) {
+            return -1;
+        }
+        return plan.getMainConfig().getInt("Plugins." + pluginName + ".CacheSeconds");
+    }
 }
@@ -0,0 +1,364 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.plugin;
+
+import com.djrapitops.plugin.StaticHolder;
+import com.djrapitops.plugin.api.TimeAmount;
+import com.djrapitops.plugin.api.utility.log.Log;
+import main.java.com.djrapitops.plan.Plan;
+import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
+import main.java.com.djrapitops.plan.data.element.InspectContainer;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs PluginData sources on a bounded set of threads.
+ * <p>
+ * Each source has a deadline: a source that does not finish in time is interrupted and left out of the page, so
+ * one slow plugin can not stall the whole analysis. Results are cached for a time configured for each source,
+ * server data is only taken from the cache when it was calculated for the same players.
+ * <p>
+ * Server data of {@link BatchedServerData} sources is fetched in batches of players.
+ *
+ * @author Rsl1122
+ */
+public class PluginDataExecutor {
+
+    private static final int QUEUE_SIZE = 256;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService watchdog;
+    private final int threads;
+    private final long timeoutMs;
+
+    private final Map<PluginData, Long> cacheTimes;
+    private final Map<PluginData, CachedResult<AnalysisContainer>> serverDataCache;
+    private final Map<PluginData, Map<UUID, CachedResult<InspectContainer>>> playerDataCache;
+    private final Map<String, SourceTiming> timings;
+
+    /**
+     * Constructor.
+     *
+     * @param threads   Maximum amount of sources run at the same time.
+     * @param timeoutMs Time a single source is allowed to run, in ms.
+     */
+    public PluginDataExecutor(int threads, long timeoutMs) {
+        this(threads, timeoutMs, QUEUE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param threads   Maximum amount of sources run at the same time.
+     * @param timeoutMs Time a single source is allowed to run, in ms.
+     * @param queueSize Maximum amount of sources waiting for a thread, more sources are skipped.
+     */
+    PluginDataExecutor(int threads, long timeoutMs, int queueSize) {
+        this.threads = Math.max(1, threads);
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(this.threads, this.threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "Plan PluginData Thread #" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Plan PluginData Watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        cacheTimes = new ConcurrentHashMap<>();
+        serverDataCache = new ConcurrentHashMap<>();
+        playerDataCache = new ConcurrentHashMap<>();
+        timings = new ConcurrentHashMap<>();
+        StaticHolder.saveInstance(PluginDataExecutor.class, Plan.class);
+    }
+
+    /**
+     * Set how long results of a source are cached.
+     *
+     * @param source PluginData source.
+     * @param ms     Time in ms, 0 to not cache the results.
+     */
+    public void setCacheTime(PluginData source, long ms) {
+        cacheTimes.put(source, Math.max(0L, ms));
+    }
+
+    /**
+     * Get server data of all sources.
+     *
+     * @param sources Sources to run.
+     * @param uuids   UUIDs of the players to analyze.
+     * @return Map of source: non-empty container, sources that failed or timed out are left out.
+     */
+    public Map<PluginData, AnalysisContainer> getServerData(List<PluginData> sources, Collection<UUID> uuids) {
+        long playersKey = getPlayersKey(uuids);
+        return run(sources, "analysis", playersKey,
+                source -> getCached(serverDataCache.get(source), source, playersKey),
+                source -> getServerData(source, uuids),
+                (source, result) -> serverDataCache.put(source, result)
+        );
+    }
+
+    private AnalysisContainer getServerData(PluginData source, Collection<UUID> uuids) throws Exception {
+        if (source instanceof BatchedServerData) {
+            BatchedServerData batched = (BatchedServerData) source;
+            return batched.getServerData(PlayerColumns.fetch(batched, uuids), new AnalysisContainer());
+        }
+        return source.getServerData(uuids, new AnalysisContainer());
+    }
+
+    /**
+     * Get player data of all sources.
+     *
+     * @param sources Sources to run.
+     * @param uuid    UUID of the player.
+     * @return Map of source: non-empty container, sources that failed or timed out are left out.
+     */
+    public Map<PluginData, InspectContainer> getPlayerData(List<PluginData> sources, UUID uuid) {
+        return run(sources, "inspect", 0L,
+                source -> getCached(playerDataCache.getOrDefault(source, Collections.emptyMap()).get(uuid), source, 0L),
+                source -> source.getPlayerData(uuid, new InspectContainer()),
+                (source, result) -> {
+                    Map<UUID, CachedResult<InspectContainer>> cached = playerDataCache.computeIfAbsent(source, s -> new ConcurrentHashMap<>());
+                    long now = MiscUtils.getTime();
+                    long cacheTime = getCacheTime(source);
+                    cached.values().removeIf(old -> old.isExpired(now, cacheTime));
+                    cached.put(uuid, result);
+                }
+        );
+    }
+
+    /**
+     * Key of a set of players, same for the same players in any order.
+     *
+     * @param uuids UUIDs of the players.
+     * @return Amount of players in the high bits and the sum of their hash codes in the low bits.
+     */
+    private static long getPlayersKey(Collection<UUID> uuids) {
+        int hash = 0;
+        for (UUID uuid : uuids) {
+            hash += uuid.hashCode();
+        }
+        return ((long) uuids.size() << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    private <C extends InspectContainer> Map<PluginData, C> run(List<PluginData> sources, String type, long key,
+                                       SourceCall<CachedResult<C>> cache,
+                                       SourceCall<C> call,
+                                       ResultConsumer<C> cacheResult) {
+        Map<PluginData, C> containers = new HashMap<>();
+        Map<PluginData, GuardedTask<C>> tasks = new LinkedHashMap<>();
+
+        for (PluginData source : sources) {
+            SourceTiming timing = getTiming(source);
+            try {
+                CachedResult<C> cached = cache.call(source);
+                if (cached != null) {
+                    timing.cacheHits.incrementAndGet();
+                    addIfNotEmpty(containers, source, cached.getResult());
+                    continue;
+                }
+                GuardedTask<C> task = new GuardedTask<>(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        return call.call(source);
+                    } finally {
+                        timing.ran((System.nanoTime() - start) / TimeAmount.MILLISECOND.ns());
+                    }
+                }, timing);
+                executor.execute(task);
+                tasks.put(source, task);
+            } catch (RejectedExecutionException e) {
+                Log.error("PluginData-source skipped, too many sources queued: " + source.getSourcePlugin());
+            } catch (Exception e) {
+                Log.toLog(this.getClass().getName() + " " + source.getSourcePlugin(), e);
+            }
+        }
+
+        // Sources run at most 'threads' at a time, so the last ones may have to wait for the previous ones.
+        long batches = (tasks.size() + threads - 1) / threads;
+        long deadline = System.nanoTime() + batches * timeoutMs * TimeAmount.MILLISECOND.ns();
+        for (Map.Entry<PluginData, GuardedTask<C>> entry : tasks.entrySet()) {
+            PluginData source = entry.getKey();
+            GuardedTask<C> task = entry.getValue();
+            try {
+                long remaining = Math.max(0L, deadline - System.nanoTime());
+                C container = task.get(remaining, TimeUnit.NANOSECONDS);
+                cacheResult.accept(source, new CachedResult<>(container, MiscUtils.getTime(), key));
+                addIfNotEmpty(containers, source, container);
+            } catch (TimeoutException | CancellationException e) {
+                if (task.cancel(true)) {
+                    task.timing.timeouts.incrementAndGet();
+                }
+                Log.error("PluginData-source did not finish in " + timeoutMs + "ms during " + type + ": " + source.getSourcePlugin());
+            } catch (InterruptedException e) {
+                task.cancel(true);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                task.timing.errors.incrementAndGet();
+                Log.error("A PluginData-source caused an exception: " + source.getSourcePlugin());
+                Log.toLog(this.getClass().getName() + " " + source.getSourcePlugin(), e.getCause());
+            }
+        }
+        return containers;
+    }
+
+    private <C extends InspectContainer> void addIfNotEmpty(Map<PluginData, C> containers, PluginData source, C container) {
+        if (container != null && !container.isEmpty()) {
+            containers.put(source, container);
+        }
+    }
+
+    private <C> CachedResult<C> getCached(CachedResult<C> cached, PluginData source, long key) {
+        if (cached == null || cached.key != key || cached.isExpired(MiscUtils.getTime(), getCacheTime(source))) {
+            return null;
+        }
+        return cached;
+    }
+
+    private long getCacheTime(PluginData source) {
+        return cacheTimes.getOrDefault(source, 0L);
+    }
+
+    private SourceTiming getTiming(PluginData source) {
+        return timings.computeIfAbsent(source.getSourcePlugin(), name -> new SourceTiming());
+    }
+
+    /**
+     * Get execution times of the sources.
+     *
+     * @return Map of source plugin name: timing, sorted by name.
+     */
+    public Map<String, SourceTiming> getTimings() {
+        return new TreeMap<>(timings);
+    }
+
+    /**
+     * Remove all cached results.
+     */
+    public void clearCache() {
+        serverDataCache.clear();
+        playerDataCache.clear();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private interface SourceCall<T> {
+        T call(PluginData source) throws Exception;
+    }
+
+    private interface ResultConsumer<C> {
+        void accept(PluginData source, CachedResult<C> result);
+    }
+
+    /**
+     * Task that interrupts itself if it runs longer than the timeout.
+     */
+    private class GuardedTask<T> extends FutureTask<T> {
+
+        private final SourceTiming timing;
+
+        GuardedTask(Callable<T> callable, SourceTiming timing) {
+            super(callable);
+            this.timing = timing;
+        }
+
+        @Override
+        public void run() {
+            ScheduledFuture<?> guard = watchdog.schedule(() -> {
+                if (cancel(true)) {
+                    timing.timeouts.incrementAndGet();
+                }
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+            try {
+                super.run();
+            } finally {
+                guard.cancel(false);
+            }
+        }
+    }
+
+    private static class CachedResult<C> {
+        private final C result;
+        private final long date;
+        private final long key;
+
+        CachedResult(C result, long date, long key) {
+            this.result = result;
+            this.date = date;
+            this.key = key;
+        }
+
+        C getResult() {
+            return result;
+        }
+
+        boolean isExpired(long now, long cacheTime) {
+            return now - date >= cacheTime;
+        }
+    }
+
+    /**
+     * Execution statistics of a single source.
+     */
+    public static class SourceTiming {
+        private final AtomicLong runs = new AtomicLong();
+        private final AtomicLong lastMs = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+        private final AtomicLong totalMs = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        private void ran(long ms) {
+            runs.incrementAndGet();
+            lastMs.set(ms);
+            totalMs.addAndGet(ms);
+            maxMs.accumulateAndGet(ms, Math::max);
+        }
+
+        public long getRuns() {
+            return runs.get();
+        }
+
+        public long getLastMs() {
+            return lastMs.get();
+        }
+
+        public long getMaxMs() {
+            return maxMs.get();
+        }
+
+        public long getAverageMs() {
+            long count = runs.get();
+            return count != 0 ? totalMs.get() / count : 0;
+        }
+
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+    }
+}
@@ -2,10 +2,15 @@ package main.java.com.djrapitops.plan.data.time;
 
 import com.djrapitops.plugin.utilities.Verify;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * TimeKeeper class that tracks the time spent in each GameMode based on Playtime.
+ * <p>
+ * Times of the 4 GameModes are stored in a primitive array, other states are stored in a Map that is only
+ * created if such a state is used.
  *
  * @author Rsl1122
  * @since 3.6.0
@@ -17,30 +22,80 @@ public class GMTimes extends TimeKeeper {
     private static final String ADVENTURE = "ADVENTURE";
     private static final String SPECTATOR = "SPECTATOR";
 
+    /**
+     * Amount of GameModes in {@link #getGMKeyArray()}.
+     */
+    public static final int GM_COUNT = 4;
+
+    /**
+     * Times of the GameModes in the order of {@link #getGMKeyArray()}.
+     * <p>
+     * Shared with {@link WorldTimes} if this object is a view of a world.
+     */
+    private final long[] times;
+    private Map<String, Long> otherTimes;
+
     public GMTimes(Map<String, Long> times, String lastState, long lastStateChange) {
-        super(times, lastState, lastStateChange);
+        this(new long[GM_COUNT], lastState, lastStateChange);
+        setTimes(times);
     }
 
     public GMTimes(String lastState, long lastStateChange) {
-        super(lastState, lastStateChange);
+        this(new long[GM_COUNT], lastState, lastStateChange);
     }
 
     public GMTimes(String lastState) {
-        super(lastState);
+        this(lastState, 0L);
     }
 
     public GMTimes(Map<String, Long> times) {
-        super(times);
+        this(times, null, 0L);
     }
 
     public GMTimes() {
-        super();
+        this(null, 0L);
+    }
+
+    /**
+     * Creates a GMTimes that reads and writes the given array.
+     *
+     * @param times           Array of {@link #GM_COUNT} times.
+     * @param lastState       Last GameMode seen in.
+     * @param lastStateChange Epoch ms of the last change.
+     */
+    GMTimes(long[] times, String lastState, long lastStateChange) {
+        super(lastState, lastStateChange);
+        this.times = times;
     }
 
     public static String[] getGMKeyArray() {
         return new String[]{SURVIVAL, CREATIVE, ADVENTURE, SPECTATOR};
     }
 
+    /**
+     * Get the index of a GameMode in {@link #getGMKeyArray()}.
+     *
+     * @param gm Name of the GameMode.
+     * @return index, or -1 if the name is not one of the GameModes.
+     */
+    public static int indexOf(String gm) {
+        if (gm == null) {
+            return -1;
+        }
+        switch (gm) {
+            case SURVIVAL:
+                return 0;
+            case CREATIVE:
+                return 1;
+            case ADVENTURE:
+                return 2;
+            case SPECTATOR:
+                return 3;
+            default:
+                return -1;
+        }
+    }
+
     /**
      * Sets times for all 4 gamemodes.
      * <p>
@@ -55,14 +110,9 @@ public class GMTimes extends TimeKeeper {
      */
     public void setAllGMTimes(long... times) {
         Verify.nullCheck(times);
-        String[] gms = getGMKeyArray();
         int size = times.length;
-        for (int i = 0; i < 4; i++) {
-            if (i >= size) {
-                setTime(gms[i], 0L);
-            } else {
-                setTime(gms[i], times[i]);
-            }
+        for (int i = 0; i < GM_COUNT; i++) {
+            this.times[i] = i < size ? times[i] : 0L;
         }
     }
 
@@ -73,9 +123,118 @@ public class GMTimes extends TimeKeeper {
         resetState(SPECTATOR);
     }
 
+    @Override
+    public void setTime(String state, long time) {
+        int index = indexOf(Verify.nullCheck(state));
+        if (index != -1) {
+            times[index] = time;
+        } else {
+            getOtherTimes().put(state, time);
+        }
+    }
+
+    @Override
+    public void renameState(String state, String renameTo) {
+        Verify.nullCheck(state, renameTo);
+        int index = indexOf(state);
+        if (index == -1 && (otherTimes == null || !otherTimes.containsKey(state))) {
+            return;
+        }
+        long time = getTime(state);
+        resetState(state);
+        setTime(renameTo, time);
+        if (state.equals(this.state)) {
+            this.state = renameTo;
+        }
+    }
+
+    @Override
+    protected void resetState(String state) {
+        int index = indexOf(Verify.nullCheck(state));
+        if (index != -1) {
+            times[index] = 0L;
+        } else if (otherTimes != null) {
+            otherTimes.remove(state);
+        }
+    }
+
+    @Override
+    public long getTime(String state) {
+        int index = indexOf(state);
+        if (index != -1) {
+            return times[index];
+        }
+        return otherTimes != null ? otherTimes.getOrDefault(state, 0L) : 0L;
+    }
+
+    @Override
+    public void addTime(String state, long time) {
+        int index = indexOf(state);
+        if (index != -1) {
+            times[index] += time;
+        } else {
+            getOtherTimes().merge(state, time, Long::sum);
+        }
+    }
+
+    @Override
+    public long getTotal() {
+        long total = 0L;
+        for (long time : times) {
+            total += time;
+        }
+        if (otherTimes != null) {
+            for (long time : otherTimes.values()) {
+                total += time;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getTimes() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        String[] gms = getGMKeyArray();
+        for (int i = 0; i < GM_COUNT; i++) {
+            map.put(gms[i], times[i]);
+        }
+        if (otherTimes != null) {
+            map.putAll(otherTimes);
+        }
+        return map;
+    }
+
+    @Override
+    public void setTimes(Map<String, Long> times) {
+        for (int i = 0; i < GM_COUNT; i++) {
+            this.times[i] = 0L;
+        }
+        otherTimes = null;
+        for (Map.Entry<String, Long> entry : times.entrySet()) {
+            setTime(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Get time of a GameMode by its index in {@link #getGMKeyArray()}.
+     *
+     * @param gmIndex Index of the GameMode.
+     * @return time in ms.
+     */
+    public long getTime(int gmIndex) {
+        return times[gmIndex];
+    }
+
+    private Map<String, Long> getOtherTimes() {
+        if (otherTimes == null) {
+            otherTimes = new HashMap<>();
+        }
+        return otherTimes;
+    }
+
     @Override
     public String getState() {
         String state = super.getState();
         return state != null ? state : SURVIVAL;
     }
-}
\ No newline at end of file
+}
@@ -3,18 +3,15 @@ package main.java.com.djrapitops.plan.data.time;
 import com.djrapitops.plugin.utilities.Verify;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Abstract class for keeping track of time spent in each state.
+ * <p>
+ * Implementations decide how the times of states are stored.
  */
 public abstract class TimeKeeper {
-    /**
-     * Keeps time of states.
-     */
-    protected Map<String, Long> times;
     /**
      * Last State seen in
      */
@@ -24,26 +21,17 @@ public abstract class TimeKeeper {
      */
     protected long lastStateChange;
 
-    public TimeKeeper(Map<String, Long> times, String lastState, long lastStateChange) {
-        this.times = times;
+    public TimeKeeper(String lastState, long lastStateChange) {
         this.state = lastState;
         this.lastStateChange = lastStateChange;
     }
 
-    public TimeKeeper(String lastState, long lastStateChange) {
-        this(new HashMap<>(), lastState, lastStateChange);
-    }
-
     public TimeKeeper(String lastState) {
-        this(new HashMap<>(), lastState, 0L);
-    }
-
-    public TimeKeeper(Map<String, Long> times) {
-        this(times, null, 0);
+        this(lastState, 0L);
     }
 
     public TimeKeeper() {
-        this(new HashMap<>());
+        this(null, 0L);
     }
 
     /**
@@ -53,21 +41,9 @@ public abstract class TimeKeeper {
      * @param time  Time in ms the state has been active for
      * @throws IllegalArgumentException If given state is null
      */
-    public void setTime(String state, long time) {
-        times.put(Verify.nullCheck(state), time);
-    }
+    public abstract void setTime(String state, long time);
 
-    public void renameState(String state, String renameTo) {
-        Verify.nullCheck(state, renameTo);
-        Long time = times.get(state);
-        if (time != null) {
-            times.put(renameTo, time);
-            times.remove(state);
-            if (state.equals(this.state)) {
-                this.state = renameTo;
-            }
-        }
-    }
+    public abstract void renameState(String state, String renameTo);
 
     /**
      * Adds time to the last state while updating the status of other parameters.
@@ -81,20 +57,17 @@ public abstract class TimeKeeper {
         if (state == null) {
             state = newState;
         }
-        Long currentTime = times.getOrDefault(state, 0L);
         long diff = playTime - lastStateChange;
-        times.put(state, currentTime + Math.abs(diff));
+        addTime(state, Math.abs(diff));
         state = newState;
         lastStateChange = playTime;
     }
 
-    protected void resetState(String state) {
-        times.remove(Verify.nullCheck(state));
-    }
+    protected abstract void resetState(String state);
 
     protected void resetState(String state, long time) {
         if (time > 0) {
-            times.put(Verify.nullCheck(state), time);
+            setTime(Verify.nullCheck(state), time);
             lastStateChange = time;
             this.state = state;
         } else {
@@ -102,25 +75,20 @@ public abstract class TimeKeeper {
         }
     }
 
-    public long getTime(String state) {
-        return times.getOrDefault(state, 0L);
-    }
+    public abstract long getTime(String state);
 
-    public void addTime(String state, long time) {
-        times.put(state, times.getOrDefault(state, 0L) + time);
-    }
+    public abstract void addTime(String state, long time);
 
-    public long getTotal() {
-        return times.values().stream().mapToLong(i -> i).sum();
-    }
+    public abstract long getTotal();
 
-    public Map<String, Long> getTimes() {
-        return times;
-    }
+    /**
+     * Get the times of all states.
+     *
+     * @return Map of State: time in ms, changes to the map are not reflected to this object.
+     */
+    public abstract Map<String, Long> getTimes();
 
-    public void setTimes(Map<String, Long> times) {
-        this.times = times;
-    }
+    public abstract void setTimes(Map<String, Long> times);
 
     public String getState() {
         return state;
@@ -144,21 +112,21 @@ public abstract class TimeKeeper {
         if (o == null || getClass() != o.getClass()) return false;
         TimeKeeper that = (TimeKeeper) o;
         return lastStateChange == that.lastStateChange &&
-                Objects.equals(times, that.times) &&
+                Objects.equals(getTimes(), that.getTimes()) &&
                 Objects.equals(state, that.state);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(times, state, lastStateChange);
+        return Objects.hash(getTimes(), state, lastStateChange);
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("times", times)
+                .append("times", getTimes())
                 .append("state", state)
                 .append("lastStateChange", lastStateChange)
                 .toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data.time;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of world names.
+ * <p>
+ * A server has a handful of worlds, but every loaded session refers to them, so each name is kept in memory only
+ * once and {@link WorldTimes} of all sessions share the same String instances.
+ *
+ * @author Rsl1122
+ */
+public class WorldRegistry {
+
+    private static final Map<String, String> WORLDS = new ConcurrentHashMap<>();
+
+    private WorldRegistry() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Get the shared instance of a world name.
+     *
+     * @param world Name of the world, may be null.
+     * @return Equal String that is shared by all users of the name.
+     */
+    public static String intern(String world) {
+        if (world == null) {
+            return null;
+        }
+        String registered = WORLDS.putIfAbsent(world, world);
+        return registered != null ? registered : world;
+    }
+
+    /**
+     * Get amount of registered world names.
+     *
+     * @return amount of world names.
+     */
+    public static int size() {
+        return WORLDS.size();
+    }
+}
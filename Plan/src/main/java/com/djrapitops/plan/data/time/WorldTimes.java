@@ -2,21 +2,31 @@ package main.java.com.djrapitops.plan.data.time;
 
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * Class that tracks the time spent in each World based on GMTimes.
+ * <p>
+ * Times are stored in a {@code long[worlds][4]} matrix, one row per world and one column per GameMode in the order
+ * of {@link GMTimes#getGMKeyArray()}. World names are shared through {@link WorldRegistry}.
  *
  * @author Rsl1122
  * @since 4.0.0
  */
 public class WorldTimes {
 
-    private final Map<String, GMTimes> worldTimes;
+    private static final String[] NO_WORLDS = new String[0];
+    private static final long[][] NO_TIMES = new long[0][];
+    private static final WorldTimes EMPTY = new EmptyWorldTimes();
+
+    /**
+     * Names of the worlds, index of a name is the row of the world in {@link #times}.
+     */
+    private String[] worlds;
+    private long[][] times;
     private String currentWorld;
     private String currentGamemode;
+    private long lastStateChange;
 
     /**
      * Creates a new Empty WorldTimes object.
@@ -25,10 +35,11 @@ public class WorldTimes {
      * @param startingGM    GameMode to start the calculations at.
      */
     public WorldTimes(String startingWorld, String startingGM) {
-        worldTimes = new HashMap<>();
-        currentWorld = startingWorld;
+        this();
+        int index = getOrAddWorld(startingWorld);
+        currentWorld = worlds[index];
         currentGamemode = startingGM;
-        addWorld(startingWorld, startingGM, MiscUtils.getTime());
+        lastStateChange = MiscUtils.getTime();
     }
 
     /**
@@ -37,11 +48,52 @@ public class WorldTimes {
      * @param times Map of each World's GMTimes object.
      */
     public WorldTimes(Map<String, GMTimes> times) {
-        worldTimes = times;
+        this();
+        for (Map.Entry<String, GMTimes> entry : times.entrySet()) {
+            setGMTimesForWorld(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Creates an empty WorldTimes object for viewing.
+     */
+    public WorldTimes() {
+        worlds = NO_WORLDS;
+        times = NO_TIMES;
+    }
+
+    /**
+     * Get a shared WorldTimes without any worlds.
+     * <p>
+     * Used by sessions that have no world times, the returned object can not be changed.
+     *
+     * @return Empty WorldTimes that throws UnsupportedOperationException if changed.
+     */
+    public static WorldTimes empty() {
+        return EMPTY;
     }
 
-    private void addWorld(String worldName, String gameMode, long changeTime) {
-        worldTimes.put(worldName, new GMTimes(gameMode, changeTime));
+    private int indexOf(String world) {
+        for (int i = 0; i < worlds.length; i++) {
+            String name = worlds[i];
+            if (name == world || (name != null && name.equals(world))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int getOrAddWorld(String world) {
+        int index = indexOf(world);
+        if (index != -1) {
+            return index;
+        }
+        index = worlds.length;
+        worlds = Arrays.copyOf(worlds, index + 1);
+        times = Arrays.copyOf(times, index + 1);
+        worlds[index] = WorldRegistry.intern(world);
+        times[index] = new long[GMTimes.GM_COUNT];
+        return index;
     }
 
     /**
@@ -56,29 +108,24 @@ public class WorldTimes {
 
     /**
      * Updates the time status to match the new state.
+     * <p>
+     * Time since the last change is added to the previous world and GameMode.
      *
      * @param worldName  World name of the world swapped to.
      * @param gameMode   GameMode name of the gm swapped to.
      * @param changeTime Epoch ms the change occurred.
      */
     public void updateState(String worldName, String gameMode, long changeTime) {
-        GMTimes currentGMTimes = worldTimes.get(currentWorld);
-        if (worldName.equals(currentWorld)) {
-            currentGMTimes.changeState(gameMode, changeTime);
-        } else {
-            GMTimes newGMTimes = worldTimes.get(worldName);
-            if (newGMTimes == null) {
-                addWorld(worldName, gameMode, currentGMTimes.getLastStateChange());
-            }
-            currentGMTimes.changeState(currentGamemode, changeTime);
+        int gmIndex = GMTimes.indexOf(currentGamemode);
+        if (gmIndex != -1) {
+            int index = getOrAddWorld(currentWorld);
+            times[index][gmIndex] += Math.abs(changeTime - lastStateChange);
         }
 
-        for (GMTimes gmTimes : worldTimes.values()) {
-            gmTimes.setLastStateChange(changeTime);
-        }
-
-        currentWorld = worldName;
+        int index = getOrAddWorld(worldName);
+        currentWorld = worlds[index];
         currentGamemode = gameMode;
+        lastStateChange = changeTime;
     }
 
     /**
@@ -88,14 +135,24 @@ public class WorldTimes {
      * @return total milliseconds spent in a world.
      */
     public long getWorldPlaytime(String world) {
-        GMTimes gmTimes = worldTimes.get(world);
-        return gmTimes != null ? gmTimes.getTotal() : 0;
+        int index = indexOf(world);
+        return index != -1 ? sum(times[index]) : 0;
     }
 
     public long getTotal() {
-        return worldTimes.values().stream()
-                .mapToLong(GMTimes::getTotal)
-                .sum();
+        long total = 0L;
+        for (long[] gmTimes : times) {
+            total += sum(gmTimes);
+        }
+        return total;
+    }
+
+    private static long sum(long[] gmTimes) {
+        long total = 0L;
+        for (long time : gmTimes) {
+            total += time;
+        }
+        return total;
     }
 
     /**
@@ -106,45 +163,141 @@ public class WorldTimes {
      * an empty GMTimes is given, with 0 as playtime
      *
      * @param world World name being checked.
-     * @return GMTimes object with play times of each GameMode.
+     * @return GMTimes object with play times of each GameMode, backed by the times of this object.
      */
     public GMTimes getGMTimes(String world) {
-        return worldTimes.getOrDefault(world, new GMTimes());
+        int index = indexOf(world);
+        return index != -1 ? createView(index) : new GMTimes();
+    }
+
+    private GMTimes createView(int index) {
+        String state = Objects.equals(worlds[index], currentWorld) ? currentGamemode : null;
+        return new GMTimes(times[index], state, lastStateChange);
     }
 
     /**
      * Used to get the Map for saving.
+     * <p>
+     * Changes to the returned Map are not reflected to this object, but changes to the GMTimes objects are.
      *
-     * @return Current time map.
+     * @return Map of World name: GMTimes of the world.
      */
     public Map<String, GMTimes> getWorldTimes() {
-        return worldTimes;
+        Map<String, GMTimes> map = new LinkedHashMap<>();
+        for (int i = 0; i < worlds.length; i++) {
+            map.put(worlds[i], createView(i));
+        }
+        return map;
+    }
+
+    /**
+     * Get names of all worlds that have times.
+     *
+     * @return List of world names.
+     */
+    public List<String> getWorldNames() {
+        return Arrays.asList(worlds.clone());
+    }
+
+    /**
+     * Get amount of worlds that have times.
+     *
+     * @return amount of worlds, indexes of the worlds are 0 to amount - 1.
+     */
+    public int getWorldCount() {
+        return worlds.length;
+    }
+
+    /**
+     * Get name of a world.
+     *
+     * @param worldIndex Index of the world, 0 to {@link #getWorldCount()} - 1.
+     * @return name of the world.
+     */
+    public String getWorld(int worldIndex) {
+        return worlds[worldIndex];
+    }
+
+    /**
+     * Get time spent in a GameMode of a world.
+     *
+     * @param worldIndex Index of the world, 0 to {@link #getWorldCount()} - 1.
+     * @param gmIndex    Index of the GameMode in {@link GMTimes#getGMKeyArray()}.
+     * @return time in ms.
+     */
+    public long getTime(int worldIndex, int gmIndex) {
+        return times[worldIndex][gmIndex];
     }
 
+    /**
+     * Set the times of a world.
+     * <p>
+     * Only the GameModes of {@link GMTimes#getGMKeyArray()} are stored.
+     *
+     * @param world   Name of the world.
+     * @param gmTimes GMTimes to copy the times from.
+     */
     public void setGMTimesForWorld(String world, GMTimes gmTimes) {
-        worldTimes.put(world, gmTimes);
+        int index = getOrAddWorld(world);
+        long[] row = times[index];
+        for (int i = 0; i < GMTimes.GM_COUNT; i++) {
+            row[i] = gmTimes.getTime(i);
+        }
+    }
+
+    /**
+     * Set the times of a world.
+     *
+     * @param world     Name of the world.
+     * @param survival  Time spent in Survival, in ms.
+     * @param creative  Time spent in Creative, in ms.
+     * @param adventure Time spent in Adventure, in ms.
+     * @param spectator Time spent in Spectator, in ms.
+     */
+    public void setGMTimesForWorld(String world, long survival, long creative, long adventure, long spectator) {
+        int index = getOrAddWorld(world);
+        long[] row = times[index];
+        row[0] = survival;
+        row[1] = creative;
+        row[2] = adventure;
+        row[3] = spectator;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof WorldTimes)) return false;
         WorldTimes that = (WorldTimes) o;
-        return Objects.equals(worldTimes, that.worldTimes) &&
-                Objects.equals(currentWorld, that.currentWorld) &&
-                Objects.equals(currentGamemode, that.currentGamemode);
+        if (lastStateChange != that.lastStateChange ||
+                worlds.length != that.worlds.length ||
+                !Objects.equals(currentWorld, that.currentWorld) ||
+                !Objects.equals(currentGamemode, that.currentGamemode)) {
+            return false;
+        }
+        for (int i = 0; i < worlds.length; i++) {
+            int index = that.indexOf(worlds[i]);
+            if (index == -1 || !Arrays.equals(times[i], that.times[index])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(worldTimes, currentWorld, currentGamemode);
+        // Order of the worlds does not matter for equality.
+        int worldsHash = 0;
+        for (int i = 0; i < worlds.length; i++) {
+            worldsHash += Objects.hashCode(worlds[i]) ^ Arrays.hashCode(times[i]);
+        }
+        return Objects.hash(worldsHash, currentWorld, currentGamemode, lastStateChange);
     }
 
     @Override
     public String toString() {
         StringBuilder b = new StringBuilder("WorldTimes (Current: " + currentWorld + "){\n");
 
-        for (Map.Entry<String, GMTimes> entry : worldTimes.entrySet()) {
+        for (Map.Entry<String, GMTimes> entry : getWorldTimes().entrySet()) {
             GMTimes value = entry.getValue();
             b.append("World '").append(entry.getKey()).append("':\n")
                     .append("  Total: ").append(value.getTotal()).append("\n")
@@ -160,16 +313,37 @@ public class WorldTimes {
     }
 
     public void add(WorldTimes toAdd) {
-        Map<String, GMTimes> times = toAdd.getWorldTimes();
-        for (Map.Entry<String, GMTimes> entry : times.entrySet()) {
-            String worldName = entry.getKey();
-            GMTimes gmTimes = entry.getValue();
-
-            GMTimes currentGMTimes = getGMTimes(worldName);
-            for (String gm : GMTimes.getGMKeyArray()) {
-                currentGMTimes.addTime(gm, gmTimes.getTime(gm));
+        for (int i = 0; i < toAdd.worlds.length; i++) {
+            // Index is resolved first, adding a world replaces the arrays.
+            int index = getOrAddWorld(toAdd.worlds[i]);
+            long[] row = times[index];
+            long[] rowToAdd = toAdd.times[i];
+            for (int gm = 0; gm < GMTimes.GM_COUNT; gm++) {
+                row[gm] += rowToAdd[gm];
             }
-            worldTimes.put(worldName, currentGMTimes);
+        }
+    }
+
+    private static class EmptyWorldTimes extends WorldTimes {
+
+        @Override
+        public void updateState(String worldName, String gameMode, long changeTime) {
+            throw new UnsupportedOperationException("Empty WorldTimes can not be changed");
+        }
+
+        @Override
+        public void setGMTimesForWorld(String world, GMTimes gmTimes) {
+            throw new UnsupportedOperationException("Empty WorldTimes can not be changed");
+        }
+
+        @Override
+        public void setGMTimesForWorld(String world, long survival, long creative, long adventure, long spectator) {
+            throw new UnsupportedOperationException("Empty WorldTimes can not be changed");
+        }
+
+        @Override
+        public void add(WorldTimes toAdd) {
+            throw new UnsupportedOperationException("Empty WorldTimes can not be changed");
         }
     }
 }
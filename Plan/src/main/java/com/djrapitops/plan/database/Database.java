@@ -38,6 +38,9 @@ public abstract class Database {
     protected WorldTable worldTable;
     protected WorldTimesTable worldTimesTable;
     protected ServerTable serverTable;
+    protected ActivitySnapshotTable activitySnapshotTable;
+    protected JVMStatsTable jvmStatsTable;
+    protected DictionaryTable dictionaryTable;
 
 
 
@@ -58,6 +61,16 @@ public abstract class Database {
     public void init() throws DatabaseInitException {
     }
 
+    /**
+     * Schedules removal of old data.
+     * <p>
+     * Only called for the Database the plugin uses, not for databases opened temporarily by manage commands.
+     *
+     * @param secondsDelay Delay before the first clean.
+     */
+    public void scheduleClean(long secondsDelay) {
+    }
+
     /**
      * Condition if the user is saved in the database.
      *
@@ -262,6 +275,18 @@ public abstract class Database {
         return userInfoTable;
     }
 
+    public ActivitySnapshotTable getActivitySnapshotTable() {
+        return activitySnapshotTable;
+    }
+
+    public JVMStatsTable getJvmStatsTable() {
+        return jvmStatsTable;
+    }
+
+    public DictionaryTable getDictionaryTable() {
+        return dictionaryTable;
+    }
+
     public abstract void commit(Connection connection) throws SQLException;
 
     public boolean isUsingMySQL() {
@@ -56,11 +56,34 @@ public class MySQLDB extends SQLDB {
         return "MySQL";
     }
 
+    @Override
+    public String getIdentifier() {
+        return getConfigName() + ":" + Settings.DB_HOST + ":" + Settings.DB_PORT.getNumber() + "/" + Settings.DB_DATABASE;
+    }
+
     @Override
     public Connection getConnection() throws SQLException {
         return dataSource.getConnection();
     }
 
+    /**
+     * Get the amount of pooled connections that are in use.
+     *
+     * @return Amount of connections, 0 if the pool has not been set up.
+     */
+    public int getActiveConnections() {
+        return dataSource != null ? dataSource.getNumActive() : 0;
+    }
+
+    /**
+     * Get the amount of pooled connections that are waiting to be used.
+     *
+     * @return Amount of connections, 0 if the pool has not been set up.
+     */
+    public int getIdleConnections() {
+        return dataSource != null ? dataSource.getNumIdle() : 0;
+    }
+
     @Override
     public void close() throws SQLException {
         dataSource.close();
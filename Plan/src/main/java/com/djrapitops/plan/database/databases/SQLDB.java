@@ -13,13 +13,17 @@ import main.java.com.djrapitops.plan.data.ServerProfile;
 import main.java.com.djrapitops.plan.data.container.*;
 import main.java.com.djrapitops.plan.database.Database;
 import main.java.com.djrapitops.plan.database.tables.*;
+import main.java.com.djrapitops.plan.database.tables.clean.RetentionCleaner;
 import main.java.com.djrapitops.plan.database.tables.move.Version8TransferTable;
+import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import org.apache.commons.dbcp2.BasicDataSource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Class containing main logic for different data related save and load functionality.
@@ -31,6 +35,7 @@ public abstract class SQLDB extends Database {
 
     private final boolean usingMySQL;
     private boolean open = false;
+    private final ReentrantLock writeLock = new ReentrantLock();
     private ITask dbCleanTask;
 
     public SQLDB(IPlan plugin) {
@@ -43,6 +48,7 @@ public abstract class SQLDB extends Database {
 
         commandUseTable = new CommandUseTable(this, usingMySQL);
         tpsTable = new TPSTable(this, usingMySQL);
+        jvmStatsTable = new JVMStatsTable(this, usingMySQL);
 
         usersTable = new UsersTable(this, usingMySQL);
         userInfoTable = new UserInfoTable(this, usingMySQL);
@@ -50,9 +56,11 @@ public abstract class SQLDB extends Database {
         ipsTable = new IPsTable(this, usingMySQL);
         nicknamesTable = new NicknamesTable(this, usingMySQL);
         sessionsTable = new SessionsTable(this, usingMySQL);
+        dictionaryTable = new DictionaryTable(this, usingMySQL);
         killsTable = new KillsTable(this, usingMySQL);
         worldTable = new WorldTable(this, usingMySQL);
         worldTimesTable = new WorldTimesTable(this, usingMySQL);
+        activitySnapshotTable = new ActivitySnapshotTable(this, usingMySQL);
     }
 
     /**
@@ -61,7 +69,6 @@ public abstract class SQLDB extends Database {
      * All tables exist in the database after call to this.
      * Updates Schema to latest version.
      * Converts Unsaved Bukkit player files to database data.
-     * Cleans the database.
      *
      * @throws DatabaseInitException if Database fails to initiate.
      */
@@ -73,7 +80,6 @@ public abstract class SQLDB extends Database {
         try {
             setupDataSource();
             setupDatabase();
-            scheduleClean(10L);
             open = true;
         } finally {
             Benchmark.stop("Database", benchName);
@@ -81,8 +87,16 @@ public abstract class SQLDB extends Database {
         }
     }
 
+    /**
+     * Schedules removal of old data.
+     * <p>
+     * Cleaning runs on its own asynchronous task, repeated every Database.Retention.IntervalHours.
+     *
+     * @param secondsDelay Delay before the first clean.
+     */
+    @Override
     public void scheduleClean(long secondsDelay) {
-        dbCleanTask = RunnableFactory.createNew("DB Clean Task", new AbsRunnable() {
+        AbsRunnable cleanTask = new AbsRunnable() {
             @Override
             public void run() {
                 try {
@@ -91,11 +105,16 @@ public abstract class SQLDB extends Database {
                     }
                 } catch (SQLException e) {
                     Log.toLog(this.getClass().getName(), e);
-                } finally {
-                    cancel();
                 }
             }
-        }).runTaskLaterAsynchronously(TimeAmount.SECOND.ticks() * secondsDelay);
+        };
+        long delay = TimeAmount.SECOND.ticks() * secondsDelay;
+        long period = Settings.DB_RETENTION_INTERVAL.getNumber() * TimeAmount.HOUR.ticks();
+        if (period > 0) {
+            dbCleanTask = RunnableFactory.createNew("DB Clean Task", cleanTask).runTaskTimerAsynchronously(delay, period);
+        } else {
+            dbCleanTask = RunnableFactory.createNew("DB Clean Task", cleanTask).runTaskLaterAsynchronously(delay);
+        }
     }
 
     /**
@@ -114,7 +133,7 @@ public abstract class SQLDB extends Database {
 
             if (newDatabase) {
                 Log.info("New Database created.");
-                setVersion(13);
+                setVersion(15);
             }
 
             int version = getVersion();
@@ -145,7 +164,23 @@ public abstract class SQLDB extends Database {
                 ipsTable.alterTableV13();
                 setVersion(13);
             }
-        } catch (SQLException e) {
+            if (version < 14) {
+                tpsTable.alterTableV14();
+                setVersion(14);
+            }
+            if (version < 15) {
+                compactIPs();
+                setVersion(15);
+            }
+            // Version 8 kills are copied by the v8 -> v10 task.
+            if (version >= 10) {
+                killsTable.finishInterruptedWeaponMove();
+                if (killsTable.hasWeaponNames()) {
+                    Log.info("Moving weapon names of kills to " + dictionaryTable + ", this may take a while..");
+                    killsTable.moveWeaponsToDictionary();
+                }
+            }
+        } catch (DBCreateTableException | SQLException e) {
             throw new DatabaseInitException("Failed to set-up Database", e);
         }
     }
@@ -171,9 +206,10 @@ public abstract class SQLDB extends Database {
     public Table[] getAllTables() {
         return new Table[]{
                 serverTable, usersTable, userInfoTable, ipsTable,
-                nicknamesTable, sessionsTable, killsTable,
-                commandUseTable, actionsTable, tpsTable,
-                worldTable, worldTimesTable, securityTable
+                nicknamesTable, sessionsTable, dictionaryTable, killsTable,
+                commandUseTable, actionsTable, tpsTable, jvmStatsTable,
+                worldTable, worldTimesTable, activitySnapshotTable,
+                securityTable
         };
     }
 
@@ -184,10 +220,10 @@ public abstract class SQLDB extends Database {
      */
     public Table[] getAllTablesInRemoveOrder() {
         return new Table[]{
-                ipsTable, nicknamesTable, killsTable,
-                worldTimesTable, sessionsTable, actionsTable,
+                ipsTable, nicknamesTable, killsTable, dictionaryTable,
+                activitySnapshotTable, worldTimesTable, sessionsTable, actionsTable,
                 worldTable, userInfoTable, usersTable,
-                commandUseTable, tpsTable, securityTable,
+                commandUseTable, tpsTable, jvmStatsTable, securityTable,
                 serverTable
         };
     }
@@ -282,6 +318,7 @@ public abstract class SQLDB extends Database {
 
         profile.setPlayers(getPlayers(serverUUID));
         profile.setTps(tpsTable.getTPSData(serverUUID));
+        profile.setJvmStats(jvmStatsTable.getJVMStats(serverUUID));
         Optional<TPS> allTimePeak = tpsTable.getAllTimePeak(serverUUID);
         if (allTimePeak.isPresent()) {
             TPS peak = allTimePeak.get();
@@ -372,10 +409,52 @@ public abstract class SQLDB extends Database {
         }
     }
 
-    private void clean() throws SQLException {
+    /**
+     * Removes data older than the retention settings in small chunks.
+     *
+     * @throws SQLException DB Error
+     */
+    public void clean() throws SQLException {
         Log.info("Cleaning the database.");
-        tpsTable.clean();
-        Log.info("Clean complete.");
+        long now = MiscUtils.getTime();
+        int tpsDays = Settings.DB_RETENTION_TPS_DAYS.getNumber();
+        int sessionDays = Settings.DB_RETENTION_SESSION_DAYS.getNumber();
+
+        RetentionCleaner cleaner = new RetentionCleaner(this,
+                Settings.DB_RETENTION_CHUNK_SIZE.getNumber(),
+                Settings.DB_RETENTION_PAUSE.getNumber(),
+                Log::info
+        );
+
+        int removedTPS = tpsDays > 0 ? cleaner.cleanTPS(now - TimeAmount.DAY.ms() * tpsDays) : 0;
+        int removedSessions = sessionDays > 0 ? cleaner.cleanSessions(now - TimeAmount.DAY.ms() * sessionDays) : 0;
+        int removedOrphans = cleaner.cleanOrphans();
+
+        Log.info("Clean complete, removed " + removedTPS + " TPS data points, " + removedSessions + " sessions and "
+                + removedOrphans + " orphaned kills or world times.");
+    }
+
+    /**
+     * Merges duplicate IP rows saved before schema version 15 in small chunks and adds the unique (user, ip) key.
+     * <p>
+     * Run during the schema update, so nothing saves IPs or copies the table while duplicates still exist.
+     *
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error, the key was not added.
+     */
+    public int compactIPs() throws SQLException {
+        int[] idRange = ipsTable.getUserIDRange();
+        int removed = 0;
+        if (idRange.length != 0) {
+            Log.info("Merging duplicate IPs, this may take a while..");
+            int chunkSize = Math.max(1, Settings.DB_RETENTION_CHUNK_SIZE.getNumber());
+            for (int from = idRange[0]; from <= idRange[1]; from += chunkSize) {
+                removed += ipsTable.removeDuplicates(from, from + chunkSize);
+            }
+            Log.info("Merged duplicate IPs, removed " + removed + " rows.");
+        }
+        ipsTable.alterTableV15();
+        return removed;
     }
 
     @Override
@@ -400,6 +479,18 @@ public abstract class SQLDB extends Database {
 
     public abstract Connection getConnection() throws SQLException;
 
+    /**
+     * Get a connection that no other thread uses, for long writes that manage their own transactions.
+     * <p>
+     * The connection has to be closed by the caller, MySQL connections are returned to the pool when closed.
+     *
+     * @return Connection to the database.
+     * @throws SQLException If a connection can not be opened.
+     */
+    public Connection getDedicatedConnection() throws SQLException {
+        return getConnection();
+    }
+
     /**
      * Commits changes to the .db file when using SQLite Database.
      * <p>
@@ -407,6 +498,7 @@ public abstract class SQLDB extends Database {
      */
     @Override
     public void commit(Connection connection) throws SQLException {
+        long start = System.nanoTime();
         try {
             if (!usingMySQL) {
                 connection.commit();
@@ -417,6 +509,29 @@ public abstract class SQLDB extends Database {
             }
         } finally {
             returnToPool(connection);
+            PlanMetrics.getDatabaseCommits().recordSince(start);
+        }
+    }
+
+    /**
+     * Start a write to the database, call {@link #unlockWrites()} after the write has been committed.
+     * <p>
+     * SQLite has a single connection that is shared by all threads, so writes to it are done one at a time.
+     * This keeps statements of other threads out of a transaction and from changing the last inserted row ID
+     * before generated keys are read. MySQL connections are not shared, so nothing is locked.
+     */
+    public void lockWrites() {
+        if (!usingMySQL) {
+            writeLock.lock();
+        }
+    }
+
+    /**
+     * End a write started with {@link #lockWrites()}.
+     */
+    public void unlockWrites() {
+        if (!usingMySQL) {
+            writeLock.unlock();
         }
     }
 
@@ -445,4 +560,13 @@ public abstract class SQLDB extends Database {
     public boolean isOpen() {
         return open;
     }
+
+    /**
+     * Used to tell databases of the same type apart.
+     *
+     * @return Identifier of this database, for example config name and file name.
+     */
+    public String getIdentifier() {
+        return getConfigName();
+    }
 }
@@ -76,6 +76,46 @@ public class SQLiteDB extends SQLDB {
         return connection;
     }
 
+    /**
+     * Copies the database into a file while the database stays in use.
+     * <p>
+     * Uses {@code VACUUM INTO} if the SQLite version supports it (3.27.0+) and the SQLite online backup API
+     * otherwise. Both copy database pages inside SQLite, so rows are not loaded to memory and the copy is a
+     * consistent snapshot of committed data.
+     *
+     * @param backupFile File to write, replaced if it exists.
+     * @throws SQLException If the backup fails.
+     */
+    public void backupTo(File backupFile) throws SQLException {
+        String backupPath = backupFile.getAbsolutePath();
+        if (backupFile.exists() && !backupFile.delete()) {
+            throw new SQLException("Could not replace existing backup file " + backupPath);
+        }
+
+        // A separate connection is used, VACUUM can not be run inside the transaction of the main connection.
+        try (Connection backupConnection = getNewConnection(dbName)) {
+            backupConnection.setAutoCommit(true);
+            try (Statement statement = backupConnection.createStatement()) {
+                try {
+                    statement.execute("VACUUM INTO '" + backupPath.replace("'", "''") + "'");
+                } catch (SQLException vacuumIntoNotSupported) {
+                    // SQLite versions before 3.27 do not know the syntax, other errors fail the backup.
+                    String message = vacuumIntoNotSupported.getMessage();
+                    if (message == null || !message.contains("syntax error")) {
+                        throw vacuumIntoNotSupported;
+                    }
+                    Log.debug("VACUUM INTO not supported, using online backup: " + message);
+                    // sqlite-jdbc command that uses the online backup API, its file name can not contain escaped quotes.
+                    String quote = backupPath.contains("\"") ? "'" : "\"";
+                    if (backupPath.contains(quote)) {
+                        throw new SQLException("Backup path can not contain both ' and \": " + backupPath, vacuumIntoNotSupported);
+                    }
+                    statement.executeUpdate("backup to " + quote + backupPath + quote);
+                }
+            }
+        }
+    }
+
     private void setJournalMode(Connection connection) throws SQLException {
         try (Statement statement = connection.createStatement()) {
             statement.execute("");
@@ -127,6 +167,11 @@ public class SQLiteDB extends SQLDB {
         return "SQLite";
     }
 
+    @Override
+    public String getIdentifier() {
+        return getConfigName() + ":" + dbName;
+    }
+
     @Override
     public Connection getConnection() throws SQLException {
         if (connection == null) {
@@ -135,6 +180,15 @@ public class SQLiteDB extends SQLDB {
         return connection;
     }
 
+    /**
+     * Opens a new connection to the database file, the shared connection of the plugin is not affected by
+     * transactions of the returned connection.
+     */
+    @Override
+    public Connection getDedicatedConnection() throws SQLException {
+        return getNewConnection(dbName);
+    }
+
     @Override
     public void close() throws SQLException {
         stopConnectionPingTask();
@@ -30,6 +30,15 @@ public abstract class ExecStatement {
         }
     }
 
+    public int executeUpdate(PreparedStatement statement) throws SQLException {
+        try {
+            prepare(statement);
+            return statement.executeUpdate();
+        } finally {
+            statement.close();
+        }
+    }
+
     public void executeBatch(PreparedStatement statement) throws SQLException {
         try {
             prepare(statement);
@@ -70,6 +70,21 @@ public class TableSqlParser extends SqlParser {
         return this;
     }
 
+    /**
+     * Used for a unique key of multiple columns.
+     *
+     * @param columns Columns that are unique together.
+     * @return TableSqlParser object
+     */
+    public TableSqlParser uniqueKey(String... columns) {
+        if (this.columns > 0) {
+            append(", ");
+        }
+        append("UNIQUE(").append(String.join(", ", columns)).append(")");
+        this.columns++;
+        return this;
+    }
+
     public TableSqlParser defaultValue(boolean value) {
         return defaultValue(value ? "1" : "0");
     }
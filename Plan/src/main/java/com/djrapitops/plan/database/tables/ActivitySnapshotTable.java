@@ -0,0 +1,194 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.database.tables;
+
+import com.djrapitops.plugin.utilities.Verify;
+import main.java.com.djrapitops.plan.api.exceptions.DBCreateTableException;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
+import main.java.com.djrapitops.plan.database.processing.ExecStatement;
+import main.java.com.djrapitops.plan.database.processing.QueryStatement;
+import main.java.com.djrapitops.plan.database.sql.Sql;
+import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Table that stores the activity group of each player at the end of each completed week.
+ * <p>
+ * Activity index of a past week never changes, so it only needs to be calculated once.
+ * <p>
+ * Represents plan_activity_snapshots.
+ *
+ * @author Rsl1122
+ */
+public class ActivitySnapshotTable extends UserIDTable {
+
+    private final String columnServerID = "server_id";
+    private final String columnDate = "date";
+    private final String columnGroup = "activity_group";
+
+    private final ServerTable serverTable;
+    private String insertStatement;
+
+    public ActivitySnapshotTable(SQLDB db, boolean usingMySQL) {
+        super("plan_activity_snapshots", db, usingMySQL);
+        serverTable = db.getServerTable();
+        // Both replace the group of an existing (user, server, date) row, so an analysis running at the same time
+        // as another one does not add the snapshot twice.
+        insertStatement = (usingMySQL ? "INSERT INTO " : "INSERT OR REPLACE INTO ") + tableName + " ("
+                + columnUserID + ", "
+                + columnServerID + ", "
+                + columnDate + ", "
+                + columnGroup
+                + ") VALUES ("
+                + usersTable.statementSelectID + ", "
+                + serverTable.statementSelectServerID + ", "
+                + "?, ?)"
+                + (usingMySQL ? " ON DUPLICATE KEY UPDATE " + columnGroup + "=VALUES(" + columnGroup + ")" : "");
+    }
+
+    @Override
+    public void createTable() throws DBCreateTableException {
+        createTable(TableSqlParser.createTable(tableName)
+                .column(columnUserID, Sql.INT).notNull()
+                .column(columnServerID, Sql.INT).notNull()
+                .column(columnDate, Sql.LONG).notNull()
+                .column(columnGroup, Sql.varchar(20)).notNull()
+                .foreignKey(columnUserID, usersTable.getTableName(), usersTable.getColumnID())
+                .foreignKey(columnServerID, serverTable.getTableName(), serverTable.getColumnID())
+                .uniqueKey(columnUserID, columnServerID, columnDate)
+                .toString()
+        );
+    }
+
+    /**
+     * Get dates that have a snapshot on the server.
+     *
+     * @param serverUUID UUID of the server.
+     * @return Set of epoch ms.
+     * @throws SQLException DB Error
+     */
+    public Set<Long> getSnapshotDates(UUID serverUUID) throws SQLException {
+        String sql = "SELECT DISTINCT " + columnDate + " FROM " + tableName +
+                " WHERE " + columnServerID + "=" + serverTable.statementSelectServerID;
+
+        return query(new QueryStatement<Set<Long>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Set<Long> processResults(ResultSet set) throws SQLException {
+                Set<Long> dates = new HashSet<>();
+                while (set.next()) {
+                    dates.add(set.getLong(columnDate));
+                }
+                return dates;
+            }
+        });
+    }
+
+    /**
+     * Save activity groups of players at a date.
+     *
+     * @param serverUUID UUID of the server.
+     * @param date       Epoch ms of the snapshot.
+     * @param groups     Map of Player UUID: Activity group name
+     * @throws SQLException DB Error
+     */
+    public void saveSnapshot(UUID serverUUID, long date, Map<UUID, String> groups) throws SQLException {
+        if (Verify.isEmpty(groups)) {
+            return;
+        }
+
+        executeBatch(new ExecStatement(insertStatement) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<UUID, String> entry : groups.entrySet()) {
+                    statement.setString(1, entry.getKey().toString());
+                    statement.setString(2, serverUUID.toString());
+                    statement.setLong(3, date);
+                    statement.setString(4, entry.getValue());
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+
+    /**
+     * Get amount of players in each activity group for every snapshot after a date.
+     *
+     * @param serverUUID UUID of the server.
+     * @param after      Epoch ms, snapshots before this are not included.
+     * @return TreeMap of Snapshot date: (Activity group name: Player count)
+     * @throws SQLException DB Error
+     */
+    public TreeMap<Long, Map<String, Integer>> getGroupCounts(UUID serverUUID, long after) throws SQLException {
+        String sql = "SELECT " + columnDate + ", " + columnGroup + ", COUNT(*) as c FROM " + tableName +
+                " WHERE " + columnServerID + "=" + serverTable.statementSelectServerID +
+                " AND " + columnDate + ">=?" +
+                " GROUP BY " + columnDate + ", " + columnGroup;
+
+        return query(new QueryStatement<TreeMap<Long, Map<String, Integer>>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, after);
+            }
+
+            @Override
+            public TreeMap<Long, Map<String, Integer>> processResults(ResultSet set) throws SQLException {
+                TreeMap<Long, Map<String, Integer>> counts = new TreeMap<>();
+                while (set.next()) {
+                    long date = set.getLong(columnDate);
+                    Map<String, Integer> groups = counts.computeIfAbsent(date, key -> new HashMap<>());
+                    groups.put(set.getString(columnGroup), set.getInt("c"));
+                }
+                return counts;
+            }
+        });
+    }
+
+    /**
+     * Get players in each activity group in a snapshot.
+     *
+     * @param serverUUID UUID of the server.
+     * @param date       Epoch ms of the snapshot.
+     * @return Map of Activity group name: Player UUIDs, empty if there is no snapshot for the date.
+     * @throws SQLException DB Error
+     */
+    public Map<String, Set<UUID>> getGroups(UUID serverUUID, long date) throws SQLException {
+        String usersIDColumn = usersTable + "." + usersTable.getColumnID();
+        String usersUUIDColumn = usersTable + "." + usersTable.getColumnUUID() + " as uuid";
+        String sql = "SELECT " + columnGroup + ", " + usersUUIDColumn +
+                " FROM " + tableName +
+                " JOIN " + usersTable + " on " + usersIDColumn + "=" + columnUserID +
+                " WHERE " + columnServerID + "=" + serverTable.statementSelectServerID +
+                " AND " + columnDate + "=?";
+
+        return query(new QueryStatement<Map<String, Set<UUID>>>(sql, 20000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, date);
+            }
+
+            @Override
+            public Map<String, Set<UUID>> processResults(ResultSet set) throws SQLException {
+                Map<String, Set<UUID>> groups = new HashMap<>();
+                while (set.next()) {
+                    String group = set.getString(columnGroup);
+                    UUID uuid = UUID.fromString(set.getString("uuid"));
+                    groups.computeIfAbsent(group, key -> new HashSet<>()).add(uuid);
+                }
+                return groups;
+            }
+        });
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.database.tables;
+
+import main.java.com.djrapitops.plan.api.exceptions.DBCreateTableException;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
+import main.java.com.djrapitops.plan.database.processing.ExecStatement;
+import main.java.com.djrapitops.plan.database.processing.QueryAllStatement;
+import main.java.com.djrapitops.plan.database.sql.Sql;
+import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table class representing database table plan_dictionary.
+ * <p>
+ * Stores strings that are repeated on many rows of other tables, those tables store the ID of the string instead.
+ * All strings are cached in both directions, so other tables can encode and decode them without joins.
+ *
+ * @author Rsl1122
+ */
+public class DictionaryTable extends Table {
+
+    /**
+     * Longest string that can be stored.
+     */
+    public static final int VALUE_MAX_LENGTH = 100;
+
+    private final String columnID = "id";
+    private final String columnValue = "string_value";
+
+    private final Map<String, Integer> idCache;
+    private final Map<Integer, String> valueCache;
+
+    /**
+     * Constructor.
+     *
+     * @param db         Database this table is a part of.
+     * @param usingMySQL Database is a MySQL database.
+     */
+    public DictionaryTable(SQLDB db, boolean usingMySQL) {
+        super("plan_dictionary", db, usingMySQL);
+        idCache = new ConcurrentHashMap<>();
+        valueCache = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void createTable() throws DBCreateTableException {
+        createTable(TableSqlParser.createTable(tableName)
+                .primaryKeyIDColumn(usingMySQL, columnID)
+                .column(columnValue, Sql.varchar(VALUE_MAX_LENGTH)).notNull().unique()
+                .primaryKey(usingMySQL, columnID)
+                .toString()
+        );
+    }
+
+    /**
+     * Get IDs of strings, saving the strings that are not in the database.
+     * <p>
+     * Commits the saved strings, so this should not be called inside a transaction of another table.
+     *
+     * @param values Strings to get IDs for.
+     * @return Map of String: ID
+     * @throws SQLException DB Error
+     */
+    public Map<String, Integer> getIDs(Collection<String> values) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String value : values) {
+            Integer id = idCache.get(value);
+            if (id != null) {
+                ids.put(value, id);
+            } else {
+                missing.add(value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        // Another server of a network may save the same string at the same time, those rows are ignored.
+        String sql = (usingMySQL ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ") + tableName
+                + " (" + columnValue + ") VALUES (?)";
+        executeBatch(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (String value : missing) {
+                    statement.setString(1, value);
+                    statement.addBatch();
+                }
+            }
+        });
+        reloadCache();
+
+        for (String value : missing) {
+            Integer id = idCache.get(value);
+            if (id == null) {
+                throw new SQLException("String was not saved to " + tableName + ": " + value);
+            }
+            ids.put(value, id);
+        }
+        return ids;
+    }
+
+    /**
+     * Get the string an ID represents.
+     * <p>
+     * The cache is reloaded if the ID is not in it, for example when another server saved the string.
+     *
+     * @param id ID of the string.
+     * @return The string.
+     * @throws SQLException DB Error or if the ID does not exist.
+     */
+    public String getValue(int id) throws SQLException {
+        String value = valueCache.get(id);
+        if (value == null) {
+            reloadCache();
+            value = valueCache.get(id);
+            if (value == null) {
+                throw new SQLException("No string with ID " + id + " in " + tableName);
+            }
+        }
+        return value;
+    }
+
+    private void reloadCache() throws SQLException {
+        String sql = "SELECT " + columnID + ", " + columnValue + " FROM " + tableName;
+
+        query(new QueryAllStatement<Object>(sql, 1000) {
+            @Override
+            public Object processResults(ResultSet set) throws SQLException {
+                while (set.next()) {
+                    int id = set.getInt(columnID);
+                    String value = set.getString(columnValue);
+                    idCache.put(value, id);
+                    valueCache.put(id, value);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Used to save every distinct value of a column of another table, when moving the strings of the table here.
+     * <p>
+     * Values longer than {@link #VALUE_MAX_LENGTH} are cut, join the column with {@link #truncate(String)}.
+     *
+     * @param table  Table that contains the column.
+     * @param column Column with the strings.
+     * @throws SQLException DB Error
+     */
+    public void saveValuesOf(String table, String column) throws SQLException {
+        execute((usingMySQL ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ") + tableName + " (" + columnValue + ")"
+                + " SELECT DISTINCT " + truncate(column) + " FROM " + table);
+    }
+
+    /**
+     * Get SQL that cuts the strings of a column to the length stored by this table.
+     *
+     * @param column Column with the strings.
+     * @return SQL expression.
+     */
+    public String truncate(String column) {
+        return "SUBSTR(" + column + ", 1, " + VALUE_MAX_LENGTH + ")";
+    }
+
+    @Override
+    public void removeAllData() throws SQLException {
+        idCache.clear();
+        valueCache.clear();
+        super.removeAllData();
+    }
+
+    public String getColumnID() {
+        return columnID;
+    }
+
+    public String getColumnValue() {
+        return columnValue;
+    }
+}
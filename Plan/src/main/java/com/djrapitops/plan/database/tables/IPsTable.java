@@ -11,12 +11,17 @@ import main.java.com.djrapitops.plan.database.sql.Select;
 import main.java.com.djrapitops.plan.database.sql.Sql;
 import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 
 /**
+ * Table that stores IPs and Geolocations of each player.
+ * <p>
+ * Each (user, ip) pair has a single row, joins only update the geolocation and last used date of the row.
+ *
  * @author Rsl1122
  */
 public class IPsTable extends UserIDTable {
@@ -24,7 +29,8 @@ public class IPsTable extends UserIDTable {
     private final String columnIP = "ip";
     private final String columnGeolocation = "geolocation";
     private final String columnLastUsed = "last_used";
-    private String insertStatement;
+    private final String indexUserIP = "plan_ips_user_ip";
+    private String upsertStatement;
 
     /**
      * @param db         The database
@@ -32,14 +38,18 @@ public class IPsTable extends UserIDTable {
      */
     public IPsTable(SQLDB db, boolean usingMySQL) {
         super("plan_ips", db, usingMySQL);
-        insertStatement = "INSERT INTO " + tableName + " ("
+        // Both replace the geolocation and last used date of an existing (user, ip) row.
+        upsertStatement = (usingMySQL ? "INSERT INTO " : "INSERT OR REPLACE INTO ") + tableName + " ("
                 + columnUserID + ", "
                 + columnIP + ", "
                 + columnGeolocation + ", "
                 + columnLastUsed
                 + ") VALUES ("
                 + usersTable.statementSelectID + ", "
-                + "?, ?, ?)";
+                + "?, ?, ?)"
+                + (usingMySQL ? " ON DUPLICATE KEY UPDATE "
+                + columnGeolocation + "=VALUES(" + columnGeolocation + "), "
+                + columnLastUsed + "=VALUES(" + columnLastUsed + ")" : "");
     }
 
     @Override
@@ -50,6 +60,7 @@ public class IPsTable extends UserIDTable {
                 .column(columnGeolocation, Sql.varchar(50)).notNull()
                 .column(columnLastUsed, Sql.LONG).notNull().defaultValue("0")
                 .foreignKey(columnUserID, usersTable.getTableName(), usersTable.getColumnID())
+                .uniqueKey(columnUserID, columnIP)
                 .toString()
         );
     }
@@ -64,6 +75,17 @@ public class IPsTable extends UserIDTable {
         addColumns(columnLastUsed + " bigint NOT NULL DEFAULT 0");
     }
 
+    /**
+     * Adds the unique (user, ip) key to a table created before schema version 15.
+     * <p>
+     * Duplicate rows need to be removed with {@link #removeDuplicates(int, int)} first.
+     *
+     * @throws SQLException DB Error, for example if duplicate rows still exist.
+     */
+    public void alterTableV15() throws SQLException {
+        execute("CREATE UNIQUE INDEX " + indexUserIP + " ON " + tableName + " (" + columnUserID + ", " + columnIP + ")");
+    }
+
     public List<GeoInfo> getGeoInfo(UUID uuid) throws SQLException {
         String sql = "SELECT DISTINCT * FROM " + tableName +
                 " WHERE " + columnUserID + "=" + usersTable.statementSelectID;
@@ -88,16 +110,15 @@ public class IPsTable extends UserIDTable {
         });
     }
 
+    /**
+     * Saves IP and Geolocation of a player, or updates the last used date if the IP is already saved.
+     *
+     * @param uuid UUID of the player.
+     * @param info IP, Geolocation and last used date.
+     * @throws SQLException DB Error
+     */
     public void saveGeoInfo(UUID uuid, GeoInfo info) throws SQLException {
-        List<GeoInfo> geoInfo = getGeoInfo(uuid);
-        if (geoInfo.contains(info)) {
-            updateGeoInfo(uuid, info);
-        }
-        insertGeoInfo(uuid, info);
-    }
-
-    private void insertGeoInfo(UUID uuid, GeoInfo info) throws SQLException {
-        execute(new ExecStatement(insertStatement) {
+        execute(new ExecStatement(upsertStatement) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setString(1, uuid.toString());
@@ -108,25 +129,6 @@ public class IPsTable extends UserIDTable {
         });
     }
 
-    private void updateGeoInfo(UUID uuid, GeoInfo info) throws SQLException {
-        String sql = "UPDATE " + tableName + " SET "
-                + columnLastUsed + "=?" +
-                " WHERE " + columnUserID + "=" + usersTable.statementSelectID +
-                " AND " + columnIP + "=?" +
-                " AND " + columnGeolocation + "=?";
-
-
-        execute(new ExecStatement(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setLong(1, info.getLastUsed());
-                statement.setString(2, uuid.toString());
-                statement.setString(3, info.getIp());
-                statement.setString(4, info.getGeolocation());
-            }
-        });
-    }
-
     public Optional<String> getGeolocation(String ip) throws SQLException {
         String sql = Select.from(tableName, columnGeolocation)
                 .where(columnIP + "=?")
@@ -185,7 +187,7 @@ public class IPsTable extends UserIDTable {
             return;
         }
 
-        executeBatch(new ExecStatement(insertStatement) {
+        executeBatch(new ExecStatement(upsertStatement) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 // Every User
@@ -207,4 +209,107 @@ public class IPsTable extends UserIDTable {
             }
         });
     }
+
+    /**
+     * Get the lowest and highest user ID that has IPs saved.
+     *
+     * @return Array of lowest and highest ID, empty if there are no IPs.
+     * @throws SQLException DB Error
+     */
+    public int[] getUserIDRange() throws SQLException {
+        return queryIDRange("SELECT MIN(" + columnUserID + ") as min_id, MAX(" + columnUserID + ") as max_id FROM " + tableName);
+    }
+
+    /**
+     * Merges rows of the same user and IP into a single row.
+     * <p>
+     * Before schema version 15 a row was inserted on every join. The merged row keeps the geolocation and the
+     * last used date of the most recent row. Each range is merged in its own transaction, so this is only used during
+     * the schema update before other tasks use the connection.
+     *
+     * @param fromID Lowest user ID, inclusive.
+     * @param toID   Highest user ID, exclusive.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error, nothing in the range is changed.
+     */
+    public int removeDuplicates(int fromID, int toID) throws SQLException {
+        String duplicates = "SELECT " + columnUserID + ", " + columnIP + ", "
+                + "MAX(" + columnLastUsed + ") as max_used, "
+                + "COUNT(*) as row_count"
+                + " FROM " + tableName
+                + " WHERE " + columnUserID + ">=? AND " + columnUserID + "<?"
+                + " GROUP BY " + columnUserID + ", " + columnIP
+                + " HAVING COUNT(*)>1";
+        String selectLatest = "SELECT i." + columnUserID + ", i." + columnIP + ", i." + columnGeolocation + ", "
+                + "i." + columnLastUsed + ", d.row_count"
+                + " FROM " + tableName + " i"
+                + " JOIN (" + duplicates + ") d"
+                + " ON i." + columnUserID + "=d." + columnUserID
+                + " AND i." + columnIP + "=d." + columnIP
+                + " AND i." + columnLastUsed + "=d.max_used";
+        String delete = "DELETE FROM " + tableName + " WHERE " + columnUserID + "=? AND " + columnIP + "=?";
+        String insert = "INSERT INTO " + tableName + " ("
+                + columnUserID + ", "
+                + columnIP + ", "
+                + columnGeolocation + ", "
+                + columnLastUsed
+                + ") VALUES (?, ?, ?, ?)";
+
+        Connection connection = null;
+        try {
+            connection = getConnection();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // Rows with the same latest date are all returned, only the first one of each user and IP is kept.
+                Map<Integer, Map<String, GeoInfo>> latest = new HashMap<>();
+                int removed = 0;
+                try (PreparedStatement statement = connection.prepareStatement(selectLatest)) {
+                    statement.setInt(1, fromID);
+                    statement.setInt(2, toID);
+                    try (ResultSet set = statement.executeQuery()) {
+                        while (set.next()) {
+                            Map<String, GeoInfo> ofUser = latest.computeIfAbsent(set.getInt(columnUserID), id -> new HashMap<>());
+                            String ip = set.getString(columnIP);
+                            if (!ofUser.containsKey(ip)) {
+                                ofUser.put(ip, new GeoInfo(ip, set.getString(columnGeolocation), set.getLong(columnLastUsed)));
+                                removed += set.getInt("row_count") - 1;
+                            }
+                        }
+                    }
+                }
+
+                try (PreparedStatement deleteStatement = connection.prepareStatement(delete);
+                     PreparedStatement insertStatement = connection.prepareStatement(insert)) {
+                    for (Map.Entry<Integer, Map<String, GeoInfo>> entry : latest.entrySet()) {
+                        int userID = entry.getKey();
+                        for (GeoInfo info : entry.getValue().values()) {
+                            deleteStatement.setInt(1, userID);
+                            deleteStatement.setString(2, info.getIp());
+                            deleteStatement.addBatch();
+
+                            insertStatement.setInt(1, userID);
+                            insertStatement.setString(2, info.getIp());
+                            insertStatement.setString(3, info.getGeolocation());
+                            insertStatement.setLong(4, info.getLastUsed());
+                            insertStatement.addBatch();
+                        }
+                    }
+                    if (!latest.isEmpty()) {
+                        deleteStatement.executeBatch();
+                        insertStatement.executeBatch();
+                    }
+                }
+                connection.commit();
+                return removed;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            db.returnToPool(connection);
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.database.tables;
+
+import main.java.com.djrapitops.plan.api.exceptions.DBCreateTableException;
+import main.java.com.djrapitops.plan.data.container.JVMStats;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
+import main.java.com.djrapitops.plan.database.processing.ExecStatement;
+import main.java.com.djrapitops.plan.database.processing.QueryStatement;
+import main.java.com.djrapitops.plan.database.sql.Select;
+import main.java.com.djrapitops.plan.database.sql.Sql;
+import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Table that stores JVM statistics of each minute, next to the TPS data of the same minute.
+ * <p>
+ * Represents plan_jvm_stats.
+ *
+ * @author Rsl1122
+ * @see TPSTable
+ */
+public class JVMStatsTable extends Table {
+
+    private final String columnServerID = "server_id";
+    private final String columnDate = "date";
+    private final String columnProcessCPU = "process_cpu";
+    private final String columnYoungGCCount = "young_gc_count";
+    private final String columnYoungGCTime = "young_gc_time";
+    private final String columnOldGCCount = "old_gc_count";
+    private final String columnOldGCTime = "old_gc_time";
+    private final String columnAllocationRate = "allocation_rate";
+    private final String columnThreads = "threads";
+    private final String columnMetaspace = "metaspace_used";
+
+    private final ServerTable serverTable;
+    private String insertStatement;
+
+    public JVMStatsTable(SQLDB db, boolean usingMySQL) {
+        super("plan_jvm_stats", db, usingMySQL);
+        serverTable = db.getServerTable();
+        insertStatement = "INSERT INTO " + tableName + " ("
+                + columnServerID + ", "
+                + columnDate + ", "
+                + columnProcessCPU + ", "
+                + columnYoungGCCount + ", "
+                + columnYoungGCTime + ", "
+                + columnOldGCCount + ", "
+                + columnOldGCTime + ", "
+                + columnAllocationRate + ", "
+                + columnThreads + ", "
+                + columnMetaspace
+                + ") VALUES ("
+                + serverTable.statementSelectServerID + ", "
+                + "?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public void createTable() throws DBCreateTableException {
+        createTable(TableSqlParser.createTable(tableName)
+                .column(columnServerID, Sql.INT).notNull()
+                .column(columnDate, Sql.LONG).notNull()
+                .column(columnProcessCPU, Sql.DOUBLE).notNull()
+                .column(columnYoungGCCount, Sql.INT).notNull()
+                .column(columnYoungGCTime, Sql.LONG).notNull()
+                .column(columnOldGCCount, Sql.INT).notNull()
+                .column(columnOldGCTime, Sql.LONG).notNull()
+                .column(columnAllocationRate, Sql.DOUBLE).notNull()
+                .column(columnThreads, Sql.INT).notNull()
+                .column(columnMetaspace, Sql.LONG).notNull()
+                .foreignKey(columnServerID, serverTable.getTableName(), serverTable.getColumnID())
+                .toString()
+        );
+    }
+
+    public void insertJVMStats(JVMStats stats) throws SQLException {
+        execute(new ExecStatement(insertStatement) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, MiscUtils.getIPlan().getServerUuid().toString());
+                statement.setLong(2, stats.getDate());
+                statement.setDouble(3, stats.getProcessCPU());
+                statement.setInt(4, stats.getYoungGCCount());
+                statement.setLong(5, stats.getYoungGCTime());
+                statement.setInt(6, stats.getOldGCCount());
+                statement.setLong(7, stats.getOldGCTime());
+                statement.setDouble(8, stats.getAllocationRate());
+                statement.setInt(9, stats.getThreadCount());
+                statement.setLong(10, stats.getMetaspaceUsed());
+            }
+        });
+    }
+
+    public List<JVMStats> getJVMStats(UUID serverUUID) throws SQLException {
+        String sql = Select.all(tableName)
+                .where(columnServerID + "=" + serverTable.statementSelectServerID)
+                .toString();
+
+        return query(new QueryStatement<List<JVMStats>>(sql, 50000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public List<JVMStats> processResults(ResultSet set) throws SQLException {
+                List<JVMStats> data = new ArrayList<>();
+                while (set.next()) {
+                    data.add(new JVMStats(
+                            set.getLong(columnDate),
+                            set.getDouble(columnProcessCPU),
+                            set.getInt(columnYoungGCCount),
+                            set.getLong(columnYoungGCTime),
+                            set.getInt(columnOldGCCount),
+                            set.getLong(columnOldGCTime),
+                            set.getDouble(columnAllocationRate),
+                            set.getInt(columnThreads),
+                            set.getLong(columnMetaspace)
+                    ));
+                }
+                return data;
+            }
+        });
+    }
+
+    /**
+     * Remove statistics between two dates.
+     *
+     * @param after  Epoch ms, inclusive.
+     * @param before Epoch ms, exclusive.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int removeBetween(long after, long before) throws SQLException {
+        String sql = "DELETE FROM " + tableName +
+                " WHERE " + columnDate + ">=?" +
+                " AND " + columnDate + "<?";
+
+        return executeUpdate(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, after);
+                statement.setLong(2, before);
+            }
+        });
+    }
+}
@@ -11,34 +11,44 @@ import main.java.com.djrapitops.plan.database.processing.QueryStatement;
 import main.java.com.djrapitops.plan.database.sql.Sql;
 import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
+ * Table that stores the kills players have made during their sessions.
+ * <p>
+ * Weapon names are stored as IDs of {@link DictionaryTable}.
+ *
  * @author Rsl1122
  */
 public class KillsTable extends UserIDTable {
 
     private final String columnKillerUserID = "killer_id";
     private final String columnVictimUserID = "victim_id";
-    private final String columnWeapon = "weapon";
+    private final String columnWeaponID = "weapon_id";
     private final String columnDate = "date";
     private final String columnSessionID = "session_id";
+    private final String oldColumnWeapon = "weapon";
+    private final String newTableName = "plan_kills_new";
 
     private final SessionsTable sessionsTable;
+    private final DictionaryTable dictionaryTable;
     private String insertStatement;
 
     public KillsTable(SQLDB db, boolean usingMySQL) {
         super("plan_kills", db, usingMySQL);
         sessionsTable = db.getSessionsTable();
+        dictionaryTable = db.getDictionaryTable();
         insertStatement = "INSERT INTO " + tableName + " ("
                 + columnKillerUserID + ", "
                 + columnVictimUserID + ", "
                 + columnSessionID + ", "
                 + columnDate + ", "
-                + columnWeapon
+                + columnWeaponID
                 + ") VALUES ("
                 + usersTable.statementSelectID + ", "
                 + usersTable.statementSelectID + ", "
@@ -47,17 +57,106 @@ public class KillsTable extends UserIDTable {
 
     @Override
     public void createTable() throws DBCreateTableException {
-        createTable(TableSqlParser.createTable(tableName)
+        createTable(createTableSql(tableName));
+    }
+
+    private String createTableSql(String name) {
+        return TableSqlParser.createTable(name)
                 .column(columnKillerUserID, Sql.INT).notNull()
                 .column(columnVictimUserID, Sql.INT).notNull()
-                .column(columnWeapon, Sql.varchar(30)).notNull()
+                .column(columnWeaponID, Sql.INT).notNull()
                 .column(columnDate, Sql.LONG).notNull()
                 .column(columnSessionID, Sql.INT).notNull()
                 .foreignKey(columnKillerUserID, usersTable.getTableName(), usersTable.getColumnID())
                 .foreignKey(columnVictimUserID, usersTable.getTableName(), usersTable.getColumnID())
+                .foreignKey(columnWeaponID, dictionaryTable.getTableName(), dictionaryTable.getColumnID())
                 .foreignKey(columnSessionID, sessionsTable.getTableName(), sessionsTable.getColumnID())
-                .toString()
-        );
+                .toString();
+    }
+
+    /**
+     * Check if the table still stores weapon names instead of {@link DictionaryTable} IDs.
+     *
+     * @return true if {@link #moveWeaponsToDictionary()} needs to be called.
+     * @throws SQLException DB Error
+     */
+    public boolean hasWeaponNames() throws SQLException {
+        return hasColumn(oldColumnWeapon);
+    }
+
+    /**
+     * Replaces the weapon names of the table with IDs of {@link DictionaryTable}.
+     * <p>
+     * The kills are copied to a new table, since SQLite can not change the type of a column. The old table is only
+     * replaced after the copy succeeds, so if anything fails the old table is still used and the move is started
+     * again on the next enable.
+     *
+     * @throws SQLException           DB Error
+     * @throws DBCreateTableException If the new table can not be created.
+     */
+    public void moveWeaponsToDictionary() throws SQLException, DBCreateTableException {
+        execute("DROP TABLE IF EXISTS " + newTableName);
+        createTable(createTableSql(newTableName));
+
+        dictionaryTable.saveValuesOf(tableName, oldColumnWeapon);
+        execute("INSERT INTO " + newTableName + " (" +
+                columnKillerUserID + ", " +
+                columnVictimUserID + ", " +
+                columnWeaponID + ", " +
+                columnDate + ", " +
+                columnSessionID +
+                ") " + selectWithWeaponIDs(tableName));
+
+        execute("DROP TABLE " + tableName);
+        execute(tableRenameSql(newTableName, tableName));
+    }
+
+    /**
+     * Finishes a weapon move that was interrupted during an earlier enable.
+     * <p>
+     * If the new table was left behind after the old one was removed, it replaces the table created empty on this
+     * enable. Kills left in {@code temp_kills} by the earlier version of the move are copied to the table.
+     *
+     * @throws SQLException DB Error
+     */
+    public void finishInterruptedWeaponMove() throws SQLException {
+        if (!hasWeaponNames() && hasTable(newTableName)) {
+            execute("INSERT INTO " + newTableName + " SELECT * FROM " + tableName);
+            execute("DROP TABLE " + tableName);
+            execute(tableRenameSql(newTableName, tableName));
+        }
+
+        String tempTableName = "temp_kills";
+        // Version 8 kills are also moved through temp_kills, but they do not have sessions.
+        if (hasColumn(tempTableName, columnSessionID) && hasColumn(tempTableName, oldColumnWeapon)) {
+            dictionaryTable.saveValuesOf(tempTableName, oldColumnWeapon);
+            // Kills may have been copied before the move was interrupted.
+            execute("INSERT INTO " + tableName + " (" +
+                    columnKillerUserID + ", " +
+                    columnVictimUserID + ", " +
+                    columnWeaponID + ", " +
+                    columnDate + ", " +
+                    columnSessionID +
+                    ") " + selectWithWeaponIDs(tempTableName) +
+                    " WHERE NOT EXISTS (SELECT * FROM " + tableName + " c" +
+                    " WHERE c." + columnSessionID + "=k." + columnSessionID +
+                    " AND c." + columnKillerUserID + "=k." + columnKillerUserID +
+                    " AND c." + columnVictimUserID + "=k." + columnVictimUserID +
+                    " AND c." + columnDate + "=k." + columnDate + ")");
+            execute("DROP TABLE " + tempTableName);
+        }
+    }
+
+    private String selectWithWeaponIDs(String fromTable) {
+        return "SELECT " +
+                "k." + columnKillerUserID + ", " +
+                "k." + columnVictimUserID + ", " +
+                "d." + dictionaryTable.getColumnID() + ", " +
+                "k." + columnDate + ", " +
+                "k." + columnSessionID +
+                " FROM " + fromTable + " k" +
+                " JOIN " + dictionaryTable + " d on d." + dictionaryTable.getColumnValue() + "=" +
+                dictionaryTable.truncate("k." + oldColumnWeapon);
     }
 
     @Override
@@ -79,6 +178,7 @@ public class KillsTable extends UserIDTable {
         if (Verify.isEmpty(playerKills)) {
             return;
         }
+        Map<String, Integer> weaponIDs = getWeaponIDs(playerKills);
 
         executeBatch(new ExecStatement(insertStatement) {
             @Override
@@ -86,12 +186,11 @@ public class KillsTable extends UserIDTable {
                 for (PlayerKill kill : playerKills) {
                     UUID victim = kill.getVictim();
                     long date = kill.getTime();
-                    String weapon = kill.getWeapon();
                     statement.setString(1, uuid.toString());
                     statement.setString(2, victim.toString());
                     statement.setInt(3, sessionID);
                     statement.setLong(4, date);
-                    statement.setString(5, weapon);
+                    statement.setInt(5, weaponIDs.get(kill.getWeapon()));
                     statement.addBatch();
                 }
             }
@@ -104,7 +203,7 @@ public class KillsTable extends UserIDTable {
         String sql = "SELECT " +
                 columnSessionID + ", " +
                 columnDate + ", " +
-                columnWeapon + ", " +
+                columnWeaponID + ", " +
                 usersUUIDColumn +
                 " FROM " + tableName +
                 " JOIN " + usersTable + " on " + usersIDColumn + "=" + columnVictimUserID +
@@ -127,8 +226,8 @@ public class KillsTable extends UserIDTable {
                     String uuidS = set.getString("victim_uuid");
                     UUID victim = UUID.fromString(uuidS);
                     long date = set.getLong(columnDate);
-                    String weapon = set.getString(columnWeapon);
-                    session.getPlayerKills().add(new PlayerKill(victim, weapon, date));
+                    String weapon = dictionaryTable.getValue(set.getInt(columnWeaponID));
+                    session.playerKilled(new PlayerKill(victim, weapon, date));
                 }
                 return null;
             }
@@ -142,7 +241,7 @@ public class KillsTable extends UserIDTable {
         String usersKillerUUIDColumn = "a." + usersTable.getColumnUUID() + " as killer_uuid";
         String sql = "SELECT " +
                 columnDate + ", " +
-                columnWeapon + ", " +
+                columnWeaponID + ", " +
                 usersVictimUUIDColumn + ", " +
                 usersKillerUUIDColumn +
                 " FROM " + tableName +
@@ -157,7 +256,7 @@ public class KillsTable extends UserIDTable {
                     UUID killer = UUID.fromString(set.getString("killer_uuid"));
                     UUID victim = UUID.fromString(set.getString("victim_uuid"));
                     long date = set.getLong(columnDate);
-                    String weapon = set.getString(columnWeapon);
+                    String weapon = dictionaryTable.getValue(set.getInt(columnWeaponID));
                     List<PlayerKill> kills = allKills.getOrDefault(killer, new ArrayList<>());
                     kills.add(new PlayerKill(victim, weapon, date));
                     allKills.put(killer, kills);
@@ -185,6 +284,13 @@ public class KillsTable extends UserIDTable {
         if (Verify.isEmpty(allSessions)) {
             return;
         }
+        Map<String, Integer> weaponIDs = getWeaponIDs(allSessions.values().stream()
+                .map(Map::values)
+                .flatMap(Collection::stream)
+                .flatMap(Collection::stream)
+                .map(Session::getPlayerKills)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList()));
 
         executeBatch(new ExecStatement(insertStatement) {
             @Override
@@ -202,12 +308,11 @@ public class KillsTable extends UserIDTable {
                             for (PlayerKill kill : session.getPlayerKills()) {
                                 UUID victim = kill.getVictim();
                                 long date = kill.getTime();
-                                String weapon = kill.getWeapon();
                                 statement.setString(1, killer.toString());
                                 statement.setString(2, victim.toString());
                                 statement.setInt(3, sessionID);
                                 statement.setLong(4, date);
-                                statement.setString(5, weapon);
+                                statement.setInt(5, weaponIDs.get(kill.getWeapon()));
                                 statement.addBatch();
                             }
                         }
@@ -217,13 +322,61 @@ public class KillsTable extends UserIDTable {
         });
     }
 
+    /**
+     * Used to get IDs of the weapons of kills, saving the weapons that are not in the database.
+     * <p>
+     * Commits the saved weapons, so this has to be called before a transaction the kills are saved in.
+     *
+     * @param kills Kills to save.
+     * @return Map of Weapon: ID
+     * @throws SQLException DB Error
+     */
+    Map<String, Integer> getWeaponIDs(Collection<PlayerKill> kills) throws SQLException {
+        Set<String> weapons = kills.stream().map(PlayerKill::getWeapon).collect(Collectors.toSet());
+        return dictionaryTable.getIDs(weapons);
+    }
+
+    /**
+     * Used to save kills of sessions as a part of a transaction.
+     * <p>
+     * Does not commit.
+     *
+     * @param connection Connection of the transaction.
+     * @param sessions   Map of Killer UUID: Sessions that have their IDs set.
+     * @param weaponIDs  Map of Weapon: ID, from {@link #getWeaponIDs(Collection)}.
+     * @throws SQLException DB Error
+     */
+    void savePlayerKills(Connection connection, Map<UUID, List<Session>> sessions, Map<String, Integer> weaponIDs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(insertStatement)) {
+            boolean hasRows = false;
+            for (Map.Entry<UUID, List<Session>> entry : sessions.entrySet()) {
+                String killer = entry.getKey().toString();
+                for (Session session : entry.getValue()) {
+                    int sessionID = session.getSessionID();
+                    for (PlayerKill kill : session.getPlayerKills()) {
+                        statement.setString(1, killer);
+                        statement.setString(2, kill.getVictim().toString());
+                        statement.setInt(3, sessionID);
+                        statement.setLong(4, kill.getTime());
+                        statement.setInt(5, weaponIDs.get(kill.getWeapon()));
+                        statement.addBatch();
+                        hasRows = true;
+                    }
+                }
+            }
+            if (hasRows) {
+                statement.executeBatch();
+            }
+        }
+    }
+
     public Map<Integer, List<PlayerKill>> getAllPlayerKillsBySessionID() throws SQLException {
         String usersIDColumn = usersTable + "." + usersTable.getColumnID();
         String usersUUIDColumn = usersTable + "." + usersTable.getColumnUUID() + " as victim_uuid";
         String sql = "SELECT " +
                 columnSessionID + ", " +
                 columnDate + ", " +
-                columnWeapon + ", " +
+                columnWeaponID + ", " +
                 usersUUIDColumn +
                 " FROM " + tableName +
                 " JOIN " + usersTable + " on " + usersIDColumn + "=" + columnVictimUserID;
@@ -240,7 +393,7 @@ public class KillsTable extends UserIDTable {
                     String uuidS = set.getString("victim_uuid");
                     UUID victim = UUID.fromString(uuidS);
                     long date = set.getLong(columnDate);
-                    String weapon = set.getString(columnWeapon);
+                    String weapon = dictionaryTable.getValue(set.getInt(columnWeaponID));
                     playerKills.add(new PlayerKill(victim, weapon, date));
 
                     allPlayerKills.put(sessionID, playerKills);
@@ -249,4 +402,69 @@ public class KillsTable extends UserIDTable {
             }
         });
     }
+
+    /**
+     * Get the lowest and highest session ID that has kills.
+     *
+     * @return Array of lowest and highest session ID, empty if there are no kills.
+     * @throws SQLException DB Error
+     */
+    public int[] getSessionIDRange() throws SQLException {
+        return queryIDRange("SELECT MIN(" + columnSessionID + ") as min_id, MAX(" + columnSessionID + ") as max_id FROM " + tableName);
+    }
+
+    /**
+     * Remove kills of sessions that ended before a date.
+     *
+     * @param before Epoch ms.
+     * @param fromID Lowest session ID to remove, inclusive.
+     * @param toID   Highest session ID to remove, exclusive.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int removeOfSessionsEndedBefore(long before, int fromID, int toID) throws SQLException {
+        String sessionIDColumn = sessionsTable.getColumnID();
+        String sql = "DELETE FROM " + tableName +
+                " WHERE " + columnSessionID + ">=? AND " + columnSessionID + "<?" +
+                " AND " + columnSessionID + " IN (SELECT " + sessionIDColumn + " FROM " + sessionsTable +
+                " WHERE " + sessionIDColumn + ">=? AND " + sessionIDColumn + "<?" +
+                " AND " + sessionsTable.getColumnSessionEnd() + "<?)";
+
+        return executeUpdate(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, fromID);
+                statement.setInt(2, toID);
+                statement.setInt(3, fromID);
+                statement.setInt(4, toID);
+                statement.setLong(5, before);
+            }
+        });
+    }
+
+    /**
+     * Remove kills that belong to sessions that no longer exist.
+     *
+     * @param fromID Lowest session ID to check, inclusive.
+     * @param toID   Highest session ID to check, exclusive.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int removeOrphans(int fromID, int toID) throws SQLException {
+        String sessionIDColumn = sessionsTable.getColumnID();
+        String sql = "DELETE FROM " + tableName +
+                " WHERE " + columnSessionID + ">=? AND " + columnSessionID + "<?" +
+                " AND " + columnSessionID + " NOT IN (SELECT " + sessionIDColumn + " FROM " + sessionsTable +
+                " WHERE " + sessionIDColumn + ">=? AND " + sessionIDColumn + "<?)";
+
+        return executeUpdate(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, fromID);
+                statement.setInt(2, toID);
+                statement.setInt(3, fromID);
+                statement.setInt(4, toID);
+            }
+        });
+    }
 }
@@ -1,9 +1,11 @@
 package main.java.com.djrapitops.plan.database.tables;
 
+import com.djrapitops.plugin.api.utility.log.Log;
 import com.djrapitops.plugin.utilities.Verify;
 import main.java.com.djrapitops.plan.Plan;
 import main.java.com.djrapitops.plan.api.exceptions.DBCreateTableException;
 import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.data.time.WorldTimes;
 import main.java.com.djrapitops.plan.database.databases.SQLDB;
 import main.java.com.djrapitops.plan.database.processing.ExecStatement;
 import main.java.com.djrapitops.plan.database.processing.QueryAllStatement;
@@ -12,9 +14,7 @@ import main.java.com.djrapitops.plan.database.sql.Select;
 import main.java.com.djrapitops.plan.database.sql.Sql;
 import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.sql.*;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -24,6 +24,13 @@ import java.util.stream.Collectors;
  */
 public class SessionsTable extends UserIDTable {
 
+    /**
+     * Amount of sessions saved in a single transaction by {@link #insertSessions(Map, boolean)}.
+     */
+    public static final int INSERT_CHUNK_SIZE = 2500;
+
+    private static final String SAVEPOINT = "plan_save_sessions";
+
     private final String columnID = "id";
     private final String columnSessionStart = "session_start";
     private final String columnSessionEnd = "session_end";
@@ -77,68 +84,206 @@ public class SessionsTable extends UserIDTable {
      * @throws SQLException DB Error
      */
     public void saveSession(UUID uuid, Session session) throws SQLException {
-        saveSessionInformation(uuid, session);
-        int sessionID = getSessionID(uuid, session);
-        if (sessionID == -1) {
-            throw new IllegalStateException("Session was not Saved!");
+        saveSessions(Collections.singletonMap(uuid, Collections.singletonList(session)));
+    }
+
+    /**
+     * Used to save ended sessions of this server with their WorldTimes and Kills in a single transaction.
+     * <p>
+     * IDs of the saved sessions are read from generated keys and set to the Session objects.
+     *
+     * @param sessions Map of Player UUID: Sessions that have ended ({@code endSession} has been called)
+     * @throws SQLException DB Error, nothing is saved.
+     */
+    public void saveSessions(Map<UUID, List<Session>> sessions) throws SQLException {
+        if (Verify.isEmpty(sessions)) {
+            return;
         }
+        saveSessions(Plan.getServerUUID(), sessions, true);
+    }
 
-        db.getWorldTimesTable().saveWorldTimes(uuid, sessionID, session.getWorldTimes());
-        db.getKillsTable().savePlayerKills(uuid, sessionID, session.getPlayerKills());
+    /**
+     * Saves sessions of a server in a single transaction.
+     * <p>
+     * MySQL connections are not shared, so the sessions are saved in a transaction of their own.
+     * The SQLite connection is shared by all threads and never auto commits, so rolling it back or changing its
+     * auto commit would affect statements of other threads. On SQLite other writes wait until the sessions have been
+     * committed, and a failed save is rolled back to a savepoint set before the sessions were written.
+     * <p>
+     * Weapon names are saved before the transaction, a failed save can leave unused names in the dictionary.
+     *
+     * @param serverUUID             UUID of the server the sessions are from.
+     * @param sessions               Map of Player UUID: Sessions, IDs are set to the sessions.
+     * @param saveKillsAndWorldTimes Should WorldTimes and Kills of the sessions be saved.
+     * @throws SQLException DB Error, nothing is saved.
+     */
+    private void saveSessions(UUID serverUUID, Map<UUID, List<Session>> sessions, boolean saveKillsAndWorldTimes) throws SQLException {
+        Set<String> worldNames = saveKillsAndWorldTimes
+                ? sessions.values().stream()
+                .flatMap(Collection::stream)
+                .map(Session::getWorldTimes)
+                .map(WorldTimes::getWorldNames)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet())
+                : Collections.emptySet();
+        WorldTable worldTable = db.getWorldTable();
+        KillsTable killsTable = db.getKillsTable();
+        // Weapons are saved before the transaction, since they are committed on their own.
+        Map<String, Integer> weaponIDs = saveKillsAndWorldTimes
+                ? killsTable.getWeaponIDs(sessions.values().stream()
+                .flatMap(Collection::stream)
+                .map(Session::getPlayerKills)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList()))
+                : Collections.emptyMap();
+
+        Connection connection = null;
+        try {
+            connection = getConnection();
+            Map<String, Integer> worldIDs;
+            if (usingMySQL) {
+                connection.setAutoCommit(false);
+                try {
+                    worldIDs = writeSessions(connection, serverUUID, sessions, saveKillsAndWorldTimes, worldNames, weaponIDs);
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } else {
+                db.lockWrites();
+                try (Statement savepoint = connection.createStatement()) {
+                    savepoint.execute("SAVEPOINT " + SAVEPOINT);
+                    try {
+                        worldIDs = writeSessions(connection, serverUUID, sessions, saveKillsAndWorldTimes, worldNames, weaponIDs);
+                        savepoint.execute("RELEASE " + SAVEPOINT);
+                    } catch (SQLException | RuntimeException e) {
+                        savepoint.execute("ROLLBACK TO " + SAVEPOINT);
+                        savepoint.execute("RELEASE " + SAVEPOINT);
+                        throw e;
+                    }
+                    commit(connection);
+                } finally {
+                    db.unlockWrites();
+                }
+            }
+            worldTable.cacheWorldIDs(worldIDs);
+        } finally {
+            db.returnToPool(connection);
+        }
+    }
+
+    private Map<String, Integer> writeSessions(Connection connection, UUID serverUUID, Map<UUID, List<Session>> sessions,
+                                               boolean saveKillsAndWorldTimes, Set<String> worldNames,
+                                               Map<String, Integer> weaponIDs) throws SQLException {
+        Map<String, Integer> worldIDs = db.getWorldTable().getWorldIDs(connection, worldNames);
+        saveSessionInformation(connection, serverUUID, sessions);
+        if (saveKillsAndWorldTimes) {
+            db.getWorldTimesTable().saveWorldTimes(connection, sessions, worldIDs);
+            db.getKillsTable().savePlayerKills(connection, sessions, weaponIDs);
+        }
+        return worldIDs;
     }
 
     /**
-     * Saves Session's Information to the Session Table.
+     * Saves Session's Information to the Session Table as a part of a transaction.
+     * <p>
+     * Does not save Kills or WorldTimes, does not commit.
      * <p>
-     * Does not save Kills or WorldTimes.
+     * MySQL returns generated keys of a batch in insert order, SQLite only returns the key of the last row,
+     * so on SQLite the rows are inserted one at a time. SQLite is in-process, so this costs no round trips.
      *
-     * @param uuid    UUID of the player.
-     * @param session Session of the player that has ended ({@code endSession} has been called)
+     * @param connection Connection of the transaction.
+     * @param serverUUID UUID of the server the sessions are from.
+     * @param sessions   Map of Player UUID: Sessions, IDs are set to the sessions.
      * @throws SQLException DB Error
      */
-    private void saveSessionInformation(UUID uuid, Session session) throws SQLException {
-        execute(new ExecStatement(insertStatement) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, uuid.toString());
-                statement.setLong(2, session.getSessionStart());
-                statement.setLong(3, session.getSessionEnd());
-                statement.setInt(4, session.getDeaths());
-                statement.setInt(5, session.getMobKills());
-                statement.setString(6, Plan.getServerUUID().toString());
+    private void saveSessionInformation(Connection connection, UUID serverUUID, Map<UUID, List<Session>> sessions) throws SQLException {
+        String server = serverUUID.toString();
+        List<Session> batched = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(insertStatement, Statement.RETURN_GENERATED_KEYS)) {
+            for (Map.Entry<UUID, List<Session>> entry : sessions.entrySet()) {
+                String uuid = entry.getKey().toString();
+                for (Session session : entry.getValue()) {
+                    statement.setString(1, uuid);
+                    statement.setLong(2, session.getSessionStart());
+                    statement.setLong(3, session.getSessionEnd());
+                    statement.setInt(4, session.getDeaths());
+                    statement.setInt(5, session.getMobKills());
+                    statement.setString(6, server);
+                    if (usingMySQL) {
+                        statement.addBatch();
+                        batched.add(session);
+                    } else {
+                        statement.executeUpdate();
+                        setGeneratedIDs(statement, Collections.singletonList(session));
+                    }
+                }
             }
-        });
+            if (!batched.isEmpty()) {
+                statement.executeBatch();
+                setGeneratedIDs(statement, batched);
+            }
+        }
+    }
+
+    private void setGeneratedIDs(PreparedStatement statement, List<Session> sessions) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            for (Session session : sessions) {
+                if (!keys.next()) {
+                    throw new SQLException("Session was not Saved!");
+                }
+                session.setSessionID(keys.getInt(1));
+            }
+        }
     }
 
     /**
-     * Used to get the sessionID of a newly inserted row.
+     * Used to leave out sessions of this server that are already in the database.
+     * <p>
+     * Sessions are compared by player, start and end, so a session that was saved before is left out
+     * even if it has no ID. Duplicates within the given sessions are left out as well.
      *
-     * @param uuid    UUID of the player
-     * @param session session inserted.
-     * @return ID of the inserted session or -1 if session has not been inserted.
+     * @param sessions Map of Player UUID: Sessions of this server that have ended.
+     * @return Map of Player UUID: Sessions that are not in the database, players without any are left out.
+     * @throws SQLException DB Error
      */
-    private int getSessionID(UUID uuid, Session session) throws SQLException {
-        String sql = "SELECT " + columnID + " FROM " + tableName +
-                " WHERE " + columnUserID + "=" + usersTable.statementSelectID +
-                " AND " + columnSessionStart + "=?" +
-                " AND " + columnSessionEnd + "=?";
+    public Map<UUID, List<Session>> getUnsavedSessions(Map<UUID, List<Session>> sessions) throws SQLException {
+        String serverUUID = Plan.getServerUUID().toString();
+        String sql = Select.from(tableName, columnSessionStart, columnSessionEnd)
+                .where(columnUserID + "=" + usersTable.statementSelectID)
+                .and(columnServerID + "=" + serverTable.statementSelectServerID)
+                .toString();
 
-        return query(new QueryStatement<Integer>(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, uuid.toString());
-                statement.setLong(2, session.getSessionStart());
-                statement.setLong(3, session.getSessionEnd());
-            }
+        Map<UUID, List<Session>> unsaved = new HashMap<>();
+        for (Map.Entry<UUID, List<Session>> entry : sessions.entrySet()) {
+            UUID uuid = entry.getKey();
+            Set<String> savedSessions = query(new QueryStatement<Set<String>>(sql) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setString(1, uuid.toString());
+                    statement.setString(2, serverUUID);
+                }
 
-            @Override
-            public Integer processResults(ResultSet set) throws SQLException {
-                if (set.next()) {
-                    return set.getInt(columnID);
+                @Override
+                public Set<String> processResults(ResultSet set) throws SQLException {
+                    Set<String> startsAndEnds = new HashSet<>();
+                    while (set.next()) {
+                        startsAndEnds.add(set.getLong(columnSessionStart) + "-" + set.getLong(columnSessionEnd));
+                    }
+                    return startsAndEnds;
                 }
-                return -1;
+            });
+            List<Session> unsavedOfPlayer = entry.getValue().stream()
+                    .filter(session -> savedSessions.add(session.getSessionStart() + "-" + session.getSessionEnd()))
+                    .collect(Collectors.toList());
+            if (!unsavedOfPlayer.isEmpty()) {
+                unsaved.put(uuid, unsavedOfPlayer);
             }
-        });
+        }
+        return unsaved;
     }
 
     /**
@@ -178,9 +323,8 @@ public class SessionsTable extends UserIDTable {
 
                     int deaths = set.getInt(columnDeaths);
                     int mobKills = set.getInt(columnMobKills);
-                    List<Session> sessions = sessionsByServer.getOrDefault(serverUUID, new ArrayList<>());
-                    sessions.add(new Session(id, start, end, mobKills, deaths));
-                    sessionsByServer.put(serverUUID, sessions);
+                    sessionsByServer.computeIfAbsent(serverUUID, key -> new ArrayList<>())
+                            .add(new Session(id, start, end, mobKills, deaths));
                 }
                 return sessionsByServer;
             }
@@ -452,6 +596,49 @@ public class SessionsTable extends UserIDTable {
         return columnID;
     }
 
+    public String getColumnSessionEnd() {
+        return columnSessionEnd;
+    }
+
+    /**
+     * Get the lowest and highest ID of sessions that ended before a date.
+     *
+     * @param before Epoch ms.
+     * @return Array of lowest and highest ID, empty if there are no such sessions.
+     * @throws SQLException DB Error
+     */
+    public int[] getIDRange(long before) throws SQLException {
+        return queryIDRange("SELECT MIN(" + columnID + ") as min_id, MAX(" + columnID + ") as max_id" +
+                " FROM " + tableName +
+                " WHERE " + columnSessionEnd + "<" + before);
+    }
+
+    /**
+     * Remove sessions that ended before a date.
+     * <p>
+     * Kills and world times of the sessions need to be removed first.
+     *
+     * @param before Epoch ms.
+     * @param fromID Lowest ID to remove, inclusive.
+     * @param toID   Highest ID to remove, exclusive.
+     * @return Amount of removed sessions.
+     * @throws SQLException DB Error
+     */
+    public int removeEndedBefore(long before, int fromID, int toID) throws SQLException {
+        String sql = "DELETE FROM " + tableName +
+                " WHERE " + columnID + ">=? AND " + columnID + "<?" +
+                " AND " + columnSessionEnd + "<?";
+
+        return executeUpdate(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, fromID);
+                statement.setInt(2, toID);
+                statement.setLong(3, before);
+            }
+        });
+    }
+
     public Map<UUID, List<Session>> getSessionInfoOfServer() throws SQLException {
         return getSessionInfoOfServer(Plan.getServerUUID());
     }
@@ -486,9 +673,8 @@ public class SessionsTable extends UserIDTable {
 
                     int deaths = set.getInt(columnDeaths);
                     int mobKills = set.getInt(columnMobKills);
-                    List<Session> sessions = sessionsByUser.getOrDefault(uuid, new ArrayList<>());
-                    sessions.add(new Session(set.getInt(columnID), start, end, mobKills, deaths));
-                    sessionsByUser.put(uuid, sessions);
+                    sessionsByUser.computeIfAbsent(uuid, key -> new ArrayList<>())
+                            .add(new Session(set.getInt(columnID), start, end, mobKills, deaths));
                 }
                 return sessionsByUser;
             }
@@ -568,8 +754,8 @@ public class SessionsTable extends UserIDTable {
                     UUID serverUUID = UUID.fromString(set.getString("s_uuid"));
                     UUID uuid = UUID.fromString(set.getString("uuid"));
 
-                    Map<UUID, List<Session>> sessionsByUser = map.getOrDefault(serverUUID, new HashMap<>());
-                    List<Session> sessions = sessionsByUser.getOrDefault(uuid, new ArrayList<>());
+                    List<Session> sessions = map.computeIfAbsent(serverUUID, key -> new HashMap<>())
+                            .computeIfAbsent(uuid, key -> new ArrayList<>());
 
                     long start = set.getLong(columnSessionStart);
                     long end = set.getLong(columnSessionEnd);
@@ -578,11 +764,7 @@ public class SessionsTable extends UserIDTable {
                     int mobKills = set.getInt(columnMobKills);
                     int id = set.getInt(columnID);
 
-                    Session session = new Session(id, start, end, mobKills, deaths);
-                    sessions.add(session);
-
-                    sessionsByUser.put(uuid, sessions);
-                    map.put(serverUUID, sessionsByUser);
+                    sessions.add(new Session(id, start, end, mobKills, deaths));
                 }
                 if (getKillsAndWorldTimes) {
                     db.getKillsTable().addKillsToSessions(map);
@@ -593,85 +775,60 @@ public class SessionsTable extends UserIDTable {
         });
     }
 
+    /**
+     * Used to insert a large amount of sessions, for example when importing or moving data.
+     * <p>
+     * Sessions are saved in transactions of at most {@link #INSERT_CHUNK_SIZE} sessions, IDs for
+     * WorldTimes and Kills are read from generated keys of each chunk.
+     *
+     * @param allSessions            Map of Server UUID: (Player UUID: Sessions)
+     * @param saveKillsAndWorldTimes Should WorldTimes and Kills of the sessions be saved.
+     * @throws SQLException DB Error, chunks saved before the error remain in the database.
+     */
     public void insertSessions(Map<UUID, Map<UUID, List<Session>>> allSessions, boolean saveKillsAndWorldTimes) throws SQLException {
         if (Verify.isEmpty(allSessions)) {
             return;
         }
 
-        executeBatch(new ExecStatement(insertStatement) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                for (UUID serverUUID : allSessions.keySet()) {
-                    for (Map.Entry<UUID, List<Session>> entry : allSessions.get(serverUUID).entrySet()) {
-                        UUID uuid = entry.getKey();
-                        List<Session> sessions = entry.getValue();
-
-                        for (Session session : sessions) {
-                            statement.setString(1, uuid.toString());
-                            statement.setLong(2, session.getSessionStart());
-                            statement.setLong(3, session.getSessionEnd());
-                            statement.setInt(4, session.getDeaths());
-                            statement.setInt(5, session.getMobKills());
-                            statement.setString(6, serverUUID.toString());
-                            statement.addBatch();
-                        }
+        long total = allSessions.values().stream()
+                .map(Map::values)
+                .flatMap(Collection::stream)
+                .mapToLong(List::size)
+                .sum();
+        long saved = 0;
+
+        for (Map.Entry<UUID, Map<UUID, List<Session>>> serverEntry : allSessions.entrySet()) {
+            UUID serverUUID = serverEntry.getKey();
+            Map<UUID, List<Session>> chunk = new HashMap<>();
+            int chunkSize = 0;
+            for (Map.Entry<UUID, List<Session>> entry : serverEntry.getValue().entrySet()) {
+                UUID uuid = entry.getKey();
+                // Sessions of a single player can also be split, so that a chunk never exceeds the limit.
+                for (Session session : entry.getValue()) {
+                    chunk.computeIfAbsent(uuid, key -> new ArrayList<>()).add(session);
+                    chunkSize++;
+                    if (chunkSize >= INSERT_CHUNK_SIZE) {
+                        saveSessions(serverUUID, chunk, saveKillsAndWorldTimes);
+                        saved += chunkSize;
+                        logInsertProgress(saved, total);
+                        chunk = new HashMap<>();
+                        chunkSize = 0;
                     }
                 }
             }
-        });
-        if (saveKillsAndWorldTimes) {
-            Map<UUID, Map<UUID, List<Session>>> savedSessions = getAllSessions(false);
-            matchSessionIDs(allSessions, savedSessions);
-            db.getKillsTable().savePlayerKills(allSessions);
-            db.getWorldTimesTable().saveWorldTimes(allSessions);
-        }
-    }
-
-    /**
-     * Sessions should be saved before calling this method.
-     *
-     * @param allSessions      Sessions to match IDs to (contain extra data)
-     * @param allSavedSessions Sessions in the Database.
-     */
-    private void matchSessionIDs(Map<UUID, Map<UUID, List<Session>>> allSessions, Map<UUID, Map<UUID, List<Session>>> allSavedSessions) {
-        for (UUID serverUUID : allSessions.keySet()) {
-            Map<UUID, List<Session>> serverSessions = allSessions.get(serverUUID);
-            Map<UUID, List<Session>> savedServerSessions = allSavedSessions.get(serverUUID);
-
-            for (Map.Entry<UUID, List<Session>> entry : serverSessions.entrySet()) {
-                UUID uuid = entry.getKey();
-                List<Session> sessions = entry.getValue();
-
-                List<Session> savedSessions = savedServerSessions.get(uuid);
-                if (savedSessions == null) {
-                    throw new IllegalStateException("Some of the sessions being matched were not saved.");
-                }
-
-                matchSessions(sessions, savedSessions);
+            if (chunkSize > 0) {
+                saveSessions(serverUUID, chunk, saveKillsAndWorldTimes);
+                saved += chunkSize;
+                logInsertProgress(saved, total);
             }
         }
     }
 
-    /**
-     * Used by matchSessionIDs method.
-     * <p>
-     * Matches IDs of Sessions with by sessionStart.
-     * Assumes that both lists are from the same user and server.
-     *
-     * @param sessions      Sessions of Player in a Server.
-     * @param savedSessions Sessions of Player in a Server in the db.
-     */
-    private void matchSessions(List<Session> sessions, List<Session> savedSessions) {
-        Map<Long, Session> sessionsByStart = sessions.stream().collect(Collectors.toMap(Session::getSessionStart, Function.identity()));
-        Map<Long, Session> savedSessionsByStart = savedSessions.stream().collect(Collectors.toMap(Session::getSessionStart, Function.identity()));
-        for (Map.Entry<Long, Session> sessionEntry : sessionsByStart.entrySet()) {
-            long start = sessionEntry.getKey();
-            Session savedSession = savedSessionsByStart.get(start);
-            if (savedSession == null) {
-                throw new IllegalStateException("Some of the sessions being matched were not saved.");
-            }
-            Session session = sessionEntry.getValue();
-            session.setSessionID(savedSession.getSessionID());
+    private void logInsertProgress(long saved, long total) {
+        if (total > INSERT_CHUNK_SIZE) {
+            Log.info("Saving sessions: " + saved + "/" + total);
+        } else {
+            Log.debug("Saved sessions: " + saved + "/" + total);
         }
     }
 
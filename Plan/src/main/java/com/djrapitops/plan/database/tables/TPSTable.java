@@ -1,6 +1,5 @@
 package main.java.com.djrapitops.plan.database.tables;
 
-import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.utilities.Verify;
 import main.java.com.djrapitops.plan.api.exceptions.DBCreateTableException;
 import main.java.com.djrapitops.plan.data.container.TPS;
@@ -35,6 +34,9 @@ public class TPSTable extends Table {
     private final String columnRAMUsage = "ram_usage";
     private final String columnEntities = "entities";
     private final String columnChunksLoaded = "chunks_loaded";
+    private final String columnTickIntervalMedian = "tick_interval_median";
+    private final String columnTickIntervalPercentile95 = "tick_interval_95th";
+    private final String columnLagSpikes = "lag_spikes";
 
     private final ServerTable serverTable;
     private String insertStatement;
@@ -50,10 +52,13 @@ public class TPSTable extends Table {
                 + columnCPUUsage + ", "
                 + columnRAMUsage + ", "
                 + columnEntities + ", "
-                + columnChunksLoaded
+                + columnChunksLoaded + ", "
+                + columnTickIntervalMedian + ", "
+                + columnTickIntervalPercentile95 + ", "
+                + columnLagSpikes
                 + ") VALUES ("
                 + serverTable.statementSelectServerID + ", "
-                + "?, ?, ?, ?, ?, ?, ?)";
+                + "?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
     @Override
@@ -67,11 +72,34 @@ public class TPSTable extends Table {
                 .column(columnRAMUsage, Sql.LONG).notNull()
                 .column(columnEntities, Sql.INT).notNull()
                 .column(columnChunksLoaded, Sql.INT).notNull()
+                .column(columnTickIntervalMedian, Sql.DOUBLE).notNull().defaultValue("0")
+                .column(columnTickIntervalPercentile95, Sql.DOUBLE).notNull().defaultValue("0")
+                .column(columnLagSpikes, Sql.INT).notNull().defaultValue("0")
                 .foreignKey(columnServerID, serverTable.getTableName(), serverTable.getColumnID())
                 .toString()
         );
     }
 
+    public void alterTableV14() {
+        addColumns(columnTickIntervalMedian + " " + Sql.DOUBLE + " NOT NULL DEFAULT 0",
+                columnTickIntervalPercentile95 + " " + Sql.DOUBLE + " NOT NULL DEFAULT 0",
+                columnLagSpikes + " " + Sql.INT + " NOT NULL DEFAULT 0");
+    }
+
+    private TPS extractTPS(ResultSet set) throws SQLException {
+        long date = set.getLong(columnDate);
+        double tps = set.getDouble(columnTPS);
+        int players = set.getInt(columnPlayers);
+        double cpuUsage = set.getDouble(columnCPUUsage);
+        long ramUsage = set.getLong(columnRAMUsage);
+        int entities = set.getInt(columnEntities);
+        int chunksLoaded = set.getInt(columnChunksLoaded);
+        double tickIntervalMedian = set.getDouble(columnTickIntervalMedian);
+        double tickIntervalPercentile95 = set.getDouble(columnTickIntervalPercentile95);
+        int lagSpikes = set.getInt(columnLagSpikes);
+        return new TPS(date, tps, players, cpuUsage, ramUsage, entities, chunksLoaded, tickIntervalMedian, tickIntervalPercentile95, lagSpikes);
+    }
+
     /**
      * @return @throws SQLException
      */
@@ -94,14 +122,7 @@ public class TPSTable extends Table {
             public List<TPS> processResults(ResultSet set) throws SQLException {
                 List<TPS> data = new ArrayList<>();
                 while (set.next()) {
-                    long date = set.getLong(columnDate);
-                    double tps = set.getDouble(columnTPS);
-                    int players = set.getInt(columnPlayers);
-                    double cpuUsage = set.getDouble(columnCPUUsage);
-                    long ramUsage = set.getLong(columnRAMUsage);
-                    int entities = set.getInt(columnEntities);
-                    int chunksLoaded = set.getInt(columnChunksLoaded);
-                    data.add(new TPS(date, tps, players, cpuUsage, ramUsage, entities, chunksLoaded));
+                    data.add(extractTPS(set));
                 }
                 return data;
             }
@@ -120,35 +141,59 @@ public class TPSTable extends Table {
                 statement.setLong(6, tps.getUsedMemory());
                 statement.setDouble(7, tps.getEntityCount());
                 statement.setDouble(8, tps.getChunksLoaded());
+                statement.setDouble(9, tps.getTickIntervalMedian());
+                statement.setDouble(10, tps.getTickIntervalPercentile95());
+                statement.setInt(11, tps.getLagSpikes());
             }
         });
     }
 
     /**
-     * Clean the TPS Table of old data.
+     * Get the date of the oldest TPS data point.
      *
+     * @return Epoch ms, empty if there is no data.
      * @throws SQLException DB Error
      */
-    public void clean() throws SQLException {
-        Optional<TPS> allTimePeak = getAllTimePeak();
-        int p = -1;
-        if (allTimePeak.isPresent()) {
-            p = allTimePeak.get().getPlayers();
-        }
-        final int pValue = p;
+    public Optional<Long> getOldestDate() throws SQLException {
+        String sql = "SELECT MIN(" + columnDate + ") as oldest FROM " + tableName;
 
+        return query(new QueryAllStatement<Optional<Long>>(sql) {
+            @Override
+            public Optional<Long> processResults(ResultSet set) throws SQLException {
+                if (set.next()) {
+                    long oldest = set.getLong("oldest");
+                    if (!set.wasNull()) {
+                        return Optional.of(oldest);
+                    }
+                }
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Remove TPS data between two dates.
+     * <p>
+     * Data points with the all time peak player count are kept.
+     *
+     * @param after       Epoch ms, inclusive.
+     * @param before      Epoch ms, exclusive.
+     * @param peakPlayers All time peak player count.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int removeBetween(long after, long before, int peakPlayers) throws SQLException {
         String sql = "DELETE FROM " + tableName +
-                " WHERE (" + columnDate + "<?)" +
-                " AND (" + columnPlayers + "" +
-                " != ?)";
+                " WHERE " + columnDate + ">=?" +
+                " AND " + columnDate + "<?" +
+                " AND " + columnPlayers + "!=?";
 
-        execute(new ExecStatement(sql) {
+        return executeUpdate(new ExecStatement(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, pValue);
-                // More than 2 Months ago.
-                long fiveWeeks = TimeAmount.MONTH.ms() * 2L;
-                statement.setLong(2, MiscUtils.getTime() - fiveWeeks);
+                statement.setLong(1, after);
+                statement.setLong(2, before);
+                statement.setInt(3, peakPlayers);
             }
         });
     }
@@ -182,14 +227,7 @@ public class TPSTable extends Table {
             @Override
             public Optional<TPS> processResults(ResultSet set) throws SQLException {
                 if (set.next()) {
-                    long date = set.getLong(columnDate);
-                    double tps = set.getDouble(columnTPS);
-                    int players = set.getInt(columnPlayers);
-                    double cpuUsage = set.getDouble(columnCPUUsage);
-                    long ramUsage = set.getLong(columnRAMUsage);
-                    int entities = set.getInt(columnEntities);
-                    int chunksLoaded = set.getInt(columnChunksLoaded);
-                    return Optional.of(new TPS(date, tps, players, cpuUsage, ramUsage, entities, chunksLoaded));
+                    return Optional.of(extractTPS(set));
                 }
                 return Optional.empty();
             }
@@ -207,6 +245,9 @@ public class TPSTable extends Table {
                 columnRAMUsage + ", " +
                 columnEntities + ", " +
                 columnChunksLoaded + ", " +
+                columnTickIntervalMedian + ", " +
+                columnTickIntervalPercentile95 + ", " +
+                columnLagSpikes + ", " +
                 serverUUIDColumn +
                 " FROM " + tableName +
                 " JOIN " + serverTable + " on " + serverIDColumn + "=" + columnServerID;
@@ -220,15 +261,7 @@ public class TPSTable extends Table {
 
                     List<TPS> tpsList = serverMap.getOrDefault(serverUUID, new ArrayList<>());
 
-                    long date = set.getLong(columnDate);
-                    double tps = set.getDouble(columnTPS);
-                    int players = set.getInt(columnPlayers);
-                    double cpuUsage = set.getDouble(columnCPUUsage);
-                    long ramUsage = set.getLong(columnRAMUsage);
-                    int entities = set.getInt(columnEntities);
-                    int chunksLoaded = set.getInt(columnChunksLoaded);
-
-                    tpsList.add(new TPS(date, tps, players, cpuUsage, ramUsage, entities, chunksLoaded));
+                    tpsList.add(extractTPS(set));
                     serverMap.put(serverUUID, tpsList);
                 }
                 return serverMap;
@@ -258,6 +291,9 @@ public class TPSTable extends Table {
                         statement.setLong(6, tps.getUsedMemory());
                         statement.setDouble(7, tps.getEntityCount());
                         statement.setDouble(8, tps.getChunksLoaded());
+                        statement.setDouble(9, tps.getTickIntervalMedian());
+                        statement.setDouble(10, tps.getTickIntervalPercentile95());
+                        statement.setInt(11, tps.getLagSpikes());
                         statement.addBatch();
                     }
                 }
@@ -5,10 +5,12 @@ import com.google.common.base.Objects;
 import main.java.com.djrapitops.plan.api.exceptions.DBCreateTableException;
 import main.java.com.djrapitops.plan.database.databases.SQLDB;
 import main.java.com.djrapitops.plan.database.processing.ExecStatement;
+import main.java.com.djrapitops.plan.database.processing.QueryAllStatement;
 import main.java.com.djrapitops.plan.database.processing.QueryStatement;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -85,6 +87,7 @@ public abstract class Table {
     protected boolean execute(String statementString) throws SQLException {
         Statement statement = null;
         Connection connection = null;
+        db.lockWrites();
         try {
             connection = getConnection();
             statement = connection.createStatement();
@@ -95,6 +98,7 @@ public abstract class Table {
         } finally {
             close(statement);
             db.returnToPool(connection);
+            db.unlockWrites();
         }
     }
 
@@ -141,6 +145,63 @@ public abstract class Table {
         executeUnsafe(columnInfo);
     }
 
+    /**
+     * Check if the table has a column.
+     *
+     * @param column Name of the column.
+     * @return true if the column exists.
+     * @throws SQLException DB Error
+     */
+    protected boolean hasColumn(String column) throws SQLException {
+        return hasColumn(tableName, column);
+    }
+
+    /**
+     * Check if another table has a column.
+     *
+     * @param table  Name of the table.
+     * @param column Name of the column.
+     * @return true if the table and the column exist.
+     * @throws SQLException DB Error
+     */
+    protected boolean hasColumn(String table, String column) throws SQLException {
+        Connection connection = null;
+        try {
+            connection = getConnection();
+            // Catalog limits the search to the database in use, MySQL would search every database otherwise.
+            try (ResultSet set = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+                return set.next();
+            }
+        } finally {
+            db.returnToPool(connection);
+        }
+    }
+
+    /**
+     * Check if a table exists.
+     *
+     * @param table Name of the table.
+     * @return true if the table exists.
+     * @throws SQLException DB Error
+     */
+    protected boolean hasTable(String table) throws SQLException {
+        Connection connection = null;
+        try {
+            connection = getConnection();
+            try (ResultSet set = connection.getMetaData().getTables(connection.getCatalog(), null, table, null)) {
+                return set.next();
+            }
+        } finally {
+            db.returnToPool(connection);
+        }
+    }
+
+    protected String tableRenameSql(String from, String to) {
+        return usingMySQL ?
+                "RENAME TABLE " + from + " TO " + to :
+                "ALTER TABLE " + from + " RENAME TO " + to;
+    }
+
     protected void removeColumns(String... columnNames) {
         if (usingMySQL) {
             StringBuilder sqlBuild = new StringBuilder();
@@ -186,24 +247,72 @@ public abstract class Table {
     protected boolean execute(ExecStatement statement) throws SQLException {
         boolean updatedSomething;
         Connection connection = null;
+        db.lockWrites();
         try {
             connection = getConnection();
             updatedSomething = statement.execute(connection.prepareStatement(statement.getSql()));
             commit(connection);
         } finally {
             db.returnToPool(connection);
+            db.unlockWrites();
         }
         return updatedSomething;
     }
 
+    /**
+     * Executes a statement and commits it.
+     *
+     * @param statement Statement to execute.
+     * @return Amount of rows changed.
+     * @throws SQLException DB Error
+     */
+    protected int executeUpdate(ExecStatement statement) throws SQLException {
+        Connection connection = null;
+        db.lockWrites();
+        try {
+            connection = getConnection();
+            int rows = statement.executeUpdate(connection.prepareStatement(statement.getSql()));
+            commit(connection);
+            return rows;
+        } finally {
+            db.returnToPool(connection);
+            db.unlockWrites();
+        }
+    }
+
+    /**
+     * Get the lowest and highest value of an integer column.
+     *
+     * @param sql SELECT statement with the lowest value as min_id and highest as max_id.
+     * @return Array of lowest and highest value, empty if there are no rows.
+     * @throws SQLException DB Error
+     */
+    protected int[] queryIDRange(String sql) throws SQLException {
+        return query(new QueryAllStatement<int[]>(sql) {
+            @Override
+            public int[] processResults(ResultSet set) throws SQLException {
+                if (set.next()) {
+                    int min = set.getInt("min_id");
+                    int max = set.getInt("max_id");
+                    if (!set.wasNull()) {
+                        return new int[]{min, max};
+                    }
+                }
+                return new int[0];
+            }
+        });
+    }
+
     protected void executeBatch(ExecStatement statement) throws SQLException {
         Connection connection = null;
+        db.lockWrites();
         try {
             connection = getConnection();
             statement.executeBatch(connection.prepareStatement(statement.getSql()));
             commit(connection);
         } finally {
             db.returnToPool(connection);
+            db.unlockWrites();
         }
     }
 
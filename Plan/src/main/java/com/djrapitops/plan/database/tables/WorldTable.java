@@ -10,10 +10,9 @@ import main.java.com.djrapitops.plan.database.sql.Sql;
 import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Table class representing database table plan_worlds.
@@ -29,6 +28,8 @@ public class WorldTable extends Table {
     private final String columnWorldId = "id";
     private final String columnWorldName = "world_name";
 
+    private final Map<String, Integer> worldIDCache;
+
     /**
      * Constructor.
      *
@@ -38,6 +39,7 @@ public class WorldTable extends Table {
     public WorldTable(SQLDB db, boolean usingMySQL) {
         super("plan_worlds", db, usingMySQL);
         statementSelectID = "(SELECT " + columnWorldId + " FROM " + tableName + " WHERE (" + columnWorldName + "=?))";
+        worldIDCache = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -105,6 +107,79 @@ public class WorldTable extends Table {
         });
     }
 
+    /**
+     * Used to get IDs of worlds inside a transaction, saving the worlds that are not in the database.
+     * <p>
+     * Known IDs are cached. IDs of worlds saved by this call are not cached until
+     * {@link #cacheWorldIDs(Map)} is called after the transaction has been committed.
+     *
+     * @param connection Connection of the transaction.
+     * @param worldNames Names of the worlds.
+     * @return Map of World name: World ID
+     * @throws SQLException Database error occurs.
+     */
+    Map<String, Integer> getWorldIDs(Connection connection, Set<String> worldNames) throws SQLException {
+        Map<String, Integer> worldIDs = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String worldName : worldNames) {
+            Integer id = worldIDCache.get(worldName);
+            if (id != null) {
+                worldIDs.put(worldName, id);
+            } else {
+                missing.add(worldName);
+            }
+        }
+        if (missing.isEmpty()) {
+            return worldIDs;
+        }
+
+        String selectSql = "SELECT " + columnWorldId + ", " + columnWorldName + " FROM " + tableName;
+        try (PreparedStatement statement = connection.prepareStatement(selectSql);
+             ResultSet set = statement.executeQuery()) {
+            while (set.next()) {
+                String worldName = set.getString(columnWorldName);
+                int id = set.getInt(columnWorldId);
+                worldIDCache.putIfAbsent(worldName, id);
+                if (missing.remove(worldName)) {
+                    worldIDs.put(worldName, id);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return worldIDs;
+        }
+
+        String insertSql = "INSERT INTO " + tableName + " (" + columnWorldName + ") VALUES (?)";
+        try (PreparedStatement statement = connection.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+            for (String worldName : missing) {
+                statement.setString(1, worldName);
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new SQLException("No ID was generated for world " + worldName);
+                    }
+                    worldIDs.put(worldName, keys.getInt(1));
+                }
+            }
+        }
+        return worldIDs;
+    }
+
+    /**
+     * Used to cache world IDs after the transaction that saved them has been committed.
+     *
+     * @param worldIDs Map of World name: World ID
+     */
+    void cacheWorldIDs(Map<String, Integer> worldIDs) {
+        worldIDCache.putAll(worldIDs);
+    }
+
+    @Override
+    public void removeAllData() throws SQLException {
+        worldIDCache.clear();
+        super.removeAllData();
+    }
+
     public String getColumnID() {
         return columnWorldId;
     }
@@ -13,6 +13,7 @@ import main.java.com.djrapitops.plan.database.processing.QueryStatement;
 import main.java.com.djrapitops.plan.database.sql.Sql;
 import main.java.com.djrapitops.plan.database.sql.TableSqlParser;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -37,6 +38,7 @@ public class WorldTimesTable extends UserIDTable {
     private final WorldTable worldTable;
     private final SessionsTable sessionsTable;
     private String insertStatement;
+    private String insertWithWorldIDStatement;
 
     /**
      * Constructor.
@@ -60,6 +62,17 @@ public class WorldTimesTable extends UserIDTable {
                 usersTable.statementSelectID + ", " +
                 worldTable.statementSelectID + ", " +
                 "?, ?, ?, ?, ?)";
+        insertWithWorldIDStatement = "INSERT INTO " + tableName + " (" +
+                columnUserID + ", " +
+                columnWorldId + ", " +
+                columnSessionID + ", " +
+                columnSurvival + ", " +
+                columnCreative + ", " +
+                columnAdventure + ", " +
+                columnSpectator +
+                ") VALUES (" +
+                usersTable.statementSelectID + ", " +
+                "?, ?, ?, ?, ?, ?)";
     }
 
     @Override
@@ -80,29 +93,20 @@ public class WorldTimesTable extends UserIDTable {
     }
 
     public void saveWorldTimes(UUID uuid, int sessionID, WorldTimes worldTimes) throws SQLException {
-        Map<String, GMTimes> worldTimesMap = worldTimes.getWorldTimes();
-        if (Verify.isEmpty(worldTimesMap)) {
+        if (worldTimes.getWorldCount() == 0) {
             return;
         }
 
-        Set<String> worldNames = worldTimesMap.keySet();
-        db.getWorldTable().saveWorlds(worldNames);
+        db.getWorldTable().saveWorlds(worldTimes.getWorldNames());
 
         executeBatch(new ExecStatement(insertStatement) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                for (Map.Entry<String, GMTimes> entry : worldTimesMap.entrySet()) {
-                    String worldName = entry.getKey();
-                    GMTimes gmTimes = entry.getValue();
+                for (int i = 0; i < worldTimes.getWorldCount(); i++) {
                     statement.setString(1, uuid.toString());
-                    statement.setString(2, worldName);
+                    statement.setString(2, worldTimes.getWorld(i));
                     statement.setInt(3, sessionID);
-
-                    String[] gms = GMTimes.getGMKeyArray();
-                    statement.setLong(4, gmTimes.getTime(gms[0]));
-                    statement.setLong(5, gmTimes.getTime(gms[1]));
-                    statement.setLong(6, gmTimes.getTime(gms[2]));
-                    statement.setLong(7, gmTimes.getTime(gms[3]));
+                    setTimes(statement, 4, worldTimes, i);
                     statement.addBatch();
                 }
             }
@@ -131,26 +135,25 @@ public class WorldTimesTable extends UserIDTable {
 
             @Override
             public Object processResults(ResultSet set) throws SQLException {
-                String[] gms = GMTimes.getGMKeyArray();
-
+                Map<Integer, WorldTimes> worldTimesBySessionID = new HashMap<>();
                 while (set.next()) {
                     int sessionID = set.getInt(columnSessionID);
-                    Session session = sessions.get(sessionID);
-
-                    if (session == null) {
+                    if (!sessions.containsKey(sessionID)) {
                         continue;
                     }
 
                     String worldName = set.getString("world_name");
-
-                    Map<String, Long> gmMap = new HashMap<>();
-                    gmMap.put(gms[0], set.getLong(columnSurvival));
-                    gmMap.put(gms[1], set.getLong(columnCreative));
-                    gmMap.put(gms[2], set.getLong(columnAdventure));
-                    gmMap.put(gms[3], set.getLong(columnSpectator));
-                    GMTimes gmTimes = new GMTimes(gmMap);
-
-                    session.getWorldTimes().setGMTimesForWorld(worldName, gmTimes);
+                    worldTimesBySessionID.computeIfAbsent(sessionID, id -> new WorldTimes())
+                            .setGMTimesForWorld(worldName,
+                                    set.getLong(columnSurvival),
+                                    set.getLong(columnCreative),
+                                    set.getLong(columnAdventure),
+                                    set.getLong(columnSpectator)
+                            );
+                }
+                // Loaded sessions share an empty WorldTimes, so new ones are attached instead of changing it.
+                for (Map.Entry<Integer, WorldTimes> entry : worldTimesBySessionID.entrySet()) {
+                    sessions.get(entry.getKey()).setWorldTimes(entry.getValue());
                 }
                 return null;
             }
@@ -186,20 +189,15 @@ public class WorldTimesTable extends UserIDTable {
 
             @Override
             public WorldTimes processResults(ResultSet set) throws SQLException {
-                String[] gms = GMTimes.getGMKeyArray();
-
-                WorldTimes worldTimes = new WorldTimes(new HashMap<>());
+                WorldTimes worldTimes = new WorldTimes();
                 while (set.next()) {
                     String worldName = set.getString("world_name");
-
-                    Map<String, Long> gmMap = new HashMap<>();
-                    gmMap.put(gms[0], set.getLong("survival"));
-                    gmMap.put(gms[1], set.getLong("creative"));
-                    gmMap.put(gms[2], set.getLong("adventure"));
-                    gmMap.put(gms[3], set.getLong("spectator"));
-                    GMTimes gmTimes = new GMTimes(gmMap);
-
-                    worldTimes.setGMTimesForWorld(worldName, gmTimes);
+                    worldTimes.setGMTimesForWorld(worldName,
+                            set.getLong("survival"),
+                            set.getLong("creative"),
+                            set.getLong("adventure"),
+                            set.getLong("spectator")
+                    );
                 }
                 return worldTimes;
             }
@@ -228,20 +226,15 @@ public class WorldTimesTable extends UserIDTable {
 
             @Override
             public WorldTimes processResults(ResultSet set) throws SQLException {
-                String[] gms = GMTimes.getGMKeyArray();
-
-                WorldTimes worldTimes = new WorldTimes(new HashMap<>());
+                WorldTimes worldTimes = new WorldTimes();
                 while (set.next()) {
                     String worldName = set.getString("world_name");
-
-                    Map<String, Long> gmMap = new HashMap<>();
-                    gmMap.put(gms[0], set.getLong("survival"));
-                    gmMap.put(gms[1], set.getLong("creative"));
-                    gmMap.put(gms[2], set.getLong("adventure"));
-                    gmMap.put(gms[3], set.getLong("spectator"));
-                    GMTimes gmTimes = new GMTimes(gmMap);
-
-                    worldTimes.setGMTimesForWorld(worldName, gmTimes);
+                    worldTimes.setGMTimesForWorld(worldName,
+                            set.getLong("survival"),
+                            set.getLong("creative"),
+                            set.getLong("adventure"),
+                            set.getLong("spectator")
+                    );
                 }
                 return worldTimes;
             }
@@ -272,8 +265,7 @@ public class WorldTimesTable extends UserIDTable {
                 .flatMap(Collection::stream)
                 .flatMap(Collection::stream)
                 .map(Session::getWorldTimes)
-                .map(WorldTimes::getWorldTimes)
-                .map(Map::keySet)
+                .map(WorldTimes::getWorldNames)
                 .flatMap(Collection::stream)
                 .distinct()
                 .collect(Collectors.toList());
@@ -282,7 +274,6 @@ public class WorldTimesTable extends UserIDTable {
         executeBatch(new ExecStatement(insertStatement) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                String[] gms = GMTimes.getGMKeyArray();
                 // Every Server
                 for (Map<UUID, List<Session>> serverSessions : allSessions.values()) {
                     // Every User
@@ -293,16 +284,12 @@ public class WorldTimesTable extends UserIDTable {
                         for (Session session : sessions) {
                             int sessionID = session.getSessionID();
                             // Every WorldTimes
-                            for (Map.Entry<String, GMTimes> worldTimesEntry : session.getWorldTimes().getWorldTimes().entrySet()) {
-                                String worldName = worldTimesEntry.getKey();
-                                GMTimes gmTimes = worldTimesEntry.getValue();
+                            WorldTimes worldTimes = session.getWorldTimes();
+                            for (int i = 0; i < worldTimes.getWorldCount(); i++) {
                                 statement.setString(1, uuid.toString());
-                                statement.setString(2, worldName);
+                                statement.setString(2, worldTimes.getWorld(i));
                                 statement.setInt(3, sessionID);
-                                statement.setLong(4, gmTimes.getTime(gms[0]));
-                                statement.setLong(5, gmTimes.getTime(gms[1]));
-                                statement.setLong(6, gmTimes.getTime(gms[2]));
-                                statement.setLong(7, gmTimes.getTime(gms[3]));
+                                setTimes(statement, 4, worldTimes, i);
                                 statement.addBatch();
                             }
                         }
@@ -312,6 +299,40 @@ public class WorldTimesTable extends UserIDTable {
         });
     }
 
+    /**
+     * Used to save WorldTimes of sessions as a part of a transaction.
+     * <p>
+     * Does not commit.
+     *
+     * @param connection Connection of the transaction.
+     * @param sessions   Map of Player UUID: Sessions that have their IDs set.
+     * @param worldIDs   Map of World name: World ID containing every world of the sessions.
+     * @throws SQLException DB Error
+     */
+    void saveWorldTimes(Connection connection, Map<UUID, List<Session>> sessions, Map<String, Integer> worldIDs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(insertWithWorldIDStatement)) {
+            boolean hasRows = false;
+            for (Map.Entry<UUID, List<Session>> entry : sessions.entrySet()) {
+                String uuid = entry.getKey().toString();
+                for (Session session : entry.getValue()) {
+                    int sessionID = session.getSessionID();
+                    WorldTimes worldTimes = session.getWorldTimes();
+                    for (int i = 0; i < worldTimes.getWorldCount(); i++) {
+                        statement.setString(1, uuid);
+                        statement.setInt(2, worldIDs.get(worldTimes.getWorld(i)));
+                        statement.setInt(3, sessionID);
+                        setTimes(statement, 4, worldTimes, i);
+                        statement.addBatch();
+                        hasRows = true;
+                    }
+                }
+            }
+            if (hasRows) {
+                statement.executeBatch();
+            }
+        }
+    }
+
     public Map<Integer, WorldTimes> getAllWorldTimesBySessionID() throws SQLException {
         String worldIDColumn = worldTable + "." + worldTable.getColumnID();
         String worldNameColumn = worldTable + "." + worldTable.getColumnWorldName() + " as world_name";
@@ -328,30 +349,40 @@ public class WorldTimesTable extends UserIDTable {
         return query(new QueryAllStatement<Map<Integer, WorldTimes>>(sql, 50000) {
             @Override
             public Map<Integer, WorldTimes> processResults(ResultSet set) throws SQLException {
-                String[] gms = GMTimes.getGMKeyArray();
-
                 Map<Integer, WorldTimes> worldTimes = new HashMap<>();
                 while (set.next()) {
                     int sessionID = set.getInt(columnSessionID);
 
                     String worldName = set.getString("world_name");
 
-                    Map<String, Long> gmMap = new HashMap<>();
-                    gmMap.put(gms[0], set.getLong(columnSurvival));
-                    gmMap.put(gms[1], set.getLong(columnCreative));
-                    gmMap.put(gms[2], set.getLong(columnAdventure));
-                    gmMap.put(gms[3], set.getLong(columnSpectator));
-                    GMTimes gmTimes = new GMTimes(gmMap);
-
-                    WorldTimes worldTOfSession = worldTimes.getOrDefault(sessionID, new WorldTimes(new HashMap<>()));
-                    worldTOfSession.setGMTimesForWorld(worldName, gmTimes);
-                    worldTimes.put(sessionID, worldTOfSession);
+                    WorldTimes worldTOfSession = worldTimes.computeIfAbsent(sessionID, id -> new WorldTimes());
+                    worldTOfSession.setGMTimesForWorld(worldName,
+                            set.getLong(columnSurvival),
+                            set.getLong(columnCreative),
+                            set.getLong(columnAdventure),
+                            set.getLong(columnSpectator)
+                    );
                 }
                 return worldTimes;
             }
         });
     }
 
+    /**
+     * Set the GameMode times of a world to 4 consecutive parameters of a statement.
+     *
+     * @param statement  Statement to set the parameters of.
+     * @param index      Index of the first parameter, Survival time.
+     * @param worldTimes WorldTimes of a session.
+     * @param worldIndex Index of the world in the WorldTimes.
+     * @throws SQLException If the parameters can not be set.
+     */
+    private void setTimes(PreparedStatement statement, int index, WorldTimes worldTimes, int worldIndex) throws SQLException {
+        for (int gm = 0; gm < GMTimes.GM_COUNT; gm++) {
+            statement.setLong(index + gm, worldTimes.getTime(worldIndex, gm));
+        }
+    }
+
     String getColumnWorldId() {
         return columnWorldId;
     }
@@ -359,4 +390,69 @@ public class WorldTimesTable extends UserIDTable {
     String getColumnSessionID() {
         return columnSessionID;
     }
+
+    /**
+     * Get the lowest and highest session ID that has world times.
+     *
+     * @return Array of lowest and highest session ID, empty if there are no world times.
+     * @throws SQLException DB Error
+     */
+    public int[] getSessionIDRange() throws SQLException {
+        return queryIDRange("SELECT MIN(" + columnSessionID + ") as min_id, MAX(" + columnSessionID + ") as max_id FROM " + tableName);
+    }
+
+    /**
+     * Remove world times of sessions that ended before a date.
+     *
+     * @param before Epoch ms.
+     * @param fromID Lowest session ID to remove, inclusive.
+     * @param toID   Highest session ID to remove, exclusive.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int removeOfSessionsEndedBefore(long before, int fromID, int toID) throws SQLException {
+        String sessionIDColumn = sessionsTable.getColumnID();
+        String sql = "DELETE FROM " + tableName +
+                " WHERE " + columnSessionID + ">=? AND " + columnSessionID + "<?" +
+                " AND " + columnSessionID + " IN (SELECT " + sessionIDColumn + " FROM " + sessionsTable +
+                " WHERE " + sessionIDColumn + ">=? AND " + sessionIDColumn + "<?" +
+                " AND " + sessionsTable.getColumnSessionEnd() + "<?)";
+
+        return executeUpdate(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, fromID);
+                statement.setInt(2, toID);
+                statement.setInt(3, fromID);
+                statement.setInt(4, toID);
+                statement.setLong(5, before);
+            }
+        });
+    }
+
+    /**
+     * Remove world times that belong to sessions that no longer exist.
+     *
+     * @param fromID Lowest session ID to check, inclusive.
+     * @param toID   Highest session ID to check, exclusive.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int removeOrphans(int fromID, int toID) throws SQLException {
+        String sessionIDColumn = sessionsTable.getColumnID();
+        String sql = "DELETE FROM " + tableName +
+                " WHERE " + columnSessionID + ">=? AND " + columnSessionID + "<?" +
+                " AND " + columnSessionID + " NOT IN (SELECT " + sessionIDColumn + " FROM " + sessionsTable +
+                " WHERE " + sessionIDColumn + ">=? AND " + sessionIDColumn + "<?)";
+
+        return executeUpdate(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, fromID);
+                statement.setInt(2, toID);
+                statement.setInt(3, fromID);
+                statement.setInt(4, toID);
+            }
+        });
+    }
 }
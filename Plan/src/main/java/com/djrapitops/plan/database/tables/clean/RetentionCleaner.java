@@ -0,0 +1,162 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.database.tables.clean;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
+import main.java.com.djrapitops.plan.database.tables.KillsTable;
+import main.java.com.djrapitops.plan.database.tables.SessionsTable;
+import main.java.com.djrapitops.plan.database.tables.TPSTable;
+import main.java.com.djrapitops.plan.database.tables.WorldTimesTable;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Removes old data from the database in small chunks.
+ * <p>
+ * Each chunk is a separate DELETE statement limited to a range of IDs or dates, and is committed on its own.
+ * This keeps locks short on MySQL, and lets other tasks use the single SQLite connection between chunks.
+ * The cleaner pauses between chunks that removed rows, so that it does not slow down saving new data.
+ *
+ * @author Rsl1122
+ */
+public class RetentionCleaner {
+
+    private static final long PROGRESS_INTERVAL_MS = TimeAmount.SECOND.ms() * 5L;
+
+    private final SQLDB db;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final Consumer<String> progressListener;
+
+    private long lastProgress;
+
+    /**
+     * Constructor.
+     *
+     * @param db               Database to clean.
+     * @param chunkSize        Amount of IDs (or minutes of TPS data) removed in one statement.
+     * @param pauseMs          ms to wait between chunks.
+     * @param progressListener Receives progress messages.
+     */
+    public RetentionCleaner(SQLDB db, int chunkSize, long pauseMs, Consumer<String> progressListener) {
+        this.db = db;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pauseMs = Math.max(0L, pauseMs);
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Remove TPS data older than a date.
+     * <p>
+     * Data points with the all time peak player count are kept.
+     * JVM statistics are saved with the TPS data, so they are removed in the same windows.
+     *
+     * @param before Epoch ms.
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int cleanTPS(long before) throws SQLException {
+        TPSTable tpsTable = db.getTpsTable();
+        Optional<Long> oldest = tpsTable.getOldestDate();
+        if (!oldest.isPresent()) {
+            return 0;
+        }
+        int peakPlayers = tpsTable.getAllTimePeak().map(TPS::getPlayers).orElse(-1);
+
+        // Each server saves one TPS data point per minute.
+        long window = chunkSize * TimeAmount.MINUTE.ms();
+        int removed = 0;
+        for (long after = oldest.get(); after < before && canContinue(); after += window) {
+            long until = Math.min(after + window, before);
+            int chunk = tpsTable.removeBetween(after, until, peakPlayers);
+            db.getJvmStatsTable().removeBetween(after, until);
+            removed += chunk;
+            afterChunk(chunk, "TPS data points", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Remove sessions that ended before a date, with their kills and world times.
+     *
+     * @param before Epoch ms.
+     * @return Amount of removed sessions.
+     * @throws SQLException DB Error
+     */
+    public int cleanSessions(long before) throws SQLException {
+        SessionsTable sessionsTable = db.getSessionsTable();
+        KillsTable killsTable = db.getKillsTable();
+        WorldTimesTable worldTimesTable = db.getWorldTimesTable();
+
+        return removeInChunks(sessionsTable.getIDRange(before), "sessions", (from, to) -> {
+            killsTable.removeOfSessionsEndedBefore(before, from, to);
+            worldTimesTable.removeOfSessionsEndedBefore(before, from, to);
+            return sessionsTable.removeEndedBefore(before, from, to);
+        });
+    }
+
+    /**
+     * Remove kills and world times of sessions that no longer exist.
+     *
+     * @return Amount of removed rows.
+     * @throws SQLException DB Error
+     */
+    public int cleanOrphans() throws SQLException {
+        KillsTable killsTable = db.getKillsTable();
+        WorldTimesTable worldTimesTable = db.getWorldTimesTable();
+
+        return removeInChunks(killsTable.getSessionIDRange(), "orphaned kills", killsTable::removeOrphans)
+                + removeInChunks(worldTimesTable.getSessionIDRange(), "orphaned world times", worldTimesTable::removeOrphans);
+    }
+
+    private int removeInChunks(int[] idRange, String what, ChunkRemover remover) throws SQLException {
+        if (idRange.length == 0) {
+            return 0;
+        }
+        int removed = 0;
+        for (int from = idRange[0]; from <= idRange[1] && canContinue(); from += chunkSize) {
+            int chunk = remover.remove(from, from + chunkSize);
+            removed += chunk;
+            afterChunk(chunk, what, removed);
+        }
+        return removed;
+    }
+
+    private boolean canContinue() {
+        return db.isOpen() && !Thread.currentThread().isInterrupted();
+    }
+
+    private void afterChunk(int removedInChunk, String what, int removed) {
+        if (removedInChunk == 0) {
+            return;
+        }
+        long now = MiscUtils.getTime();
+        if (now - lastProgress >= PROGRESS_INTERVAL_MS) {
+            lastProgress = now;
+            progressListener.accept("Removing old " + what + ".. " + removed + " removed");
+        }
+        if (pauseMs > 0) {
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private interface ChunkRemover {
+        /**
+         * @param fromID Lowest ID, inclusive.
+         * @param toID   Highest ID, exclusive.
+         * @return Amount of removed rows.
+         */
+        int remove(int fromID, int toID) throws SQLException;
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.database.tables.move;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import com.djrapitops.plugin.api.utility.log.Log;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
+import main.java.com.djrapitops.plan.database.tables.Table;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Copies all data from one database to another by streaming rows table by table.
+ * <p>
+ * Rows are read with a forward only cursor and written in chunks, each chunk is committed separately.
+ * Rows are copied as is, including their IDs, so references between tables stay valid.
+ * <p>
+ * Tables that only depend on already copied tables are copied in parallel when both databases are MySQL.
+ * SQLite databases are copied one table at a time.
+ * <p>
+ * The copy uses its own connections, so the transactions of the copy do not mix with writes of the plugin
+ * when a database in use, for example the SQLite database of the server, is copied to or from.
+ * <p>
+ * Progress is saved to a checkpoint file after every commit. If the copy fails, running it again
+ * with the same databases continues from the checkpoint instead of clearing the target database.
+ * Tables with an ID column continue after the last committed ID. Other tables are read in the order of
+ * columns that are unique in each row, and continue after as many rows as the target table already has.
+ * A random token of the copy is written to both the checkpoint and the target database, a checkpoint is only
+ * continued if the target still has its token, so a checkpoint left by an older copy does not affect other copies.
+ *
+ * @author Rsl1122
+ */
+public class DatabaseCopier {
+
+    private static final long PROGRESS_INTERVAL_MS = TimeAmount.SECOND.ms() * 5L;
+    private static final String TOKEN_TABLE = "plan_copy_token";
+    private static final String TOKEN_COLUMN = "token";
+
+    private final SQLDB from;
+    private final SQLDB to;
+    private final File checkpointFile;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Consumer<String> progressListener;
+
+    private final Properties checkpoint;
+    private final AtomicLong copiedRows;
+    private long startTime;
+    private long lastProgress;
+
+    /**
+     * Constructor.
+     *
+     * @param from             Database to copy from.
+     * @param to               Database to copy to, cleared before copying unless a copy is resumed.
+     * @param checkpointFile   File the progress is stored in.
+     * @param chunkSize        Rows inserted per commit.
+     * @param parallelism      Maximum amount of tables copied at the same time.
+     * @param progressListener Receives progress messages.
+     */
+    public DatabaseCopier(SQLDB from, SQLDB to, File checkpointFile, int chunkSize, int parallelism, Consumer<String> progressListener) {
+        this.from = from;
+        this.to = to;
+        this.checkpointFile = checkpointFile;
+        this.chunkSize = chunkSize > 0 ? chunkSize : 5000;
+        this.parallelism = from.isUsingMySQL() && to.isUsingMySQL() ? Math.max(1, parallelism) : 1;
+        this.progressListener = progressListener;
+
+        checkpoint = new Properties();
+        copiedRows = new AtomicLong();
+    }
+
+    /**
+     * Copies everything.
+     *
+     * @throws SQLException If the copy fails, the checkpoint is kept so that the copy can be resumed.
+     */
+    public void copy() throws SQLException {
+        String copyIdentifier = from.getIdentifier() + " -> " + to.getIdentifier();
+        boolean resume = loadCheckpoint(copyIdentifier) && targetHasToken(checkpoint.getProperty(TOKEN_COLUMN));
+        if (resume) {
+            progressListener.accept("Resuming an unfinished copy from " + from.getIdentifier() + " to " + to.getIdentifier());
+        } else {
+            to.removeAllData();
+            String token = UUID.randomUUID().toString();
+            writeToken(token);
+            checkpoint.clear();
+            checkpoint.setProperty("copy", copyIdentifier);
+            checkpoint.setProperty(TOKEN_COLUMN, token);
+            saveCheckpoint();
+        }
+
+        startTime = MiscUtils.getTime();
+        lastProgress = startTime;
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (CopyStep[] level : getCopyOrder()) {
+                copyLevel(executor, level);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long seconds = Math.max(1L, (MiscUtils.getTime() - startTime) / TimeAmount.SECOND.ms());
+        progressListener.accept("Copied " + copiedRows.get() + " rows in " + seconds + "s");
+        executeOnTarget("DROP TABLE IF EXISTS " + TOKEN_TABLE);
+        if (!checkpointFile.delete()) {
+            Log.debug("Copy checkpoint could not be removed: " + checkpointFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Tables grouped so that each group only references tables of the previous groups.
+     *
+     * @return Groups of tables in copy order.
+     */
+    private CopyStep[][] getCopyOrder() {
+        return new CopyStep[][]{
+                {
+                        CopyStep.byID(from.getServerTable()),
+                        CopyStep.byID(from.getUsersTable()),
+                        CopyStep.byID(from.getWorldTable()),
+                        CopyStep.byID(from.getDictionaryTable()),
+                        CopyStep.byOrder(from.getSecurityTable(), "username")
+                },
+                {
+                        CopyStep.byID(from.getSessionsTable()),
+                        CopyStep.byID(from.getCommandUseTable()),
+                        CopyStep.byOrder(from.getUserInfoTable(), "user_id, server_id"),
+                        CopyStep.byOrder(from.getIpsTable(), "user_id, ip"),
+                        CopyStep.byOrder(from.getNicknamesTable(), "user_id, server_id, nickname"),
+                        CopyStep.byOrder(from.getActionsTable(), "user_id, server_id, date, action_id"),
+                        CopyStep.byOrder(from.getTpsTable(), "server_id, date"),
+                        CopyStep.byOrder(from.getJvmStatsTable(), "server_id, date"),
+                        CopyStep.byOrder(from.getActivitySnapshotTable(), "user_id, server_id, date")
+                },
+                {
+                        CopyStep.byOrder(from.getKillsTable(), "session_id, date, killer_id, victim_id"),
+                        CopyStep.byOrder(from.getWorldTimesTable(), "session_id, world_id")
+                }
+        };
+    }
+
+    private void copyLevel(ExecutorService executor, CopyStep[] level) throws SQLException {
+        List<Future<?>> futures = new ArrayList<>();
+        for (CopyStep step : level) {
+            futures.add(executor.submit((Callable<Void>) () -> {
+                copyTable(step);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Copy was interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                }
+                throw new SQLException("Copy failed", cause);
+            }
+        }
+    }
+
+    private void copyTable(CopyStep step) throws SQLException {
+        String tableName = step.table.getTableName();
+        if (isDone(tableName)) {
+            return;
+        }
+
+        boolean started = isStarted(tableName);
+        long lastID = getLastID(tableName);
+        long copiedBefore = 0;
+        if (started && step.idColumn != null) {
+            removePartialCopy(step, lastID);
+        } else if (started) {
+            // Each chunk is committed as a whole, so the rows in the target are the first rows in the copy order.
+            copiedBefore = countTargetRows(tableName);
+        }
+        setStarted(tableName);
+
+        String sql = "SELECT * FROM " + tableName;
+        if (step.idColumn != null) {
+            sql += " WHERE " + step.idColumn + ">? ORDER BY " + step.idColumn;
+        } else {
+            sql += " ORDER BY " + step.orderColumns;
+            if (copiedBefore > 0) {
+                sql += from.isUsingMySQL() ? " LIMIT " + copiedBefore + ", 18446744073709551615" : " LIMIT -1 OFFSET " + copiedBefore;
+            }
+        }
+
+        try (Connection source = from.getDedicatedConnection();
+             Connection target = to.getDedicatedConnection()) {
+            target.setAutoCommit(false);
+            try (PreparedStatement select = source.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Connector/J only streams rows one by one with this fetch size, otherwise the whole table is loaded.
+                select.setFetchSize(from.isUsingMySQL() ? Integer.MIN_VALUE : chunkSize);
+                if (step.idColumn != null) {
+                    select.setLong(1, lastID);
+                }
+                try (ResultSet set = select.executeQuery()) {
+                    copyRows(step, set, target);
+                }
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            }
+        }
+        setDone(tableName);
+    }
+
+    private void copyRows(CopyStep step, ResultSet set, Connection target) throws SQLException {
+        String tableName = step.table.getTableName();
+        ResultSetMetaData metaData = set.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        int idIndex = -1;
+
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 1; i <= columnCount; i++) {
+            String column = metaData.getColumnName(i);
+            if (column.equalsIgnoreCase(step.idColumn)) {
+                idIndex = i;
+            }
+            if (i > 1) {
+                columns.append(", ");
+                values.append(", ");
+            }
+            columns.append(column);
+            values.append("?");
+        }
+        String insertSql = "INSERT INTO " + tableName + " (" + columns + ") VALUES (" + values + ")";
+
+        try (PreparedStatement insert = target.prepareStatement(insertSql)) {
+            int inChunk = 0;
+            long lastID = -1;
+            while (set.next()) {
+                for (int i = 1; i <= columnCount; i++) {
+                    insert.setObject(i, set.getObject(i));
+                }
+                if (idIndex != -1) {
+                    lastID = set.getLong(idIndex);
+                }
+                insert.addBatch();
+                inChunk++;
+
+                if (inChunk >= chunkSize) {
+                    commitChunk(insert, target, tableName, lastID, inChunk);
+                    inChunk = 0;
+                }
+            }
+            if (inChunk > 0) {
+                commitChunk(insert, target, tableName, lastID, inChunk);
+            }
+        }
+    }
+
+    private void commitChunk(PreparedStatement insert, Connection target, String tableName, long lastID, int rows) throws SQLException {
+        insert.executeBatch();
+        target.commit();
+        if (lastID != -1) {
+            setLastID(tableName, lastID);
+        }
+        reportProgress(tableName, copiedRows.addAndGet(rows));
+    }
+
+    /**
+     * Removes rows that were committed after the last checkpoint of a table with an ID column.
+     */
+    private void removePartialCopy(CopyStep step, long lastID) throws SQLException {
+        String sql = "DELETE FROM " + step.table.getTableName() + " WHERE " + step.idColumn + ">?";
+        try (Connection connection = to.getDedicatedConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, lastID);
+                statement.executeUpdate();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    private long countTargetRows(String tableName) throws SQLException {
+        try (Connection connection = to.getDedicatedConnection();
+             Statement statement = connection.createStatement();
+             ResultSet set = statement.executeQuery("SELECT COUNT(*) FROM " + tableName)) {
+            return set.next() ? set.getLong(1) : 0;
+        }
+    }
+
+    private boolean targetHasToken(String token) throws SQLException {
+        if (token == null) {
+            return false;
+        }
+        executeOnTarget("CREATE TABLE IF NOT EXISTS " + TOKEN_TABLE + " (" + TOKEN_COLUMN + " varchar(36) NOT NULL)");
+        try (Connection connection = to.getDedicatedConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM " + TOKEN_TABLE + " WHERE " + TOKEN_COLUMN + "=?")) {
+            statement.setString(1, token);
+            try (ResultSet set = statement.executeQuery()) {
+                return set.next() && set.getInt(1) > 0;
+            }
+        }
+    }
+
+    private void writeToken(String token) throws SQLException {
+        executeOnTarget("DROP TABLE IF EXISTS " + TOKEN_TABLE);
+        executeOnTarget("CREATE TABLE " + TOKEN_TABLE + " (" + TOKEN_COLUMN + " varchar(36) NOT NULL)");
+        executeOnTarget("INSERT INTO " + TOKEN_TABLE + " (" + TOKEN_COLUMN + ") VALUES ('" + token + "')");
+    }
+
+    private void executeOnTarget(String sql) throws SQLException {
+        try (Connection connection = to.getDedicatedConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    private void reportProgress(String tableName, long totalRows) {
+        long now = MiscUtils.getTime();
+        synchronized (this) {
+            if (now - lastProgress < PROGRESS_INTERVAL_MS) {
+                return;
+            }
+            lastProgress = now;
+        }
+        long seconds = Math.max(1L, (now - startTime) / TimeAmount.SECOND.ms());
+        progressListener.accept("Copying " + tableName + ".. " + totalRows + " rows copied (" + (totalRows / seconds) + " rows/s)");
+    }
+
+    private boolean loadCheckpoint(String copyIdentifier) {
+        if (!checkpointFile.exists()) {
+            return false;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(checkpointFile), StandardCharsets.UTF_8)) {
+            checkpoint.load(reader);
+        } catch (IOException e) {
+            Log.toLog(this.getClass().getName(), e);
+            return false;
+        }
+        return copyIdentifier.equals(checkpoint.getProperty("copy"));
+    }
+
+    private synchronized void saveCheckpoint() throws SQLException {
+        File temp = new File(checkpointFile.getAbsolutePath() + ".tmp");
+        try {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+                checkpoint.store(writer, "Plan database copy progress, delete to start the copy from the beginning");
+            }
+            Files.move(temp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new SQLException("Could not save copy checkpoint " + checkpointFile.getAbsolutePath(), e);
+        }
+    }
+
+    private synchronized boolean isDone(String tableName) {
+        return "done".equals(checkpoint.getProperty(tableName));
+    }
+
+    private synchronized boolean isStarted(String tableName) {
+        return checkpoint.getProperty(tableName) != null;
+    }
+
+    private synchronized long getLastID(String tableName) {
+        return Long.parseLong(checkpoint.getProperty(tableName + ".lastID", "-1"));
+    }
+
+    private synchronized void setStarted(String tableName) throws SQLException {
+        checkpoint.setProperty(tableName, "started");
+        saveCheckpoint();
+    }
+
+    private synchronized void setLastID(String tableName, long lastID) throws SQLException {
+        checkpoint.setProperty(tableName + ".lastID", Long.toString(lastID));
+        saveCheckpoint();
+    }
+
+    private synchronized void setDone(String tableName) throws SQLException {
+        checkpoint.setProperty(tableName, "done");
+        saveCheckpoint();
+    }
+
+    private static class CopyStep {
+        private final Table table;
+        private final String idColumn;
+        private final String orderColumns;
+
+        private CopyStep(Table table, String idColumn, String orderColumns) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.orderColumns = orderColumns;
+        }
+
+        static CopyStep byID(Table table) {
+            return new CopyStep(table, "id", null);
+        }
+
+        /**
+         * @param orderColumns Columns that together are unique for each row, gives the rows the same order every time.
+         */
+        static CopyStep byOrder(Table table, String orderColumns) {
+            return new CopyStep(table, null, orderColumns);
+        }
+    }
+}
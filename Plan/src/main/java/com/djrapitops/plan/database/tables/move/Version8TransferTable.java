@@ -38,12 +38,6 @@ public class Version8TransferTable extends Table {
         throw new IllegalStateException("Method not supposed to be used on this table.");
     }
 
-    private String tableRenameSql(String from, String to) {
-        return usingMySQL ?
-                "RENAME TABLE " + from + " TO " + to :
-                "ALTER TABLE " + from + " RENAME TO " + to;
-    }
-
     private String dropTableSql(String name) {
         return "DROP TABLE " + name;
     }
@@ -123,12 +117,15 @@ public class Version8TransferTable extends Table {
             if (usingMySQL) {
                 execute("SET foreign_key_checks = 0");
             }
+            DictionaryTable dictionaryTable = db.getDictionaryTable();
+            dictionaryTable.saveValuesOf(tempKillsTableName, "weapon");
             statement = "INSERT INTO plan_kills " +
                     "(" +
-                    "killer_id, victim_id, weapon, date, session_id" +
+                    "killer_id, victim_id, weapon_id, date, session_id" +
                     ") SELECT " +
-                    "killer_id, victim_id, weapon, date, '0'" +
-                    " FROM " + tempKillsTableName;
+                    "k.killer_id, k.victim_id, d.id, k.date, '0'" +
+                    " FROM " + tempKillsTableName + " k" +
+                     JOIN " + dictionaryTable + " d on d." + dictionaryTable.getColumnValue() + "=" + dictionaryTable.truncate("k.weapon");
             execute(statement);
         } finally {
             if (usingMySQL) {
@@ -33,9 +33,23 @@ public enum Settings {
     // Integer
     WEBSERVER_PORT("WebServer.Port"),
     DB_PORT("Database.MySQL.Port"),
+    DB_COPY_CHUNK_SIZE("Database.Copy.ChunkSize"),
+    DB_COPY_PARALLEL_TABLES("Database.Copy.ParallelTables"),
+    DB_BACKUP_INTERVAL("Database.Backup.IntervalHours"),
+    DB_BACKUP_KEEP("Database.Backup.Keep"),
+    DB_RETENTION_INTERVAL("Database.Retention.IntervalHours"),
+    DB_RETENTION_TPS_DAYS("Database.Retention.TPSDays"),
+    DB_RETENTION_SESSION_DAYS("Database.Retention.SessionDays"),
+    DB_RETENTION_CHUNK_SIZE("Database.Retention.ChunkSize"),
+    DB_RETENTION_PAUSE("Database.Retention.PauseMs"),
+    SHUTDOWN_DEADLINE("Plugin.Shutdown.DeadlineSeconds"),
     ANALYSIS_AUTO_REFRESH("Analysis.AutoRefreshPeriod"),
     ACTIVE_PLAY_THRESHOLD("Analysis.Active.PlaytimeThreshold"),
     ACTIVE_LOGIN_THRESHOLD("Analysis.Active.LoginThreshold"),
+    PLUGIN_DATA_THREADS("Analysis.PluginData.Threads"),
+    PLUGIN_DATA_TIMEOUT("Analysis.PluginData.TimeoutSeconds"),
+    PLUGIN_DATA_CACHE("Analysis.PluginData.CacheSeconds"),
+    GRAPH_POINTS_PER_RANGE("Analysis.Graphs.PointsPerRange"),
     MAX_SESSIONS("Customization.Display.MaxSessions"),
     MAX_PLAYERS("Customization.Display.MaxPlayers"),
     MAX_PLAYERS_PLAYERS_PAGE("Customization.Display.MaxPlayersPlayersPage"),
@@ -0,0 +1,121 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.info;
+
+import main.java.com.djrapitops.plan.data.AnalysisData;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Saves the results of the latest Analysis to a file, so that the analysis page can be served right after a restart.
+ * <p>
+ * The file is a gzipped binary file that contains the placeholder values of AnalysisData as Strings and the analyzed
+ * numbers. Snapshots saved by a different version of Plan or for a different server are ignored, because the
+ * placeholders of the page might have changed.
+ *
+ * @author Rsl1122
+ * @see BukkitInformationManager
+ */
+public class AnalysisSnapshot {
+
+    private static final int MAGIC = 0x504c414e;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Constructor used to hide the public constructor
+     */
+    private AnalysisSnapshot() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Write AnalysisData to a snapshot file.
+     * <p>
+     * The snapshot is written to a temporary file first and then moved over the old one, so a crash during the write
+     * does not leave a broken snapshot behind.
+     *
+     * @param snapshotFile File to write to.
+     * @param analysisData AnalysisData to save.
+     * @param version      Version of Plan that ran the analysis.
+     * @param serverUUID   UUID of the analysed server.
+     * @throws IOException If the file can not be written.
+     */
+    public static void write(File snapshotFile, AnalysisData analysisData, String version, UUID serverUUID) throws IOException {
+        File tempFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(version);
+            out.writeLong(serverUUID.getMostSignificantBits());
+            out.writeLong(serverUUID.getLeastSignificantBits());
+            out.writeLong(analysisData.getRefreshDate());
+
+            Map<String, Serializable> values;
+            synchronized (analysisData.getReplaceMap()) {
+                values = new HashMap<>(analysisData.getReplaceMap());
+            }
+            out.writeInt(values.size());
+            for (Map.Entry<String, Serializable> entry : values.entrySet()) {
+                Serializable value = entry.getValue();
+                byte[] bytes = (value != null ? value.toString() : "").getBytes(StandardCharsets.UTF_8);
+                out.writeUTF(entry.getKey());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            Map<String, Long> analyzedValues = analysisData.getAnalyzedValues();
+            out.writeInt(analyzedValues.size());
+            for (Map.Entry<String, Long> entry : analyzedValues.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+        Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Read AnalysisData from a snapshot file.
+     *
+     * @param snapshotFile File to read.
+     * @param version      Current version of Plan.
+     * @param serverUUID   UUID of the current server.
+     * @return AnalysisData of the snapshot, or empty if the snapshot was saved by another version or server.
+     * @throws IOException If the file can not be read or is not a snapshot.
+     */
+    public static Optional<AnalysisData> read(File snapshotFile, String version, UUID serverUUID) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(snapshotFile))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(snapshotFile.getName() + " is not an Analysis snapshot.");
+            }
+            if (in.readInt() != FORMAT_VERSION || !version.equals(in.readUTF())
+                    || !serverUUID.equals(new UUID(in.readLong(), in.readLong()))) {
+                return Optional.empty();
+            }
+            long refreshDate = in.readLong();
+
+            int valueCount = in.readInt();
+            Map<String, Serializable> values = new HashMap<>(valueCount * 2);
+            for (int i = 0; i < valueCount; i++) {
+                String key = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                values.put(key, new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            int analyzedCount = in.readInt();
+            Map<String, Long> analyzedValues = new HashMap<>(analyzedCount * 2);
+            for (int i = 0; i < analyzedCount; i++) {
+                analyzedValues.put(in.readUTF(), in.readLong());
+            }
+            return Optional.of(new AnalysisData(refreshDate, values, analyzedValues));
+        }
+    }
+}
@@ -28,12 +28,14 @@ import main.java.com.djrapitops.plan.systems.webserver.webapi.bukkit.AnalyzeWebA
 import main.java.com.djrapitops.plan.systems.webserver.webapi.bukkit.RequestInspectPluginsTabBukkitWebAPI;
 import main.java.com.djrapitops.plan.systems.webserver.webapi.bungee.*;
 import main.java.com.djrapitops.plan.systems.webserver.webapi.universal.PingWebAPI;
+import main.java.com.djrapitops.plan.utilities.FormatUtils;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.Analysis;
 import main.java.com.djrapitops.plan.utilities.file.export.HtmlExport;
 import main.java.com.djrapitops.plan.utilities.html.HtmlStructure;
 import main.java.com.djrapitops.plan.utilities.html.structure.InspectPluginsTabContentCreator;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.*;
@@ -52,6 +54,7 @@ public class BukkitInformationManager extends InformationManager {
     private final Analysis analysis;
 
     private AnalysisData analysisData;
+    private boolean analysisRestored;
     private String analysisPluginsTab;
     private Long refreshDate;
 
@@ -141,20 +144,7 @@ public class BukkitInformationManager extends InformationManager {
             String serverName = plugin.getServerInfoManager().getServerName();
             HookHandler hookHandler = plugin.getHookHandler();
             List<PluginData> plugins = hookHandler.getAdditionalDataSources();
-            Map<PluginData, InspectContainer> containers = new HashMap<>();
-            for (PluginData pluginData : plugins) {
-                InspectContainer inspectContainer = new InspectContainer();
-                try {
-                    InspectContainer container = pluginData.getPlayerData(uuid, inspectContainer);
-                    if (container != null && !container.isEmpty()) {
-                        containers.put(pluginData, container);
-                    }
-                } catch (Exception e) {
-                    String sourcePlugin = pluginData.getSourcePlugin();
-                    Log.error("PluginData caused exception: " + sourcePlugin);
-                    Log.toLog(this.getClass().getName() + " " + sourcePlugin, e);
-                }
-            }
+            Map<PluginData, InspectContainer> containers = hookHandler.getExecutor().getPlayerData(plugins, uuid);
 
             cacheInspectPluginsTab(uuid, InspectPluginsTabContentCreator.createContent(containers));
         }
@@ -203,7 +193,7 @@ public class BukkitInformationManager extends InformationManager {
     @Override
     public boolean isAnalysisCached(UUID serverUUID) {
         if (Plan.getServerUUID().equals(serverUUID)) {
-            return analysisData != null;
+            return analysisData != null && !analysisRestored;
         }
         if (usingAnotherWebServer) {
             try {
@@ -232,14 +222,12 @@ public class BukkitInformationManager extends InformationManager {
     public String getAnalysisHtml() {
         if (analysisData == null) {
             analysis.runAnalysis(this);
-            ErrorResponse analysisRefreshPage = new ErrorResponse();
-            analysisRefreshPage.setTitle("Analysis is being refreshed..");
-            analysisRefreshPage.setParagraph("<meta http-equiv=\"refresh\" content=\"25\" /><i class=\"fa fa-refresh fa-spin\" aria-hidden=\"true\"></i> Analysis is being run, refresh the page after a few seconds.. (F5)");
-            analysisRefreshPage.replacePlaceholders();
-            return analysisRefreshPage.getContent();
+            return new AnalysisRefreshResponse().getContent();
         }
         try {
-            return Theme.replaceColors(new AnalysisPageParser(analysisData, plugin).parse());
+            // Pages that are not served by this server can not load the data of the tabs from it.
+            boolean inlineData = usingAnotherWebServer || Settings.ANALYSIS_EXPORT.isTrue();
+            return Theme.replaceColors(new AnalysisPageParser(analysisData, plugin, inlineData).parse());
         } catch (ParseException e) {
             return new InternalErrorResponse(e, this.getClass().getSimpleName()).getContent();
         }
@@ -259,11 +247,13 @@ public class BukkitInformationManager extends InformationManager {
         return dataCache;
     }
 
-    public void cacheAnalysisData(AnalysisData analysisData) {
+    public synchronized void cacheAnalysisData(AnalysisData analysisData) {
         this.analysisData = analysisData;
+        analysisRestored = false;
         refreshDate = MiscUtils.getTime();
         cacheAnalysisHtml();
         UUID serverUUID = Plan.getServerUUID();
+        saveAnalysisSnapshot(analysisData, serverUUID);
         if (usingAnotherWebServer) {
             try {
                 getWebAPI().getAPI(AnalysisReadyWebAPI.class).sendRequest(webServerAddress, serverUUID);
@@ -278,6 +268,48 @@ public class BukkitInformationManager extends InformationManager {
         analysisReady(serverUUID);
     }
 
+    private void saveAnalysisSnapshot(AnalysisData analysisData, UUID serverUUID) {
+        try {
+            AnalysisSnapshot.write(getAnalysisSnapshotFile(), analysisData, plugin.getVersion(), serverUUID);
+        } catch (IOException e) {
+            Log.toLog(this.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Load the results of the Analysis run before the last restart, so that the analysis page can be served
+     * before the boot Analysis is complete.
+     * <p>
+     * Until then the page shows the results of the previous run, which can be as old as the restart.
+     * The restored results only contain the page values, so they are not returned by {@link #getAnalysisData()}.
+     * <p>
+     * Does nothing if there is no snapshot, or if an Analysis has already been completed.
+     */
+    public synchronized void loadAnalysisSnapshot() {
+        File snapshotFile = getAnalysisSnapshotFile();
+        if (analysisData != null || !snapshotFile.exists()) {
+            return;
+        }
+        try {
+            Optional<AnalysisData> snapshot = AnalysisSnapshot.read(snapshotFile, plugin.getVersion(), Plan.getServerUUID());
+            if (!snapshot.isPresent()) {
+                Log.debug("Analysis snapshot was saved by another version or server, not loaded.");
+                return;
+            }
+            analysisData = snapshot.get();
+            analysisRestored = true;
+            refreshDate = analysisData.getRefreshDate();
+            cacheAnalysisHtml();
+            Log.info("Loaded Analysis results of " + FormatUtils.formatTimeStamp(refreshDate) + " from the previous run.");
+        } catch (IOException e) {
+            Log.toLog(this.getClass().getName(), e);
+        }
+    }
+
+    private File getAnalysisSnapshotFile() {
+        return new File(plugin.getDataFolder(), "analysis-snapshot.dat");
+    }
+
     private void cacheAnalysisHtml() {
         cacheAnalysisHtml(getAnalysisHtml());
     }
@@ -294,6 +326,7 @@ public class BukkitInformationManager extends InformationManager {
             }
         } else {
             UUID serverUUID = Plan.getServerUUID();
+            PageCache.removeIf(identifier -> identifier.startsWith("analysisData:"));
             PageCache.cachePage("analysisPage:" + serverUUID, () -> new AnalysisPageResponse(html));
             if (Settings.ANALYSIS_EXPORT.isTrue()) {
                 HtmlExport.exportServer(plugin, serverUUID);
@@ -301,7 +334,24 @@ public class BukkitInformationManager extends InformationManager {
         }
     }
 
+    /**
+     * Get the results of the latest Analysis run since enable.
+     *
+     * @return AnalysisData, or null if an Analysis has not been completed since enable.
+     */
     public AnalysisData getAnalysisData() {
+        return analysisRestored ? null : analysisData;
+    }
+
+    /**
+     * Get the AnalysisData the analysis page is made from.
+     * <p>
+     * Unlike {@link #getAnalysisData()} includes results restored from the snapshot of the previous run,
+     * which only contain the values of the page.
+     *
+     * @return AnalysisData, or null if there are no results to show.
+     */
+    public AnalysisData getPageAnalysisData() {
         return analysisData;
     }
 
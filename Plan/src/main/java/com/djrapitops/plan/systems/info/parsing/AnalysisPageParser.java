@@ -10,6 +10,7 @@ import main.java.com.djrapitops.plan.PlanBungee;
 import main.java.com.djrapitops.plan.api.IPlan;
 import main.java.com.djrapitops.plan.api.exceptions.ParseException;
 import main.java.com.djrapitops.plan.data.AnalysisData;
+import main.java.com.djrapitops.plan.data.AnalysisDataGroup;
 import main.java.com.djrapitops.plan.utilities.file.FileUtil;
 import main.java.com.djrapitops.plan.utilities.html.HtmlUtils;
 
@@ -24,15 +25,26 @@ public class AnalysisPageParser extends PageParser {
 
     private final AnalysisData data;
     private final IPlan plugin;
-
-    public AnalysisPageParser(AnalysisData analysisData, IPlan plugin) {
+    private final boolean inlineData;
+
+    /**
+     * Constructor.
+     *
+     * @param analysisData AnalysisData to parse the page of.
+     * @param plugin       Current instance of Plan.
+     * @param inlineData   true if the values of {@link AnalysisDataGroup}s should be placed on the page, false if the
+     *                     page loads them from this server when a tab is opened.
+     */
+    public AnalysisPageParser(AnalysisData analysisData, IPlan plugin, boolean inlineData) {
         this.data = analysisData;
         this.plugin = plugin;
+        this.inlineData = inlineData;
     }
 
     @Override
     public String parse() throws ParseException {
         addValues(data.getReplaceMap());
+        addValue("analysisDataInline", inlineData ? AnalysisDataGroup.allToJson(data.getReplaceMap()) : "null");
 
         try {
             return HtmlUtils.replacePlaceholders(FileUtil.getStringFromResource("web/server.html"), placeHolders);
@@ -4,7 +4,6 @@
  */
 package main.java.com.djrapitops.plan.systems.info.parsing;
 
-import com.djrapitops.plugin.api.Benchmark;
 import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.api.utility.log.Log;
 import main.java.com.djrapitops.plan.api.IPlan;
@@ -17,6 +16,7 @@ import main.java.com.djrapitops.plan.database.Database;
 import main.java.com.djrapitops.plan.settings.Settings;
 import main.java.com.djrapitops.plan.settings.theme.Theme;
 import main.java.com.djrapitops.plan.settings.theme.ThemeVal;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.utilities.FormatUtils;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.AnalysisUtils;
@@ -59,7 +59,7 @@ public class InspectPageParser extends PageParser {
                 throw new IllegalStateException("UUID was null!");
             }
             Log.logDebug("Database", "Inspect Parse Fetch");
-            Benchmark.start("Inspect Parse, Fetch");
+            long start = System.nanoTime();
             Database db = plugin.getDB();
             PlayerProfile profile = db.getPlayerProfile(uuid);
             if (profile == null) {
@@ -68,7 +68,7 @@ public class InspectPageParser extends PageParser {
             UUID serverUUID = MiscUtils.getIPlan().getServerUuid();
             Map<UUID, String> serverNames = db.getServerTable().getServerNames();
 
-            Benchmark.stop("Inspect Parse, Fetch");
+            PlanMetrics.getInspectFetch().recordSince(start);
 
             return parse(profile, serverUUID, serverNames);
         } catch (Exception e) {
@@ -0,0 +1,55 @@
+package main.java.com.djrapitops.plan.systems.listeners;
+
+import main.java.com.djrapitops.plan.systems.tasks.WorldLoadCounter;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/**
+ * Event Listener that keeps count of loaded chunks and entities.
+ *
+ * @author Rsl1122
+ * @see WorldLoadCounter
+ */
+public class PlanWorldLoadListener implements Listener {
+
+    private final WorldLoadCounter counter;
+
+    public PlanWorldLoadListener(WorldLoadCounter counter) {
+        this.counter = counter;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        counter.chunkLoaded(event.getChunk().getEntities().length);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        counter.chunkUnloaded(event.getChunk().getEntities().length);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        counter.entityAdded();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        // Players respawn as the same entity.
+        if (!(event.getEntity() instanceof Player)) {
+            counter.entityRemoved();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDespawn(ItemDespawnEvent event) {
+        counter.entityRemoved();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+/**
+ * Phases of Analysis that are timed separately.
+ *
+ * @author Rsl1122
+ * @see main.java.com.djrapitops.plan.utilities.analysis.Analysis
+ */
+public enum AnalysisPhase {
+    /**
+     * Loading the ServerProfile and activity history from the database.
+     */
+    FETCH,
+    /**
+     * Loading and storing weekly activity snapshots, part of {@link #FETCH}.
+     */
+    ACTIVITY_HISTORY,
+    /**
+     * Calculating the values of AnalysisData.
+     */
+    ANALYSIS,
+    /**
+     * Getting the data of 3rd party plugins.
+     */
+    PLUGINS,
+    /**
+     * Whole Analysis from start to finish.
+     */
+    TOTAL;
+
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
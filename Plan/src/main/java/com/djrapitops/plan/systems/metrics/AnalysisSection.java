@@ -0,0 +1,25 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+/**
+ * Sections of AnalysisData that are calculated in parallel during {@link AnalysisPhase#ANALYSIS}.
+ *
+ * @author Rsl1122
+ * @see main.java.com.djrapitops.plan.data.AnalysisData
+ */
+public enum AnalysisSection {
+    SERVER_PROFILE,
+    SESSIONS,
+    GEOLOCATIONS,
+    COMMANDS,
+    PERFORMANCE,
+    ONLINE_ACTIVITY,
+    HEALTH;
+
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of events that can be incremented from multiple threads without locking.
+ *
+ * @author Rsl1122
+ */
+public class Counter {
+
+    private final String label;
+    private final LongAdder count;
+
+    public Counter() {
+        this(null);
+    }
+
+    /**
+     * Create a new Counter.
+     *
+     * @param label Label value the Counter is exported with, null if the Counter is not part of a {@link MetricGroup}.
+     */
+    public Counter(String label) {
+        this.label = label;
+        count = new LongAdder();
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of positive values with buckets of fixed relative size, in the style of HdrHistogram.
+ * <p>
+ * Values under 32 have a bucket of their own. Each power of two above that is split into 16 buckets, so a value
+ * read from the histogram is within 1/32 (about 3%) of the recorded value. Values up to 2^42 (73 minutes in
+ * nanoseconds) are tracked, larger values are counted to the last bucket.
+ * <p>
+ * Recording is a few atomic increments and does not allocate or lock.
+ *
+ * @author Rsl1122
+ */
+public class Histogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BITS = 42;
+
+    static final long MAX_TRACKED_VALUE = (1L << MAX_BITS) - 1;
+    static final int BUCKET_COUNT = getBucketIndex(MAX_TRACKED_VALUE) + 1;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder total;
+    private final AtomicLong max;
+
+    public Histogram() {
+        counts = new AtomicLongArray(BUCKET_COUNT);
+        count = new LongAdder();
+        total = new LongAdder();
+        max = new AtomicLong();
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        // Position of the highest bit, the bits below it select the sub-bucket.
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketLowerBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return subBucket << shift;
+    }
+
+    static long getBucketUpperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? getBucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value Value to record, negative values are recorded as 0.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(getBucketIndex(Math.min(value, MAX_TRACKED_VALUE)));
+        count.increment();
+        total.add(value);
+
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // Retry until the maximum is at least the value.
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getAverage() {
+        long n = getCount();
+        return n != 0 ? (double) getTotal() / n : 0.0;
+    }
+
+    /**
+     * Get the value that the given percentage of recorded values are smaller than or equal to.
+     * <p>
+     * Values recorded during the call may or may not be included.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Middle of the bucket the percentile falls to, never more than the maximum value, 0 if empty.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                long lower = getBucketLowerBound(i);
+                long middle = lower + (Math.min(getBucketUpperBound(i), MAX_TRACKED_VALUE) - lower) / 2;
+                return Math.min(middle, getMax());
+            }
+        }
+        return getMax();
+    }
+}
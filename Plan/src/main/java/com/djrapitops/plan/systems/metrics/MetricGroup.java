@@ -0,0 +1,82 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Group of {@link Timer}s or {@link Counter}s of the same metric, one for each key (For example class of a Processor).
+ * <p>
+ * A metric is registered the first time its key is used, after that getting it is a map lookup that does not
+ * allocate. Keys should be classes or enum constants so that the callers do not need to build them.
+ *
+ * @param <K> Type of the keys.
+ * @param <M> Type of the metrics.
+ * @author Rsl1122
+ */
+public class MetricGroup<K, M> {
+
+    private final Function<K, String> labelFunction;
+    private final Function<String, M> metricFunction;
+    private final Map<K, M> metrics;
+    private final List<M> registered;
+    private final List<M> unmodifiableRegistered;
+
+    /**
+     * Create a new MetricGroup.
+     *
+     * @param labelFunction  Function that gives the label value of a key.
+     * @param metricFunction Function that creates a metric with a label value, for example {@code Timer::new}.
+     * @param preRegistered  Keys that are registered right away.
+     */
+    @SafeVarargs
+    public MetricGroup(Function<K, String> labelFunction, Function<String, M> metricFunction, K... preRegistered) {
+        this.labelFunction = labelFunction;
+        this.metricFunction = metricFunction;
+        metrics = new ConcurrentHashMap<>();
+        registered = new CopyOnWriteArrayList<>();
+        unmodifiableRegistered = Collections.unmodifiableList(registered);
+        for (K key : preRegistered) {
+            get(key);
+        }
+    }
+
+    /**
+     * Get the metric of a key.
+     *
+     * @param key Key of the metric.
+     * @return Metric of the key, registered if the key has not been used before.
+     */
+    public M get(K key) {
+        M metric = metrics.get(key);
+        return metric != null ? metric : register(key);
+    }
+
+    private synchronized M register(K key) {
+        M metric = metrics.get(key);
+        if (metric == null) {
+            metric = metricFunction.apply(labelFunction.apply(key));
+            registered.add(metric);
+            metrics.put(key, metric);
+        }
+        return metric;
+    }
+
+    /**
+     * Get all registered metrics in order of registration.
+     * <p>
+     * The list can be read by index without allocating.
+     *
+     * @return Unmodifiable list of the metrics.
+     */
+    public List<M> getMetrics() {
+        return unmodifiableRegistered;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes metrics in the OpenMetrics text format into a reused byte buffer.
+ * <p>
+ * Numbers are written digit by digit so that writing does not create Strings. The buffer grows only when a scrape
+ * is larger than any scrape before it. Not thread safe.
+ *
+ * @author Rsl1122
+ */
+public class OpenMetricsWriter {
+
+    private static final long FRACTION_SCALE = 1_000_000L;
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.95", "0.99"};
+
+    private byte[] buffer;
+    private int length;
+
+    public OpenMetricsWriter() {
+        buffer = new byte[8192];
+        length = 0;
+    }
+
+    /**
+     * Empty the buffer for a new scrape.
+     */
+    public void reset() {
+        length = 0;
+    }
+
+    /**
+     * Write the metadata of a metric family.
+     *
+     * @param name Name of the metric family.
+     * @param type gauge, counter or summary.
+     * @param help Description of the metric.
+     */
+    public void family(String name, String type, String help) {
+        write("# TYPE ").write(name).write(' ').write(type).write('\n');
+        write("# HELP ").write(name).write(' ').write(help).write('\n');
+    }
+
+    public void sample(String name, long value) {
+        write(name).write(' ').write(value).write('\n');
+    }
+
+    public void sample(String name, double value) {
+        write(name).write(' ').write(value).write('\n');
+    }
+
+    public void sample(String name, String suffix, String labelName, String labelValue, long value) {
+        write(name).write(suffix);
+        writeLabel(labelName, labelValue);
+        write(' ').write(value).write('\n');
+    }
+
+    public void sample(String name, String suffix, String labelName, String labelValue, double value) {
+        write(name).write(suffix);
+        writeLabel(labelName, labelValue);
+        write(' ').write(value).write('\n');
+    }
+
+    /**
+     * Write the quantile, _count and _sum samples of a summary.
+     *
+     * @param name  Name of the summary, should end with _seconds.
+     * @param timer Timer to write.
+     */
+    public void summary(String name, Timer timer) {
+        Histogram histogram = timer.getHistogram();
+        for (int i = 0; i < QUANTILES.length; i++) {
+            write(name).write("{quantile=\"").write(QUANTILE_LABELS[i]).write("\"} ")
+                    .write(histogram.getValueAtPercentile(QUANTILES[i] * 100.0) / 1e9).write('\n');
+        }
+        write(name).write("_count ").write(timer.getCount()).write('\n');
+        write(name).write("_sum ").write(timer.getTotalNanos() / 1e9).write('\n');
+    }
+
+    /**
+     * Write the quantile, _count and _sum samples of each Timer of a summary with a label.
+     *
+     * @param name      Name of the summary, should end with _seconds.
+     * @param labelName Name of the label, Timer labels are used as the values.
+     * @param timers    Timers to write.
+     */
+    public void summary(String name, String labelName, List<Timer> timers) {
+        for (int t = 0; t < timers.size(); t++) {
+            Timer timer = timers.get(t);
+            Histogram histogram = timer.getHistogram();
+            for (int i = 0; i < QUANTILES.length; i++) {
+                write(name);
+                writeLabel(labelName, timer.getLabel(), QUANTILE_LABELS[i]);
+                write(' ').write(histogram.getValueAtPercentile(QUANTILES[i] * 100.0) / 1e9).write('\n');
+            }
+            sample(name, "_count", labelName, timer.getLabel(), timer.getCount());
+            sample(name, "_sum", labelName, timer.getLabel(), timer.getTotalNanos() / 1e9);
+        }
+    }
+
+    /**
+     * Write the _total samples of each Counter of a counter with a label.
+     *
+     * @param name      Name of the counter, without _total.
+     * @param labelName Name of the label, Counter labels are used as the values.
+     * @param counters  Counters to write.
+     */
+    public void counters(String name, String labelName, List<Counter> counters) {
+        for (int i = 0; i < counters.size(); i++) {
+            Counter counter = counters.get(i);
+            sample(name, "_total", labelName, counter.getLabel(), counter.get());
+        }
+    }
+
+    /**
+     * End the exposition.
+     */
+    public void end() {
+        write("# EOF\n");
+    }
+
+    private void writeLabel(String labelName, String labelValue) {
+        write('{');
+        writeLabelPair(labelName, labelValue);
+        write('}');
+    }
+
+    private void writeLabel(String labelName, String labelValue, String quantile) {
+        write('{');
+        writeLabelPair(labelName, labelValue);
+        write(",quantile=\"").write(quantile).write("\"}");
+    }
+
+    private void writeLabelPair(String labelName, String labelValue) {
+        write(labelName).write("=\"");
+        for (int i = 0; i < labelValue.length(); i++) {
+            char c = labelValue.charAt(i);
+            switch (c) {
+                case '\\':
+                    write("\\\\");
+                    break;
+                case '"':
+                    write("\\\"");
+                    break;
+                case '\n':
+                    write("\\n");
+                    break;
+                default:
+                    write(c);
+            }
+        }
+        write('"');
+    }
+
+    private OpenMetricsWriter write(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+        return this;
+    }
+
+    private OpenMetricsWriter write(char c) {
+        if (c < 0x80) {
+            writeByte(c);
+        } else if (c < 0x800) {
+            writeByte(0xC0 | (c >> 6));
+            writeByte(0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            // Names and labels are class and enum names, characters outside the BMP are not expected.
+            writeByte('?');
+        } else {
+            writeByte(0xE0 | (c >> 12));
+            writeByte(0x80 | ((c >> 6) & 0x3F));
+            writeByte(0x80 | (c & 0x3F));
+        }
+        return this;
+    }
+
+    private OpenMetricsWriter write(long value) {
+        if (value == Long.MIN_VALUE) {
+            return write("-9223372036854775808");
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            writeByte((int) ('0' + (value / divisor) % 10));
+        }
+        return this;
+    }
+
+    private OpenMetricsWriter write(double value) {
+        if (Double.isNaN(value)) {
+            return write("NaN");
+        }
+        if (Double.isInfinite(value)) {
+            return write(value > 0 ? "+Inf" : "-Inf");
+        }
+        if (Math.abs(value) >= Long.MAX_VALUE / FRACTION_SCALE) {
+            // Too large for fixed point, precision of the fraction does not matter.
+            return write((long) value);
+        }
+        long scaled = Math.round(Math.abs(value) * FRACTION_SCALE);
+        if (value < 0 && scaled != 0) {
+            writeByte('-');
+        }
+        write(scaled / FRACTION_SCALE).write('.');
+        long fraction = scaled % FRACTION_SCALE;
+        for (long divisor = FRACTION_SCALE / 10; divisor > 0; divisor /= 10) {
+            writeByte((int) ('0' + (fraction / divisor) % 10));
+        }
+        return this;
+    }
+
+    private void writeByte(int b) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = (byte) b;
+    }
+
+    /**
+     * Get the buffer that has been written to.
+     *
+     * @return Buffer, only the first {@link #getLength()} bytes are part of the exposition.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+/**
+ * Holds the internal metrics of Plan.
+ * <p>
+ * All metrics are registered beforehand or keyed by class or enum, so that recording them on hot paths and exporting
+ * them to /metrics does not create new objects. Use these instead of
+ * {@link com.djrapitops.plugin.api.Benchmark} for anything that is run repeatedly.
+ *
+ * @author Rsl1122
+ * @see main.java.com.djrapitops.plan.systems.webserver.response.MetricsResponse
+ * @see main.java.com.djrapitops.plan.systems.webserver.response.DebugPageResponse
+ */
+public class PlanMetrics {
+
+    private static final MetricGroup<Class<?>, Timer> processors = new MetricGroup<>(Class::getSimpleName, Timer::new);
+    private static final MetricGroup<Class<?>, Counter> processorErrors = new MetricGroup<>(Class::getSimpleName, Counter::new);
+    private static final Counter droppedProcessors = new Counter();
+
+    private static final Timer databaseCommits = new Timer(null);
+
+    private static final Counter pageCacheHits = new Counter();
+    private static final Counter pageCacheMisses = new Counter();
+
+    private static final MetricGroup<AnalysisPhase, Timer> analysisPhases = new MetricGroup<>(AnalysisPhase::getLabel, Timer::new, AnalysisPhase.values());
+    private static final MetricGroup<AnalysisSection, Timer> analysisSections = new MetricGroup<>(AnalysisSection::getLabel, Timer::new, AnalysisSection.values());
+
+    private static final Timer inspectFetch = new Timer(null);
+
+    private static final MetricGroup<Class<?>, Timer> webRequests = new MetricGroup<>(Class::getSimpleName, Timer::new);
+    private static final MetricGroup<Class<?>, Timer> webAPIRequests = new MetricGroup<>(Class::getSimpleName, Timer::new);
+
+    /**
+     * Constructor used to hide the public constructor
+     */
+    private PlanMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Get the Timer of a Processor class.
+     *
+     * @param processorClass Class of the processed Processor.
+     * @return Timer of the class.
+     */
+    public static Timer getProcessorTimer(Class<?> processorClass) {
+        return processors.get(processorClass);
+    }
+
+    public static MetricGroup<Class<?>, Timer> getProcessorTimers() {
+        return processors;
+    }
+
+    /**
+     * Get the Counter of errors thrown by a Processor class.
+     *
+     * @param processorClass Class of the processed Processor.
+     * @return Counter of the class.
+     */
+    public static Counter getProcessorErrors(Class<?> processorClass) {
+        return processorErrors.get(processorClass);
+    }
+
+    public static MetricGroup<Class<?>, Counter> getProcessorErrorCounters() {
+        return processorErrors;
+    }
+
+    public static Counter getDroppedProcessors() {
+        return droppedProcessors;
+    }
+
+    public static Timer getDatabaseCommits() {
+        return databaseCommits;
+    }
+
+    public static Counter getPageCacheHits() {
+        return pageCacheHits;
+    }
+
+    public static Counter getPageCacheMisses() {
+        return pageCacheMisses;
+    }
+
+    public static Timer getAnalysisPhaseTimer(AnalysisPhase phase) {
+        return analysisPhases.get(phase);
+    }
+
+    public static MetricGroup<AnalysisPhase, Timer> getAnalysisPhaseTimers() {
+        return analysisPhases;
+    }
+
+    public static Timer getAnalysisSectionTimer(AnalysisSection section) {
+        return analysisSections.get(section);
+    }
+
+    public static MetricGroup<AnalysisSection, Timer> getAnalysisSectionTimers() {
+        return analysisSections;
+    }
+
+    /**
+     * Get the Timer of loading a PlayerProfile for the inspect page.
+     *
+     * @return Timer of the fetch.
+     */
+    public static Timer getInspectFetch() {
+        return inspectFetch;
+    }
+
+    /**
+     * Get the Timer of requests to the WebServer that were answered with a Response class.
+     *
+     * @param responseClass Class of the Response.
+     * @return Timer of the class.
+     */
+    public static Timer getWebRequestTimer(Class<?> responseClass) {
+        return webRequests.get(responseClass);
+    }
+
+    public static MetricGroup<Class<?>, Timer> getWebRequestTimers() {
+        return webRequests;
+    }
+
+    /**
+     * Get the Timer of requests sent by a WebAPI class.
+     *
+     * @param webAPIClass Class of the WebAPI.
+     * @return Timer of the class.
+     */
+    public static Timer getWebAPITimer(Class<?> webAPIClass) {
+        return webAPIRequests.get(webAPIClass);
+    }
+
+    public static MetricGroup<Class<?>, Timer> getWebAPITimers() {
+        return webAPIRequests;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+/**
+ * Records how long something took into a {@link Histogram} of nanoseconds.
+ * <p>
+ * Recording does not allocate or lock, so Timers can be used on hot paths.
+ *
+ * @author Rsl1122
+ */
+public class Timer {
+
+    private final String label;
+
+    private final Histogram histogram;
+    private volatile long lastNanos;
+
+    /**
+     * Create a new Timer.
+     *
+     * @param label Label value the Timer is exported with, null if the Timer is not part of a {@link MetricGroup}.
+     */
+    public Timer(String label) {
+        this.label = label;
+        histogram = new Histogram();
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos Duration in nanoseconds, for example difference of two {@link System#nanoTime()} calls.
+     */
+    public void record(long nanos) {
+        histogram.record(nanos);
+        lastNanos = nanos;
+    }
+
+    /**
+     * Record the time since a start time.
+     *
+     * @param startNanos {@link System#nanoTime()} at the start.
+     * @return The recorded duration in nanoseconds.
+     */
+    public long recordSince(long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        record(nanos);
+        return nanos;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public long getTotalNanos() {
+        return histogram.getTotal();
+    }
+
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+}
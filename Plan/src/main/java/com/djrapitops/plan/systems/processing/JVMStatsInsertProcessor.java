@@ -0,0 +1,32 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.processing;
+
+import com.djrapitops.plugin.api.utility.log.Log;
+import main.java.com.djrapitops.plan.data.container.JVMStats;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+import java.sql.SQLException;
+
+/**
+ * Processes JVM statistics of a minute.
+ *
+ * @author Rsl1122
+ */
+public class JVMStatsInsertProcessor extends Processor<JVMStats> {
+
+    public JVMStatsInsertProcessor(JVMStats object) {
+        super(object);
+    }
+
+    @Override
+    public void process() {
+        try {
+            MiscUtils.getIPlan().getDB().getJvmStatsTable().insertJVMStats(object);
+        } catch (SQLException e) {
+            Log.toLog(this.getClass().getName(), e);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.djrapitops.plugin.api.utility.log.Log;
 import main.java.com.djrapitops.plan.data.container.TPS;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
+import main.java.com.djrapitops.plan.utilities.analysis.TickStatistics;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -19,8 +20,21 @@ import java.util.List;
  */
 public class TPSInsertProcessor extends Processor<List<TPS>> {
 
+    private final TickStatistics tickStatistics;
+
     public TPSInsertProcessor(List<TPS> object) {
+        this(object, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param object         TPS data points of the minute.
+     * @param tickStatistics Tick statistics of the minute, null if not available.
+     */
+    public TPSInsertProcessor(List<TPS> object, TickStatistics tickStatistics) {
         super(object);
+        this.tickStatistics = tickStatistics;
     }
 
     @Override
@@ -34,7 +48,10 @@ public class TPSInsertProcessor extends Processor<List<TPS>> {
         final int averageEntityCount = (int) MathUtils.averageInt(history.stream().map(TPS::getEntityCount));
         final int averageChunksLoaded = (int) MathUtils.averageInt(history.stream().map(TPS::getChunksLoaded));
 
-        TPS tps = new TPS(lastDate, averageTPS, averagePlayersOnline, averageCPUUsage, averageUsedMemory, averageEntityCount, averageChunksLoaded);
+        TPS tps = tickStatistics != null
+                ? new TPS(lastDate, averageTPS, averagePlayersOnline, averageCPUUsage, averageUsedMemory, averageEntityCount, averageChunksLoaded,
+                MathUtils.round(tickStatistics.getTickIntervalMedian()), MathUtils.round(tickStatistics.getTickIntervalPercentile95()), tickStatistics.getLagSpikes())
+                : new TPS(lastDate, averageTPS, averagePlayersOnline, averageCPUUsage, averageUsedMemory, averageEntityCount, averageChunksLoaded);
         try {
             MiscUtils.getIPlan().getDB().getTpsTable().insertTPS(tps);
         } catch (SQLException e) {
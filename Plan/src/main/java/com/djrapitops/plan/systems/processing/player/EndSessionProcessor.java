@@ -22,6 +22,10 @@ public class EndSessionProcessor extends PlayerProcessor {
         this.time = time;
     }
 
+    public long getTime() {
+        return time;
+    }
+
     @Override
     public void process() {
         UUID uuid = getUUID();
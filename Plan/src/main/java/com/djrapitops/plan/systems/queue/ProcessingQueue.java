@@ -1,7 +1,7 @@
 package main.java.com.djrapitops.plan.systems.queue;
 
-import com.djrapitops.plugin.api.Benchmark;
 import com.djrapitops.plugin.api.utility.log.Log;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.systems.processing.Processor;
 
 import java.util.concurrent.ArrayBlockingQueue;
@@ -29,11 +29,15 @@ public class ProcessingQueue extends Queue<Processor> {
      * Used to add Processor object to be processed.
      *
      * @param processor processing object.
+     * @return false if the queue was full and the processor was dropped.
      */
-    public void addToQueue(Processor processor) {
+    public boolean addToQueue(Processor processor) {
         if (!queue.offer(processor)) {
+            PlanMetrics.getDroppedProcessors().increment();
             Log.toLog("ProcessingQueue.addToQueue", new IllegalStateException("Processor was not added to Queue"));
+            return false;
         }
+        return true;
     }
 }
 
@@ -50,11 +54,11 @@ class ProcessConsumer extends Consumer<Processor> {
             return;
         }
         try {
-            String benchName = "Processed " + process.getClass().getSimpleName() + ".";
-            Benchmark.start(benchName);
+            long start = System.nanoTime();
             process.process();
-            Benchmark.stop(benchName);
+            PlanMetrics.getProcessorTimer(process.getClass()).recordSince(start);
         } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError e) {
+            PlanMetrics.getProcessorErrors(process.getClass()).increment();
             Log.toLog(this.getTaskName() + ":" + process.getClass().getSimpleName(), e);
         }
     }
@@ -0,0 +1,230 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.queue;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import com.djrapitops.plugin.api.utility.log.Log;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.database.Database;
+import main.java.com.djrapitops.plan.database.tables.SessionsTable;
+import main.java.com.djrapitops.plan.systems.cache.SessionCache;
+import main.java.com.djrapitops.plan.systems.processing.Processor;
+import main.java.com.djrapitops.plan.systems.processing.player.EndSessionProcessor;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes the leftovers of the ProcessingQueue when the plugin is disabled.
+ * <p>
+ * Sessions ended by the leftovers are saved in a single batch, other processors are run in parallel.
+ * Anything not finished before the deadline is left undone; sessions that could not be saved are written to a
+ * spill file that is saved to the database on the next enable.
+ * <p>
+ * A save that is still running at the deadline might commit after the sessions have been spilled,
+ * so the replay leaves out sessions that are already in the database.
+ *
+ * @author Rsl1122
+ */
+public class ShutdownDrainer {
+
+    private static final Gson GSON = new Gson();
+
+    private static final int SAVE_NOT_STARTED = 0;
+    private static final int SAVING = 1;
+    private static final int SAVED = 2;
+    private static final int SAVE_FAILED = 3;
+    private static final int SPILLED = 4;
+
+    private final Database db;
+    private final File spillFile;
+    private final long deadlineMs;
+    private final int threads;
+
+    /**
+     * Constructor.
+     *
+     * @param db         Database the leftovers are saved to.
+     * @param spillFile  File unsaved sessions are written to.
+     * @param deadlineMs Time the drain is allowed to take, in ms.
+     * @param threads    Amount of processors run at the same time.
+     */
+    public ShutdownDrainer(Database db, File spillFile, long deadlineMs, int threads) {
+        this.db = db;
+        this.spillFile = spillFile;
+        this.deadlineMs = deadlineMs;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Process the leftover processors.
+     *
+     * @param leftovers Processors returned by {@link Queue#stopAndReturnLeftovers()}.
+     */
+    public void drain(List<Processor> leftovers) {
+        Map<UUID, List<Session>> endedSessions = new HashMap<>();
+        List<Processor> others = new ArrayList<>();
+        Map<UUID, Session> activeSessions = SessionCache.getActiveSessions();
+        for (Processor processor : leftovers) {
+            if (processor instanceof EndSessionProcessor) {
+                EndSessionProcessor endSession = (EndSessionProcessor) processor;
+                Session session = activeSessions.remove(endSession.getObject());
+                if (session != null) {
+                    session.endSession(endSession.getTime());
+                    endedSessions.computeIfAbsent(endSession.getObject(), uuid -> new ArrayList<>()).add(session);
+                }
+            } else {
+                others.add(processor);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger saveState = new AtomicInteger(endedSessions.isEmpty() ? SAVED : SAVE_NOT_STARTED);
+        AtomicInteger processed = new AtomicInteger();
+        if (!endedSessions.isEmpty()) {
+            executor.execute(() -> {
+                // The sessions are not saved if they were already spilled.
+                if (!saveState.compareAndSet(SAVE_NOT_STARTED, SAVING)) {
+                    return;
+                }
+                try {
+                    db.getSessionsTable().saveSessions(endedSessions);
+                    saveState.set(SAVED);
+                } catch (SQLException e) {
+                    saveState.set(SAVE_FAILED);
+                    Log.toLog(this.getClass().getName(), e);
+                }
+            });
+        }
+        for (Processor processor : others) {
+            executor.execute(() -> {
+                try {
+                    processor.process();
+                } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError e) {
+                    Log.toLog(this.getClass().getName() + ":" + processor.getClass().getSimpleName(), e);
+                } finally {
+                    processed.incrementAndGet();
+                }
+            });
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(deadlineMs, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+                // Give interrupted tasks a moment so that a transaction is not cut in half by closing the database.
+                executor.awaitTermination(TimeAmount.SECOND.ms(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        int unfinished = others.size() - processed.get();
+        if (unfinished > 0) {
+            Log.info("Shutdown deadline reached, " + unfinished + " processors were not processed.");
+        }
+        // A save that has not started by now never starts.
+        saveState.compareAndSet(SAVE_NOT_STARTED, SPILLED);
+        int state = saveState.get();
+        if (state == SAVING) {
+            Log.info("Sessions were still being saved at the shutdown deadline, saved sessions are skipped on next enable.");
+        }
+        if (state != SAVED) {
+            spill(endedSessions);
+        }
+    }
+
+    private void spill(Map<UUID, List<Session>> sessions) {
+        try {
+            writeSpill(spillFile, sessions);
+            Log.info("Saved " + sessions.size() + " unsaved sessions to " + spillFile.getName() + ", they are saved on next enable.");
+        } catch (IOException e) {
+            Log.toLog(this.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Save sessions of a spill file to the database and remove the file.
+     * <p>
+     * Sessions that are already in the database are not saved again, so the replay can be retried
+     * and a save that finished after the spill does not cause duplicates.
+     *
+     * @param db        Database to save the sessions to.
+     * @param spillFile Spill file written during a previous shutdown.
+     */
+    public static void replaySpill(Database db, File spillFile) {
+        if (!spillFile.exists()) {
+            return;
+        }
+        try {
+            SessionsTable sessionsTable = db.getSessionsTable();
+            Map<UUID, List<Session>> sessions = sessionsTable.getUnsavedSessions(readSpill(spillFile));
+            sessionsTable.saveSessions(sessions);
+            Files.delete(spillFile.toPath());
+            int sessionCount = sessions.values().stream().mapToInt(List::size).sum();
+            Log.info("Saved " + sessionCount + " sessions left unsaved by the previous shutdown.");
+        } catch (IOException | SQLException e) {
+            Log.toLog(ShutdownDrainer.class.getName(), e);
+        }
+    }
+
+    /**
+     * Append sessions to a spill file, one JSON object per line.
+     *
+     * @param spillFile File to write to.
+     * @param sessions  Sessions to write.
+     * @throws IOException If the file can not be written.
+     */
+    public static void writeSpill(File spillFile, Map<UUID, List<Session>> sessions) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Map.Entry<UUID, List<Session>> entry : sessions.entrySet()) {
+                for (Session session : entry.getValue()) {
+                    JsonObject line = new JsonObject();
+                    line.addProperty("uuid", entry.getKey().toString());
+                    line.add("session", GSON.toJsonTree(session));
+                    writer.write(line.toString());
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read sessions of a spill file.
+     *
+     * @param spillFile File to read.
+     * @return Map of UUID: Sessions of the player.
+     * @throws IOException If the file can not be read.
+     */
+    public static Map<UUID, List<Session>> readSpill(File spillFile) throws IOException {
+        Map<UUID, List<Session>> sessions = new HashMap<>();
+        JsonParser parser = new JsonParser();
+        for (String line : Files.readAllLines(spillFile.toPath(), StandardCharsets.UTF_8)) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonObject json = parser.parse(line).getAsJsonObject();
+            UUID uuid = UUID.fromString(json.get("uuid").getAsString());
+            Session session = GSON.fromJson(json.get("session"), Session.class);
+            sessions.computeIfAbsent(uuid, key -> new ArrayList<>()).add(session);
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.tasks;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.data.container.JVMStats;
+import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
+
+import java.lang.management.*;
+import java.util.List;
+
+/**
+ * Samples JVM statistics from the platform MXBeans.
+ * <p>
+ * Garbage collection and allocation values are cumulative in the MXBeans, so the sampler remembers
+ * the previous values and returns the difference since the previous sample.
+ *
+ * @author Rsl1122
+ */
+public class JVMStatsSampler {
+
+    private static final String[] OLD_GENERATION_COLLECTORS = {"Old", "MarkSweep", "Tenured", "Full", "Major"};
+
+    private final List<GarbageCollectorMXBean> garbageCollectors;
+    private final boolean[] oldGeneration;
+    private final long[] lastCollectionCounts;
+    private final long[] lastCollectionTimes;
+
+    private final OperatingSystemMXBean operatingSystemMXBean;
+    private final ThreadMXBean threadMXBean;
+    private final MemoryPoolMXBean metaspace;
+
+    private long lastAllocatedBytes;
+    private long lastSampleNano;
+
+    public JVMStatsSampler() {
+        this(ManagementFactory.getGarbageCollectorMXBeans());
+    }
+
+    /**
+     * Constructor for sampling the given garbage collectors.
+     *
+     * @param garbageCollectors Garbage collectors of the JVM.
+     */
+    JVMStatsSampler(List<GarbageCollectorMXBean> garbageCollectors) {
+        this.garbageCollectors = garbageCollectors;
+        int collectors = garbageCollectors.size();
+        oldGeneration = new boolean[collectors];
+        lastCollectionCounts = new long[collectors];
+        lastCollectionTimes = new long[collectors];
+        for (int i = 0; i < collectors; i++) {
+            GarbageCollectorMXBean collector = garbageCollectors.get(i);
+            oldGeneration[i] = isOldGeneration(collector.getName());
+            lastCollectionCounts[i] = Math.max(0, collector.getCollectionCount());
+            lastCollectionTimes[i] = Math.max(0, collector.getCollectionTime());
+        }
+
+        operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+        threadMXBean = ManagementFactory.getThreadMXBean();
+        metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> "Metaspace".equals(pool.getName()))
+                .findAny().orElse(null);
+
+        lastAllocatedBytes = getAllocatedBytes();
+        lastSampleNano = System.nanoTime();
+    }
+
+    private static boolean isOldGeneration(String collectorName) {
+        for (String oldCollector : OLD_GENERATION_COLLECTORS) {
+            if (collectorName.contains(oldCollector)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sample the statistics.
+     *
+     * @param date Epoch ms of the sample.
+     * @return JVMStats with garbage collection and allocation since the previous sample.
+     */
+    public JVMStats sample(long date) {
+        int youngCount = 0;
+        long youngTime = 0;
+        int oldCount = 0;
+        long oldTime = 0;
+        for (int i = 0; i < garbageCollectors.size(); i++) {
+            GarbageCollectorMXBean collector = garbageCollectors.get(i);
+            long count = Math.max(0, collector.getCollectionCount());
+            long time = Math.max(0, collector.getCollectionTime());
+            int countDiff = (int) (count - lastCollectionCounts[i]);
+            long timeDiff = time - lastCollectionTimes[i];
+            lastCollectionCounts[i] = count;
+            lastCollectionTimes[i] = time;
+
+            if (oldGeneration[i]) {
+                oldCount += countDiff;
+                oldTime += timeDiff;
+            } else {
+                youngCount += countDiff;
+                youngTime += timeDiff;
+            }
+        }
+
+        long nanoTime = System.nanoTime();
+        double allocationRate = -1;
+        long allocatedBytes = getAllocatedBytes();
+        if (allocatedBytes != -1 && lastAllocatedBytes != -1 && nanoTime > lastSampleNano) {
+            // Allocations of threads that stopped are no longer counted, so the difference can be negative.
+            double allocatedMB = Math.max(0, allocatedBytes - lastAllocatedBytes) / 1000000.0;
+            allocationRate = MathUtils.round(allocatedMB * TimeAmount.SECOND.ns() / (nanoTime - lastSampleNano));
+        }
+        lastAllocatedBytes = allocatedBytes;
+        lastSampleNano = nanoTime;
+
+        long metaspaceUsed = metaspace != null ? metaspace.getUsage().getUsed() / 1000000 : -1;
+
+        return new JVMStats(date, getProcessCPU(), youngCount, youngTime, oldCount, oldTime,
+                allocationRate, threadMXBean.getThreadCount(), metaspaceUsed);
+    }
+
+    private double getProcessCPU() {
+        if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+            double processCpuLoad = ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean).getProcessCpuLoad();
+            // Negative if not available
+            return processCpuLoad >= 0 ? MathUtils.round(processCpuLoad * 100.0) : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Get bytes allocated by all live threads.
+     *
+     * @return bytes, -1 if not supported by the JVM.
+     */
+    private long getAllocatedBytes() {
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!sunThreadMXBean.isThreadAllocatedMemorySupported() || !sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long allocated : sunThreadMXBean.getThreadAllocatedBytes(sunThreadMXBean.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+}
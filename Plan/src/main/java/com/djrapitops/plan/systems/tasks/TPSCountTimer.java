@@ -1,17 +1,18 @@
 package main.java.com.djrapitops.plan.systems.tasks;
 
 import com.djrapitops.plugin.api.Check;
-import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.api.utility.log.Log;
 import com.djrapitops.plugin.task.AbsRunnable;
 import main.java.com.djrapitops.plan.Plan;
 import main.java.com.djrapitops.plan.PlanBungee;
 import main.java.com.djrapitops.plan.api.IPlan;
 import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.systems.processing.JVMStatsInsertProcessor;
 import main.java.com.djrapitops.plan.systems.processing.TPSInsertProcessor;
+import main.java.com.djrapitops.plan.systems.webserver.WebServer;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
-import org.bukkit.World;
+import main.java.com.djrapitops.plan.utilities.analysis.TickStatistics;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
@@ -20,6 +21,11 @@ import java.util.List;
 
 /**
  * Class responsible for calculating TPS every second.
+ * <p>
+ * Runs asynchronously. Tick intervals are recorded on the server thread by {@link TickSampler} and
+ * chunk and entity counts are kept by {@link WorldLoadCounter}, so this task does not access worlds.
+ * <p>
+ * Each second is also sent to the open pages of the WebServer as a live event.
  *
  * @author Rsl1122
  */
@@ -27,53 +33,93 @@ public class TPSCountTimer extends AbsRunnable {
 
     private final IPlan plugin;
     private final List<TPS> history;
-    private long lastCheckNano;
 
     private final boolean usingBungee;
+    private final TickSampler tickSampler;
+    private final WorldLoadCounter worldLoadCounter;
+    private final JVMStatsSampler jvmStatsSampler;
+
+    private final long[] tickBuffer;
+    private long lastTickCount;
+    private long minuteStartTickCount;
 
     private int latestPlayersOnline = 0;
+    private volatile TPS latestTPS;
+    private volatile double latestTickIntervalPercentile95 = Double.NaN;
 
     public TPSCountTimer(IPlan plugin) {
+        this(plugin, null, null);
+    }
+
+    public TPSCountTimer(IPlan plugin, TickSampler tickSampler, WorldLoadCounter worldLoadCounter) {
         super("TPSCountTimer");
-        lastCheckNano = -1;
         this.plugin = plugin;
+        this.tickSampler = tickSampler;
+        this.worldLoadCounter = worldLoadCounter;
         history = new ArrayList<>();
         usingBungee = Check.isBungeeAvailable();
+        tickBuffer = new long[TickSampler.BUFFER_SIZE];
+        lastTickCount = -1;
+        jvmStatsSampler = usingBungee ? null : new JVMStatsSampler();
     }
 
     @Override
     public void run() {
-        long nanoTime = System.nanoTime();
         long now = MiscUtils.getTime();
 
         if (usingBungee) {
             history.add(new TPS(now, -1, ((PlanBungee) plugin).getProxy().getOnlineCount(), -1, -1, -1, -1));
-        } else {
-            long diff = nanoTime - lastCheckNano;
-
-            lastCheckNano = nanoTime;
-
-            if (diff > nanoTime) { // First run's diff = nanoTime + 1, no calc possible.
-                Log.debug("First run of TPSCountTimer Task.");
-                return;
+            if (history.size() >= 60) {
+                plugin.addToProcessQueue(new TPSInsertProcessor(new ArrayList<>(history)));
+                history.clear();
             }
+            return;
+        }
 
-            history.add(calculateTPS(diff, now));
+        long tickCount = tickSampler.getTickCount();
+        if (lastTickCount == -1) {
+            Log.debug("First run of TPSCountTimer Task.");
+            lastTickCount = tickCount;
+            minuteStartTickCount = tickCount;
+            return;
         }
+
+        int ticks = tickSampler.copyTicks(lastTickCount, tickCount, tickBuffer);
+        lastTickCount = tickCount;
+        TickStatistics secondStatistics = new TickStatistics(tickBuffer, ticks);
+        TPS tps = calculateTPS(secondStatistics.getTPS(), now);
+        history.add(tps);
+        latestTPS = tps;
+        latestTickIntervalPercentile95 = secondStatistics.getTickIntervalPercentile95();
+        sendLiveEvent(tps, secondStatistics.getTickIntervalPercentile95());
+
         if (history.size() >= 60) {
-            plugin.addToProcessQueue(new TPSInsertProcessor(new ArrayList<>(history)));
+            int minuteTicks = tickSampler.copyTicks(minuteStartTickCount, tickCount, tickBuffer);
+            minuteStartTickCount = tickCount;
+            TickStatistics minuteStatistics = new TickStatistics(tickBuffer, minuteTicks);
+            plugin.addToProcessQueue(
+                    new TPSInsertProcessor(new ArrayList<>(history), minuteStatistics),
+                    new JVMStatsInsertProcessor(jvmStatsSampler.sample(now))
+            );
             history.clear();
         }
     }
 
+    private void sendLiveEvent(TPS tps, double tickInterval) {
+        WebServer webServer = ((Plan) plugin).getWebServer();
+        if (webServer != null && webServer.isEnabled()) {
+            webServer.getLiveEvents().tps(tps, tickInterval);
+        }
+    }
+
     /**
      * Calculates the TPS
      *
-     * @param diff The time difference between the last run and the new run
-     * @param now  The time right now
+     * @param tps TPS calculated from the ticks of the last second.
+     * @param now The time right now
      * @return the TPS
      */
-    private TPS calculateTPS(long diff, long now) {
+    private TPS calculateTPS(double tps, long now) {
         OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
         int availableProcessors = operatingSystemMXBean.getAvailableProcessors();
         double averageCPUUsage = MathUtils.round(operatingSystemMXBean.getSystemLoadAverage() / availableProcessors * 100.0);
@@ -89,100 +135,31 @@ public class TPSCountTimer extends AbsRunnable {
 
         int playersOnline = ((Plan) plugin).getServer().getOnlinePlayers().size();
         latestPlayersOnline = playersOnline;
-        int loadedChunks = getLoadedChunks();
-        int entityCount;
-
-        if (plugin.getVariable().isUsingPaper()) {
-            entityCount = getEntityCountPaper();
+        int loadedChunks = worldLoadCounter.getLoadedChunks();
+        int entityCount = worldLoadCounter.getEntityCount();
 
-            return getTPSPaper(now, averageCPUUsage, usedMemory, entityCount, loadedChunks, playersOnline);
-        } else {
-            entityCount = getEntityCount();
-
-            // 40ms removed because the run appears to take 40-50ms, screwing the tps.
-            long fortyMsAsNs = TimeAmount.MILLISECOND.ns() * 40L;
-            return getTPS(diff - fortyMsAsNs, now, averageCPUUsage, usedMemory, entityCount, loadedChunks, playersOnline);
-        }
+        return new TPS(now, MathUtils.round(tps), playersOnline, averageCPUUsage, usedMemory, entityCount, loadedChunks);
     }
 
-    /**
-     * Gets the TPS for Spigot / Bukkit
-     *
-     * @param diff          The difference between the last run and this run
-     * @param now           The time right now
-     * @param cpuUsage      The usage of the CPU
-     * @param playersOnline The amount of players that are online
-     * @return the TPS
-     */
-    private TPS getTPS(long diff, long now, double cpuUsage, long usedMemory, int entityCount, int chunksLoaded, int playersOnline) {
-        long difference = diff;
-        if (difference < TimeAmount.SECOND.ns()) { // No tick count above 20
-            difference = TimeAmount.SECOND.ns();
-        }
-
-        long twentySeconds = 20L * TimeAmount.SECOND.ns();
-        while (difference > twentySeconds) {
-            history.add(new TPS(now, 0, playersOnline, cpuUsage, usedMemory, entityCount, chunksLoaded));
-            difference -= twentySeconds;
-        }
-
-        double tpsN = twentySeconds * 1.0 / difference;
-
-        return new TPS(now, tpsN, playersOnline, cpuUsage, usedMemory, entityCount, chunksLoaded);
-    }
-
-    /**
-     * Gets the TPS for Paper
-     *
-     * @param now           The time right now
-     * @param cpuUsage      The usage of the CPU
-     * @param playersOnline The amount of players that are online
-     * @return the TPS
-     */
-    private TPS getTPSPaper(long now, double cpuUsage, long usedMemory, int entityCount, int chunksLoaded, int playersOnline) {
-        double tps = ((Plan) plugin).getServer().getTPS()[0];
-
-        if (tps > 20) {
-            tps = 20;
-        }
-
-        tps = MathUtils.round(tps);
-
-        return new TPS(now, tps, playersOnline, cpuUsage, usedMemory, entityCount, chunksLoaded);
-    }
-
-    /**
-     * Gets the amount of loaded chunks
-     *
-     * @return amount of loaded chunks
-     */
-    private int getLoadedChunks() {
-        return ((Plan) plugin).getServer().getWorlds().stream().mapToInt(world -> world.getLoadedChunks().length).sum();
+    public int getLatestPlayersOnline() {
+        return latestPlayersOnline;
     }
 
     /**
-     * Gets the amount of entities on the server for Bukkit / Spigot
+     * Get the TPS of the last second.
      *
-     * @return amount of entities
+     * @return TPS data point, null before the first second has been counted.
      */
-    private int getEntityCount() {
-        return ((Plan) plugin).getServer().getWorlds().stream().mapToInt(world -> world.getEntities().size()).sum();
+    public TPS getLatestTPS() {
+        return latestTPS;
     }
 
     /**
-     * Gets the amount of entities on the server for Paper
+     * Get the 95th percentile of tick intervals of the last second.
      *
-     * @return amount of entities
+     * @return Tick interval in ms, NaN before the first second has been counted.
      */
-    private int getEntityCountPaper() {
-        try {
-            return ((Plan) plugin).getServer().getWorlds().stream().mapToInt(World::getEntityCount).sum();
-        } catch (BootstrapMethodError | NoSuchMethodError e) {
-            return getEntityCount();
-        }
-    }
-
-    public int getLatestPlayersOnline() {
-        return latestPlayersOnline;
+    public double getLatestTickIntervalPercentile95() {
+        return latestTickIntervalPercentile95;
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.tasks;
+
+import com.djrapitops.plugin.task.AbsRunnable;
+
+/**
+ * Task that records the interval of every server tick.
+ * <p>
+ * Runs on the server thread once per tick and only writes the time since the previous tick into a
+ * preallocated ring buffer. The values are read and calculated on by {@link TPSCountTimer} on another thread.
+ * <p>
+ * The recorded value is the time between the starts of two ticks, so it is 50ms when the server is not lagging.
+ * How long the tick itself took is not measured, the server API has no event for the end of a tick.
+ *
+ * @author Rsl1122
+ */
+public class TickSampler extends AbsRunnable {
+
+    /**
+     * Amount of ticks kept, about 100 seconds at 20 TPS. Power of two.
+     */
+    public static final int BUFFER_SIZE = 2048;
+    private static final int MASK = BUFFER_SIZE - 1;
+
+    private final long[] tickNanos;
+    private volatile long tickCount;
+    private long lastTickNano;
+
+    public TickSampler() {
+        super("TickSampler");
+        tickNanos = new long[BUFFER_SIZE];
+        lastTickNano = -1;
+    }
+
+    @Override
+    public void run() {
+        long nanoTime = System.nanoTime();
+        if (lastTickNano != -1) {
+            tickNanos[(int) (tickCount & MASK)] = nanoTime - lastTickNano;
+            // Only this thread writes, the volatile write publishes the value above.
+            tickCount++;
+        }
+        lastTickNano = nanoTime;
+    }
+
+    /**
+     * Get the amount of ticks recorded so far.
+     *
+     * @return Tick count, only increases.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Copy intervals of the ticks recorded after a tick count.
+     * <p>
+     * If more ticks were recorded than fit the buffer or the given array, only the newest are copied.
+     *
+     * @param fromTickCount  Tick count returned by {@link #getTickCount()} earlier.
+     * @param untilTickCount Tick count returned by {@link #getTickCount()}, exclusive.
+     * @param into           Array to copy the tick intervals into, in nanoseconds.
+     * @return Amount of copied tick intervals.
+     */
+    public int copyTicks(long fromTickCount, long untilTickCount, long[] into) {
+        long from = Math.max(fromTickCount, untilTickCount - Math.min(BUFFER_SIZE, into.length));
+        int copied = 0;
+        for (long i = from; i < untilTickCount; i++) {
+            into[copied++] = tickNanos[(int) (i & MASK)];
+        }
+        return copied;
+    }
+}
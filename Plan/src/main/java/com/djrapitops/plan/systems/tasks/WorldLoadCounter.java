@@ -0,0 +1,79 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.tasks;
+
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps count of loaded chunks and entities without going through every world.
+ * <p>
+ * Counts are updated from chunk and entity events by
+ * {@link main.java.com.djrapitops.plan.systems.listeners.PlanWorldLoadListener}.
+ * Not every way an entity can be removed has an event, so the counts are replaced with
+ * full counts every few minutes with {@link #recount(Collection)}.
+ *
+ * @author Rsl1122
+ */
+public class WorldLoadCounter {
+
+    private final AtomicInteger chunks = new AtomicInteger();
+    private final AtomicInteger entities = new AtomicInteger();
+
+    public void chunkLoaded(int entitiesInChunk) {
+        chunks.incrementAndGet();
+        entities.addAndGet(entitiesInChunk);
+    }
+
+    public void chunkUnloaded(int entitiesInChunk) {
+        chunks.decrementAndGet();
+        entities.addAndGet(-entitiesInChunk);
+    }
+
+    public void entityAdded() {
+        entities.incrementAndGet();
+    }
+
+    public void entityRemoved() {
+        entities.decrementAndGet();
+    }
+
+    /**
+     * Count loaded chunks and entities of all worlds.
+     * <p>
+     * Needs to be called on the server thread.
+     *
+     * @param worlds Loaded worlds.
+     */
+    public void recount(Collection<World> worlds) {
+        int chunkCount = 0;
+        int entityCount = 0;
+        for (World world : worlds) {
+            chunkCount += world.getLoadedChunks().length;
+            entityCount += getEntityCount(world);
+        }
+        chunks.set(chunkCount);
+        entities.set(entityCount);
+    }
+
+    private int getEntityCount(World world) {
+        try {
+            // Paper, does not create a list of the entities.
+            return world.getEntityCount();
+        } catch (BootstrapMethodError | NoSuchMethodError e) {
+            return world.getEntities().size();
+        }
+    }
+
+    public int getLoadedChunks() {
+        return Math.max(0, chunks.get());
+    }
+
+    public int getEntityCount() {
+        return Math.max(0, entities.get());
+    }
+}
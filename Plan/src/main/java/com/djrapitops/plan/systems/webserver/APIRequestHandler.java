@@ -4,16 +4,17 @@
  */
 package main.java.com.djrapitops.plan.systems.webserver;
 
-import com.djrapitops.plugin.api.Benchmark;
 import com.djrapitops.plugin.api.utility.log.Log;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.systems.webserver.response.Response;
 import main.java.com.djrapitops.plan.systems.webserver.webapi.WebAPIManager;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HttpHandler for webserver request management.
@@ -32,11 +33,12 @@ public class APIRequestHandler implements HttpHandler {
     public void handle(HttpExchange exchange) throws IOException {
         Headers responseHeaders = exchange.getResponseHeaders();
         Request request = new Request(exchange);
-        String requestString = request.toString();
-        Benchmark.start("", requestString);
+        long start = System.nanoTime();
+        Class<?> responseClass = null;
         int responseCode = -1;
         try {
             Response response = responseHandler.getAPIResponse(request);
+            responseClass = response.getClass();
             responseCode = response.getCode();
             response.setResponseHeaders(responseHeaders);
             response.send(exchange);
@@ -46,8 +48,11 @@ public class APIRequestHandler implements HttpHandler {
             }
         } finally {
             exchange.close();
+            long nanos = responseClass != null
+                    ? PlanMetrics.getWebRequestTimer(responseClass).recordSince(start)
+                    : System.nanoTime() - start;
             if (Settings.DEV_MODE.isTrue()) {
-                Log.debug(requestString + " Response code: " + responseCode + " took " + Benchmark.stop("", requestString) + " ms");
+                Log.debug(request.toString() + " Response code: " + responseCode + " took " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
             }
         }
     }
@@ -0,0 +1,210 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.webserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends Server-Sent Events to connected pages of the WebServer.
+ * <p>
+ * Connections are kept open without a thread of their own. Each event is encoded once and added to a small queue of
+ * every connection. A pooled thread writes the queue of a connection while it has events, so a client that reads
+ * slowly only holds up its own events. A client whose queue is full is disconnected, browsers reconnect by themselves
+ * and receive the latest events.
+ * <p>
+ * The amount of clients is limited, so at most that many writer threads are used. New clients are refused
+ * while the limit is reached.
+ *
+ * @author Rsl1122
+ */
+public class LiveEventBroadcaster {
+
+    private static final int CLIENT_QUEUE_SIZE = 16;
+    static final int MAX_CLIENTS = 64;
+    // Browsers reconnect after the given time if the connection is lost.
+    private static final byte[] RETRY = "retry: 5000\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Client> clients;
+    private final ExecutorService writers;
+
+    private volatile byte[] lastTPSEvent;
+    private volatile byte[] lastAnalysisEvent;
+
+    public LiveEventBroadcaster() {
+        clients = new CopyOnWriteArrayList<>();
+        // Each client has at most one write running.
+        writers = new ThreadPoolExecutor(0, MAX_CLIENTS, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Plan LiveEventBroadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start sending events to a client.
+     * <p>
+     * Sends the response headers of the stream if the client is accepted, other response headers should be set
+     * before calling this. The latest events are sent to the client right away.
+     *
+     * @param exchange Exchange of the client, closed when the client disconnects or the WebServer stops.
+     * @return false if too many clients are connected, nothing is sent to the client in that case.
+     */
+    public boolean addClient(HttpExchange exchange) {
+        Client client = new Client(exchange);
+        synchronized (clients) {
+            if (clients.size() >= MAX_CLIENTS) {
+                return false;
+            }
+            clients.add(client);
+        }
+        try {
+            // Length 0 sends the events in chunks.
+            exchange.sendResponseHeaders(200, 0);
+        } catch (IOException e) {
+            disconnect(client);
+            return true;
+        }
+        byte[] tps = lastTPSEvent;
+        byte[] analysis = lastAnalysisEvent;
+        client.offer(RETRY);
+        if (tps != null) {
+            client.offer(tps);
+        }
+        if (analysis != null) {
+            client.offer(analysis);
+        }
+        return true;
+    }
+
+    /**
+     * Send the TPS of the last second.
+     *
+     * @param tps  TPS data point of the last second.
+     * @param tickInterval 95th percentile of tick intervals of the last second, in ms.
+     */
+    public void tps(TPS tps, double tickInterval) {
+        String data = "{\"date\":" + tps.getDate() +
+                ",\"playersOnline\":" + tps.getPlayers() +
+                ",\"tps\":" + tps.getTicksPerSecond() +
+                ",\"tickInterval\":" + (Double.isNaN(tickInterval) || Double.isInfinite(tickInterval) ? -1 : tickInterval) +
+                ",\"cpu\":" + tps.getCPUUsage() +
+                ",\"ram\":" + tps.getUsedMemory() + "}";
+        byte[] event = encode("tps", data);
+        lastTPSEvent = event;
+        broadcast(event);
+    }
+
+    /**
+     * Send the progress of analysis.
+     *
+     * @param phase Name of the phase that the analysis is in, "finished" once the analysis page has been updated.
+     */
+    public void analysisProgress(String phase) {
+        byte[] event = encode("analysis", "{\"phase\":\"" + phase + "\",\"date\":" + MiscUtils.getTime() + "}");
+        lastAnalysisEvent = event;
+        broadcast(event);
+    }
+
+    private static byte[] encode(String event, String data) {
+        return ("event: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void broadcast(byte[] event) {
+        for (Client client : clients) {
+            if (!client.offer(event)) {
+                // Client is not reading its events fast enough.
+                disconnect(client);
+            }
+        }
+    }
+
+    private void disconnect(Client client) {
+        clients.remove(client);
+        client.exchange.close();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Close all connections.
+     */
+    public void close() {
+        for (Client client : clients) {
+            disconnect(client);
+        }
+    }
+
+    /**
+     * Connection of a single page and the events not yet written to it.
+     */
+    private class Client {
+        private final HttpExchange exchange;
+        private final BlockingQueue<byte[]> events;
+        private final AtomicBoolean writing;
+
+        Client(HttpExchange exchange) {
+            this.exchange = exchange;
+            events = new ArrayBlockingQueue<>(CLIENT_QUEUE_SIZE);
+            writing = new AtomicBoolean();
+        }
+
+        /**
+         * Queue an event to be written.
+         *
+         * @param event Encoded event.
+         * @return false if the queue of the client is full.
+         */
+        boolean offer(byte[] event) {
+            if (!events.offer(event)) {
+                return false;
+            }
+            startWriting();
+            return true;
+        }
+
+        private void startWriting() {
+            if (!writing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writers.execute(this::writeEvents);
+            } catch (RejectedExecutionException e) {
+                writing.set(false);
+            }
+        }
+
+        private void writeEvents() {
+            try {
+                OutputStream out = exchange.getResponseBody();
+                byte[] event;
+                while ((event = events.poll()) != null) {
+                    out.write(event);
+                }
+                out.flush();
+            } catch (IOException e) {
+                // Client disconnected
+                disconnect(this);
+                return;
+            } finally {
+                writing.set(false);
+            }
+            // Events offered during the last write.
+            if (!events.isEmpty()) {
+                startWriting();
+            }
+        }
+    }
+}
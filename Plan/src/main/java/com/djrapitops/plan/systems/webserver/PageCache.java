@@ -2,6 +2,7 @@ package main.java.com.djrapitops.plan.systems.webserver;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.systems.webserver.response.InspectPageResponse;
 import main.java.com.djrapitops.plan.systems.webserver.response.Response;
 
@@ -65,7 +66,13 @@ public class PageCache {
      * @return The Response that was cached or {@code null} if it wasn't
      */
     public static Response loadPage(String identifier) {
-        return pageCache.getIfPresent(identifier);
+        Response response = pageCache.getIfPresent(identifier);
+        if (response != null) {
+            PlanMetrics.getPageCacheHits().increment();
+        } else {
+            PlanMetrics.getPageCacheMisses().increment();
+        }
+        return response;
     }
 
     /**
@@ -4,17 +4,19 @@
  */
 package main.java.com.djrapitops.plan.systems.webserver;
 
-import com.djrapitops.plugin.api.Benchmark;
 import com.djrapitops.plugin.api.utility.log.Log;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import main.java.com.djrapitops.plan.api.IPlan;
 import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
+import main.java.com.djrapitops.plan.systems.webserver.response.EventStreamResponse;
 import main.java.com.djrapitops.plan.systems.webserver.response.PromptAuthorizationResponse;
 import main.java.com.djrapitops.plan.systems.webserver.response.Response;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HttpHandler for WebServer request management.
@@ -33,25 +35,34 @@ public class RequestHandler implements HttpHandler {
     public void handle(HttpExchange exchange) throws IOException {
         Headers responseHeaders = exchange.getResponseHeaders();
         Request request = new Request(exchange);
-        String requestString = request.toString();
-        Benchmark.start("", requestString);
+        long start = System.nanoTime();
+        Class<?> responseClass = null;
         int responseCode = -1;
+        boolean streaming = false;
         try {
             Response response = responseHandler.getResponse(request);
+            responseClass = response.getClass();
             responseCode = response.getCode();
             if (response instanceof PromptAuthorizationResponse) {
                 responseHeaders.set("WWW-Authenticate", "Basic realm=\"/\";");
             }
             response.setResponseHeaders(responseHeaders);
             response.send(exchange);
+            // Event streams are kept open by LiveEventBroadcaster.
+            streaming = response instanceof EventStreamResponse;
         } catch (IOException e) {
             if (Settings.DEV_MODE.isTrue()) {
                 e.printStackTrace();
             }
         } finally {
-            exchange.close();
+            if (!streaming) {
+                exchange.close();
+            }
+            long nanos = responseClass != null
+                    ? PlanMetrics.getWebRequestTimer(responseClass).recordSince(start)
+                    : System.nanoTime() - start;
             if (Settings.DEV_MODE.isTrue()) {
-                Log.debug(requestString + " Response code: " + responseCode+" took "+Benchmark.stop("", requestString)+" ms");
+                Log.debug(request.toString() + " Response code: " + responseCode + " took " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
             }
         }
     }
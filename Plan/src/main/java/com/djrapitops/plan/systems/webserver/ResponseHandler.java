@@ -7,8 +7,12 @@ package main.java.com.djrapitops.plan.systems.webserver;
 import com.djrapitops.plugin.api.utility.log.Log;
 import main.java.com.djrapitops.plan.api.IPlan;
 import main.java.com.djrapitops.plan.api.exceptions.WebUserAuthException;
+import main.java.com.djrapitops.plan.data.AnalysisData;
+import main.java.com.djrapitops.plan.data.AnalysisDataGroup;
 import main.java.com.djrapitops.plan.data.WebUser;
 import main.java.com.djrapitops.plan.database.tables.SecurityTable;
+import main.java.com.djrapitops.plan.systems.info.BukkitInformationManager;
+import main.java.com.djrapitops.plan.systems.info.InformationManager;
 import main.java.com.djrapitops.plan.systems.webserver.response.*;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.PassEncryptUtil;
@@ -29,11 +33,15 @@ public class ResponseHandler extends APIResponseHandler {
     private final IPlan plugin;
 
     private final boolean usingHttps;
+    private final LiveEventBroadcaster liveEvents;
+    private final MetricsResponse metricsResponse;
 
     public ResponseHandler(IPlan plugin, WebServer webServer) {
         super(webServer.getWebAPI());
         this.plugin = plugin;
         this.usingHttps = webServer.isUsingHTTPS();
+        this.liveEvents = webServer.getLiveEvents();
+        this.metricsResponse = new MetricsResponse(plugin);
     }
 
     public Response getResponse(Request request) {
@@ -96,6 +104,12 @@ public class ResponseHandler extends APIResponseHandler {
                         }
                     }
                     return serverResponse(serverUUID);
+                case "data":
+                    return analysisDataResponse(args);
+                case "live":
+                    return new EventStreamResponse(liveEvents);
+                case "metrics":
+                    return metricsResponse;
                 default:
                     return notFoundResponse();
             }
@@ -193,6 +207,20 @@ public class ResponseHandler extends APIResponseHandler {
         return PageCache.loadPage("analysisPage:" + serverUUID, () -> new AnalysisPageResponse(plugin.getInfoManager()));
     }
 
+    private Response analysisDataResponse(String[] args) {
+        Optional<AnalysisDataGroup> group = args.length > 2 ? AnalysisDataGroup.getByName(args[2]) : Optional.empty();
+        InformationManager infoManager = plugin.getInfoManager();
+        if (!group.isPresent() || !(infoManager instanceof BukkitInformationManager)) {
+            return notFoundResponse();
+        }
+
+        AnalysisData analysisData = ((BukkitInformationManager) infoManager).getPageAnalysisData();
+        if (analysisData == null) {
+            return new NotFoundResponse("Analysis has not been run yet.");
+        }
+        return PageCache.loadPage("analysisData:" + group.get().getName(), () -> new AnalysisDataResponse(group.get(), analysisData));
+    }
+
     private Response playerResponse(String[] args) {
         if (args.length < 3) {
             return PageCache.loadPage("notFound", NotFoundResponse::new);
@@ -38,6 +38,7 @@ public class WebServer {
 
     private final IPlan plugin;
     private final WebAPIManager webAPI;
+    private final LiveEventBroadcaster liveEvents;
 
     private final int port;
     private boolean enabled = false;
@@ -49,6 +50,7 @@ public class WebServer {
         this.plugin = plugin;
         this.port = Settings.WEBSERVER_PORT.getNumber();
         webAPI = new WebAPIManager();
+        liveEvents = new LiveEventBroadcaster();
         registerWebAPIs();
 
         StaticHolder.saveInstance(APIRequestHandler.class, plugin.getClass());
@@ -193,6 +195,7 @@ public class WebServer {
      */
     public void stop() {
         Log.info(Locale.get(Msg.DISABLE_WEBSERVER).toString());
+        liveEvents.close();
         if (server != null) {
             server.stop(0);
         }
@@ -218,4 +221,13 @@ public class WebServer {
     public WebAPIManager getWebAPI() {
         return webAPI;
     }
+
+    /**
+     * Used to send live updates to the pages that are open.
+     *
+     * @return LiveEventBroadcaster of the WebServer.
+     */
+    public LiveEventBroadcaster getLiveEvents() {
+        return liveEvents;
+    }
 }
@@ -0,0 +1,24 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.webserver.response;
+
+import main.java.com.djrapitops.plan.data.AnalysisData;
+import main.java.com.djrapitops.plan.data.AnalysisDataGroup;
+
+/**
+ * Response with the JSON of a group of values of the cached AnalysisData.
+ * <p>
+ * Requested by the analysis page when a tab that uses the group is opened.
+ *
+ * @author Rsl1122
+ */
+public class AnalysisDataResponse extends Response {
+
+    public AnalysisDataResponse(AnalysisDataGroup group, AnalysisData analysisData) {
+        super(ResponseType.JSON);
+        super.setHeader("HTTP/1.1 200 OK");
+        super.setContent(group.toJson(analysisData.getReplaceMap()));
+    }
+}
@@ -23,7 +23,7 @@ public class AnalysisPageResponse extends Response {
         super.setHeader("HTTP/1.1 200 OK");
 
         if (informationManager instanceof BukkitInformationManager) {
-            AnalysisData analysisData = ((BukkitInformationManager) informationManager).getAnalysisData();
+            AnalysisData analysisData = ((BukkitInformationManager) informationManager).getPageAnalysisData();
             if (analysisData == null) {
                 RunnableFactory.createNew("OnRequestAnalysisRefreshTask", new AbsRunnable() {
                     @Override
@@ -32,11 +32,7 @@ public class AnalysisPageResponse extends Response {
                     }
                 }).runTaskAsynchronously();
 
-                ErrorResponse analysisRefreshPage = new ErrorResponse();
-                analysisRefreshPage.setTitle("Analysis is being refreshed..");
-                analysisRefreshPage.setParagraph("<i class=\"fa fa-refresh fa-spin\" aria-hidden=\"true\"></i> Analysis is being run, refresh the page after a few seconds.. (F5)");
-                analysisRefreshPage.replacePlaceholders();
-                super.setContent(analysisRefreshPage.getContent());
+                super.setContent(new AnalysisRefreshResponse().getContent());
 
                 return;
             }
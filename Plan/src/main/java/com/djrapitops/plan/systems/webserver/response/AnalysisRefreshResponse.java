@@ -0,0 +1,42 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.webserver.response;
+
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+
+/**
+ * Page shown while analysis is being run.
+ * <p>
+ * The page listens to analysis events of the WebServer and refreshes itself when the analysis has finished. If the
+ * events are not available (Page is served by Bungee, or the browser does not support them) the page is refreshed
+ * every 25 seconds.
+ *
+ * @author Rsl1122
+ */
+public class AnalysisRefreshResponse extends ErrorResponse {
+
+    public AnalysisRefreshResponse() {
+        super.setHeader("HTTP/1.1 200 OK");
+        setTitle("Analysis is being refreshed..");
+        setParagraph("<i class=\"fa fa-refresh fa-spin\" aria-hidden=\"true\"></i> Analysis is being run, the page is refreshed once it is ready.." +
+                "<script>" +
+                "(function () {" +
+                "var created = " + MiscUtils.getTime() + ";" +
+                "var fallback = setTimeout(reload, 25000);" +
+                "function reload() {window.location.reload();}" +
+                "if (!window.EventSource) {return;}" +
+                "var events = new EventSource('/live');" +
+                "events.addEventListener('analysis', function (e) {" +
+                "var analysis = JSON.parse(e.data);" +
+                "if (analysis.date < created) {return;}" +
+                "clearTimeout(fallback);" +
+                "if (analysis.phase === 'finished' || analysis.phase === 'failed') {events.close(); reload();}" +
+                "});" +
+                "events.onerror = function () {events.close(); clearTimeout(fallback); fallback = setTimeout(reload, 25000);};" +
+                "})();" +
+                "</script>");
+        replacePlaceholders();
+    }
+}
@@ -7,12 +7,19 @@ package main.java.com.djrapitops.plan.systems.webserver.response;
 import com.djrapitops.plugin.api.Benchmark;
 import com.djrapitops.plugin.api.Check;
 import com.djrapitops.plugin.api.utility.log.Log;
+import main.java.com.djrapitops.plan.Plan;
 import main.java.com.djrapitops.plan.PlanBungee;
 import main.java.com.djrapitops.plan.ServerVariableHolder;
 import main.java.com.djrapitops.plan.api.IPlan;
+import main.java.com.djrapitops.plan.data.plugin.PluginDataExecutor;
 import main.java.com.djrapitops.plan.systems.info.server.BungeeServerInfoManager;
 import main.java.com.djrapitops.plan.systems.info.server.ServerInfo;
+import main.java.com.djrapitops.plan.systems.metrics.Counter;
+import main.java.com.djrapitops.plan.systems.metrics.Histogram;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
+import main.java.com.djrapitops.plan.systems.metrics.Timer;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
+import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
 import main.java.com.djrapitops.plan.utilities.file.FileUtil;
 import main.java.com.djrapitops.plan.utilities.html.Html;
 
@@ -57,6 +64,8 @@ public class DebugPageResponse extends ErrorResponse {
         appendLoggedErrors(content);
         appendDebugLog(content);
         appendBenchmarks(content);
+        appendMetrics(content);
+        appendPluginDataSources(content);
         appendConfig(content);
 
         return content.toString();
@@ -165,6 +174,80 @@ public class DebugPageResponse extends ErrorResponse {
         content.append("&#96;&#96;&#96;</pre>");
     }
 
+    private void appendMetrics(StringBuilder content) {
+        content.append("<pre>### Metrics<br>");
+        content.append("Metric | Count | Last (ms) | Average (ms) | Median (ms) | 95th (ms) | 99th (ms) | Max (ms)<br>")
+                .append("-- | -- | -- | -- | -- | -- | -- | --<br>");
+        appendTimers(content, "Analysis", PlanMetrics.getAnalysisPhaseTimers().getMetrics());
+        appendTimers(content, "Analysis section", PlanMetrics.getAnalysisSectionTimers().getMetrics());
+        appendTimers(content, "Processor", PlanMetrics.getProcessorTimers().getMetrics());
+        appendTimer(content, "Database commit", PlanMetrics.getDatabaseCommits());
+        appendTimer(content, "Inspect fetch", PlanMetrics.getInspectFetch());
+        appendTimers(content, "WebServer", PlanMetrics.getWebRequestTimers().getMetrics());
+        appendTimers(content, "WebAPI", PlanMetrics.getWebAPITimers().getMetrics());
+        content.append("<br>");
+
+        content.append("Counter | Count<br>")
+                .append("-- | --<br>");
+        content.append("PageCache hits | ").append(PlanMetrics.getPageCacheHits().get()).append("<br>");
+        content.append("PageCache misses | ").append(PlanMetrics.getPageCacheMisses().get()).append("<br>");
+        content.append("Dropped processors | ").append(PlanMetrics.getDroppedProcessors().get()).append("<br>");
+        for (Counter counter : PlanMetrics.getProcessorErrorCounters().getMetrics()) {
+            content.append("Processor errors ").append(counter.getLabel()).append(" | ").append(counter.get()).append("<br>");
+        }
+        content.append("</pre>");
+    }
+
+    private void appendTimers(StringBuilder content, String name, List<Timer> timers) {
+        for (Timer timer : timers) {
+            if (timer.getCount() != 0) {
+                appendTimer(content, name + " " + timer.getLabel(), timer);
+            }
+        }
+    }
+
+    private void appendTimer(StringBuilder content, String name, Timer timer) {
+        Histogram histogram = timer.getHistogram();
+        content.append(name)
+                .append(" | ").append(histogram.getCount())
+                .append(" | ").append(toMs(timer.getLastNanos()))
+                .append(" | ").append(toMs(histogram.getAverage()))
+                .append(" | ").append(toMs(histogram.getValueAtPercentile(50.0)))
+                .append(" | ").append(toMs(histogram.getValueAtPercentile(95.0)))
+                .append(" | ").append(toMs(histogram.getValueAtPercentile(99.0)))
+                .append(" | ").append(toMs(histogram.getMax()))
+                .append("<br>");
+    }
+
+    private double toMs(double nanos) {
+        return MathUtils.round(nanos / 1000000.0);
+    }
+
+    private void appendPluginDataSources(StringBuilder content) {
+        IPlan plugin = MiscUtils.getIPlan();
+        if (!(plugin instanceof Plan) || ((Plan) plugin).getHookHandler() == null) {
+            return;
+        }
+        Map<String, PluginDataExecutor.SourceTiming> timings = ((Plan) plugin).getHookHandler().getExecutor().getTimings();
+
+        content.append("<pre>### PluginData Sources<br>");
+        content.append("Source | Last (ms) | Average (ms) | Max (ms) | Runs | Cache hits | Timeouts | Errors<br>")
+                .append("-- | -- | -- | -- | -- | -- | -- | --<br>");
+        for (Map.Entry<String, PluginDataExecutor.SourceTiming> entry : timings.entrySet()) {
+            PluginDataExecutor.SourceTiming timing = entry.getValue();
+            content.append(entry.getKey())
+                    .append(" | ").append(timing.getLastMs())
+                    .append(" | ").append(timing.getAverageMs())
+                    .append(" | ").append(timing.getMaxMs())
+                    .append(" | ").append(timing.getRuns())
+                    .append(" | ").append(timing.getCacheHits())
+                    .append(" | ").append(timing.getTimeouts())
+                    .append(" | ").append(timing.getErrors())
+                    .append("<br>");
+        }
+        content.append("</pre>");
+    }
+
     private void appendLoggedErrors(StringBuilder content) {
         try {
             content.append("<pre>### Logged Errors<br>");
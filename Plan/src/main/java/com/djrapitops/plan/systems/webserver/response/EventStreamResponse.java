@@ -0,0 +1,44 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.webserver.response;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import main.java.com.djrapitops.plan.systems.webserver.LiveEventBroadcaster;
+
+import java.io.IOException;
+
+/**
+ * Response that opens a Server-Sent Events stream of live updates.
+ * <p>
+ * The exchange is not closed after sending, the events are written by {@link LiveEventBroadcaster}.
+ * 503 is sent instead if too many pages are already connected.
+ *
+ * @author Rsl1122
+ */
+public class EventStreamResponse extends Response {
+
+    private final LiveEventBroadcaster liveEvents;
+
+    public EventStreamResponse(LiveEventBroadcaster liveEvents) {
+        super(ResponseType.EVENT_STREAM);
+        this.liveEvents = liveEvents;
+        super.setHeader("HTTP/1.1 200 OK");
+        super.setContent("");
+    }
+
+    @Override
+    public void send(HttpExchange exchange) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", ResponseType.EVENT_STREAM.get());
+        headers.set("Cache-Control", "no-cache");
+        // The stream is not compressed so that each event is sent right away.
+        if (!liveEvents.addClient(exchange)) {
+            // Too many pages are open.
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.webserver.response;
+
+import com.sun.net.httpserver.HttpExchange;
+import main.java.com.djrapitops.plan.Plan;
+import main.java.com.djrapitops.plan.api.IPlan;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.database.Database;
+import main.java.com.djrapitops.plan.database.databases.MySQLDB;
+import main.java.com.djrapitops.plan.systems.metrics.OpenMetricsWriter;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
+import main.java.com.djrapitops.plan.systems.queue.ProcessingQueue;
+import main.java.com.djrapitops.plan.systems.tasks.TPSCountTimer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * WebServer response for /metrics that exports server and Plan metrics in the OpenMetrics text format for Prometheus.
+ * <p>
+ * One instance is used for all scrapes. The metrics are written into a reused buffer, and only a copy of the finished
+ * text is kept for sending it, so the buffer is not locked while the response is written to the connection.
+ *
+ * @author Rsl1122
+ * @see PlanMetrics
+ */
+public class MetricsResponse extends Response {
+
+    private final IPlan plugin;
+    private final OpenMetricsWriter writer;
+
+    public MetricsResponse(IPlan plugin) {
+        super(ResponseType.OPENMETRICS);
+        this.plugin = plugin;
+        writer = new OpenMetricsWriter();
+        super.setHeader("HTTP/1.1 200 OK");
+        super.setContent("");
+    }
+
+    @Override
+    public void send(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", ResponseType.OPENMETRICS.get());
+        byte[] metrics;
+        synchronized (writer) {
+            writer.reset();
+            writeMetrics(writer);
+            metrics = Arrays.copyOf(writer.getBuffer(), writer.getLength());
+        }
+        // Written outside the lock, a slow scraper does not hold up other scrapes.
+        exchange.sendResponseHeaders(getCode(), metrics.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(metrics);
+        out.flush();
+    }
+
+    private void writeMetrics(OpenMetricsWriter writer) {
+        if (plugin instanceof Plan) {
+            writeServerMetrics(writer, ((Plan) plugin).getTpsCountTimer());
+        }
+        writeProcessingMetrics(writer);
+        writeDatabaseMetrics(writer);
+        writePageCacheMetrics(writer);
+
+        writer.family("plan_analysis_phase_duration_seconds", "summary", "Time taken by phases of Analysis.");
+        writer.summary("plan_analysis_phase_duration_seconds", "phase", PlanMetrics.getAnalysisPhaseTimers().getMetrics());
+        writer.family("plan_analysis_section_duration_seconds", "summary", "Time taken by sections of the Analysis phase.");
+        writer.summary("plan_analysis_section_duration_seconds", "section", PlanMetrics.getAnalysisSectionTimers().getMetrics());
+
+        writer.family("plan_inspect_fetch_duration_seconds", "summary", "Time taken by loading player data for the inspect page.");
+        writer.summary("plan_inspect_fetch_duration_seconds", PlanMetrics.getInspectFetch());
+
+        writer.family("plan_webserver_request_duration_seconds", "summary", "Time taken by WebServer requests, by type of the response.");
+        writer.summary("plan_webserver_request_duration_seconds", "response", PlanMetrics.getWebRequestTimers().getMetrics());
+
+        writer.family("plan_webapi_request_duration_seconds", "summary", "Time taken by WebAPI requests sent to other servers.");
+        writer.summary("plan_webapi_request_duration_seconds", "api", PlanMetrics.getWebAPITimers().getMetrics());
+
+        writer.end();
+    }
+
+    private void writeServerMetrics(OpenMetricsWriter writer, TPSCountTimer tpsCountTimer) {
+        TPS tps = tpsCountTimer != null ? tpsCountTimer.getLatestTPS() : null;
+        if (tps == null) {
+            return;
+        }
+        writer.family("plan_players_online", "gauge", "Players online during the last second.");
+        writer.sample("plan_players_online", tps.getPlayers());
+        writer.family("plan_tps", "gauge", "Ticks per second during the last second.");
+        writer.sample("plan_tps", tps.getTicksPerSecond());
+        writer.family("plan_tick_interval_p95_seconds", "gauge", "95th percentile of the time between tick starts during the last second.");
+        writer.sample("plan_tick_interval_p95_seconds", tpsCountTimer.getLatestTickIntervalPercentile95() / 1000.0);
+        writer.family("plan_cpu_usage_percent", "gauge", "System load average divided by available processors, -1 if unavailable.");
+        writer.sample("plan_cpu_usage_percent", tps.getCPUUsage());
+        writer.family("plan_memory_used_bytes", "gauge", "Memory used by the JVM.");
+        writer.sample("plan_memory_used_bytes", tps.getUsedMemory() * 1000000L);
+        writer.family("plan_entities", "gauge", "Entities in loaded worlds.");
+        writer.sample("plan_entities", tps.getEntityCount());
+        writer.family("plan_chunks_loaded", "gauge", "Loaded chunks in all worlds.");
+        writer.sample("plan_chunks_loaded", tps.getChunksLoaded());
+    }
+
+    private void writeProcessingMetrics(OpenMetricsWriter writer) {
+        ProcessingQueue processingQueue = plugin.getProcessingQueue();
+        if (processingQueue != null) {
+            writer.family("plan_processing_queue_size", "gauge", "Processors waiting in the ProcessingQueue.");
+            writer.sample("plan_processing_queue_size", processingQueue.size());
+        }
+        writer.family("plan_processing_queue_dropped", "counter", "Processors dropped because the ProcessingQueue was full.");
+        writer.sample("plan_processing_queue_dropped_total", PlanMetrics.getDroppedProcessors().get());
+        writer.family("plan_processor_duration_seconds", "summary", "Time taken by processing of each Processor.");
+        writer.summary("plan_processor_duration_seconds", "processor", PlanMetrics.getProcessorTimers().getMetrics());
+        writer.family("plan_processor_errors", "counter", "Errors thrown by processing of each Processor.");
+        writer.counters("plan_processor_errors", "processor", PlanMetrics.getProcessorErrorCounters().getMetrics());
+    }
+
+    private void writeDatabaseMetrics(OpenMetricsWriter writer) {
+        Database db = plugin.getDB();
+        if (db instanceof MySQLDB) {
+            MySQLDB mySQLDB = (MySQLDB) db;
+            writer.family("plan_database_connections_active", "gauge", "Pooled database connections in use.");
+            writer.sample("plan_database_connections_active", mySQLDB.getActiveConnections());
+            writer.family("plan_database_connections_idle", "gauge", "Pooled database connections waiting to be used.");
+            writer.sample("plan_database_connections_idle", mySQLDB.getIdleConnections());
+        }
+        writer.family("plan_database_commit_duration_seconds", "summary", "Time taken by commits of database transactions.");
+        writer.summary("plan_database_commit_duration_seconds", PlanMetrics.getDatabaseCommits());
+    }
+
+    private void writePageCacheMetrics(OpenMetricsWriter writer) {
+        long hits = PlanMetrics.getPageCacheHits().get();
+        long misses = PlanMetrics.getPageCacheMisses().get();
+        writer.family("plan_page_cache_hits", "counter", "Pages found in the PageCache.");
+        writer.sample("plan_page_cache_hits_total", hits);
+        writer.family("plan_page_cache_misses", "counter", "Pages not found in the PageCache.");
+        writer.sample("plan_page_cache_misses_total", misses);
+        writer.family("plan_page_cache_hit_ratio", "gauge", "Ratio of PageCache hits to all lookups since start.");
+        writer.sample("plan_page_cache_hit_ratio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+    }
+}
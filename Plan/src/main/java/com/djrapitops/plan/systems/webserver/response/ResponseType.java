@@ -13,6 +13,8 @@ public enum ResponseType {
     HTML("text/html;charset=utf-8"),
     CSS("text/css"),
     JSON("application/json"),
+    EVENT_STREAM("text/event-stream;charset=utf-8"),
+    OPENMETRICS("application/openmetrics-text; version=1.0.0; charset=utf-8"),
     JAVASCRIPT("application/javascript");
 
     private final String type;
@@ -9,6 +9,7 @@ import com.djrapitops.plugin.utilities.Verify;
 import main.java.com.djrapitops.plan.api.IPlan;
 import main.java.com.djrapitops.plan.api.exceptions.*;
 import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
 import main.java.com.djrapitops.plan.systems.webserver.PageCache;
 import main.java.com.djrapitops.plan.systems.webserver.response.NotFoundResponse;
 import main.java.com.djrapitops.plan.systems.webserver.response.Response;
@@ -62,6 +63,7 @@ public abstract class WebAPI {
     public void sendRequest(String address) throws WebAPIException {
         Verify.nullCheck(address);
 
+        long start = System.nanoTime();
         try {
             URL url = new URL(address + "/api/" + this.getClass().getSimpleName().toLowerCase());
             HttpURLConnection connection = (HttpURLConnection) url.openConnection();
@@ -131,6 +133,8 @@ public abstract class WebAPI {
                 Log.toLog(this.getClass().getName(), e);
             }
             throw new WebAPIConnectionFailException("API connection failed. address: " + address, e);
+        } finally {
+            PlanMetrics.getWebAPITimer(getClass()).recordSince(start);
         }
     }
 
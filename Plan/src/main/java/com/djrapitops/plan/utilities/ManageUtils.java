@@ -5,17 +5,24 @@ import com.djrapitops.plugin.utilities.Verify;
 import main.java.com.djrapitops.plan.Plan;
 import main.java.com.djrapitops.plan.api.exceptions.DatabaseInitException;
 import main.java.com.djrapitops.plan.database.Database;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
 import main.java.com.djrapitops.plan.database.databases.SQLiteDB;
-import main.java.com.djrapitops.plan.database.tables.move.BatchOperationTable;
+import main.java.com.djrapitops.plan.database.tables.move.DatabaseCopier;
+import main.java.com.djrapitops.plan.settings.Settings;
 
+import java.io.File;
 import java.sql.SQLException;
+import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * @author Rsl1122
  */
 public class ManageUtils {
 
+    private static final String AUTO_BACKUP_INFIX = "-autobackup-";
+
     /**
      * Constructor used to hide the public constructor
      */
@@ -30,17 +37,97 @@ public class ManageUtils {
      * @param copyFromDB Database you want to backup.
      */
     public static void backup(String dbName, Database copyFromDB) throws DatabaseInitException, SQLException {
+        backup(dbName, copyFromDB, Log::info);
+    }
+
+    /**
+     * Creates a new backup sqlite file with the data of copyFromDB.
+     * <p>
+     * SQLite databases are copied with SQLite's own backup, other databases are copied row by row.
+     *
+     * @param dbName           Name of database (mysql/sqlite)
+     * @param copyFromDB       Database you want to backup.
+     * @param progressListener Receives progress messages of the copy.
+     */
+    public static void backup(String dbName, Database copyFromDB, Consumer<String> progressListener) throws DatabaseInitException, SQLException {
+        copyToBackupFile(getBackupFileName(Plan.getInstance().getDataFolder(), dbName + "-backup-"), copyFromDB, progressListener);
+    }
+
+    /**
+     * Creates a new backup sqlite file for the periodic backup task.
+     * <p>
+     * Automatic backups have their own name, so only they are removed when there are more of them than
+     * Database.Backup.Keep. Backups made with the backup command are never removed.
+     *
+     * @param dbName     Name of database (mysql/sqlite)
+     * @param copyFromDB Database you want to backup.
+     */
+    public static void autoBackup(String dbName, Database copyFromDB) throws DatabaseInitException, SQLException {
+        File dataFolder = Plan.getInstance().getDataFolder();
+        copyToBackupFile(getBackupFileName(dataFolder, dbName + AUTO_BACKUP_INFIX), copyFromDB, Log::info);
+        removeOldBackups(dataFolder, dbName, Settings.DB_BACKUP_KEEP.getNumber());
+    }
+
+    /**
+     * Get a name for a new backup file that does not replace an existing backup.
+     *
+     * @param folder Folder the backup is created in.
+     * @param prefix Start of the file name.
+     * @return File name without the .db extension, with the current time and a number if the name is taken.
+     */
+    public static String getBackupFileName(File folder, String prefix) {
+        String fileName = prefix + new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date());
+        String uniqueName = fileName;
+        for (int i = 2; new File(folder, uniqueName + ".db").exists(); i++) {
+            uniqueName = fileName + "-" + i;
+        }
+        return uniqueName;
+    }
+
+    private static void copyToBackupFile(String fileName, Database copyFromDB, Consumer<String> progressListener) throws DatabaseInitException, SQLException {
         Plan plugin = Plan.getInstance();
-        String timeStamp = new Date().toString().substring(4, 10).replace(" ", "-");
-        String fileName = dbName + "-backup-" + timeStamp;
-        SQLiteDB backupDB = new SQLiteDB(plugin, fileName);
         Collection<UUID> uuids = ManageUtils.getUUIDS(copyFromDB);
         if (uuids.isEmpty()) {
             return;
         }
-        backupDB.init();
-        clearAndCopy(backupDB, copyFromDB);
-        backupDB.close();
+        if (copyFromDB instanceof SQLiteDB) {
+            progressListener.accept("Using SQLite backup..");
+            ((SQLiteDB) copyFromDB).backupTo(new File(plugin.getDataFolder(), fileName + ".db"));
+        } else {
+            SQLiteDB backupDB = new SQLiteDB(plugin, fileName);
+            backupDB.init();
+            clearAndCopy(backupDB, copyFromDB, progressListener);
+            backupDB.close();
+        }
+    }
+
+    /**
+     * Removes the oldest automatic backup files of a database.
+     *
+     * @param folder Folder the backups are in.
+     * @param dbName Name of database (mysql/sqlite)
+     * @param keep   How many newest automatic backups to keep, 0 or less keeps all.
+     */
+    public static void removeOldBackups(File folder, String dbName, int keep) {
+        if (keep <= 0) {
+            return;
+        }
+        String prefix = dbName + AUTO_BACKUP_INFIX;
+        File[] backups = folder.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".db"));
+        if (backups == null || backups.length <= keep) {
+            return;
+        }
+        Arrays.sort(backups, (one, two) -> Long.compare(two.lastModified(), one.lastModified()));
+        for (int i = keep; i < backups.length; i++) {
+            File backup = backups[i];
+            for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+                File file = new File(folder, backup.getName() + suffix);
+                if (file.exists() && !file.delete()) {
+                    Log.info("Could not remove old backup " + file.getName());
+                }
+            }
+            Log.debug("Removed old backup " + backup.getName());
+        }
     }
 
     /**
@@ -67,11 +154,30 @@ public class ManageUtils {
      * @param copyFromDB       Database where data will be copied from
      */
     public static void clearAndCopy(Database clearAndCopyToDB, Database copyFromDB) throws SQLException {
-        BatchOperationTable toDB = new BatchOperationTable(clearAndCopyToDB);
-        BatchOperationTable fromDB = new BatchOperationTable(copyFromDB);
+        clearAndCopy(clearAndCopyToDB, copyFromDB, Log::info);
+    }
 
-        toDB.removeAllData();
-        fromDB.copyEverything(toDB);
+    /**
+     * Clears a database and copies data from other database to that database.
+     * <p>
+     * Rows are streamed in chunks, if the copy fails it is continued from where it was left off on the next call
+     * with the same databases.
+     *
+     * @param clearAndCopyToDB Database that will be cleared data will be copied
+     *                         to.
+     * @param copyFromDB       Database where data will be copied from
+     * @param progressListener Receives progress messages of the copy.
+     */
+    public static void clearAndCopy(Database clearAndCopyToDB, Database copyFromDB, Consumer<String> progressListener) throws SQLException {
+        if (clearAndCopyToDB.equals(copyFromDB)) {
+            return;
+        }
+        File checkpointFile = new File(Plan.getInstance().getDataFolder(), "DBCopyCheckpoint.properties");
+        new DatabaseCopier((SQLDB) copyFromDB, (SQLDB) clearAndCopyToDB, checkpointFile,
+                Settings.DB_COPY_CHUNK_SIZE.getNumber(),
+                Settings.DB_COPY_PARALLEL_TABLES.getNumber(),
+                progressListener
+        ).copy();
     }
 
     public static Database getDB(Plan plugin, String dbName) throws DatabaseInitException {
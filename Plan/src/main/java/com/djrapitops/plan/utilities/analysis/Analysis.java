@@ -1,7 +1,6 @@
 package main.java.com.djrapitops.plan.utilities.analysis;
 
-import com.djrapitops.plugin.StaticHolder;
-import com.djrapitops.plugin.api.Benchmark;
+import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.api.utility.log.Log;
 import com.djrapitops.plugin.task.AbsRunnable;
 import com.djrapitops.plugin.task.RunnableFactory;
@@ -11,8 +10,10 @@ import main.java.com.djrapitops.plan.data.PlayerProfile;
 import main.java.com.djrapitops.plan.data.ServerProfile;
 import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
 import main.java.com.djrapitops.plan.data.plugin.BanData;
+import main.java.com.djrapitops.plan.data.plugin.HookHandler;
 import main.java.com.djrapitops.plan.data.plugin.PluginData;
 import main.java.com.djrapitops.plan.database.Database;
+import main.java.com.djrapitops.plan.database.tables.ActivitySnapshotTable;
 import main.java.com.djrapitops.plan.settings.Settings;
 import main.java.com.djrapitops.plan.settings.locale.Locale;
 import main.java.com.djrapitops.plan.settings.locale.Msg;
@@ -20,10 +21,16 @@ import main.java.com.djrapitops.plan.systems.cache.DataCache;
 import main.java.com.djrapitops.plan.systems.cache.SessionCache;
 import main.java.com.djrapitops.plan.systems.info.BukkitInformationManager;
 import main.java.com.djrapitops.plan.systems.info.InformationManager;
-import main.java.com.djrapitops.plan.systems.webserver.response.ErrorResponse;
+import main.java.com.djrapitops.plan.systems.metrics.AnalysisPhase;
+import main.java.com.djrapitops.plan.systems.metrics.PlanMetrics;
+import main.java.com.djrapitops.plan.systems.webserver.WebServer;
+import main.java.com.djrapitops.plan.systems.webserver.response.AnalysisRefreshResponse;
 import main.java.com.djrapitops.plan.systems.webserver.response.InternalErrorResponse;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
 
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +38,11 @@ import java.util.stream.Collectors;
  */
 public class Analysis {
 
+    /**
+     * Amount of completed weeks shown in the activity graph.
+     */
+    private static final int ACTIVITY_HISTORY_WEEKS = 8;
+
     private final Plan plugin;
     private int taskId = -1;
     private static ServerProfile serverProfile;
@@ -54,19 +66,15 @@ public class Analysis {
             return;
         }
 
-        Benchmark.start("Analysis");
         log(Locale.get(Msg.ANALYSIS_START).toString());
         // Async task for Analysis
         RunnableFactory.createNew(new AbsRunnable("AnalysisTask") {
             @Override
             public void run() {
                 try {
-                    ErrorResponse analysisRefreshPage = new ErrorResponse();
-                    analysisRefreshPage.setTitle("Analysis is being refreshed..");
-                    analysisRefreshPage.setParagraph("<meta http-equiv=\"refresh\" content=\"25\" /><i class=\"fa fa-refresh fa-spin\" aria-hidden=\"true\"></i> Analysis is being run, refresh the page after a few seconds.. (F5)");
-                    analysisRefreshPage.replacePlaceholders();
-                    ((BukkitInformationManager) plugin.getInfoManager()).cacheAnalysisHtml(analysisRefreshPage.getContent());
+                    ((BukkitInformationManager) plugin.getInfoManager()).cacheAnalysisHtml(new AnalysisRefreshResponse().getContent());
                     taskId = this.getTaskId();
+                    sendProgress("started");
                     analyze(infoManager, plugin.getDB());
                 } catch (Exception e) {
                     Log.toLog(this.getClass().getName() + ":" + this.getTaskName(), e);
@@ -89,7 +97,6 @@ public class Analysis {
      */
     public boolean analyze(InformationManager infoManager, Database db) {
         log(Locale.get(Msg.ANALYSIS_FETCH).toString());
-        Benchmark.start("Fetch Phase");
         Log.logDebug("Database", "Analysis Fetch");
         Log.logDebug("Analysis", "Analysis Fetch Phase");
 
@@ -104,13 +111,12 @@ public class Analysis {
      * @return Success?
      */
     public boolean analyzeData(InformationManager infoManager, Database db) {
+        long analysisStart = System.nanoTime();
         try {
-            Benchmark.start("Create Empty dataset");
-
             AnalysisData analysisData = new AnalysisData();
 
-            Benchmark.stop("Analysis", "Create Empty dataset");
-            Benchmark.start("Fetch Phase");
+            sendProgress("fetch");
+            long phaseStart = System.nanoTime();
             ServerProfile profile = db.getServerProfile(Plan.getServerUUID());
             DataCache dataCache = plugin.getDataCache();
             profile.addActiveSessions(new HashMap<>(SessionCache.getActiveSessions()));
@@ -120,29 +126,37 @@ public class Analysis {
                 dataCache.updateNames(player.getUuid(), player.getName(), null);
             }
 
-            long fetchPhaseLength = Benchmark.stop("Analysis", "Fetch Phase");
+            loadActivityHistory(db, profile);
+
+            long fetchPhaseLength = TimeUnit.NANOSECONDS.toMillis(PlanMetrics.getAnalysisPhaseTimer(AnalysisPhase.FETCH).recordSince(phaseStart));
             setBannedByPlugins(profile);
 
-            Benchmark.start("Analysis Phase");
             Log.logDebug("Analysis", "Analysis Phase");
+            sendProgress("analysis");
+            phaseStart = System.nanoTime();
 
             log(Locale.get(Msg.ANALYSIS_PHASE_START).parse(profile.getPlayerCount(), fetchPhaseLength));
 
             analysisData.analyze(profile);
 
-            Benchmark.stop("Analysis", "Analysis Phase");
+            PlanMetrics.getAnalysisPhaseTimer(AnalysisPhase.ANALYSIS).recordSince(phaseStart);
 
             log(Locale.get(Msg.ANALYSIS_3RD_PARTY).toString());
             Log.logDebug("Analysis", "Analyzing additional data sources (3rd party)");
+            sendProgress("plugins");
+            phaseStart = System.nanoTime();
             analysisData.parsePluginsSection(analyzeAdditionalPluginData(profile.getUuids()));
+            PlanMetrics.getAnalysisPhaseTimer(AnalysisPhase.PLUGINS).recordSince(phaseStart);
             ((BukkitInformationManager) infoManager).cacheAnalysisData(analysisData);
+            sendProgress("finished");
         } catch (Exception e) {
             Log.toLog(this.getClass().getName(), e);
             ((BukkitInformationManager) plugin.getInfoManager()).cacheAnalysisHtml(new InternalErrorResponse(e, "Analysis").getContent());
+            sendProgress("failed");
             Log.logDebug("Analysis", "Error: " + e);
             return false;
         } finally {
-            long time = Benchmark.stop("Analysis", "Analysis");
+            long time = TimeUnit.NANOSECONDS.toMillis(PlanMetrics.getAnalysisPhaseTimer(AnalysisPhase.TOTAL).recordSince(analysisStart));
             Log.logDebug("Analysis");
             Log.info(Locale.get(Msg.ANALYSIS_FINISHED).parse(time, ""));
             serverProfile = null;
@@ -150,6 +164,56 @@ public class Analysis {
         return true;
     }
 
+    /**
+     * Send the phase of the analysis to the open pages of the WebServer.
+     *
+     * @param phase Name of the phase.
+     */
+    private void sendProgress(String phase) {
+        WebServer webServer = plugin.getWebServer();
+        if (webServer != null) {
+            webServer.getLiveEvents().analysisProgress(phase);
+        }
+    }
+
+    /**
+     * Loads activity of past weeks from the database.
+     * <p>
+     * Activity of a completed week never changes, so weeks that have no snapshot yet are calculated once and stored.
+     *
+     * @param db      Database to load the snapshots from.
+     * @param profile ServerProfile the history is set to.
+     */
+    private void loadActivityHistory(Database db, ServerProfile profile) {
+        long start = System.nanoTime();
+        try {
+            UUID serverUUID = Plan.getServerUUID();
+            ActivitySnapshotTable snapshotTable = db.getActivitySnapshotTable();
+            long week = TimeAmount.WEEK.ms();
+            long lastBoundary = AnalysisUtils.getWeekBoundary(MiscUtils.getTime());
+            long oldestBoundary = lastBoundary - (ACTIVITY_HISTORY_WEEKS - 1) * week;
+
+            Set<Long> storedDates = snapshotTable.getSnapshotDates(serverUUID);
+            for (long date = oldestBoundary; date <= lastBoundary; date += week) {
+                if (storedDates.contains(date)) {
+                    continue;
+                }
+                long snapshotDate = date;
+                List<PlayerProfile> registered = profile.getPlayers().stream()
+                        .filter(player -> player.getRegistered() <= snapshotDate)
+                        .collect(Collectors.toList());
+                snapshotTable.saveSnapshot(serverUUID, snapshotDate, AnalysisUtils.getActivityGroupsOfPlayers(snapshotDate, registered));
+            }
+
+            profile.setActivityHistory(snapshotTable.getGroupCounts(serverUUID, oldestBoundary));
+            profile.setActivityFourWeeksAgo(snapshotTable.getGroups(serverUUID, lastBoundary - 4L * week));
+        } catch (SQLException e) {
+            Log.toLog(this.getClass().getName(), e);
+        } finally {
+            PlanMetrics.getAnalysisPhaseTimer(AnalysisPhase.ACTIVITY_HISTORY).recordSince(start);
+        }
+    }
+
     private void setBannedByPlugins(ServerProfile profile) {
         UUID serverUUID = Plan.getServerUUID();
         List<BanData> banPlugins = plugin.getHookHandler().getAdditionalDataSources().stream()
@@ -174,31 +238,11 @@ public class Analysis {
     }
 
     private Map<PluginData, AnalysisContainer> analyzeAdditionalPluginData(Set<UUID> uuids) {
-        Map<PluginData, AnalysisContainer> containers = new HashMap<>();
-
-        Benchmark.start("Analysis", "3rd party Analysis");
-        List<PluginData> sources = plugin.getHookHandler().getAdditionalDataSources();
+        HookHandler hookHandler = plugin.getHookHandler();
+        List<PluginData> sources = hookHandler.getAdditionalDataSources();
 
         Log.logDebug("Analysis", "Additional Sources: " + sources.size());
-        sources.parallelStream().forEach(source -> {
-            StaticHolder.saveInstance(this.getClass(), plugin.getClass());
-            try {
-                Benchmark.start("Analysis", "Source " + source.getSourcePlugin());
-
-                AnalysisContainer container = source.getServerData(uuids, new AnalysisContainer());
-                if (container != null && !container.isEmpty()) {
-                    containers.put(source, container);
-                }
-
-            } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError e) {
-                Log.error("A PluginData-source caused an exception: " + source.getSourcePlugin());
-                Log.toLog(this.getClass().getName(), e);
-            } finally {
-                Benchmark.stop("Analysis", "Source " + source.getSourcePlugin());
-            }
-        });
-        Benchmark.stop("Analysis", "3rd party Analysis");
-        return containers;
+        return hookHandler.getExecutor().getServerData(sources, uuids);
     }
 
     /**
@@ -214,22 +214,45 @@ public class AnalysisUtils {
         return probability;
     }
 
-    public static TreeMap<Long, Map<String, Set<UUID>>> turnToActivityDataMap(long time, List<PlayerProfile> players) {
-        TreeMap<Long, Map<String, Set<UUID>>> activityData = new TreeMap<>();
-        if (!players.isEmpty()) {
-            for (PlayerProfile player : players) {
-                for (long date = time; date >= time - TimeAmount.MONTH.ms() * 2L; date -= TimeAmount.WEEK.ms()) {
-                    double activityIndex = player.getActivityIndex(date);
-                    String index = FormatUtils.readableActivityIndex(activityIndex)[1];
-
-                    Map<String, Set<UUID>> map = activityData.getOrDefault(date, new HashMap<>());
-                    Set<UUID> uuids = map.getOrDefault(index, new HashSet<>());
-                    uuids.add(player.getUuid());
-                    map.put(index, uuids);
-                    activityData.put(date, map);
-                }
-            }
+    /**
+     * Get the start of the week the date is in, counted from epoch.
+     *
+     * @param date Epoch ms.
+     * @return Epoch ms of the week boundary, equal or before date.
+     */
+    public static long getWeekBoundary(long date) {
+        long week = TimeAmount.WEEK.ms();
+        return date - date % week;
+    }
+
+    /**
+     * Get the activity group of each player at a date.
+     *
+     * @param date    Epoch ms.
+     * @param players Players to calculate the activity index of.
+     * @return Map of Player UUID: Activity group name
+     */
+    public static Map<UUID, String> getActivityGroupsOfPlayers(long date, Collection<PlayerProfile> players) {
+        Map<UUID, String> groups = new HashMap<>();
+        for (PlayerProfile player : players) {
+            double activityIndex = player.getActivityIndex(date);
+            groups.put(player.getUuid(), FormatUtils.readableActivityIndex(activityIndex)[1]);
+        }
+        return groups;
+    }
+
+    /**
+     * Get the players in each activity group at a date.
+     *
+     * @param date    Epoch ms.
+     * @param players Players to calculate the activity index of.
+     * @return Map of Activity group name: Player UUIDs
+     */
+    public static Map<String, Set<UUID>> getActivityGroups(long date, Collection<PlayerProfile> players) {
+        Map<String, Set<UUID>> groups = new HashMap<>();
+        for (Map.Entry<UUID, String> entry : getActivityGroupsOfPlayers(date, players).entrySet()) {
+            groups.computeIfAbsent(entry.getValue(), key -> new HashSet<>()).add(entry.getKey());
         }
-        return activityData;
+        return groups;
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.utilities.analysis;
+
+/**
+ * Largest-Triangle-Three-Buckets algorithm for reducing points of line graphs.
+ * <p>
+ * Points between the first and the last point are split into buckets, and from each bucket the point that forms the
+ * largest triangle with the previously selected point and the average of the next bucket is selected. Each point is
+ * visited once, so a reduction takes linear time.
+ *
+ * @author Rsl1122
+ */
+public class LargestTriangleThreeBuckets {
+
+    /**
+     * Constructor used to hide the public constructor
+     */
+    private LargestTriangleThreeBuckets() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Select the points to keep from a range of points.
+     *
+     * @param x         X values of the points, in ascending order.
+     * @param y         Y values of the points.
+     * @param from      Index of the first point of the range, inclusive.
+     * @param to        Index of the last point of the range, exclusive.
+     * @param threshold Amount of points to keep, ranges with fewer points (or threshold under 3) are not reduced.
+     * @param selected  Array the indexes of the kept points are written to, in ascending order.
+     * @param offset    Index in selected to start writing from.
+     * @return Amount of indexes written to selected.
+     */
+    public static int reduce(double[] x, double[] y, int from, int to, int threshold, int[] selected, int offset) {
+        int length = to - from;
+        if (threshold >= length || threshold < 3) {
+            for (int i = 0; i < length; i++) {
+                selected[offset + i] = from + i;
+            }
+            return Math.max(length, 0);
+        }
+
+        int count = 0;
+        // First and last points are always kept, the rest are split into threshold - 2 buckets.
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int previous = from;
+        selected[offset + count++] = previous;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = from + (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min(from + (int) ((bucket + 2) * bucketSize) + 1, to);
+
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextLength = nextEnd - nextStart;
+            averageX /= nextLength;
+            averageY /= nextLength;
+
+            int start = from + (int) (bucket * bucketSize) + 1;
+            int end = from + (int) ((bucket + 1) * bucketSize) + 1;
+
+            double previousX = x[previous];
+            double previousY = y[previous];
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Double the area of the triangle, which is enough for comparing.
+                double area = Math.abs((previousX - averageX) * (y[i] - previousY)
+                        - (previousX - x[i]) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected[offset + count++] = chosen;
+            previous = chosen;
+        }
+
+        selected[offset + count++] = to - 1;
+        return count;
+    }
+}
@@ -0,0 +1,239 @@
+package main.java.com.djrapitops.plan.utilities.analysis;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.utilities.comparators.TPSComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calculates statistics of TPS data for multiple time windows in a single pass.
+ * <p>
+ * TPS objects are copied into primitive columns sorted by date, so that the
+ * calculation does not box any values.
+ * <p>
+ * Results match the stream based calculations of {@link main.java.com.djrapitops.plan.data.ServerProfile}:
+ * CPU, RAM, entity and chunk averages ignore 0 values, as 0 means the value was not recorded.
+ *
+ * @author Rsl1122
+ */
+public class TPSStatistics {
+
+    private final int size;
+    private final long[] dates;
+    private final double[] tps;
+    private final int[] players;
+    private final double[] cpu;
+    private final long[] ram;
+    private final int[] entities;
+    private final int[] chunks;
+
+    public TPSStatistics(List<TPS> tpsData) {
+        List<TPS> sorted = new ArrayList<>(tpsData);
+        sorted.sort(new TPSComparator());
+
+        size = sorted.size();
+        dates = new long[size];
+        tps = new double[size];
+        players = new int[size];
+        cpu = new double[size];
+        ram = new long[size];
+        entities = new int[size];
+        chunks = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            TPS point = sorted.get(i);
+            dates[i] = point.getDate();
+            tps[i] = point.getTicksPerSecond();
+            players[i] = point.getPlayers();
+            cpu[i] = point.getCPUUsage();
+            ram[i] = point.getUsedMemory();
+            entities[i] = point.getEntityCount();
+            chunks[i] = point.getChunksLoaded();
+        }
+    }
+
+    /**
+     * Calculate statistics for windows that end at the same date.
+     *
+     * @param before       Epoch ms, end of all windows (inclusive).
+     * @param windowStarts Epoch ms, start of each window (inclusive).
+     * @return Window for each given start date, in the same order.
+     */
+    public Window[] calculate(long before, long... windowStarts) {
+        int lowThreshold = Settings.THEME_GRAPH_TPS_THRESHOLD_MED.getNumber();
+        long downTimeThreshold = TimeAmount.MINUTE.ms() * 3L;
+
+        Window[] windows = new Window[windowStarts.length];
+        for (int w = 0; w < windows.length; w++) {
+            windows[w] = new Window();
+        }
+
+        for (int i = 0; i < size; i++) {
+            long date = dates[i];
+            if (date > before) {
+                break;
+            }
+            double tpsValue = tps[i];
+            int playersValue = players[i];
+            boolean low = tpsValue < lowThreshold;
+
+            for (int w = 0; w < windows.length; w++) {
+                if (date < windowStarts[w]) {
+                    continue;
+                }
+                Window window = windows[w];
+
+                if (window.count > 0) {
+                    long diff = date - window.lastDate;
+                    if (diff > downTimeThreshold) {
+                        window.downTime += diff;
+                    }
+                    if (window.lastPlayers == 0 && playersValue == 0) {
+                        window.idleTime += diff;
+                    }
+                }
+                window.lastDate = date;
+                window.lastPlayers = playersValue;
+
+                if (low) {
+                    if (!window.wasLow) {
+                        window.lowSpikes++;
+                        window.wasLow = true;
+                    }
+                } else {
+                    window.wasLow = false;
+                    window.aboveLowThreshold++;
+                }
+
+                window.count++;
+                window.tpsSum += tpsValue;
+                window.minTPS = Math.min(window.minTPS, tpsValue);
+                window.maxTPS = Math.max(window.maxTPS, tpsValue);
+                window.playersSum += playersValue;
+                window.maxPlayers = Math.max(window.maxPlayers, playersValue);
+
+                if (cpu[i] != 0) {
+                    window.cpuSum += cpu[i];
+                    window.cpuCount++;
+                }
+                if (ram[i] != 0) {
+                    window.ramSum += ram[i];
+                    window.ramCount++;
+                }
+                if (entities[i] != 0) {
+                    window.entitySum += entities[i];
+                    window.entityCount++;
+                }
+                if (chunks[i] != 0) {
+                    window.chunkSum += chunks[i];
+                    window.chunkCount++;
+                }
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Statistics of a single time window.
+     * <p>
+     * Averages are 0 if there is no data for the window.
+     */
+    public static class Window {
+        private int count;
+
+        private double tpsSum;
+        private double minTPS = Double.MAX_VALUE;
+        private double maxTPS;
+        private long playersSum;
+        private int maxPlayers;
+
+        private double cpuSum;
+        private int cpuCount;
+        private long ramSum;
+        private int ramCount;
+        private long entitySum;
+        private int entityCount;
+        private long chunkSum;
+        private int chunkCount;
+
+        private long lowSpikes;
+        private long aboveLowThreshold;
+        private boolean wasLow;
+
+        private long downTime;
+        private long idleTime;
+        private long lastDate;
+        private int lastPlayers;
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getAverageTPS() {
+            return count != 0 ? tpsSum / count : 0;
+        }
+
+        public double getMinTPS() {
+            return count != 0 ? minTPS : 0;
+        }
+
+        public double getMaxTPS() {
+            return maxTPS;
+        }
+
+        public double getAveragePlayers() {
+            return count != 0 ? playersSum * 1.0 / count : 0;
+        }
+
+        public int getMaxPlayers() {
+            return maxPlayers;
+        }
+
+        public double getAverageCPU() {
+            return cpuCount != 0 ? cpuSum / cpuCount : 0;
+        }
+
+        public long getAverageRAM() {
+            return ramCount != 0 ? (long) (ramSum * 1.0 / ramCount) : 0L;
+        }
+
+        public double getAverageEntities() {
+            return entityCount != 0 ? entitySum * 1.0 / entityCount : 0;
+        }
+
+        public double getAverageChunks() {
+            return chunkCount != 0 ? chunkSum * 1.0 / chunkCount : 0;
+        }
+
+        /**
+         * @return How many times TPS dropped below the low threshold.
+         */
+        public long getLowSpikeCount() {
+            return lowSpikes;
+        }
+
+        /**
+         * @return Fraction of data points at or above the low threshold, 1 if there is no data.
+         */
+        public double getAboveLowThreshold() {
+            return count != 0 ? aboveLowThreshold * 1.0 / count : 1;
+        }
+
+        /**
+         * @return ms between data points that are more than 3 minutes apart.
+         */
+        public long getDownTime() {
+            return downTime;
+        }
+
+        /**
+         * @return ms between consecutive data points with no players online.
+         */
+        public long getIdleTime() {
+            return idleTime;
+        }
+    }
+}
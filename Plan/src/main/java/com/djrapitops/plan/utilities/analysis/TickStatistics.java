@@ -0,0 +1,92 @@
+package main.java.com.djrapitops.plan.utilities.analysis;
+
+import com.djrapitops.plugin.api.TimeAmount;
+
+import java.util.Arrays;
+
+/**
+ * Calculates TPS, tick interval percentiles and lag spikes from tick intervals.
+ * <p>
+ * A tick interval is the time between the starts of two ticks. It includes the time the server waits
+ * between ticks, so it is 50ms when the server keeps up and does not tell how long the tick itself took.
+ *
+ * @author Rsl1122
+ * @see main.java.com.djrapitops.plan.systems.tasks.TickSampler
+ */
+public class TickStatistics {
+
+    /**
+     * Ticks longer than this are counted as lag spikes.
+     */
+    public static final long LAG_SPIKE_NS = TimeAmount.MILLISECOND.ns() * 100L;
+
+    private final int tickCount;
+    private final double tps;
+    private final double tickIntervalMedian;
+    private final double tickIntervalPercentile95;
+    private final int lagSpikes;
+
+    /**
+     * Calculate the statistics.
+     *
+     * @param tickNanos Tick intervals in nanoseconds, the first {@code length} values are sorted in place.
+     * @param length    Amount of tick intervals in the array.
+     */
+    public TickStatistics(long[] tickNanos, int length) {
+        tickCount = length;
+        if (length == 0) {
+            tps = 0;
+            tickIntervalMedian = 0;
+            tickIntervalPercentile95 = 0;
+            lagSpikes = 0;
+            return;
+        }
+
+        long total = 0;
+        int spikes = 0;
+        for (int i = 0; i < length; i++) {
+            long tickLength = tickNanos[i];
+            total += tickLength;
+            if (tickLength > LAG_SPIKE_NS) {
+                spikes++;
+            }
+        }
+        lagSpikes = spikes;
+        tps = total > 0 ? Math.min(20.0, length * 1.0 * TimeAmount.SECOND.ns() / total) : 20.0;
+
+        Arrays.sort(tickNanos, 0, length);
+        tickIntervalMedian = toMs(tickNanos[percentileIndex(0.5, length)]);
+        tickIntervalPercentile95 = toMs(tickNanos[percentileIndex(0.95, length)]);
+    }
+
+    private static int percentileIndex(double percentile, int length) {
+        return Math.max(0, (int) Math.ceil(percentile * length) - 1);
+    }
+
+    private static double toMs(long nanos) {
+        return nanos * 1.0 / TimeAmount.MILLISECOND.ns();
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * @return Ticks per second, at most 20, 0 if no ticks were recorded.
+     */
+    public double getTPS() {
+        return tps;
+    }
+
+    public double getTickIntervalMedian() {
+        return tickIntervalMedian;
+    }
+
+    public double getTickIntervalPercentile95() {
+        return tickIntervalPercentile95;
+    }
+
+    public int getLagSpikes() {
+        return lagSpikes;
+    }
+}
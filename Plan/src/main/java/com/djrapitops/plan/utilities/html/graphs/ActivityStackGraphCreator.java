@@ -10,9 +10,7 @@ import main.java.com.djrapitops.plan.utilities.FormatUtils;
 import main.java.com.djrapitops.plan.utilities.html.graphs.pie.ActivityPieCreator;
 
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
-import java.util.UUID;
 
 /**
  * //TODO Class Javadoc Comment
@@ -25,7 +23,13 @@ public class ActivityStackGraphCreator {
         throw new IllegalStateException("Utility Class");
     }
 
-    public static String[] createSeries(TreeMap<Long, Map<String, Set<UUID>>> activityData) {
+    /**
+     * Create the activity stack series from amount of players in each activity group.
+     *
+     * @param activityCounts TreeMap of Date: (Activity group name: Player count)
+     * @return Array of [categories, series]
+     */
+    public static String[] createSeries(TreeMap<Long, Map<String, Integer>> activityCounts) {
         String[] sliceNames = ActivityPieCreator.getSliceNames();
         String[] colors = Theme.getValue(ThemeVal.GRAPH_ACTIVITY_PIE).split(", ");
         int maxCol = colors.length;
@@ -41,15 +45,14 @@ public class ActivityStackGraphCreator {
                     .append(",data: [");
         }
 
-        int size = activityData.size();
+        int size = activityCounts.size();
         int i = 0;
-        for (Long date : activityData.navigableKeySet()) {
-            Map<String, Set<UUID>> data = activityData.get(date);
+        for (Long date : activityCounts.navigableKeySet()) {
+            Map<String, Integer> data = activityCounts.get(date);
 
             series[0].append("'").append(FormatUtils.formatTimeStamp(date)).append("'");
             for (int j = 1; j <= sliceNames.length; j++) {
-                Set<UUID> players = data.get(sliceNames[j - 1]);
-                series[j].append(players != null ? players.size() : 0);
+                series[j].append(data.getOrDefault(sliceNames[j - 1], 0));
             }
 
             if (i < size - 1) {
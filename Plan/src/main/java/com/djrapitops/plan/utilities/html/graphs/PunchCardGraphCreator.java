@@ -45,13 +45,13 @@ public class PunchCardGraphCreator {
             for (int j = 0; j < 24; j++) {
                 int value = scaled[i][j];
                 if (j == 0) {
-                    arrayBuilder.append("{x:").append(24 * 3600000);
+                    arrayBuilder.append("{\"x\":").append(24 * 3600000);
                 } else {
-                    arrayBuilder.append("{x:").append(j * 3600000);
+                    arrayBuilder.append("{\"x\":").append(j * 3600000);
                 }
-                arrayBuilder.append(", y:").append(i)
-                        .append(", z:").append(value).
-                        append(", marker: { radius:").append(value)
+                arrayBuilder.append(",\"y\":").append(i)
+                        .append(",\"z\":").append(value)
+                        .append(",\"marker\":{\"radius\":").append(value)
                         .append("}}");
                 if (i != 6 || j != 23) {
                     arrayBuilder.append(",");
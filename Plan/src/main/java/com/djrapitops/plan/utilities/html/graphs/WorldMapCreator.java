@@ -33,20 +33,19 @@ public class WorldMapCreator {
 
         StringBuilder arrayBuilder = new StringBuilder("[");
 
-        int i = 0;
-        int size = geoCodeCounts.size();
+        boolean first = true;
         for (Map.Entry<String, Integer> entry : geoCodeCounts.entrySet()) {
             String geoCode = entry.getKey();
             Integer players = entry.getValue();
 
             if (players != 0) {
-                arrayBuilder.append("{'code':'").append(geoCode).append("','value':").append(players).append("}");
-                if (i < size - 1) {
+                // Separator is placed before the entry, countries without players are skipped.
+                if (!first) {
                     arrayBuilder.append(",");
                 }
+                arrayBuilder.append("{\"code\":\"").append(geoCode).append("\",\"value\":").append(players).append("}");
+                first = false;
             }
-
-            i++;
         }
 
         arrayBuilder.append("]");
@@ -0,0 +1,101 @@
+package main.java.com.djrapitops.plan.utilities.html.graphs.line;
+
+import main.java.com.djrapitops.plan.data.container.JVMStats;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.systems.tasks.JVMStatsSampler;
+import main.java.com.djrapitops.plan.utilities.analysis.Point;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Class for creating series graph data from JVM statistics saved with TPS task.
+ *
+ * @author Rsl1122
+ * @see JVMStatsSampler
+ */
+public class JVMGraphCreator {
+
+    /**
+     * Constructor used to hide the public constructor
+     */
+    private JVMGraphCreator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates series data of time spent in garbage collection each minute.
+     *
+     * @param jvmStats JVM statistics, one data point for each minute.
+     * @return Series data for HighCharts
+     */
+    public static String buildSeriesDataStringGCTime(List<JVMStats> jvmStats) {
+        return buildSeriesDataString(jvmStats, JVMStats::getGCTime);
+    }
+
+    /**
+     * Creates series data of allocation rate in MB/s.
+     *
+     * @param jvmStats JVM statistics, one data point for each minute.
+     * @return Series data for HighCharts
+     */
+    public static String buildSeriesDataStringAllocationRate(List<JVMStats> jvmStats) {
+        return buildSeriesDataString(jvmStats, JVMStats::getAllocationRate);
+    }
+
+    /**
+     * Creates series data of CPU usage of the server process.
+     *
+     * @param jvmStats JVM statistics, one data point for each minute.
+     * @return Series data for HighCharts
+     */
+    public static String buildSeriesDataStringProcessCPU(List<JVMStats> jvmStats) {
+        return buildSeriesDataString(jvmStats, JVMStats::getProcessCPU);
+    }
+
+    /**
+     * Creates series data of live thread count.
+     *
+     * @param jvmStats JVM statistics, one data point for each minute.
+     * @return Series data for HighCharts
+     */
+    public static String buildSeriesDataStringThreads(List<JVMStats> jvmStats) {
+        return buildSeriesDataString(jvmStats, JVMStats::getThreadCount);
+    }
+
+    /**
+     * Creates series data of used Metaspace in MB.
+     *
+     * @param jvmStats JVM statistics, one data point for each minute.
+     * @return Series data for HighCharts
+     */
+    public static String buildSeriesDataStringMetaspace(List<JVMStats> jvmStats) {
+        return buildSeriesDataString(jvmStats, JVMStats::getMetaspaceUsed);
+    }
+
+    /**
+     * Creates series data of 95th percentile tick interval.
+     * <p>
+     * Data points saved before tick intervals were recorded are skipped.
+     *
+     * @param tpsData TPS Data collected by TPSCountTimer, one data point for each minute.
+     * @return Series data for HighCharts
+     */
+    public static String buildSeriesDataStringTickInterval(List<TPS> tpsData) {
+        List<Point> points = tpsData.stream()
+                .filter(tps -> tps.getTickIntervalPercentile95() > 0)
+                .map(tps -> new Point(tps.getDate(), tps.getTickIntervalPercentile95()))
+                .collect(Collectors.toList());
+        return SeriesCreator.seriesGraph(points, true);
+    }
+
+    private static String buildSeriesDataString(List<JVMStats> jvmStats, ToDoubleFunction<JVMStats> value) {
+        // Unavailable values are saved as -1.
+        List<Point> points = jvmStats.stream()
+                .filter(stats -> value.applyAsDouble(stats) >= 0)
+                .map(stats -> new Point(stats.getDate(), value.applyAsDouble(stats)))
+                .collect(Collectors.toList());
+        return SeriesCreator.seriesGraph(points, true);
+    }
+}
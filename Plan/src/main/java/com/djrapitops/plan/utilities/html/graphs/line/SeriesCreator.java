@@ -5,18 +5,31 @@
  */
 package main.java.com.djrapitops.plan.utilities.html.graphs.line;
 
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.utilities.analysis.LargestTriangleThreeBuckets;
 import main.java.com.djrapitops.plan.utilities.analysis.Point;
+import main.java.com.djrapitops.plan.utilities.comparators.PointComparator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Abstract scatter graph creator used by other graph creators.
+ * <p>
+ * Points are reduced with {@link LargestTriangleThreeBuckets} separately for each range that can be viewed on the
+ * graphs (last day, week, month and the rest), so that a range keeps its detail when it is zoomed to.
  *
  * @author Rsl1122
  * @since 3.5.2
  */
 public class SeriesCreator {
 
+    /**
+     * Lengths of the viewed ranges, longest first.
+     */
+    private static final long[] RANGES = new long[]{TimeAmount.MONTH.ms(), TimeAmount.WEEK.ms(), TimeAmount.DAY.ms()};
+
     /**
      * Constructor used to hide the public constructor
      */
@@ -29,28 +42,93 @@ public class SeriesCreator {
     }
 
     public static String seriesGraph(List<Point> points, boolean reduceGapTriangles, boolean reducePoints) {
-        StringBuilder arrayBuilder = new StringBuilder("[");
-
-//        if (reducePoints) {
-//            points = DouglasPeuckerAlgorithm.reducePoints(points, 0);
-//        }
+        return seriesGraph(points, reduceGapTriangles, reducePoints ? Settings.GRAPH_POINTS_PER_RANGE.getNumber() : 0);
+    }
 
+    /**
+     * Create the data array of a line graph.
+     *
+     * @param points             Points of the graph.
+     * @param reduceGapTriangles Currently ignored, gap triangles are not added.
+     * @param pointsPerRange     Amount of points each viewed range is reduced to, under 3 to keep all points.
+     * @return Data array as a string.
+     */
+    public static String seriesGraph(List<Point> points, boolean reduceGapTriangles, int pointsPerRange) {
 //        if (reduceGapTriangles) {
 //            points = ReduceGapTriangles.reduce(points);
 //        }
 
+        if (!isSorted(points)) {
+            points = new ArrayList<>(points);
+            points.sort(new PointComparator());
+        }
+
         int size = points.size();
-        for (int i = 0; i < size; i++) {
-            Point point = points.get(i);
-            double y = point.getY();
-            long date = (long) point.getX();
-            arrayBuilder.append("[").append(date).append(",").append(y).append("]");
-            if (i < size - 1) {
+        double[] x = new double[size];
+        double[] y = new double[size];
+        int length = 0;
+        for (Point point : points) {
+            double value = point.getY();
+            // NaN and Infinity are not valid JSON, the series is served as JSON to the analysis page.
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+            x[length] = point.getX();
+            y[length] = value;
+            length++;
+        }
+
+        int[] selected = new int[length];
+        int count = reduce(x, y, length, pointsPerRange, selected);
+
+        StringBuilder arrayBuilder = new StringBuilder(count * 24 + 2).append("[");
+        for (int i = 0; i < count; i++) {
+            int index = selected[i];
+            if (i > 0) {
                 arrayBuilder.append(",");
             }
+            arrayBuilder.append("[").append((long) x[index]).append(",").append(y[index]).append("]");
         }
 
         arrayBuilder.append("]");
         return arrayBuilder.toString();
     }
+
+    private static boolean isSorted(List<Point> points) {
+        double previous = Double.NEGATIVE_INFINITY;
+        for (Point point : points) {
+            double date = point.getX();
+            if (date < previous) {
+                return false;
+            }
+            previous = date;
+        }
+        return true;
+    }
+
+    /**
+     * Select the points to keep, each range of {@link #RANGES} before the last point is reduced separately.
+     *
+     * @return Amount of indexes written to selected.
+     */
+    private static int reduce(double[] x, double[] y, int length, int pointsPerRange, int[] selected) {
+        if (length == 0) {
+            return 0;
+        }
+        double last = x[length - 1];
+
+        int count = 0;
+        int start = 0;
+        for (long range : RANGES) {
+            double rangeStart = last - range;
+            int end = start;
+            while (end < length && x[end] < rangeStart) {
+                end++;
+            }
+            count += LargestTriangleThreeBuckets.reduce(x, y, start, end, pointsPerRange, selected, count);
+            start = end;
+        }
+        count += LargestTriangleThreeBuckets.reduce(x, y, start, length, pointsPerRange, selected, count);
+        return count;
+    }
 }
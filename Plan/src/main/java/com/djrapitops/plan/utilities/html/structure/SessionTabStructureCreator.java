@@ -83,7 +83,9 @@ public class SessionTabStructureCreator {
             String htmlID = "" + session.getSessionStart() + sessionID + i;
 
             String worldId = "worldPie" + session.getSessionStart() + i;
-            WorldTimes worldTimes = session.getWorldTimes();
+            // Copy, so that the missing worlds are not added to the session.
+            WorldTimes worldTimes = new WorldTimes();
+            worldTimes.add(session.getWorldTimes());
             AnalysisUtils.addMissingWorlds(worldTimes);
 
             String[] worldData = WorldPieCreator.createSeriesData(worldTimes);
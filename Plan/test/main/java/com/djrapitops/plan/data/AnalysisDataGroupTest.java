@@ -0,0 +1,67 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Rsl1122
+ */
+public class AnalysisDataGroupTest {
+
+    private AnalysisData analysisData;
+
+    @Before
+    public void setUp() {
+        analysisData = new AnalysisData();
+        analysisData.addValue("playersOnlineSeries", "[[1,2.0],[3,4.0]]");
+        analysisData.addValue("tablePlayerlist", "<table class=\"player-table\"></table>");
+    }
+
+    private JsonObject parse(String json) throws IOException {
+        JsonElement element = new Gson().getAdapter(JsonElement.class).fromJson(json);
+        return element.getAsJsonObject();
+    }
+
+    @Test
+    public void testGetByName() {
+        assertEquals(AnalysisDataGroup.PERFORMANCE, AnalysisDataGroup.getByName("performance").orElse(null));
+        assertFalse(AnalysisDataGroup.getByName("unknown").isPresent());
+    }
+
+    @Test
+    public void testSeriesAreWrittenAsIs() throws IOException {
+        JsonObject json = parse(AnalysisDataGroup.PLAYERS_ONLINE.toJson(analysisData.getReplaceMap()));
+
+        assertEquals(2, json.getAsJsonArray("playersOnlineSeries").size());
+    }
+
+    @Test
+    public void testTextIsWrittenAsString() throws IOException {
+        String json = AnalysisDataGroup.PLAYERS.toJson(analysisData.getReplaceMap());
+
+        assertFalse("Html was not escaped", json.contains("<table"));
+        assertEquals("<table class=\"player-table\"></table>", parse(json).get("tablePlayerlist").getAsString());
+    }
+
+    @Test
+    public void testAllGroupsAreInlined() throws IOException {
+        JsonObject json = parse(AnalysisDataGroup.allToJson(analysisData.getReplaceMap()));
+
+        for (AnalysisDataGroup group : AnalysisDataGroup.values()) {
+            assertTrue(group.getName(), json.has(group.getName()));
+        }
+        JsonObject performance = json.getAsJsonObject("performance");
+        assertEquals(0, performance.getAsJsonArray("tpsSeries").size());
+    }
+}
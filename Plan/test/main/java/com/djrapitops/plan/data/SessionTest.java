@@ -5,8 +5,15 @@
  */
 package main.java.com.djrapitops.plan.data;
 
+import main.java.com.djrapitops.plan.data.container.PlayerKill;
 import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.data.time.WorldTimes;
 import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
 
 /**
  * @author Rsl1122
@@ -17,7 +24,38 @@ public class SessionTest {
 
     @Before
     public void setUp() {
+        session = new Session(1, 1000L, 2000L, 3, 4);
+    }
+
+    @Test
+    public void testLoadedSessionsShareEmptyValues() {
+        Session other = new Session(2, 1000L, 3000L, 0, 0);
+
+        assertTrue(session.isFetchedFromDB());
+        assertSame(session.getWorldTimes(), other.getWorldTimes());
+        assertSame(session.getPlayerKills(), other.getPlayerKills());
+        assertEquals(new WorldTimes(), session.getWorldTimes());
+    }
+
+    @Test
+    public void testPlayerKilledDoesNotChangeSharedList() {
+        Session other = new Session(2, 1000L, 3000L, 0, 0);
+        session.playerKilled(new PlayerKill(UUID.randomUUID(), "Weapon", 1500L));
+
+        assertEquals(1, session.getPlayerKills().size());
+        assertTrue(other.getPlayerKills().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSharedWorldTimesCanNotBeChanged() {
+        session.getWorldTimes().setGMTimesForWorld("World", 1L, 0L, 0L, 0L);
     }
 
-    // TODO Rewrite
+    @Test
+    public void testNewSessionIsNotFetchedFromDB() {
+        Session newSession = new Session(1000L, "World", "SURVIVAL");
+
+        assertFalse(newSession.isFetchedFromDB());
+        assertEquals(-1, newSession.getSessionID());
+    }
 }
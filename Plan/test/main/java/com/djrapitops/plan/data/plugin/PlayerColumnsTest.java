@@ -0,0 +1,61 @@
+package main.java.com.djrapitops.plan.data.plugin;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Rsl1122
+ */
+public class PlayerColumnsTest {
+
+    @Test
+    public void testBatchesCoverAllPlayers() throws Exception {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+        List<Integer> batchSizes = new ArrayList<>();
+
+        PlayerColumns columns = PlayerColumns.fetch(new BatchedData() {
+            @Override
+            public int getBatchSize() {
+                return 3;
+            }
+
+            @Override
+            public void fetchBatch(PlayerColumns.Batch batch) {
+                batchSizes.add(batch.getUuids().size());
+                for (int i = 0; i < batch.getUuids().size(); i++) {
+                    batch.setLong("value", i, 2L);
+                }
+            }
+        }, uuids);
+
+        assertEquals(Arrays.asList(3, 3, 1), batchSizes);
+        assertEquals(7, columns.count("value"));
+        assertEquals(14L, columns.sumLong("value"));
+        assertEquals(new HashSet<>(uuids), columns.toLongMap("value", value -> value).keySet());
+    }
+
+    @Test
+    public void testPerPlayerAdapterSkipsMissingValues() throws Exception {
+        UUID withValue = UUID.randomUUID();
+        UUID withoutValue = UUID.randomUUID();
+
+        PlayerColumns columns = PlayerColumns.fetch(
+                PerPlayerBatch.ofDouble("balance", uuid -> uuid.equals(withValue) ? 12.5 : Double.NaN),
+                Arrays.asList(withValue, withoutValue)
+        );
+
+        assertEquals(1, columns.count("balance"));
+        assertEquals(12.5, columns.sumDouble("balance"), 0.0001);
+        Map<UUID, Serializable> balances = columns.toDoubleMap("balance", value -> value);
+        assertEquals(12.5, (double) balances.get(withValue), 0.0001);
+        assertFalse(balances.containsKey(withoutValue));
+    }
+}
@@ -0,0 +1,184 @@
+package main.java.com.djrapitops.plan.data.plugin;
+
+import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
+import main.java.com.djrapitops.plan.data.element.InspectContainer;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import test.java.utils.TestInit;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Rsl1122
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(JavaPlugin.class)
+public class PluginDataExecutorTest {
+
+    private final List<UUID> uuids = Arrays.asList(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    private PluginDataExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        TestInit.init();
+    }
+
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHangingSourceIsInterruptedAfterTimeout() throws Exception {
+        executor = new PluginDataExecutor(2, 100L);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        TestSource hanging = new TestSource("Hanging", () -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1L));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        TestSource fast = new TestSource("Fast", null);
+
+        Map<PluginData, AnalysisContainer> data = executor.getServerData(Arrays.asList(hanging, fast), uuids);
+
+        assertEquals(Collections.singleton(fast), data.keySet());
+        assertTrue(interrupted.await(1L, TimeUnit.SECONDS));
+        assertEquals(1L, executor.getTimings().get("Hanging").getTimeouts());
+        assertEquals(0L, executor.getTimings().get("Fast").getTimeouts());
+    }
+
+    @Test
+    public void testServerDataIsCachedForSamePlayers() {
+        executor = new PluginDataExecutor(2, 1000L);
+        TestSource source = new TestSource("Cached", null);
+        executor.setCacheTime(source, TimeUnit.MINUTES.toMillis(1L));
+        List<PluginData> sources = Collections.singletonList(source);
+
+        assertFalse(executor.getServerData(sources, uuids).isEmpty());
+        List<UUID> reversed = new ArrayList<>(uuids);
+        Collections.reverse(reversed);
+        assertFalse(executor.getServerData(sources, reversed).isEmpty());
+
+        assertEquals(1, source.serverDataCalls.get());
+        assertEquals(1L, executor.getTimings().get("Cached").getCacheHits());
+
+        // Result of other players is not taken from the cache.
+        assertFalse(executor.getServerData(sources, uuids.subList(0, 2)).isEmpty());
+        assertEquals(2, source.serverDataCalls.get());
+    }
+
+    @Test
+    public void testCachedServerDataExpires() throws InterruptedException {
+        executor = new PluginDataExecutor(2, 1000L);
+        TestSource source = new TestSource("Expiring", null);
+        executor.setCacheTime(source, 50L);
+        List<PluginData> sources = Collections.singletonList(source);
+
+        executor.getServerData(sources, uuids);
+        Thread.sleep(100L);
+        executor.getServerData(sources, uuids);
+
+        assertEquals(2, source.serverDataCalls.get());
+        assertEquals(0L, executor.getTimings().get("Expiring").getCacheHits());
+    }
+
+    @Test
+    public void testSourcesOverQueueSizeAreSkipped() {
+        executor = new PluginDataExecutor(1, 100L, 1);
+        TestSource hanging = new TestSource("Hanging", () -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1L));
+            } catch (InterruptedException ignored) {
+                /* Interrupted by the timeout */
+            }
+        });
+        TestSource queued = new TestSource("Queued", null);
+        TestSource rejected = new TestSource("Rejected", null);
+
+        Map<PluginData, AnalysisContainer> data = executor.getServerData(Arrays.asList(hanging, queued, rejected), uuids);
+
+        assertEquals(Collections.singleton(queued), data.keySet());
+        assertEquals(0, rejected.serverDataCalls.get());
+    }
+
+    @Test
+    public void testBatchedSourceIsFetchedInBatches() {
+        executor = new PluginDataExecutor(2, 1000L);
+        BatchedTestSource source = new BatchedTestSource();
+
+        Map<PluginData, AnalysisContainer> data = executor.getServerData(Collections.singletonList(source), uuids);
+
+        assertEquals(Collections.singleton(source), data.keySet());
+        assertEquals(Arrays.asList(2, 1), source.batchSizes);
+        assertEquals(0, ((TestSource) source).serverDataCalls.get());
+    }
+
+    private static class BatchedTestSource extends TestSource implements BatchedServerData {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        BatchedTestSource() {
+            super("Batched", null);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return 2;
+        }
+
+        @Override
+        public void fetchBatch(PlayerColumns.Batch batch) {
+            batchSizes.add(batch.getUuids().size());
+            for (int i = 0; i < batch.getUuids().size(); i++) {
+                batch.setLong("Value", i, 1L);
+            }
+        }
+
+        @Override
+        public AnalysisContainer getServerData(PlayerColumns columns, AnalysisContainer fillThis) {
+            fillThis.addValue("Players", columns.count("Value"));
+            return fillThis;
+        }
+    }
+
+    private static class TestSource extends PluginData {
+
+        private final Runnable work;
+        private final AtomicInteger serverDataCalls = new AtomicInteger();
+
+        TestSource(String name, Runnable work) {
+            super(ContainerSize.THIRD, name);
+            this.work = work;
+        }
+
+        @Override
+        public InspectContainer getPlayerData(UUID uuid, InspectContainer fillThis) {
+            fillThis.addValue("Value", 1);
+            return fillThis;
+        }
+
+        @Override
+        public AnalysisContainer getServerData(Collection<UUID> uuids, AnalysisContainer fillThis) {
+            serverDataCalls.incrementAndGet();
+            if (work != null) {
+                work.run();
+            }
+            fillThis.addValue("Players", uuids.size());
+            return fillThis;
+        }
+    }
+}
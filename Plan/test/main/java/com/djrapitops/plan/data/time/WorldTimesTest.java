@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Rsl1122
@@ -169,4 +170,28 @@ public class WorldTimesTest {
         assertEquals(2000L, worldTwoGMTimes.getTime("CREATIVE"));
         assertEquals(2000L, worldOneGMTimes.getTime("ADVENTURE"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAdd() {
+        worldTimes.updateState(worldTwo, "CREATIVE", time + 1000L);
+        worldTimes.updateState(worldTwo, "CREATIVE", time + 3000L);
+
+        WorldTimes total = new WorldTimes();
+        total.setGMTimesForWorld(worldTwo, 1L, 2L, 3L, 4L);
+        total.add(worldTimes);
+        total.add(worldTimes);
+
+        assertEquals(2000L, total.getGMTimes(worldOne).getTime("SURVIVAL"));
+        assertEquals(1L, total.getGMTimes(worldTwo).getTime("SURVIVAL"));
+        assertEquals(4002L, total.getGMTimes(worldTwo).getTime("CREATIVE"));
+        assertEquals(6010L, total.getTotal());
+    }
+
+    @Test
+    public void testWorldNamesAreShared() {
+        WorldTimes loaded = new WorldTimes();
+        loaded.setGMTimesForWorld(new String(worldOne.toCharArray()), 1L, 0L, 0L, 0L);
+
+        assertTrue(worldTimes.getWorld(0) == loaded.getWorld(0));
+    }
+}
@@ -15,9 +15,12 @@ import main.java.com.djrapitops.plan.database.databases.MySQLDB;
 import main.java.com.djrapitops.plan.database.databases.SQLDB;
 import main.java.com.djrapitops.plan.database.databases.SQLiteDB;
 import main.java.com.djrapitops.plan.database.tables.*;
+import main.java.com.djrapitops.plan.database.tables.clean.RetentionCleaner;
+import main.java.com.djrapitops.plan.database.tables.move.DatabaseCopier;
 import main.java.com.djrapitops.plan.systems.cache.DataCache;
 import main.java.com.djrapitops.plan.systems.info.server.ServerInfo;
 import main.java.com.djrapitops.plan.systems.processing.player.RegisterProcessor;
+import main.java.com.djrapitops.plan.systems.queue.ShutdownDrainer;
 import main.java.com.djrapitops.plan.utilities.ManageUtils;
 import main.java.com.djrapitops.plan.utilities.MiscUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
@@ -37,10 +40,15 @@ import test.java.utils.TestInit;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -241,6 +249,26 @@ public class DatabaseTest {
         assertEquals(expected, tpsTable.getTPSData());
     }
 
+    @Test
+    public void testJVMStatsSaving() throws Exception {
+        JVMStatsTable jvmStatsTable = db.getJvmStatsTable();
+
+        List<JVMStats> expected = new ArrayList<>();
+        expected.add(new JVMStats(60000L, 12.5, 4, 45L, 0, 0L, 120.25, 42, 80L));
+        expected.add(new JVMStats(120000L, -1, 3, 30L, 1, 250L, -1, 40, -1L));
+
+        for (JVMStats stats : expected) {
+            jvmStatsTable.insertJVMStats(stats);
+        }
+
+        commitTest();
+
+        assertEquals(expected, jvmStatsTable.getJVMStats(Plan.getServerUUID()));
+
+        assertEquals(1, jvmStatsTable.removeBetween(0L, 100000L));
+        assertEquals(expected.subList(1, 2), jvmStatsTable.getJVMStats(Plan.getServerUUID()));
+    }
+
     private void saveUserOne() throws SQLException {
         saveUserOne(db);
     }
@@ -297,6 +325,62 @@ public class DatabaseTest {
         assertEquals(expectedGeoLoc, result.get());
     }
 
+    @Test
+    public void testIPTableUpdatesExistingIP() throws SQLException {
+        saveUserOne();
+        IPsTable ipsTable = db.getIpsTable();
+
+        ipsTable.saveGeoInfo(uuid, new GeoInfo("1.2.3.4", "TestLocation", 1000L));
+        ipsTable.saveGeoInfo(uuid, new GeoInfo("1.2.3.4", "TestLocation2", 2000L));
+        ipsTable.saveGeoInfo(uuid, new GeoInfo("5.6.7.8", "TestLocation", 3000L));
+        commitTest();
+
+        List<GeoInfo> geoInfo = ipsTable.getAllGeoInfo().get(uuid);
+        assertEquals(2, geoInfo.size());
+        GeoInfo updated = geoInfo.stream().filter(info -> info.getIp().equals("1.2.3.4")).findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals("TestLocation2", updated.getGeolocation());
+        assertEquals(2000L, updated.getLastUsed());
+        assertEquals(0, ipsTable.removeDuplicates(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testCompactIPsMergesDuplicateRows() throws SQLException, DatabaseInitException {
+        saveUserOne();
+        SQLDB sqlDB = (SQLDB) db;
+
+        // Table as it was before schema version 15, without the unique (user, ip) key.
+        Connection connection = sqlDB.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE plan_ips");
+            statement.execute("CREATE TABLE plan_ips (user_id integer NOT NULL, ip varchar(39) NOT NULL, " +
+                    "geolocation varchar(50) NOT NULL, last_used bigint NOT NULL DEFAULT 0)");
+            String userID = "(SELECT id FROM plan_users WHERE uuid='" + uuid + "')";
+            statement.execute("INSERT INTO plan_ips VALUES (" + userID + ", '1.2.3.4', 'Oldest', 1000)");
+            statement.execute("INSERT INTO plan_ips VALUES (" + userID + ", '1.2.3.4', 'Newest', 3000)");
+            statement.execute("INSERT INTO plan_ips VALUES (" + userID + ", '1.2.3.4', 'Middle', 2000)");
+            statement.execute("INSERT INTO plan_ips VALUES (" + userID + ", '5.6.7.8', 'Other', 500)");
+            statement.execute("INSERT INTO plan_ips VALUES (" + userID + ", '5.6.7.8', 'Other', 500)");
+        }
+        sqlDB.commit(connection);
+
+        assertEquals(3, sqlDB.compactIPs());
+        commitTest();
+
+        IPsTable ipsTable = db.getIpsTable();
+        ipsTable.saveGeoInfo(uuid, new GeoInfo("5.6.7.8", "Other", 4000L));
+        commitTest();
+
+        Map<String, GeoInfo> byIP = new HashMap<>();
+        for (GeoInfo info : ipsTable.getAllGeoInfo().get(uuid)) {
+            assertNull("Duplicate row for " + info.getIp(), byIP.put(info.getIp(), info));
+        }
+        assertEquals(2, byIP.size());
+        assertEquals("Newest", byIP.get("1.2.3.4").getGeolocation());
+        assertEquals(3000L, byIP.get("1.2.3.4").getLastUsed());
+        assertEquals(4000L, byIP.get("5.6.7.8").getLastUsed());
+    }
+
     @Test
     public void testNicknamesTable() throws SQLException, DatabaseInitException {
         saveUserOne();
@@ -350,6 +434,22 @@ public class DatabaseTest {
         assertEquals(new HashSet<>(worlds), new HashSet<>(saved));
     }
 
+    @Test
+    public void testDictionaryTable() throws SQLException {
+        DictionaryTable dictionaryTable = db.getDictionaryTable();
+        List<String> values = Arrays.asList("Diamond Sword", "Bow", "Iron Axe");
+
+        Map<String, Integer> ids = dictionaryTable.getIDs(values);
+        commitTest();
+
+        assertEquals(new HashSet<>(values), ids.keySet());
+        assertEquals(3, new HashSet<>(ids.values()).size());
+        assertEquals(ids, dictionaryTable.getIDs(values));
+        for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+            assertEquals(entry.getKey(), dictionaryTable.getValue(entry.getValue()));
+        }
+    }
+
     private void saveTwoWorlds() throws SQLException {
         saveTwoWorlds(db);
     }
@@ -449,6 +549,160 @@ public class DatabaseTest {
         assertEquals(22345L, (long) lastSeen.get(uuid));
     }
 
+    @Test
+    public void testSaveSessionsInSingleTransaction() throws SQLException, DatabaseInitException {
+        saveUserOne();
+        saveUserTwo();
+
+        Session session = new Session(12345L, "", "");
+        session.endSession(22345L);
+        session.setWorldTimes(createWorldTimes());
+        session.setPlayerKills(createKills());
+        Session session2 = new Session(32345L, "", "");
+        session2.endSession(42345L);
+        session2.setWorldTimes(createWorldTimes());
+        session2.setPlayerKills(new ArrayList<>());
+
+        Map<UUID, List<Session>> toSave = new HashMap<>();
+        toSave.put(uuid, Collections.singletonList(session));
+        toSave.put(uuid2, Collections.singletonList(session2));
+
+        SessionsTable sessionsTable = db.getSessionsTable();
+        sessionsTable.saveSessions(toSave);
+        // World IDs are cached after the first save
+        sessionsTable.saveSessions(toSave);
+
+        commitTest();
+
+        assertNotEquals(session.getSessionID(), session2.getSessionID());
+        assertEquals(new HashSet<>(worlds), new HashSet<>(db.getWorldTable().getWorlds()));
+
+        List<Session> savedSessions = sessionsTable.getSessions(uuid).get(Plan.getServerUUID());
+        assertEquals(2, savedSessions.size());
+        assertEquals(session, savedSessions.get(0));
+
+        List<Session> savedSessions2 = sessionsTable.getSessions(uuid2).get(Plan.getServerUUID());
+        assertEquals(2, savedSessions2.size());
+        assertEquals(session2, savedSessions2.get(0));
+    }
+
+    @Test
+    public void testFailedSessionSaveKeepsPendingStatementsOnSQLite() throws SQLException, DatabaseInitException {
+        saveUserOne();
+        SQLDB sqlDB = (SQLDB) db;
+        // Statement of another thread on the shared SQLite connection, not committed yet.
+        Connection connection = sqlDB.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO plan_worlds (world_name) VALUES ('PendingWorld')");
+        }
+
+        Session session = new Session(12345L, "", "");
+        session.endSession(22345L);
+        session.setWorldTimes(createWorldTimes());
+        session.setPlayerKills(createKills());
+        Session session2 = new Session(32345L, "", "");
+        session2.endSession(42345L);
+        session2.setWorldTimes(createWorldTimes());
+        session2.setPlayerKills(new ArrayList<>());
+        Map<UUID, List<Session>> toSave = new LinkedHashMap<>();
+        toSave.put(uuid, Collections.singletonList(session));
+        // Player two is not registered, so the second session can not be saved.
+        toSave.put(uuid2, Collections.singletonList(session2));
+        try {
+            db.getSessionsTable().saveSessions(toSave);
+            fail("Session of a player that is not registered was saved");
+        } catch (SQLException expected) {
+            /* Expected */
+        }
+        sqlDB.commit(connection);
+        commitTest();
+
+        assertTrue(db.getWorldTable().getWorlds().contains("PendingWorld"));
+        assertTrue(db.getSessionsTable().getSessions(uuid).isEmpty());
+    }
+
+    @Test
+    public void testReplaySpillSkipsSavedSessions() throws SQLException, IOException {
+        saveUserOne();
+
+        Session savedSession = new Session(12345L, "", "");
+        savedSession.endSession(22345L);
+        savedSession.setWorldTimes(createWorldTimes());
+        savedSession.setPlayerKills(new ArrayList<>());
+        Session unsavedSession = new Session(32345L, "", "");
+        unsavedSession.endSession(42345L);
+        unsavedSession.setWorldTimes(createWorldTimes());
+        unsavedSession.setPlayerKills(new ArrayList<>());
+
+        File spillFile = new File(plan.getDataFolder(), "unsaved-sessions-test.json");
+        Files.deleteIfExists(spillFile.toPath());
+        Map<UUID, List<Session>> spilled = Collections.singletonMap(uuid, Arrays.asList(savedSession, unsavedSession));
+        // Spilled twice, as if two shutdowns had failed to save the same sessions.
+        ShutdownDrainer.writeSpill(spillFile, spilled);
+        ShutdownDrainer.writeSpill(spillFile, spilled);
+
+        SessionsTable sessionsTable = db.getSessionsTable();
+        // Saved after the spill by a save that was still running at the shutdown deadline.
+        sessionsTable.saveSession(uuid, savedSession);
+
+        ShutdownDrainer.replaySpill(db, spillFile);
+        commitTest();
+
+        assertFalse(spillFile.exists());
+        List<Session> savedSessions = sessionsTable.getSessions(uuid).get(Plan.getServerUUID());
+        assertEquals(2, savedSessions.size());
+        assertEquals(Arrays.asList(12345L, 32345L), savedSessions.stream()
+                .map(Session::getSessionStart)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRetentionCleanerRemovesOldDataInChunks() throws SQLException {
+        saveUserOne();
+        saveUserTwo();
+
+        Session oldSession = new Session(12345L, "", "");
+        oldSession.endSession(22345L);
+        oldSession.setWorldTimes(createWorldTimes());
+        oldSession.setPlayerKills(createKills());
+        Session newSession = new Session(32345L, "", "");
+        newSession.endSession(42345L);
+        newSession.setWorldTimes(createWorldTimes());
+        newSession.setPlayerKills(createKills());
+
+        Map<UUID, List<Session>> toSave = new HashMap<>();
+        toSave.put(uuid, Collections.singletonList(oldSession));
+        toSave.put(uuid2, Collections.singletonList(newSession));
+        db.getSessionsTable().saveSessions(toSave);
+
+        TPSTable tpsTable = db.getTpsTable();
+        tpsTable.insertTPS(new TPS(1000L, 20.0, 1, 0, 0, 0, 0));
+        tpsTable.insertTPS(new TPS(61000L, 20.0, 5, 0, 0, 0, 0));
+        tpsTable.insertTPS(new TPS(121000L, 20.0, 1, 0, 0, 0, 0));
+        tpsTable.insertTPS(new TPS(30000000L, 20.0, 1, 0, 0, 0, 0));
+
+        commitTest();
+
+        List<String> progress = new ArrayList<>();
+        RetentionCleaner cleaner = new RetentionCleaner((SQLDB) db, 1, 0L, progress::add);
+
+        assertEquals(2, cleaner.cleanTPS(200000L));
+        assertEquals(1, cleaner.cleanSessions(30000L));
+        assertEquals(0, cleaner.cleanOrphans());
+        assertFalse(progress.isEmpty());
+
+        List<Long> tpsDates = tpsTable.getTPSData().stream().map(TPS::getDate).sorted().collect(Collectors.toList());
+        assertEquals(Arrays.asList(61000L, 30000000L), tpsDates);
+
+        Map<Integer, WorldTimes> worldTimes = db.getWorldTimesTable().getAllWorldTimesBySessionID();
+        Map<Integer, List<PlayerKill>> kills = db.getKillsTable().getAllPlayerKillsBySessionID();
+        assertEquals(Collections.singleton(newSession.getSessionID()), worldTimes.keySet());
+        assertEquals(Collections.singleton(newSession.getSessionID()), kills.keySet());
+        assertEquals(Collections.singletonList(newSession), db.getSessionsTable().getSessions(uuid2).get(Plan.getServerUUID()));
+        assertNull(db.getSessionsTable().getSessions(uuid).get(Plan.getServerUUID()));
+    }
+
     @Test
     public void testUserInfoTableRegisterUnRegistered() throws SQLException, DatabaseInitException {
         UserInfoTable userInfoTable = db.getUserInfoTable();
@@ -623,6 +877,7 @@ public class DatabaseTest {
         assertTrue(db.getCommandUse().isEmpty());
         assertTrue(db.getWorldTable().getWorlds().isEmpty());
         assertTrue(tpsTable.getTPSData().isEmpty());
+        assertTrue(db.getJvmStatsTable().getJVMStats(Plan.getServerUUID()).isEmpty());
         assertTrue(db.getServerTable().getBukkitServers().isEmpty());
         assertTrue(securityTable.getUsers().isEmpty());
     }
@@ -679,11 +934,103 @@ public class DatabaseTest {
         for (TPS tps : expected) {
             tpsTable.insertTPS(tps);
         }
+        database.getJvmStatsTable().insertJVMStats(new JVMStats(expected.get(0).getDate(), 12.5, 4, 45L, 1, 150L, 120.25, 42, 80L));
 
         securityTable.addNewUser(new WebUser("Test", "RandomGarbageBlah", 0));
         System.out.println("Done!\n");
     }
 
+    @Test
+    public void testActivitySnapshotTable() throws SQLException, DatabaseInitException {
+        saveUserOne();
+        saveUserTwo();
+        ActivitySnapshotTable snapshotTable = db.getActivitySnapshotTable();
+        UUID serverUUID = Plan.getServerUUID();
+
+        Map<UUID, String> groups = new HashMap<>();
+        groups.put(uuid, "Active");
+        groups.put(uuid2, "Inactive");
+        snapshotTable.saveSnapshot(serverUUID, 1000L, groups);
+        groups.put(uuid2, "Active");
+        snapshotTable.saveSnapshot(serverUUID, 2000L, groups);
+        // Another analysis saving the same week.
+        snapshotTable.saveSnapshot(serverUUID, 2000L, groups);
+
+        commitTest();
+
+        assertEquals(new HashSet<>(Arrays.asList(1000L, 2000L)), snapshotTable.getSnapshotDates(serverUUID));
+
+        TreeMap<Long, Map<String, Integer>> counts = snapshotTable.getGroupCounts(serverUUID, 1500L);
+        assertEquals(1, counts.size());
+        assertEquals(2, (int) counts.get(2000L).get("Active"));
+
+        Map<String, Set<UUID>> savedGroups = snapshotTable.getGroups(serverUUID, 1000L);
+        assertEquals(Collections.singleton(uuid), savedGroups.get("Active"));
+        assertEquals(Collections.singleton(uuid2), savedGroups.get("Inactive"));
+
+        db.removeAccount(uuid2);
+        assertEquals(1, (int) snapshotTable.getGroupCounts(serverUUID, 0L).get(2000L).get("Active"));
+    }
+
+    private void createOldLayoutKillsTable(Statement statement, String table) throws SQLException {
+        statement.execute("CREATE TABLE " + table + " (killer_id integer NOT NULL, victim_id integer NOT NULL, " +
+                "weapon varchar(30) NOT NULL, date bigint NOT NULL, session_id integer NOT NULL)");
+        String killerID = "(SELECT id FROM plan_users WHERE uuid='" + uuid + "')";
+        String victimID = "(SELECT id FROM plan_users WHERE uuid='" + uuid2 + "')";
+        statement.execute("INSERT INTO " + table + " VALUES (" + killerID + ", " + victimID + ", 'Diamond Sword', 1000, 1)");
+        statement.execute("INSERT INTO " + table + " VALUES (" + killerID + ", " + victimID + ", 'Bow', 2000, 1)");
+    }
+
+    private void assertOldLayoutKillsMoved() throws SQLException {
+        KillsTable killsTable = db.getKillsTable();
+        assertFalse(killsTable.hasWeaponNames());
+        List<PlayerKill> kills = killsTable.getPlayerKills().get(uuid);
+        assertNotNull(kills);
+        assertEquals(2, kills.size());
+        Set<String> weapons = kills.stream().map(PlayerKill::getWeapon).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList("Diamond Sword", "Bow")), weapons);
+    }
+
+    @Test
+    public void testKillsTableMovesWeaponsOfOldLayout() throws SQLException, DatabaseInitException {
+        saveUserOne();
+        saveUserTwo();
+        SQLDB sqlDB = (SQLDB) db;
+
+        // Table as it was before weapon names were moved to plan_dictionary.
+        Connection connection = sqlDB.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE plan_kills");
+            createOldLayoutKillsTable(statement, "plan_kills");
+        }
+        sqlDB.commit(connection);
+        assertTrue(db.getKillsTable().hasWeaponNames());
+
+        // Moved during setupDatabase.
+        commitTest();
+
+        assertOldLayoutKillsMoved();
+    }
+
+    @Test
+    public void testKillsTableFinishesInterruptedWeaponMove() throws SQLException, DatabaseInitException {
+        saveUserOne();
+        saveUserTwo();
+        SQLDB sqlDB = (SQLDB) db;
+
+        // Earlier version of the move renamed plan_kills to temp_kills before copying.
+        Connection connection = sqlDB.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            createOldLayoutKillsTable(statement, "temp_kills");
+        }
+        sqlDB.commit(connection);
+
+        commitTest();
+        commitTest();
+
+        assertOldLayoutKillsMoved();
+    }
+
     @Test
     public void testServerTableBungeeSave() throws SQLException, DatabaseInitException {
         ServerTable serverTable = db.getServerTable();
@@ -807,6 +1154,153 @@ public class DatabaseTest {
         assertFalse(securityTable.getUsers().isEmpty());
     }
 
+    @Test
+    public void testCopyInChunksKeepsReferences() throws SQLException, DatabaseInitException {
+        SQLiteDB backup = new SQLiteDB(plan, "debug-backup" + MiscUtils.getTime());
+        backup.init();
+        this.backup = backup;
+
+        saveAllData(db);
+
+        File checkpointFile = new File(plan.getDataFolder(), "DBCopyCheckpoint-test.properties");
+        List<String> progress = new ArrayList<>();
+        new DatabaseCopier((SQLDB) db, backup, checkpointFile, 1, 4, progress::add).copy();
+
+        assertFalse(checkpointFile.exists());
+        assertFalse(progress.isEmpty());
+        assertEquals(db.getSessionsTable().getAllSessions(true), backup.getSessionsTable().getAllSessions(true));
+        // Rows without an ID column are copied in the order of their unique columns.
+        assertEquals(new HashSet<>(db.getTpsTable().getTPSData()), new HashSet<>(backup.getTpsTable().getTPSData()));
+        assertEquals(db.getCommandUse(), backup.getCommandUse());
+    }
+
+    @Test
+    public void testCopyDoesNotResumeCheckpointOfOtherCopy() throws SQLException, DatabaseInitException, IOException {
+        SQLiteDB backup = new SQLiteDB(plan, "debug-backup" + MiscUtils.getTime());
+        backup.init();
+        this.backup = backup;
+
+        saveAllData(db);
+
+        // Checkpoint of an older copy between the same databases, its token is not in the target.
+        File checkpointFile = new File(plan.getDataFolder(), "DBCopyCheckpoint-stale-test.properties");
+        Properties staleCheckpoint = new Properties();
+        staleCheckpoint.setProperty("copy", ((SQLDB) db).getIdentifier() + " -> " + backup.getIdentifier());
+        staleCheckpoint.setProperty("token", UUID.randomUUID().toString());
+        staleCheckpoint.setProperty(db.getServerTable().getTableName(), "done");
+        staleCheckpoint.setProperty(db.getUsersTable().getTableName(), "done");
+        staleCheckpoint.setProperty(db.getSessionsTable().getTableName(), "done");
+        try (Writer writer = Files.newBufferedWriter(checkpointFile.toPath())) {
+            staleCheckpoint.store(writer, null);
+        }
+
+        List<String> progress = new ArrayList<>();
+        new DatabaseCopier((SQLDB) db, backup, checkpointFile, 1, 4, progress::add).copy();
+
+        assertFalse(checkpointFile.exists());
+        assertTrue(progress.stream().noneMatch(message -> message.startsWith("Resuming")));
+        assertEquals(db.getSessionsTable().getAllSessions(true), backup.getSessionsTable().getAllSessions(true));
+    }
+
+    @Test
+    public void testCopyResumesTableWithoutIDColumn() throws SQLException, DatabaseInitException, IOException {
+        SQLiteDB backup = new SQLiteDB(plan, "debug-backup" + MiscUtils.getTime());
+        backup.init();
+        this.backup = backup;
+
+        saveAllData(db);
+
+        File checkpointFile = new File(plan.getDataFolder(), "DBCopyCheckpoint-resume-test.properties");
+        new DatabaseCopier((SQLDB) db, backup, checkpointFile, 1, 4, message -> {
+        }).copy();
+
+        // Copy that was interrupted after the first two rows of the TPS table were committed.
+        String tpsTableName = backup.getTpsTable().getTableName();
+        String token = UUID.randomUUID().toString();
+        Connection connection = backup.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM " + tpsTableName + " WHERE date IN (SELECT date FROM " + tpsTableName + " ORDER BY date DESC LIMIT 2)");
+            statement.execute("CREATE TABLE plan_copy_token (token varchar(36) NOT NULL)");
+            statement.execute("INSERT INTO plan_copy_token (token) VALUES ('" + token + "')");
+        }
+        backup.commit(connection);
+        assertEquals(2, backup.getTpsTable().getTPSData().size());
+
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("copy", ((SQLDB) db).getIdentifier() + " -> " + backup.getIdentifier());
+        checkpoint.setProperty("token", token);
+        for (Table table : ((SQLDB) db).getAllTables()) {
+            checkpoint.setProperty(table.getTableName(), "done");
+        }
+        checkpoint.setProperty(tpsTableName, "started");
+        try (Writer writer = Files.newBufferedWriter(checkpointFile.toPath())) {
+            checkpoint.store(writer, null);
+        }
+
+        List<String> progress = new ArrayList<>();
+        new DatabaseCopier((SQLDB) db, backup, checkpointFile, 1, 4, progress::add).copy();
+
+        assertTrue(progress.stream().anyMatch(message -> message.startsWith("Resuming")));
+        assertEquals(new HashSet<>(db.getTpsTable().getTPSData()), new HashSet<>(backup.getTpsTable().getTPSData()));
+        assertEquals(db.getSessionsTable().getAllSessions(true), backup.getSessionsTable().getAllSessions(true));
+    }
+
+    @Test
+    public void testSQLiteOnlineBackup() throws SQLException, DatabaseInitException {
+        saveAllData(db);
+
+        String backupName = "debug-backup" + MiscUtils.getTime();
+        ((SQLiteDB) db).backupTo(new File(plan.getDataFolder(), backupName + ".db"));
+
+        SQLiteDB backup = new SQLiteDB(plan, backupName);
+        backup.init();
+        this.backup = backup;
+
+        assertEquals(db.getSessionsTable().getAllSessions(true), backup.getSessionsTable().getAllSessions(true));
+        assertEquals(db.getTpsTable().getTPSData(), backup.getTpsTable().getTPSData());
+        assertEquals(db.getCommandUse(), backup.getCommandUse());
+    }
+
+    @Test
+    public void testRemoveOldBackups() throws IOException {
+        File folder = new File(plan.getDataFolder(), "backup-rotation-test");
+        assertTrue(folder.mkdirs() || folder.exists());
+        for (int i = 0; i < 4; i++) {
+            File backupFile = new File(folder, "sqlite-autobackup-" + i + ".db");
+            assertTrue(backupFile.createNewFile() || backupFile.exists());
+            assertTrue(backupFile.setLastModified(1500000000000L + i * 1000L));
+        }
+        File manualBackup = new File(folder, "sqlite-backup-0.db");
+        assertTrue(manualBackup.createNewFile() || manualBackup.exists());
+        assertTrue(manualBackup.setLastModified(1400000000000L));
+
+        ManageUtils.removeOldBackups(folder, "sqlite", 0);
+        assertTrue(new File(folder, "sqlite-autobackup-0.db").exists());
+
+        ManageUtils.removeOldBackups(folder, "sqlite", 2);
+
+        assertFalse(new File(folder, "sqlite-autobackup-0.db").exists());
+        assertFalse(new File(folder, "sqlite-autobackup-1.db").exists());
+        assertTrue(new File(folder, "sqlite-autobackup-2.db").exists());
+        assertTrue(new File(folder, "sqlite-autobackup-3.db").exists());
+        assertTrue(manualBackup.exists());
+    }
+
+    @Test
+    public void testBackupFileNameDoesNotReplaceBackup() throws IOException {
+        File folder = new File(plan.getDataFolder(), "backup-name-test");
+        assertTrue(folder.mkdirs() || folder.exists());
+
+        String first = ManageUtils.getBackupFileName(folder, "sqlite-backup-");
+        File firstFile = new File(folder, first + ".db");
+        assertTrue(firstFile.createNewFile() || firstFile.exists());
+        String second = ManageUtils.getBackupFileName(folder, "sqlite-backup-");
+
+        assertTrue(first.startsWith("sqlite-backup-"));
+        assertNotEquals(first, second);
+        assertFalse(new File(folder, second + ".db").exists());
+    }
+
     @Test
     public void testSaveWorldTimes() throws SQLException {
         saveUserOne();
@@ -869,6 +1363,44 @@ public class DatabaseTest {
         assertEquals(worldTimes, allSessions.get(serverUUID).get(uuid).get(0).getWorldTimes());
     }
 
+    @Test
+    public void testInsertSessionsInChunks() throws SQLException {
+        saveUserOne();
+        saveUserTwo();
+        SessionsTable sessionsTable = db.getSessionsTable();
+
+        Map<UUID, List<Session>> sessionMap = new HashMap<>();
+        List<Session> sessions = new ArrayList<>();
+        // Sessions of one player are split into two chunks.
+        int sessionCount = SessionsTable.INSERT_CHUNK_SIZE + 10;
+        for (int i = 0; i < sessionCount; i++) {
+            // Same start for every session, IDs can not be matched by start date.
+            Session session = new Session(-1, 12345L, 23456L, 0, 0);
+            session.setWorldTimes(createWorldTimes());
+            session.setPlayerKills(Collections.singletonList(new PlayerKill(uuid2, "Iron Sword", 4321L)));
+            sessions.add(session);
+        }
+        sessionMap.put(uuid, sessions);
+        Session session2 = new Session(-1, 12345L, 23456L, 0, 0);
+        session2.setWorldTimes(createWorldTimes());
+        sessionMap.put(uuid2, Collections.singletonList(session2));
+
+        UUID serverUUID = Plan.getServerUUID();
+        sessionsTable.insertSessions(Collections.singletonMap(serverUUID, sessionMap), true);
+
+        Set<Integer> ids = sessions.stream().map(Session::getSessionID).collect(Collectors.toSet());
+        assertEquals(sessionCount, ids.size());
+        assertFalse(ids.contains(session2.getSessionID()));
+
+        Map<UUID, List<Session>> savedSessions = sessionsTable.getAllSessions(true).get(serverUUID);
+        assertEquals(sessionCount, savedSessions.get(uuid).size());
+        for (Session saved : savedSessions.get(uuid)) {
+            assertEquals(1, saved.getPlayerKills().size());
+            assertEquals(createWorldTimes(), saved.getWorldTimes());
+        }
+        assertEquals(session2, savedSessions.get(uuid2).get(0));
+    }
+
     @Test
     public void testRegisterProcessorRegisterException() throws SQLException {
         assertFalse(db.getUsersTable().isRegistered(uuid));
@@ -0,0 +1,74 @@
+package main.java.com.djrapitops.plan.systems.info;
+
+import main.java.com.djrapitops.plan.data.AnalysisData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rsl1122
+ */
+public class AnalysisSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final UUID serverUUID = UUID.randomUUID();
+
+    private AnalysisData createAnalysisData() {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            longValue.append("[").append(i).append(",ä]");
+        }
+        Map<String, Serializable> values = new HashMap<>();
+        values.put("playersTotal", 52L);
+        values.put("serverName", "Server ä");
+        values.put("playersOnlineSeries", longValue.toString());
+        values.put("empty", "");
+        Map<String, Long> analyzedValues = new HashMap<>();
+        analyzedValues.put("playersTotal", 52L);
+        analyzedValues.put("now", 1234567890123L);
+        return new AnalysisData(1234567890123L, values, analyzedValues);
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        File snapshotFile = new File(temporaryFolder.getRoot(), "analysis-snapshot.dat");
+        AnalysisData analysisData = createAnalysisData();
+
+        AnalysisSnapshot.write(snapshotFile, analysisData, "4.1.0", serverUUID);
+        Optional<AnalysisData> read = AnalysisSnapshot.read(snapshotFile, "4.1.0", serverUUID);
+
+        assertTrue(read.isPresent());
+        AnalysisData restored = read.get();
+        assertEquals(1234567890123L, restored.getRefreshDate());
+        assertEquals(52L, restored.value("playersTotal"));
+        assertEquals(analysisData.getAnalyzedValues(), restored.getAnalyzedValues());
+        assertEquals(analysisData.getReplaceMap().size(), restored.getReplaceMap().size());
+        for (Map.Entry<String, Serializable> entry : analysisData.getReplaceMap().entrySet()) {
+            assertEquals(entry.getValue().toString(), restored.get(entry.getKey()));
+        }
+        assertTrue(restored.getPlayers().isEmpty());
+        assertFalse(new File(temporaryFolder.getRoot(), "analysis-snapshot.dat.tmp").exists());
+    }
+
+    @Test
+    public void testSnapshotOfOtherVersionOrServerIsIgnored() throws Exception {
+        File snapshotFile = new File(temporaryFolder.getRoot(), "analysis-snapshot.dat");
+        AnalysisSnapshot.write(snapshotFile, createAnalysisData(), "4.1.0", serverUUID);
+
+        assertFalse(AnalysisSnapshot.read(snapshotFile, "4.1.1", serverUUID).isPresent());
+        assertFalse(AnalysisSnapshot.read(snapshotFile, "4.1.0", UUID.randomUUID()).isPresent());
+    }
+}
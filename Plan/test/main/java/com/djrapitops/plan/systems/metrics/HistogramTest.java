@@ -0,0 +1,75 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rsl1122
+ */
+public class HistogramTest {
+
+    @Test
+    public void testBucketsCoverAllValues() {
+        long previousUpper = -1;
+        for (int i = 0; i < Histogram.BUCKET_COUNT; i++) {
+            long lower = Histogram.getBucketLowerBound(i);
+            assertEquals("Gap before bucket " + i, previousUpper + 1, lower);
+            assertEquals(i, Histogram.getBucketIndex(lower));
+            previousUpper = Histogram.getBucketUpperBound(i);
+            if (i + 1 < Histogram.BUCKET_COUNT) {
+                assertEquals(i, Histogram.getBucketIndex(previousUpper));
+            }
+        }
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.getBucketIndex(Histogram.MAX_TRACKED_VALUE));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 1000L);
+        }
+
+        assertEquals(100000, histogram.getCount());
+        assertEquals(100000000L, histogram.getMax());
+        assertPrecision(50000000L, histogram.getValueAtPercentile(50.0));
+        assertPrecision(95000000L, histogram.getValueAtPercentile(95.0));
+        assertPrecision(99000000L, histogram.getValueAtPercentile(99.0));
+        assertPrecision(100000000L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void testRandomValuesWithinPrecision() {
+        Random random = new Random(5L);
+        for (int i = 0; i < 1000; i++) {
+            long value = (long) (Math.pow(10, random.nextDouble() * 12));
+            Histogram histogram = new Histogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+
+            assertPrecision(value, histogram.getValueAtPercentile(50.0));
+        }
+    }
+
+    @Test
+    public void testEmptyAndNegative() {
+        Histogram histogram = new Histogram();
+        assertEquals(0L, histogram.getValueAtPercentile(99.0));
+
+        histogram.record(-5L);
+        assertEquals(1L, histogram.getCount());
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+    }
+
+    private void assertPrecision(long expected, long actual) {
+        assertTrue("Expected " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 32 + 1);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rsl1122
+ */
+public class OpenMetricsWriterTest {
+
+    private OpenMetricsWriter writer;
+
+    @Before
+    public void setUp() {
+        writer = new OpenMetricsWriter();
+    }
+
+    private String getWritten() {
+        return new String(writer.getBuffer(), 0, writer.getLength(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testNumbers() {
+        writer.sample("a", 0L);
+        writer.sample("b", -1234567890123L);
+        writer.sample("c", Long.MIN_VALUE);
+        writer.sample("d", 19.5);
+        writer.sample("e", -0.0000004);
+        writer.sample("f", 0.9999999);
+        writer.sample("g", Double.NaN);
+        writer.sample("h", Double.NEGATIVE_INFINITY);
+
+        String expected = "a 0\n" +
+                "b -1234567890123\n" +
+                "c -9223372036854775808\n" +
+                "d 19.500000\n" +
+                "e 0.000000\n" +
+                "f 1.000000\n" +
+                "g NaN\n" +
+                "h -Inf\n";
+        assertEquals(expected, getWritten());
+    }
+
+    @Test
+    public void testSummaryWithLabels() {
+        MetricGroup<String, Timer> group = new MetricGroup<>(key -> key, Timer::new, "a\"b", "c");
+        group.get("a\"b").record(1500000000L);
+        group.get("a\"b").record(500000000L);
+
+        writer.family("x_seconds", "summary", "Test.");
+        writer.summary("x_seconds", "key", group.getMetrics());
+        writer.end();
+
+        String written = getWritten();
+        assertTrue(written, written.startsWith("# TYPE x_seconds summary\n# HELP x_seconds Test.\n"));
+        assertTrue(written, written.contains("x_seconds{key=\"a\\\"b\",quantile=\"0.99\"} 1.5"));
+        assertTrue(written, written.contains("x_seconds_count{key=\"a\\\"b\"} 2\n"));
+        assertTrue(written, written.contains("x_seconds_sum{key=\"a\\\"b\"} 2.000000\n"));
+        assertTrue(written, written.contains("x_seconds{key=\"c\",quantile=\"0.5\"} 0.000000\n"));
+        assertTrue(written, written.contains("x_seconds_count{key=\"c\"} 0\n"));
+        assertTrue(written, written.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testCountersWithLabels() {
+        MetricGroup<Class<?>, Counter> group = new MetricGroup<>(Class::getSimpleName, Counter::new);
+        group.get(String.class).add(3L);
+
+        writer.counters("errors", "class", group.getMetrics());
+
+        assertEquals("errors_total{class=\"String\"} 3\n", getWritten());
+    }
+
+    @Test
+    public void testBufferIsReused() {
+        for (int i = 0; i < 2000; i++) {
+            writer.sample("metric", i);
+        }
+        byte[] buffer = writer.getBuffer();
+
+        writer.reset();
+        writer.sample("metric", 1L);
+
+        assertSame(buffer, writer.getBuffer());
+        assertEquals("metric 1\n", getWritten());
+    }
+}
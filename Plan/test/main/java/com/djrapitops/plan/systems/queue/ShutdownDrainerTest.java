@@ -0,0 +1,153 @@
+package main.java.com.djrapitops.plan.systems.queue;
+
+import main.java.com.djrapitops.plan.data.container.PlayerKill;
+import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.database.Database;
+import main.java.com.djrapitops.plan.database.tables.SessionsTable;
+import main.java.com.djrapitops.plan.systems.cache.SessionCache;
+import main.java.com.djrapitops.plan.systems.processing.Processor;
+import main.java.com.djrapitops.plan.systems.processing.player.EndSessionProcessor;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import test.java.utils.TestInit;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Rsl1122
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(JavaPlugin.class)
+public class ShutdownDrainerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final UUID uuid = UUID.randomUUID();
+    private Database db;
+    private SessionsTable sessionsTable;
+    private File spillFile;
+
+    @Before
+    public void setUp() throws Exception {
+        TestInit.init();
+        SessionCache.clear();
+        db = mock(Database.class);
+        sessionsTable = mock(SessionsTable.class);
+        when(db.getSessionsTable()).thenReturn(sessionsTable);
+        spillFile = new File(temporaryFolder.getRoot(), "unsaved-sessions.json");
+    }
+
+    @After
+    public void tearDown() {
+        SessionCache.clear();
+    }
+
+    private Session cacheActiveSession() {
+        Session session = new Session(1000L, "World", "SURVIVAL");
+        SessionCache.getActiveSessions().put(uuid, session);
+        return session;
+    }
+
+    private List<Processor> leftovers(Processor... others) {
+        List<Processor> leftovers = new ArrayList<>(Arrays.asList(others));
+        leftovers.add(new EndSessionProcessor(uuid, 2000L));
+        return leftovers;
+    }
+
+    @Test
+    public void testDrainSavesEndedSessions() throws Exception {
+        Session session = cacheActiveSession();
+        AtomicBoolean processed = new AtomicBoolean();
+        Processor other = new Processor<String>("Other") {
+            @Override
+            public void process() {
+                processed.set(true);
+            }
+        };
+
+        new ShutdownDrainer(db, spillFile, 5000L, 2).drain(leftovers(other));
+
+        verify(sessionsTable).saveSessions(Collections.singletonMap(uuid, Collections.singletonList(session)));
+        assertEquals(2000L, session.getSessionEnd());
+        assertTrue(processed.get());
+        assertTrue(SessionCache.getActiveSessions().isEmpty());
+        assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void testDrainSpillsSessionsWhenSaveFails() throws Exception {
+        Session session = cacheActiveSession();
+        doThrow(new SQLException("Test")).when(sessionsTable).saveSessions(any());
+
+        new ShutdownDrainer(db, spillFile, 5000L, 1).drain(leftovers());
+
+        assertEquals(Collections.singletonList(session), ShutdownDrainer.readSpill(spillFile).get(uuid));
+    }
+
+    @Test
+    public void testDrainSpillsSessionsStillBeingSavedAtDeadline() throws Exception {
+        Session session = cacheActiveSession();
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saveStarted.countDown();
+            // A save that does not react to the interrupt of shutdownNow.
+            while (true) {
+                try {
+                    releaseSave.await();
+                    return null;
+                } catch (InterruptedException ignored) {
+                    /* Keeps saving */
+                }
+            }
+        }).when(sessionsTable).saveSessions(any());
+
+        try {
+            new ShutdownDrainer(db, spillFile, 100L, 1).drain(leftovers());
+
+            assertTrue(saveStarted.await(1L, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(session), ShutdownDrainer.readSpill(spillFile).get(uuid));
+        } finally {
+            releaseSave.countDown();
+        }
+    }
+
+    @Test
+    public void testSpillFileRoundTrip() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        Session session = new Session(1000L, "World", "SURVIVAL");
+        session.changeState("World_nether", "CREATIVE", 2000L);
+        session.playerKilled(new PlayerKill(UUID.randomUUID(), "Diamond Sword", 2500L));
+        session.mobKilled();
+        session.endSession(3000L);
+
+        Session otherSession = new Session(4000L, "World", "SURVIVAL");
+        otherSession.endSession(5000L);
+
+        File spillFile = new File(temporaryFolder.getRoot(), "unsaved-sessions.json");
+        ShutdownDrainer.writeSpill(spillFile, Collections.singletonMap(uuid, Collections.singletonList(session)));
+        ShutdownDrainer.writeSpill(spillFile, Collections.singletonMap(uuid, Collections.singletonList(otherSession)));
+
+        Map<UUID, List<Session>> read = ShutdownDrainer.readSpill(spillFile);
+
+        assertEquals(Collections.singleton(uuid), read.keySet());
+        assertEquals(Arrays.asList(session, otherSession), read.get(uuid));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.tasks;
+
+import main.java.com.djrapitops.plan.data.container.JVMStats;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rsl1122
+ */
+public class JVMStatsSamplerTest {
+
+    @Test
+    public void testGarbageCollectionIsDifferenceSincePreviousSample() {
+        TestCollector young = new TestCollector("G1 Young Generation", 10, 100L);
+        TestCollector old = new TestCollector("G1 Old Generation", 1, 500L);
+        JVMStatsSampler sampler = new JVMStatsSampler(Arrays.asList(young, old));
+
+        young.collect(3, 45L);
+        old.collect(1, 250L);
+        JVMStats first = sampler.sample(1000L);
+
+        assertEquals(1000L, first.getDate());
+        assertEquals(3, first.getYoungGCCount());
+        assertEquals(45L, first.getYoungGCTime());
+        assertEquals(1, first.getOldGCCount());
+        assertEquals(250L, first.getOldGCTime());
+        assertEquals(295L, first.getGCTime());
+
+        young.collect(2, 20L);
+        JVMStats second = sampler.sample(2000L);
+
+        assertEquals(2, second.getYoungGCCount());
+        assertEquals(20L, second.getYoungGCTime());
+        assertEquals(0, second.getOldGCCount());
+        assertEquals(0L, second.getOldGCTime());
+    }
+
+    @Test
+    public void testUnavailableCollectorValuesAreNotNegative() {
+        TestCollector collector = new TestCollector("PS MarkSweep", -1, -1L);
+        JVMStatsSampler sampler = new JVMStatsSampler(Collections.singletonList(collector));
+
+        collector.collect(3, 30L);
+        JVMStats stats = sampler.sample(1000L);
+
+        assertEquals(2, stats.getOldGCCount());
+        assertEquals(29L, stats.getOldGCTime());
+        assertEquals(0, stats.getYoungGCCount());
+    }
+
+    @Test
+    public void testAllocationRateCountsHeapAllocatedBetweenSamples() {
+        JVMStatsSampler sampler = new JVMStatsSampler(Collections.emptyList());
+        double idleRate = sampler.sample(1000L).getAllocationRate();
+        if (idleRate == -1) {
+            // Allocation counting is not supported by this JVM.
+            return;
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < 64; i++) {
+            byte[] allocated = new byte[1000000];
+            allocated[i] = 1;
+            checksum += allocated.length;
+        }
+        JVMStats stats = sampler.sample(2000L);
+
+        assertEquals(64000000L, checksum);
+        assertTrue(String.valueOf(stats.getAllocationRate()), stats.getAllocationRate() > 0);
+    }
+
+    private static class TestCollector implements GarbageCollectorMXBean {
+        private final String name;
+        private long collectionCount;
+        private long collectionTime;
+
+        TestCollector(String name, long collectionCount, long collectionTime) {
+            this.name = name;
+            this.collectionCount = collectionCount;
+            this.collectionTime = collectionTime;
+        }
+
+        void collect(int count, long time) {
+            collectionCount += count;
+            collectionTime += time;
+        }
+
+        @Override
+        public long getCollectionCount() {
+            return collectionCount;
+        }
+
+        @Override
+        public long getCollectionTime() {
+            return collectionTime;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public String[] getMemoryPoolNames() {
+            return new String[0];
+        }
+
+        @Override
+        public ObjectName getObjectName() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.systems.webserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import test.java.utils.MockUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Rsl1122
+ */
+public class LiveEventBroadcasterTest {
+
+    private LiveEventBroadcaster liveEvents;
+
+    @Before
+    public void setUp() {
+        liveEvents = new LiveEventBroadcaster();
+    }
+
+    @After
+    public void tearDown() {
+        liveEvents.close();
+    }
+
+    private static String getWritten(HttpExchange exchange) {
+        return new String(((ByteArrayOutputStream) exchange.getResponseBody()).toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String waitForWritten(HttpExchange exchange, String expected) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000L;
+        while (!getWritten(exchange).contains(expected) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(1L);
+        }
+        return getWritten(exchange);
+    }
+
+    @Test
+    public void testLatestEventsAreSentToNewClient() throws InterruptedException {
+        liveEvents.tps(new TPS(1000L, 19.5, 3, 12.5, 512L, 100, 50), 30.0);
+        liveEvents.analysisProgress("fetch");
+
+        HttpExchange exchange = MockUtils.getHttpExchange("GET", "/live", "", new HashMap<>());
+        assertTrue(liveEvents.addClient(exchange));
+
+        String written = waitForWritten(exchange, "event: analysis");
+        assertTrue(written, written.startsWith("retry: 5000\n\n"));
+        assertTrue(written, written.contains("event: tps\ndata: {\"date\":1000,\"playersOnline\":3,\"tps\":19.5,\"tickInterval\":30.0,\"cpu\":12.5,\"ram\":512}\n\n"));
+        assertTrue(written, written.contains("event: analysis\ndata: {\"phase\":\"fetch\""));
+        assertEquals(1, liveEvents.getClientCount());
+    }
+
+    @Test
+    public void testEventIsBroadcastToClients() throws InterruptedException {
+        HttpExchange exchange = MockUtils.getHttpExchange("GET", "/live", "", new HashMap<>());
+        liveEvents.addClient(exchange);
+
+        liveEvents.tps(new TPS(2000L, 20.0, 1, 5.0, 256L, 10, 5), Double.NaN);
+
+        String expected = "event: tps\ndata: {\"date\":2000,\"playersOnline\":1,\"tps\":20.0,\"tickInterval\":-1.0,\"cpu\":5.0,\"ram\":256}\n\n";
+        String written = waitForWritten(exchange, expected);
+        assertTrue(written, written.contains(expected));
+    }
+
+    @Test
+    public void testStalledClientIsDisconnectedWithoutBlockingOthers() throws InterruptedException {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch stallUntil = new CountDownLatch(1);
+        OutputStream stalledStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writeStarted.countDown();
+                try {
+                    stallUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Connection closed");
+            }
+        };
+        HttpExchange stalled = mock(HttpExchange.class);
+        when(stalled.getResponseBody()).thenReturn(stalledStream);
+        HttpExchange exchange = MockUtils.getHttpExchange("GET", "/live", "", new HashMap<>());
+
+        try {
+            liveEvents.addClient(stalled);
+            liveEvents.addClient(exchange);
+            assertEquals(2, liveEvents.getClientCount());
+            assertTrue(writeStarted.await(5L, TimeUnit.SECONDS));
+            // The stalled client queues events until its queue is full, the other client keeps receiving them.
+            for (int i = 0; i < 20; i++) {
+                String phase = "\"phase" + i + "\"";
+                liveEvents.analysisProgress("phase" + i);
+                String written = waitForWritten(exchange, phase);
+                assertTrue(written, written.contains(phase));
+            }
+
+            verify(stalled).close();
+            assertEquals(1, liveEvents.getClientCount());
+        } finally {
+            stallUntil.countDown();
+        }
+    }
+
+    @Test
+    public void testClientsOverLimitAreRefused() throws IOException {
+        for (int i = 0; i < LiveEventBroadcaster.MAX_CLIENTS; i++) {
+            assertTrue(liveEvents.addClient(MockUtils.getHttpExchange("GET", "/live", "", new HashMap<>())));
+        }
+        HttpExchange refused = mock(HttpExchange.class);
+
+        assertFalse(liveEvents.addClient(refused));
+        assertEquals(LiveEventBroadcaster.MAX_CLIENTS, liveEvents.getClientCount());
+        verify(refused, never()).sendResponseHeaders(anyInt(), anyLong());
+    }
+}
@@ -4,6 +4,9 @@
  */
 package main.java.com.djrapitops.plan.ui.graphs;
 
+import com.djrapitops.plugin.api.TimeAmount;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import main.java.com.djrapitops.plan.data.container.Session;
 import main.java.com.djrapitops.plan.data.container.TPS;
 import main.java.com.djrapitops.plan.data.time.WorldTimes;
@@ -93,6 +96,43 @@ public class GraphTest {
         }
     }
 
+    @Test
+    public void testGraphCreatorsCreateJson() throws Exception {
+        String[] series = new String[]{
+                CPUGraphCreator.buildSeriesDataString(tpsList),
+                PunchCardGraphCreator.createDataSeries(sessionList),
+                SeriesCreator.seriesGraph(points, false, false)
+        };
+        for (String test : series) {
+            // Fails on values that are not valid JSON, such as unquoted keys.
+            JsonElement json = new Gson().getAdapter(JsonElement.class).fromJson(test);
+            Assert.assertTrue(json.isJsonArray());
+        }
+    }
+
+    @Test
+    public void testSeriesCreatorSkipsNaN() {
+        List<Point> nanPoints = Arrays.asList(new Point(1, 1.0), new Point(2, Double.NaN), new Point(3, 3.0));
+        assertEquals("[[1,1.0],[3,3.0]]", SeriesCreator.seriesGraph(nanPoints, false, false));
+    }
+
+    @Test
+    public void testSeriesCreatorReducesEachRange() {
+        List<Point> minutes = new ArrayList<>();
+        long minute = TimeAmount.MINUTE.ms();
+        // 40 days, so that there are points older than a month.
+        for (long date = 0; date < TimeAmount.DAY.ms() * 40L; date += minute) {
+            minutes.add(new Point(date, date % 7));
+        }
+
+        String series = SeriesCreator.seriesGraph(minutes, false, 100);
+
+        // Older than a month, month, week and day are each reduced to 100 points.
+        assertEquals(400, StringUtils.countMatches(series, "],[") + 1);
+        Point last = minutes.get(minutes.size() - 1);
+        Assert.assertTrue(series.endsWith("[" + (long) last.getX() + "," + last.getY() + "]]"));
+    }
+
     @Test
     public void testSeriesCreator() {
         String result = StringUtils.removeAll(SeriesCreator.seriesGraph(points, false, false), "[\\[\\]]");
@@ -0,0 +1,81 @@
+/*
+ * Licence is provided in the jar as license.yml also here:
+ * https://github.com/Rsl1122/Plan-PlayerAnalytics/blob/master/Plan/src/main/resources/license.yml
+ */
+package main.java.com.djrapitops.plan.utilities.analysis;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Rsl1122
+ */
+public class LargestTriangleThreeBucketsTest {
+
+    private static double[] range(int length) {
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    @Test
+    public void testFewPointsAreNotReduced() {
+        double[] x = range(5);
+        int[] selected = new int[5];
+
+        int count = LargestTriangleThreeBuckets.reduce(x, x, 0, 5, 10, selected, 0);
+
+        assertEquals(5, count);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, selected);
+    }
+
+    @Test
+    public void testReducedToThreshold() {
+        double[] x = range(1000);
+        double[] y = new double[1000];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = Math.sin(i / 10.0);
+        }
+        int[] selected = new int[1000];
+
+        int count = LargestTriangleThreeBuckets.reduce(x, y, 0, 1000, 100, selected, 0);
+
+        assertEquals(100, count);
+        assertEquals(0, selected[0]);
+        assertEquals(999, selected[99]);
+        for (int i = 1; i < count; i++) {
+            assertTrue("Indexes not ascending at " + i, selected[i] > selected[i - 1]);
+        }
+    }
+
+    @Test
+    public void testSpikeIsKept() {
+        double[] x = range(1000);
+        double[] y = new double[1000];
+        y[503] = 20.0;
+        int[] selected = new int[1000];
+
+        int count = LargestTriangleThreeBuckets.reduce(x, y, 0, 1000, 10, selected, 0);
+
+        boolean spikeKept = false;
+        for (int i = 0; i < count; i++) {
+            spikeKept |= selected[i] == 503;
+        }
+        assertTrue("Spike was reduced away", spikeKept);
+    }
+
+    @Test
+    public void testRangeIsWrittenAtOffset() {
+        double[] x = range(100);
+        int[] selected = new int[20];
+
+        int count = LargestTriangleThreeBuckets.reduce(x, x, 50, 100, 10, selected, 5);
+
+        assertEquals(10, count);
+        assertEquals(50, selected[5]);
+        assertEquals(99, selected[14]);
+    }
+}
@@ -0,0 +1,79 @@
+package main.java.com.djrapitops.plan.utilities.analysis;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.data.ServerProfile;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import test.java.utils.RandomData;
+import test.java.utils.TestInit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Rsl1122
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(JavaPlugin.class)
+public class TPSStatisticsTest {
+
+    private final long now = 1500000000000L;
+    private List<TPS> tpsData;
+
+    @Before
+    public void setUp() throws Exception {
+        TestInit.init();
+        tpsData = new ArrayList<>(RandomData.randomTPSHistory(5000, now, 10L));
+        // Gap for downtime calculation
+        tpsData.removeIf(tps -> tps.getDate() > now - TimeAmount.HOUR.ms() * 5L && tps.getDate() < now - TimeAmount.HOUR.ms() * 4L);
+        Collections.shuffle(tpsData);
+    }
+
+    @Test
+    public void testWindowsMatchServerProfileCalculations() {
+        long weekAgo = now - TimeAmount.WEEK.ms();
+        long dayAgo = now - TimeAmount.DAY.ms();
+
+        TPSStatistics.Window[] windows = new TPSStatistics(tpsData).calculate(now, dayAgo, weekAgo);
+
+        assertWindow(windows[0], dayAgo);
+        assertWindow(windows[1], weekAgo);
+    }
+
+    private void assertWindow(TPSStatistics.Window window, long after) {
+        List<TPS> expected = tpsData.stream()
+                .filter(tps -> tps.getDate() >= after && tps.getDate() <= now)
+                .sorted((o1, o2) -> Long.compare(o1.getDate(), o2.getDate()))
+                .collect(Collectors.toList());
+
+        assertEquals(expected.size(), window.getCount());
+        assertEquals(ServerProfile.getLowSpikeCount(expected), window.getLowSpikeCount());
+        assertEquals(ServerProfile.serverDownTime(expected), window.getDownTime());
+        assertEquals(ServerProfile.serverIdleTime(expected), window.getIdleTime());
+        assertEquals(ServerProfile.aboveLowThreshold(expected), window.getAboveLowThreshold(), 0.0001);
+        assertEquals(MathUtils.averageDouble(expected.stream().map(TPS::getTicksPerSecond)), window.getAverageTPS(), 0.0001);
+        assertEquals(MathUtils.averageDouble(expected.stream().map(TPS::getCPUUsage).filter(i -> i != 0)), window.getAverageCPU(), 0.0001);
+        assertEquals(MathUtils.averageLong(expected.stream().map(TPS::getUsedMemory).filter(i -> i != 0)), window.getAverageRAM());
+        assertEquals(MathUtils.averageInt(expected.stream().map(TPS::getEntityCount).filter(i -> i != 0)), window.getAverageEntities(), 0.0001);
+        assertEquals(MathUtils.averageInt(expected.stream().map(TPS::getChunksLoaded).filter(i -> i != 0)), window.getAverageChunks(), 0.0001);
+    }
+
+    @Test
+    public void testEmptyData() {
+        TPSStatistics.Window window = new TPSStatistics(new ArrayList<>()).calculate(now, 0)[0];
+
+        assertEquals(0, window.getCount());
+        assertEquals(0, window.getAverageTPS(), 0.0001);
+        assertEquals(1, window.getAboveLowThreshold(), 0.0001);
+        assertEquals(0L, window.getDownTime());
+    }
+}
@@ -0,0 +1,69 @@
+package main.java.com.djrapitops.plan.utilities.analysis;
+
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.systems.tasks.TickSampler;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Rsl1122
+ */
+public class TickStatisticsTest {
+
+    private final long ms = TimeAmount.MILLISECOND.ns();
+
+    @Test
+    public void testNormalTicks() {
+        long[] ticks = new long[20];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = 50L * ms;
+        }
+
+        TickStatistics statistics = new TickStatistics(ticks, ticks.length);
+
+        assertEquals(20.0, statistics.getTPS(), 0.0001);
+        assertEquals(50.0, statistics.getTickIntervalMedian(), 0.0001);
+        assertEquals(50.0, statistics.getTickIntervalPercentile95(), 0.0001);
+        assertEquals(0, statistics.getLagSpikes());
+    }
+
+    @Test
+    public void testLagSpikes() {
+        long[] ticks = new long[100];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = (i % 20 == 0 ? 500L : 60L) * ms;
+        }
+
+        TickStatistics statistics = new TickStatistics(ticks, ticks.length);
+
+        // 95 ticks of 60ms and 5 ticks of 500ms take 8.2 seconds
+        assertEquals(100 / 8.2, statistics.getTPS(), 0.0001);
+        assertEquals(60.0, statistics.getTickIntervalMedian(), 0.0001);
+        assertEquals(60.0, statistics.getTickIntervalPercentile95(), 0.0001);
+        assertEquals(5, statistics.getLagSpikes());
+    }
+
+    @Test
+    public void testNoTicks() {
+        TickStatistics statistics = new TickStatistics(new long[10], 0);
+
+        assertEquals(0, statistics.getTPS(), 0.0001);
+        assertEquals(0, statistics.getTickIntervalMedian(), 0.0001);
+        assertEquals(0, statistics.getLagSpikes());
+    }
+
+    @Test
+    public void testSamplerKeepsNewestTicks() {
+        TickSampler sampler = new TickSampler();
+        int ticks = TickSampler.BUFFER_SIZE + 11;
+        for (int i = 0; i <= ticks; i++) {
+            sampler.run();
+        }
+
+        long[] into = new long[TickSampler.BUFFER_SIZE];
+        assertEquals(ticks, sampler.getTickCount());
+        assertEquals(TickSampler.BUFFER_SIZE, sampler.copyTicks(0, sampler.getTickCount(), into));
+        assertEquals(10, sampler.copyTicks(ticks - 10, sampler.getTickCount(), into));
+    }
+}
@@ -1,17 +1,20 @@
 package test.java.utils;
 
+import com.djrapitops.plugin.api.TimeAmount;
+import main.java.com.djrapitops.plan.data.PlayerProfile;
 import main.java.com.djrapitops.plan.data.WebUser;
+import main.java.com.djrapitops.plan.data.container.GeoInfo;
+import main.java.com.djrapitops.plan.data.container.PlayerKill;
 import main.java.com.djrapitops.plan.data.container.Session;
 import main.java.com.djrapitops.plan.data.container.TPS;
 import main.java.com.djrapitops.plan.data.container.UserInfo;
+import main.java.com.djrapitops.plan.data.time.GMTimes;
+import main.java.com.djrapitops.plan.data.time.WorldTimes;
 import main.java.com.djrapitops.plan.utilities.PassEncryptUtil;
 import main.java.com.djrapitops.plan.utilities.analysis.Point;
 import org.apache.commons.lang3.RandomStringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomData {
@@ -74,4 +77,93 @@ public class RandomData {
         }
         return test;
     }
+
+    /**
+     * Creates a synthetic player base for a server.
+     * <p>
+     * Session counts follow a long tail (most players join a few times, some play every day),
+     * sessions are spread over the last two months and last between a minute and a few hours.
+     *
+     * @param players    Amount of players to create.
+     * @param serverUUID UUID of the server the sessions are placed on.
+     * @param now        Epoch ms to use as the end of the data set.
+     * @param seed       Seed to make the data set reproducible.
+     * @return List of PlayerProfiles with sessions, kills and geolocations.
+     */
+    public static List<PlayerProfile> randomPlayerProfiles(int players, UUID serverUUID, long now, long seed) {
+        Random random = new Random(seed);
+        String[] worlds = new String[]{"world", "world_nether", "world_the_end"};
+        String[] countries = new String[]{"United States", "Germany", "Finland", "United Kingdom", "Brazil", "Russia"};
+        long twoMonths = TimeAmount.MONTH.ms() * 2L;
+
+        List<PlayerProfile> profiles = new ArrayList<>(players);
+        List<UUID> uuids = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            uuids.add(new UUID(seed, i));
+        }
+
+        int sessionID = 1;
+        for (int i = 0; i < players; i++) {
+            UUID uuid = uuids.get(i);
+            long registered = now - (long) (random.nextDouble() * twoMonths);
+            PlayerProfile profile = new PlayerProfile(uuid, "Player" + i, registered);
+            profile.setRegistered(serverUUID, registered);
+
+            // Pareto-like distribution: most players have 1-3 sessions, a few have hundreds.
+            int sessionCount = Math.min(300, (int) (1.0 / Math.pow(1.0 - random.nextDouble(), 1.3)));
+            List<Session> sessions = new ArrayList<>(sessionCount);
+            long spread = Math.max(1L, now - registered);
+            for (int j = 0; j < sessionCount; j++) {
+                long start = registered + (long) (random.nextDouble() * spread);
+                long length = TimeAmount.MINUTE.ms() + (long) (random.nextDouble() * TimeAmount.HOUR.ms() * 3L);
+                long end = Math.min(now, start + length);
+
+                Session session = new Session(sessionID++, start, end, random.nextInt(20), random.nextInt(3));
+                String world = worlds[random.nextInt(worlds.length)];
+                GMTimes gmTimes = new GMTimes();
+                gmTimes.setAllGMTimes(end - start);
+                Map<String, GMTimes> times = new HashMap<>();
+                times.put(world, gmTimes);
+                session.setWorldTimes(new WorldTimes(times));
+                if (random.nextInt(10) == 0) {
+                    UUID victim = uuids.get(random.nextInt(players));
+                    session.playerKilled(new PlayerKill(victim, "Diamond Sword", start + (end - start) / 2));
+                }
+                sessions.add(session);
+            }
+            profile.setSessions(serverUUID, sessions);
+
+            List<GeoInfo> geoInfo = new ArrayList<>();
+            geoInfo.add(new GeoInfo("1.2.3." + random.nextInt(255), countries[random.nextInt(countries.length)], registered));
+            profile.setGeoInformation(geoInfo);
+
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    /**
+     * Creates a synthetic TPS history with one data point per minute.
+     *
+     * @param points Amount of data points.
+     * @param now    Epoch ms of the latest data point.
+     * @param seed   Seed to make the data set reproducible.
+     * @return List of TPS data points in ascending date order.
+     */
+    public static List<TPS> randomTPSHistory(int points, long now, long seed) {
+        Random random = new Random(seed);
+        List<TPS> tpsData = new ArrayList<>(points);
+        long minute = TimeAmount.MINUTE.ms();
+        for (int i = points - 1; i >= 0; i--) {
+            long date = now - i * minute;
+            double tps = random.nextInt(50) == 0 ? random.nextDouble() * 10.0 : 19.0 + random.nextDouble();
+            int players = random.nextInt(100);
+            double cpu = random.nextDouble() * 100.0;
+            long ram = 1000L + random.nextInt(3000);
+            int entities = 500 + random.nextInt(2000);
+            int chunks = 200 + random.nextInt(1000);
+            tpsData.add(new TPS(date, tps, players, cpu, ram, entities, chunks));
+        }
+        return tpsData;
+    }
 }
@@ -29,8 +29,10 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
@@ -98,12 +100,10 @@ public class TestInit {
         when(planMock.getDataFolder()).thenReturn(testFolder);
 
         //  Files
-        File config = new File(getClass().getResource("/config.yml").getPath());
-        when(planMock.getResource("config.yml")).thenReturn(new FileInputStream(config));
-        File analysis = new File(getClass().getResource("/web/server.html").getPath());
-        when(planMock.getResource("/web/server.html")).thenReturn(new FileInputStream(analysis));
-        File player = new File(getClass().getResource("/web/player.html").getPath());
-        when(planMock.getResource("/web/player.html")).thenReturn(new FileInputStream(player));
+        // Streams instead of Files so that resources can also be read from inside a jar (PlanBenchmark)
+        when(planMock.getResource("config.yml")).thenReturn(getClass().getResourceAsStream("/config.yml"));
+        when(planMock.getResource("/web/server.html")).thenReturn(getClass().getResourceAsStream("/web/server.html"));
+        when(planMock.getResource("/web/player.html")).thenReturn(getClass().getResourceAsStream("/web/player.html"));
 
         File tempConfigFile = new File(planMock.getDataFolder(), "config.yml");
         Config iConfig = new Config(tempConfigFile, FileUtil.lines(planMock, "config.yml")) {
@@ -285,9 +285,10 @@ public class TestInit {
     }
 
     private YamlConfiguration mockConfig() throws IOException, InvalidConfigurationException {
-        File configFile = new File(getClass().getResource("/config.yml").getPath());
         YamlConfiguration configuration = new YamlConfiguration();
-        configuration.load(configFile.getAbsolutePath());
+        try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/config.yml"), StandardCharsets.UTF_8)) {
+            configuration.load(reader);
+        }
         return configuration;
     }
 
@@ -0,0 +1,79 @@
+package com.djrapitops.plan.benchmark;
+
+import main.java.com.djrapitops.plan.data.AnalysisData;
+import main.java.com.djrapitops.plan.data.PlayerProfile;
+import main.java.com.djrapitops.plan.utilities.analysis.AnalysisUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the analysis hot paths.
+ *
+ * @author Rsl1122
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalysisBenchmark {
+
+    /**
+     * Holds profiles with an empty activity index cache so that every measured call calculates the index.
+     * <p>
+     * Copying the profiles takes longer than the measured call, so the copies are made once per iteration and
+     * benchmarks using this state measure a single call per iteration.
+     */
+    @State(Scope.Thread)
+    public static class FreshProfiles {
+        List<PlayerProfile> profiles;
+
+        @Setup(Level.Iteration)
+        public void setUp(DataSetState data) {
+            profiles = new ArrayList<>(data.profiles.size());
+            for (PlayerProfile profile : data.profiles) {
+                profiles.add(data.copyWithoutCache(profile));
+            }
+        }
+    }
+
+    @Benchmark
+    public AnalysisData analyze(DataSetState data) {
+        AnalysisData analysisData = new AnalysisData();
+        analysisData.analyze(data.createServerProfile());
+        return analysisData;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 30)
+    public double activityIndex(DataSetState data, FreshProfiles fresh) {
+        double total = 0;
+        for (PlayerProfile profile : fresh.profiles) {
+            total += profile.getActivityIndex(data.now);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 30)
+    public TreeMap<Long, Map<String, Set<UUID>>> activityDataMap(DataSetState data, FreshProfiles fresh) {
+        return AnalysisUtils.turnToActivityDataMap(data.now, fresh.profiles);
+    }
+}
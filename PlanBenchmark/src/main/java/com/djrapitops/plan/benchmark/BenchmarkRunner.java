@@ -0,0 +1,32 @@
+package com.djrapitops.plan.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * <p>
+ * Accepts the regular JMH command line options, eg. {@code -p players=1000 AnalysisBenchmark}.
+ * GC profiler is always added so that allocation rates are reported next to the timings.
+ *
+ * @author Rsl1122
+ */
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        /* Static method class */
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.djrapitops.plan.benchmark;
+
+import main.java.com.djrapitops.plan.Plan;
+import main.java.com.djrapitops.plan.data.PlayerProfile;
+import main.java.com.djrapitops.plan.data.ServerProfile;
+import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import test.java.utils.RandomData;
+import test.java.utils.TestInit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared synthetic data set used by the benchmarks.
+ * <p>
+ * Size of the data set is controlled with the {@code players} parameter, eg. {@code -p players=50000}.
+ * Data is generated with a fixed seed so that results are comparable between runs.
+ *
+ * @author Rsl1122
+ */
+@State(Scope.Benchmark)
+public class DataSetState {
+
+    /**
+     * One TPS data point per minute for 30 days.
+     */
+    private static final int TPS_POINTS = 30 * 24 * 60;
+    private static final long SEED = 1122L;
+
+    @Param({"1000", "50000", "500000"})
+    public int players;
+
+    public Plan plan;
+    public UUID serverUUID;
+    public long now;
+
+    public List<PlayerProfile> profiles;
+    public List<TPS> tpsData;
+    public Map<UUID, List<Session>> sessionsByUser;
+    public List<Session> allSessions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        plan = TestInit.init().getPlanMock();
+        serverUUID = TestInit.getServerUUID();
+        now = MiscUtils.getTime();
+
+        profiles = RandomData.randomPlayerProfiles(players, serverUUID, now, SEED);
+        tpsData = RandomData.randomTPSHistory(TPS_POINTS, now, SEED);
+
+        sessionsByUser = new HashMap<>();
+        allSessions = new ArrayList<>();
+        for (PlayerProfile profile : profiles) {
+            List<Session> sessions = profile.getSessions(serverUUID);
+            sessionsByUser.put(profile.getUuid(), sessions);
+            allSessions.addAll(sessions);
+        }
+    }
+
+    /**
+     * Creates a new ServerProfile from the generated data.
+     * <p>
+     * A new one is needed for each analysis, as ServerProfile caches some calculated values.
+     *
+     * @return ServerProfile containing all generated players and TPS data.
+     */
+    public ServerProfile createServerProfile() {
+        ServerProfile profile = new ServerProfile(serverUUID);
+        profile.setPlayers(new ArrayList<>(profiles));
+        profile.setTps(new ArrayList<>(tpsData));
+        return profile;
+    }
+
+    /**
+     * Creates a copy of a PlayerProfile that shares the sessions of the original.
+     * <p>
+     * Used to avoid the activity index cache inside PlayerProfile.
+     *
+     * @param original PlayerProfile to copy.
+     * @return PlayerProfile without any cached values.
+     */
+    public PlayerProfile copyWithoutCache(PlayerProfile original) {
+        PlayerProfile copy = new PlayerProfile(original.getUuid(), original.getName(), original.getRegistered());
+        copy.setSessions(original.getSessions());
+        return copy;
+    }
+}
@@ -0,0 +1,110 @@
+package com.djrapitops.plan.benchmark;
+
+import main.java.com.djrapitops.plan.data.PlayerProfile;
+import main.java.com.djrapitops.plan.data.ServerProfile;
+import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.data.container.GeoInfo;
+import main.java.com.djrapitops.plan.data.container.UserInfo;
+import main.java.com.djrapitops.plan.database.databases.SQLiteDB;
+import main.java.com.djrapitops.plan.systems.info.server.ServerInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for SQLite queries used when loading data for analysis.
+ *
+ * @author Rsl1122
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DatabaseBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DatabaseState {
+        SQLiteDB db;
+        String dbName;
+
+        @Setup(Level.Trial)
+        public void setUp(DataSetState data) throws Exception {
+            dbName = "benchmark" + data.players;
+            new File(data.plan.getDataFolder(), dbName + ".db").delete();
+            db = new SQLiteDB(data.plan, dbName);
+            db.init();
+
+            UUID serverUUID = data.serverUUID;
+            db.getServerTable().saveCurrentServerInfo(new ServerInfo(-1, serverUUID, "Benchmark", "", 20));
+
+            Map<UUID, UserInfo> users = new HashMap<>();
+            List<UserInfo> userInfo = new ArrayList<>();
+            Map<UUID, List<GeoInfo>> geoInfo = new HashMap<>();
+            for (PlayerProfile profile : data.profiles) {
+                UUID uuid = profile.getUuid();
+                UserInfo info = new UserInfo(uuid, profile.getName(), profile.getRegistered(), false, false);
+                users.put(uuid, info);
+                userInfo.add(info);
+                geoInfo.put(uuid, profile.getGeoInformation());
+            }
+            Map<UUID, List<UserInfo>> allUserInfo = new HashMap<>();
+            allUserInfo.put(serverUUID, userInfo);
+            Map<UUID, Map<UUID, List<Session>>> allSessions = new HashMap<>();
+            allSessions.put(serverUUID, data.sessionsByUser);
+            Map<UUID, List<TPS>> allTPS = new HashMap<>();
+            allTPS.put(serverUUID, data.tpsData);
+
+            db.getUsersTable().insertUsers(users);
+            db.getUserInfoTable().insertUserInfo(allUserInfo);
+            db.getSessionsTable().insertSessions(allSessions, true);
+            db.getTpsTable().insertAllTPS(allTPS);
+            db.getIpsTable().insertAllGeoInfo(geoInfo);
+            db.commit(db.getConnection());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown(DataSetState data) throws SQLException {
+            db.close();
+            new File(data.plan.getDataFolder(), dbName + ".db").delete();
+        }
+    }
+
+    @Benchmark
+    public Map<UUID, List<Session>> sessionsOfServer(DatabaseState state) throws SQLException {
+        return state.db.getSessionsTable().getSessionInfoOfServer();
+    }
+
+    @Benchmark
+    public Map<UUID, Map<UUID, List<Session>>> allSessionsWithExtras(DatabaseState state) throws SQLException {
+        return state.db.getSessionsTable().getAllSessions(true);
+    }
+
+    @Benchmark
+    public List<TPS> tpsData(DatabaseState state, DataSetState data) throws SQLException {
+        return state.db.getTpsTable().getTPSData(data.serverUUID);
+    }
+
+    @Benchmark
+    public Map<UUID, List<GeoInfo>> geoInfo(DatabaseState state) throws SQLException {
+        return state.db.getIpsTable().getAllGeoInfo();
+    }
+
+    @Benchmark
+    public ServerProfile serverProfile(DatabaseState state, DataSetState data) throws SQLException {
+        return state.db.getServerProfile(data.serverUUID);
+    }
+}
@@ -0,0 +1,72 @@
+package com.djrapitops.plan.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import main.java.com.djrapitops.plan.systems.webserver.response.AnalysisPageResponse;
+import main.java.com.djrapitops.plan.systems.webserver.response.Response;
+import main.java.com.djrapitops.plan.utilities.html.graphs.PunchCardGraphCreator;
+import main.java.com.djrapitops.plan.utilities.html.graphs.line.TPSGraphCreator;
+import main.java.com.djrapitops.plan.utilities.html.tables.SessionsTableCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import test.java.utils.MockUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for HTML generation and sending responses.
+ *
+ * @author Rsl1122
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HtmlBenchmark {
+
+    @State(Scope.Thread)
+    public static class PageState {
+        Response response;
+        HttpExchange exchange;
+
+        @Setup(Level.Trial)
+        public void createPage(DataSetState data) {
+            // Sessions table is a realistic sized chunk of the analysis page.
+            String[] sessionsTable = SessionsTableCreator.createTable(data.sessionsByUser, data.allSessions);
+            response = new AnalysisPageResponse(sessionsTable[0]);
+        }
+
+        @Setup(Level.Invocation)
+        public void createExchange() {
+            // New exchange each time, the mock buffers everything that is written to it.
+            exchange = MockUtils.getHttpExchange("GET", "/server", "", new HashMap<>());
+            response.setResponseHeaders(exchange.getResponseHeaders());
+        }
+    }
+
+    @Benchmark
+    public String[] sessionsTable(DataSetState data) {
+        return SessionsTableCreator.createTable(data.sessionsByUser, data.allSessions);
+    }
+
+    @Benchmark
+    public String punchCard(DataSetState data) {
+        return PunchCardGraphCreator.createDataSeries(data.allSessions);
+    }
+
+    @Benchmark
+    public String tpsSeries(DataSetState data) {
+        return TPSGraphCreator.buildSeriesDataString(data.tpsData);
+    }
+
+    @Benchmark
+    public HttpExchange sendResponse(PageState page) throws IOException {
+        page.response.send(page.exchange);
+        return page.exchange;
+    }
+}
@@ -0,0 +1,38 @@
+package com.djrapitops.plan.benchmark;
+
+import main.java.com.djrapitops.plan.utilities.PassEncryptUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for password verification done on every authenticated web request.
+ *
+ * @author Rsl1122
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class PassEncryptBenchmark {
+
+    private String password;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() throws PassEncryptUtil.CannotPerformOperationException {
+        password = "benchmarkPassword";
+        hash = PassEncryptUtil.createHash(password);
+    }
+
+    @Benchmark
+    public boolean verifyPassword() throws PassEncryptUtil.CannotPerformOperationException, PassEncryptUtil.InvalidHashException {
+        return PassEncryptUtil.verifyPassword(password, hash);
+    }
+}
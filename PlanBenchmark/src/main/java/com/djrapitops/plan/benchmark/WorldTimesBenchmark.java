@@ -0,0 +1,105 @@
+package com.djrapitops.plan.benchmark;
+
+import main.java.com.djrapitops.plan.data.time.GMTimes;
+import main.java.com.djrapitops.plan.data.time.WorldTimes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memory used by WorldTimes of loaded sessions to the Map based representation used before.
+ * <p>
+ * Run with {@code -prof gc}, {@code gc.alloc.rate.norm} is the memory needed to hold the world times of all
+ * sessions, as nothing allocated while loading is thrown away.
+ *
+ * @author Rsl1122
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class WorldTimesBenchmark {
+
+    private static final String[] WORLDS = new String[]{"world", "world_nether", "world_the_end"};
+
+    @Param({"100000"})
+    public int sessions;
+
+    /**
+     * Rows of plan_world_times: world index, survival, creative, adventure, spectator.
+     */
+    private long[][] rows;
+    private int[] rowsPerSession;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1122L);
+        rowsPerSession = new int[sessions];
+        List<long[]> generated = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            int worlds = 1 + random.nextInt(WORLDS.length);
+            rowsPerSession[i] = worlds;
+            for (int world = 0; world < worlds; world++) {
+                generated.add(new long[]{world, random.nextInt(3600000), random.nextInt(60000), 0L, 0L});
+            }
+        }
+        rows = generated.toArray(new long[0][]);
+    }
+
+    /**
+     * A new String is created for each world name, like a ResultSet does for each row.
+     *
+     * @param row Row of plan_world_times.
+     * @return Name of the world of the row.
+     */
+    private String worldName(long[] row) {
+        return new String(WORLDS[(int) row[0]].toCharArray());
+    }
+
+    @Benchmark
+    public List<WorldTimes> loadMatrix() {
+        List<WorldTimes> loaded = new ArrayList<>(sessions);
+        int rowIndex = 0;
+        for (int session = 0; session < sessions; session++) {
+            WorldTimes worldTimes = new WorldTimes();
+            for (int i = 0; i < rowsPerSession[session]; i++) {
+                long[] row = rows[rowIndex++];
+                worldTimes.setGMTimesForWorld(worldName(row), row[1], row[2], row[3], row[4]);
+            }
+            loaded.add(worldTimes);
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public List<Map<String, Map<String, Long>>> loadMaps() {
+        String[] gms = GMTimes.getGMKeyArray();
+        List<Map<String, Map<String, Long>>> loaded = new ArrayList<>(sessions);
+        int rowIndex = 0;
+        for (int session = 0; session < sessions; session++) {
+            Map<String, Map<String, Long>> worldTimes = new HashMap<>();
+            for (int i = 0; i < rowsPerSession[session]; i++) {
+                long[] row = rows[rowIndex++];
+                Map<String, Long> gmMap = new HashMap<>();
+                for (int gm = 0; gm < gms.length; gm++) {
+                    gmMap.put(gms[gm], row[gm + 1]);
+                }
+                worldTimes.put(worldName(row), gmMap);
+            }
+            loaded.add(worldTimes);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,334 @@
+package com.djrapitops.plan.benchmark.load;
+
+import main.java.com.djrapitops.plan.Plan;
+import main.java.com.djrapitops.plan.data.container.TPS;
+import main.java.com.djrapitops.plan.data.container.Session;
+import main.java.com.djrapitops.plan.database.databases.MySQLDB;
+import main.java.com.djrapitops.plan.database.databases.SQLDB;
+import main.java.com.djrapitops.plan.database.databases.SQLiteDB;
+import main.java.com.djrapitops.plan.settings.Settings;
+import main.java.com.djrapitops.plan.systems.info.InformationManager;
+import main.java.com.djrapitops.plan.systems.info.server.ServerInfo;
+import main.java.com.djrapitops.plan.systems.processing.CommandProcessor;
+import main.java.com.djrapitops.plan.systems.processing.Processor;
+import main.java.com.djrapitops.plan.systems.processing.TPSInsertProcessor;
+import main.java.com.djrapitops.plan.systems.processing.player.EndSessionProcessor;
+import main.java.com.djrapitops.plan.systems.processing.player.KillProcessor;
+import main.java.com.djrapitops.plan.systems.processing.player.NameProcessor;
+import main.java.com.djrapitops.plan.systems.processing.player.RegisterProcessor;
+import main.java.com.djrapitops.plan.systems.queue.ProcessingQueue;
+import main.java.com.djrapitops.plan.utilities.MiscUtils;
+import main.java.com.djrapitops.plan.utilities.file.FileUtil;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.powermock.api.mockito.PowerMockito;
+import test.java.utils.MockUtils;
+import test.java.utils.TestInit;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Matchers.anyVararg;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Drives the real Processor chain through ProcessingQueue with synthetic events at configurable rates.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.djrapitops.plan.benchmark.load.IngestionLoadTest [--option=value]}
+ * <p>
+ * Options (defaults in parentheses):
+ * <ul>
+ * <li>{@code --db} sqlite or mysql (sqlite). MySQL uses a local MySQL compatible server defined with
+ * {@code --host --port --user --pass --database}</li>
+ * <li>{@code --joins} joins per second (20), {@code --online} players online before players start leaving (200)</li>
+ * <li>{@code --kills} kills per second (50), {@code --commands} commands per second (100)</li>
+ * <li>{@code --tps} TPS rows per second (1), a real server inserts one per minute</li>
+ * <li>{@code --duration} seconds to generate events for (60), {@code --seed} random seed (1122)</li>
+ * </ul>
+ *
+ * @author Rsl1122
+ */
+public class IngestionLoadTest {
+
+    private static final int TICKS_PER_SECOND = 10;
+    private static final String[] COMMANDS = {"/plan", "/home", "/spawn", "/tpa", "/msg", "/warp", "/sethome", "/balance"};
+
+    private final Map<String, String> options;
+    private final Random random;
+
+    private final Map<String, LatencyRecorder> processingLatency = new ConcurrentHashMap<>();
+    private final LatencyRecorder commitLatency = new LatencyRecorder();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Deque<UUID> online = new ArrayDeque<>();
+    private final List<UUID> onlineList = new ArrayList<>();
+
+    private Plan plan;
+    private SQLDB db;
+    private ProcessingQueue processingQueue;
+    private Player victim;
+    private LivingEntity mob;
+    private int registeredPlayers;
+
+    private IngestionLoadTest(Map<String, String> options) {
+        this.options = options;
+        random = new Random(getLong("seed", 1122L));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.out.println("Ignoring unknown argument: " + arg);
+                continue;
+            }
+            String[] split = arg.substring(2).split("=", 2);
+            options.put(split[0], split[1]);
+        }
+        new IngestionLoadTest(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        setUp();
+        File errorFile = new File(plan.getDataFolder(), "Errors.txt");
+        int errorsBefore = errorFile.exists() ? FileUtil.lines(errorFile).size() : 0;
+
+        long durationMs = getLong("duration", 60L) * 1000L;
+        ScheduledExecutorService generator = Executors.newSingleThreadScheduledExecutor();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long start = System.currentTimeMillis();
+        generator.scheduleAtFixedRate(this::tick, 0L, 1000L / TICKS_PER_SECOND, TimeUnit.MILLISECONDS);
+        reporter.scheduleAtFixedRate(() -> printProgress(start), 5L, 5L, TimeUnit.SECONDS);
+
+        Thread.sleep(durationMs);
+        generator.shutdown();
+        generator.awaitTermination(10L, TimeUnit.SECONDS);
+        long generationEnd = System.currentTimeMillis();
+
+        // Let the queue drain before calculating sustained throughput.
+        long drainDeadline = generationEnd + 5L * 60L * 1000L;
+        while (getProcessed() + dropped.get() < submitted.get() && System.currentTimeMillis() < drainDeadline) {
+            Thread.sleep(100L);
+        }
+        long end = System.currentTimeMillis();
+        reporter.shutdown();
+
+        printSummary(start, generationEnd, end);
+        int errorsAfter = errorFile.exists() ? FileUtil.lines(errorFile).size() : 0;
+        System.out.println("Errors logged: " + (errorsAfter - errorsBefore) + " (see " + errorFile.getAbsolutePath() + ")");
+
+        processingQueue.stop();
+        db.close();
+    }
+
+    private void setUp() throws Exception {
+        plan = TestInit.init().getPlanMock();
+
+        InformationManager infoManager = PowerMockito.mock(InformationManager.class);
+        when(plan.getInfoManager()).thenReturn(infoManager);
+
+        db = createDatabase();
+        db.init();
+        when(plan.getDB()).thenReturn(db);
+        db.getServerTable().saveCurrentServerInfo(new ServerInfo(-1, TestInit.getServerUUID(), "LoadTest", "", 20));
+
+        processingQueue = new ProcessingQueue();
+        when(plan.getProcessingQueue()).thenReturn(processingQueue);
+        // Processors that queue other processors (RegisterProcessor) go through the same path as the generator.
+        doAnswer(invocation -> {
+            for (Object argument : invocation.getArguments()) {
+                if (argument instanceof Processor[]) {
+                    for (Processor processor : (Processor[]) argument) {
+                        queue(processor);
+                    }
+                } else {
+                    queue((Processor) argument);
+                }
+            }
+            return null;
+        }).when(plan).addToProcessQueue(anyVararg());
+
+        victim = MockUtils.mockPlayer2();
+        mob = PowerMockito.mock(LivingEntity.class);
+    }
+
+    private SQLDB createDatabase() {
+        String type = options.getOrDefault("db", "sqlite");
+        if ("mysql".equalsIgnoreCase(type)) {
+            plan.getMainConfig().set(Settings.DB_HOST.getPath(), options.getOrDefault("host", "localhost"));
+            plan.getMainConfig().set(Settings.DB_PORT.getPath(), (int) getLong("port", 3306L));
+            plan.getMainConfig().set(Settings.DB_USER.getPath(), options.getOrDefault("user", "root"));
+            plan.getMainConfig().set(Settings.DB_PASS.getPath(), options.getOrDefault("pass", ""));
+            plan.getMainConfig().set(Settings.DB_DATABASE.getPath(), options.getOrDefault("database", "plan_loadtest"));
+            return new MySQLDB(plan) {
+                @Override
+                public void commit(Connection connection) throws SQLException {
+                    timedCommit(connection, super::commit);
+                }
+            };
+        }
+        String dbName = "loadtest" + MiscUtils.getTime();
+        return new SQLiteDB(plan, dbName) {
+            @Override
+            public void commit(Connection connection) throws SQLException {
+                timedCommit(connection, super::commit);
+            }
+        };
+    }
+
+    private void timedCommit(Connection connection, CommitAction commit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            commit.commit(connection);
+        } finally {
+            commitLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private void queue(Processor processor) {
+        if (processor == null) {
+            return;
+        }
+        String name = processor.getClass().getSimpleName();
+        LatencyRecorder recorder = processingLatency.computeIfAbsent(name, key -> new LatencyRecorder());
+        submitted.incrementAndGet();
+        if (!processingQueue.addToQueue(new TimedProcessor(processor, recorder))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void tick() {
+        try {
+            long time = MiscUtils.getTime();
+            for (int i = 0; i < eventsThisTick("joins", 20L); i++) {
+                join(time);
+            }
+            for (int i = 0; i < eventsThisTick("kills", 50L); i++) {
+                kill(time);
+            }
+            for (int i = 0; i < eventsThisTick("commands", 100L); i++) {
+                plan.addToProcessQueue(new CommandProcessor(COMMANDS[random.nextInt(COMMANDS.length)]));
+            }
+            for (int i = 0; i < eventsThisTick("tps", 1L); i++) {
+                plan.addToProcessQueue(new TPSInsertProcessor(tpsMinute(time)));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Spreads a per second rate over the ticks of a second, randomly rounding the remainder.
+     */
+    private int eventsThisTick(String option, long defaultPerSecond) {
+        double perTick = getLong(option, defaultPerSecond) / (double) TICKS_PER_SECOND;
+        int events = (int) perTick;
+        if (random.nextDouble() < perTick - events) {
+            events++;
+        }
+        return events;
+    }
+
+    private void join(long time) {
+        UUID uuid = new UUID(getLong("seed", 1122L), registeredPlayers);
+        String name = "LoadTest" + registeredPlayers;
+        registeredPlayers++;
+
+        plan.getDataCache().cacheSession(uuid, Session.start(time, "world", "SURVIVAL"));
+        plan.addToProcessQueue(new RegisterProcessor(uuid, time, time, name, online.size(),
+                new NameProcessor(uuid, name, name)));
+        online.add(uuid);
+        onlineList.add(uuid);
+
+        if (online.size() > getLong("online", 200L)) {
+            UUID leaving = online.poll();
+            onlineList.remove(leaving);
+            plan.addToProcessQueue(new EndSessionProcessor(leaving, time));
+        }
+    }
+
+    private void kill(long time) {
+        if (onlineList.isEmpty()) {
+            return;
+        }
+        UUID killer = onlineList.get(random.nextInt(onlineList.size()));
+        LivingEntity dead = random.nextInt(4) == 0 ? victim : mob;
+        plan.addToProcessQueue(new KillProcessor(killer, time, dead, "Diamond Sword"));
+    }
+
+    private List<TPS> tpsMinute(long time) {
+        List<TPS> history = new ArrayList<>(60);
+        for (int i = 59; i >= 0; i--) {
+            history.add(new TPS(time - i * 1000L, 19.0 + random.nextDouble(), online.size(),
+                    random.nextDouble() * 100.0, 1000L + random.nextInt(3000),
+                    500 + random.nextInt(2000), 200 + random.nextInt(1000)));
+        }
+        return history;
+    }
+
+    private long getProcessed() {
+        long processed = 0;
+        for (LatencyRecorder recorder : processingLatency.values()) {
+            processed += recorder.getCount();
+        }
+        return processed;
+    }
+
+    private void printProgress(long start) {
+        long seconds = Math.max(1L, (System.currentTimeMillis() - start) / 1000L);
+        long processed = getProcessed();
+        System.out.println("[" + seconds + "s] submitted: " + submitted.get()
+                + ", processed: " + processed + " (" + processed / seconds + "/s)"
+                + ", queue depth: " + processingQueue.size()
+                + ", dropped: " + dropped.get());
+    }
+
+    private void printSummary(long start, long generationEnd, long end) {
+        long processed = getProcessed();
+        double seconds = (end - start) / 1000.0;
+        System.out.println();
+        System.out.println("Database: " + db.getName());
+        System.out.println("Generated events for " + (generationEnd - start) / 1000.0 + "s, drained in "
+                + (end - generationEnd) / 1000.0 + "s");
+        System.out.println("Submitted: " + submitted.get() + ", processed: " + processed + ", dropped: " + dropped.get()
+                + ", left in queue: " + processingQueue.size());
+        System.out.println(String.format("Sustained throughput: %.1f processors/s", processed / seconds));
+        System.out.println();
+        System.out.println(String.format("%-24s %10s %10s %10s %10s %10s", "Latency (ms)", "count", "p50", "p95", "p99", "max"));
+        for (Map.Entry<String, LatencyRecorder> entry : processingLatency.entrySet()) {
+            printPercentiles(entry.getKey(), entry.getValue());
+        }
+        printPercentiles("DB commit", commitLatency);
+    }
+
+    private void printPercentiles(String name, LatencyRecorder recorder) {
+        double[] p = recorder.getPercentilesMs(0.5, 0.95, 0.99, 1.0);
+        System.out.println(String.format("%-24s %10d %10.2f %10.2f %10.2f %10.2f", name, recorder.getCount(), p[0], p[1], p[2], p[3]));
+    }
+
+    private long getLong(String option, long defaultValue) {
+        String value = options.get(option);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    private interface CommitAction {
+        void commit(Connection connection) throws SQLException;
+    }
+}
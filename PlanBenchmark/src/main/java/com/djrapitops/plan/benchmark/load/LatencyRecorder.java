@@ -0,0 +1,48 @@
+package com.djrapitops.plan.benchmark.load;
+
+import java.util.Arrays;
+
+/**
+ * Records latency samples and calculates percentiles from them.
+ * <p>
+ * Samples are kept in a growing array, which is fine for the length of a load test run.
+ *
+ * @author Rsl1122
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Get percentiles of recorded samples.
+     *
+     * @param percentiles Percentiles between 0.0 and 1.0.
+     * @return Latencies in ms in same order as the given percentiles, zeroes if nothing was recorded.
+     */
+    public synchronized double[] getPercentilesMs(double... percentiles) {
+        double[] results = new double[percentiles.length];
+        if (count == 0) {
+            return results;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            int index = (int) Math.ceil(percentiles[i] * count) - 1;
+            index = Math.max(0, Math.min(count - 1, index));
+            results[i] = sorted[index] / 1000000.0;
+        }
+        return results;
+    }
+}
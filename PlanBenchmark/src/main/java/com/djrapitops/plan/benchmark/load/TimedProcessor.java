@@ -0,0 +1,29 @@
+package com.djrapitops.plan.benchmark.load;
+
+import main.java.com.djrapitops.plan.systems.processing.Processor;
+
+/**
+ * Processor that wraps a real Processor and records the time from queueing to the end of processing.
+ *
+ * @author Rsl1122
+ */
+public class TimedProcessor extends Processor<Processor> {
+
+    private final LatencyRecorder recorder;
+    private final long queuedAt;
+
+    public TimedProcessor(Processor processor, LatencyRecorder recorder) {
+        super(processor);
+        this.recorder = recorder;
+        queuedAt = System.nanoTime();
+    }
+
+    @Override
+    public void process() {
+        try {
+            object.process();
+        } finally {
+            recorder.record(System.nanoTime() - queuedAt);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
 import main.java.com.djrapitops.plan.data.element.InspectContainer;
 import main.java.com.djrapitops.plan.data.element.TableContainer;
 import main.java.com.djrapitops.plan.data.plugin.ContainerSize;
+import main.java.com.djrapitops.plan.data.plugin.PlayerColumns;
 import main.java.com.djrapitops.plan.data.plugin.PluginData;
 import main.java.com.djrapitops.plan.utilities.analysis.MathUtils;
 import me.ryanhamshire.GriefPrevention.Claim;
@@ -16,6 +17,7 @@ import me.ryanhamshire.GriefPrevention.DataStore;
 import me.ryanhamshire.GriefPrevention.PlayerData;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -28,6 +30,8 @@ import java.util.stream.Collectors;
  */
 public class GriefPreventionData extends PluginData {
 
+    private static final String CLAIMED_AREA = "claimed_area";
+
     private final DataStore dataStore;
 
     public GriefPreventionData(DataStore dataStore) {
@@ -68,14 +72,25 @@ public class GriefPreventionData extends PluginData {
 
     @Override
     public AnalysisContainer getServerData(Collection<UUID> collection, AnalysisContainer analysisContainer) throws Exception {
-        Map<UUID, Integer> area = dataStore.getClaims().stream()
+        // All claims are read once, batches only look up the owners.
+        Map<UUID, Long> claimedArea = dataStore.getClaims().stream()
                 .filter(Objects::nonNull)
-                .collect(Collectors.toMap(claim -> claim.ownerID, Claim::getArea));
+                .filter(claim -> claim.ownerID != null)
+                .collect(Collectors.toMap(claim -> claim.ownerID, claim -> (long) claim.getArea(), Long::sum));
+
+        PlayerColumns area = PlayerColumns.fetch(batch -> {
+            List<UUID> uuids = batch.getUuids();
+            for (int i = 0; i < uuids.size(); i++) {
+                Long ownedArea = claimedArea.get(uuids.get(i));
+                if (ownedArea != null) {
+                    batch.setLong(CLAIMED_AREA, i, ownedArea);
+                }
+            }
+        }, collection);
 
-        long totalArea = MathUtils.sumLong(area.values().stream().map(i -> (long) i));
-        analysisContainer.addValue(getWithIcon("Total Claimed Area", "map-o", "blue-grey"), totalArea);
+        analysisContainer.addValue(getWithIcon("Total Claimed Area", "map-o", "blue-grey"), area.sumLong(CLAIMED_AREA));
 
-        analysisContainer.addPlayerTableValues(getWithIcon("Claimed Area", "map-o"), area);
+        analysisContainer.addPlayerTableValues(getWithIcon("Claimed Area", "map-o"), area.toLongMap(CLAIMED_AREA, total -> total));
 
         return analysisContainer;
     }
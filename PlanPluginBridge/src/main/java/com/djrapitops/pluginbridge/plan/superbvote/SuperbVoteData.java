@@ -7,12 +7,13 @@ package com.djrapitops.pluginbridge.plan.superbvote;
 import io.minimum.minecraft.superbvote.storage.VoteStorage;
 import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
 import main.java.com.djrapitops.plan.data.element.InspectContainer;
+import main.java.com.djrapitops.plan.data.plugin.BatchedServerData;
 import main.java.com.djrapitops.plan.data.plugin.ContainerSize;
+import main.java.com.djrapitops.plan.data.plugin.PerPlayerBatch;
+import main.java.com.djrapitops.plan.data.plugin.PlayerColumns;
 import main.java.com.djrapitops.plan.data.plugin.PluginData;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -20,14 +21,19 @@ import java.util.UUID;
  *
  * @author Rsl1122
  */
-public class SuperbVoteData extends PluginData {
+public class SuperbVoteData extends PluginData implements BatchedServerData {
+    private static final String VOTES = "votes";
+
     private final VoteStorage store;
+    // VoteStorage has no method for getting votes of many players at once.
+    private final PerPlayerBatch votesBatch;
 
     public SuperbVoteData(VoteStorage store) {
         super(ContainerSize.THIRD, "SuperbVote");
         super.setPluginIcon("check");
         super.setIconColor("teal");
         this.store = store;
+        votesBatch = PerPlayerBatch.ofLong(VOTES, store::getVotes);
     }
 
     @Override
@@ -41,17 +47,19 @@ public class SuperbVoteData extends PluginData {
 
     @Override
     public AnalysisContainer getServerData(Collection<UUID> uuids, AnalysisContainer analysisContainer) throws Exception {
-        Map<UUID, Integer> votes = new HashMap<>();
-        long total = 0;
-        for (UUID uuid : uuids) {
-            int votesCount = store.getVotes(uuid);
-            votes.put(uuid, votesCount);
-            total += votesCount;
-        }
+        return getServerData(PlayerColumns.fetch(this, uuids), analysisContainer);
+    }
+
+    @Override
+    public void fetchBatch(PlayerColumns.Batch batch) throws Exception {
+        votesBatch.fetchBatch(batch);
+    }
 
-        analysisContainer.addValue(getWithIcon("Total Votes", "check", "teal"), total);
+    @Override
+    public AnalysisContainer getServerData(PlayerColumns votes, AnalysisContainer analysisContainer) {
+        analysisContainer.addValue(getWithIcon("Total Votes", "check", "teal"), votes.sumLong(VOTES));
 
-        analysisContainer.addPlayerTableValues(getWithIcon("Votes", "check"), votes);
+        analysisContainer.addPlayerTableValues(getWithIcon("Votes", "check"), votes.toLongMap(VOTES, count -> count));
 
         return analysisContainer;
     }
@@ -4,37 +4,44 @@
  */
 package com.djrapitops.pluginbridge.plan.vault;
 
-import com.djrapitops.plugin.utilities.Verify;
 import com.djrapitops.pluginbridge.plan.FakeOfflinePlayer;
 import main.java.com.djrapitops.plan.Plan;
 import main.java.com.djrapitops.plan.data.PlayerProfile;
 import main.java.com.djrapitops.plan.data.ServerProfile;
 import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
 import main.java.com.djrapitops.plan.data.element.InspectContainer;
+import main.java.com.djrapitops.plan.data.plugin.BatchedServerData;
 import main.java.com.djrapitops.plan.data.plugin.ContainerSize;
+import main.java.com.djrapitops.plan.data.plugin.PerPlayerBatch;
+import main.java.com.djrapitops.plan.data.plugin.PlayerColumns;
 import main.java.com.djrapitops.plan.data.plugin.PluginData;
 import main.java.com.djrapitops.plan.utilities.FormatUtils;
 import main.java.com.djrapitops.plan.utilities.analysis.Analysis;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.OfflinePlayer;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.UUID;
 
 /**
  * PluginData for Vault Economy.
  *
  * @author Rsl1122
  */
-public class VaultEcoData extends PluginData {
+public class VaultEcoData extends PluginData implements BatchedServerData {
+
+    private static final String BALANCE = "balance";
 
     private final Economy econ;
+    // Vault has no method for getting many balances at once.
+    private final PerPlayerBatch balanceBatch;
 
     public VaultEcoData(Economy econ) {
         super(ContainerSize.THIRD, "Economy (" + econ.getName() + ")");
         super.setIconColor("green");
         super.setPluginIcon("money");
         this.econ = econ;
+        balanceBatch = PerPlayerBatch.ofDouble(BALANCE, this::getBalance);
     }
 
     @Override
@@ -51,22 +58,24 @@ public class VaultEcoData extends PluginData {
 
     @Override
     public AnalysisContainer getServerData(Collection<UUID> collection, AnalysisContainer analysisContainer) throws Exception {
-        ServerProfile serverProfile = Analysis.getServerProfile();
+        return getServerData(PlayerColumns.fetch(this, collection), analysisContainer);
+    }
+
+    @Override
+    public void fetchBatch(PlayerColumns.Batch batch) throws Exception {
+        balanceBatch.fetchBatch(batch);
+    }
 
-        List<PlayerProfile> profiles = collection.stream()
-                .map(serverProfile::getPlayer)
-                .filter(Verify::notNull)
-                .collect(Collectors.toList());
+    private double getBalance(UUID uuid) {
+        ServerProfile serverProfile = Analysis.getServerProfile();
+        PlayerProfile profile = serverProfile != null ? serverProfile.getPlayer(uuid) : null;
+        return profile != null ? econ.getBalance(profile) : Double.NaN;
+    }
 
-        Map<UUID, String> balances = new HashMap<>();
-        double totalBalance = 0.0;
-        for (PlayerProfile profile : profiles) {
-            double bal = econ.getBalance(profile);
-            totalBalance += bal;
-            balances.put(profile.getUuid(), econ.format(bal));
-        }
-        analysisContainer.addValue(getWithIcon("Server Balance", "money", "green"), FormatUtils.cutDecimals(totalBalance));
-        analysisContainer.addPlayerTableValues(getWithIcon("Balance", "money"), balances);
+    @Override
+    public AnalysisContainer getServerData(PlayerColumns balances, AnalysisContainer analysisContainer) {
+        analysisContainer.addValue(getWithIcon("Server Balance", "money", "green"), FormatUtils.cutDecimals(balances.sumDouble(BALANCE)));
+        analysisContainer.addPlayerTableValues(getWithIcon("Balance", "money"), balances.toDoubleMap(BALANCE, econ::format));
 
         return analysisContainer;
     }
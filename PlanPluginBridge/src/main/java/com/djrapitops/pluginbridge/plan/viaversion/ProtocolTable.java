@@ -16,9 +16,7 @@ import main.java.com.djrapitops.plan.database.tables.Table;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Class responsible for version protocol information in Plan database.
@@ -89,6 +87,39 @@ public class ProtocolTable extends Table {
         });
     }
 
+    /**
+     * Get protocol versions of many players with a single query.
+     *
+     * @param uuids UUIDs of the players, at most a few hundred so that the query stays small.
+     * @return Map of UUID: protocol version, players without a known version are left out.
+     * @throws SQLException DB Error
+     */
+    public Map<UUID, Integer> getProtocolVersions(List<UUID> uuids) throws SQLException {
+        if (uuids.isEmpty()) {
+            return new HashMap<>();
+        }
+        String sql = "SELECT " + columnUUID + ", " + columnProtocolVersion + " FROM " + tableName +
+                " WHERE " + columnUUID + " IN (" + String.join(",", Collections.nCopies(uuids.size(), "?")) + ")";
+
+        return query(new QueryStatement<Map<UUID, Integer>>(sql, uuids.size()) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (int i = 0; i < uuids.size(); i++) {
+                    statement.setString(i + 1, uuids.get(i).toString());
+                }
+            }
+
+            @Override
+            public Map<UUID, Integer> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Integer> versions = new HashMap<>();
+                while (set.next()) {
+                    versions.put(UUID.fromString(set.getString(columnUUID)), set.getInt(columnProtocolVersion));
+                }
+                return versions;
+            }
+        });
+    }
+
     private boolean exists(UUID uuid) throws SQLException {
         return getProtocolVersion(uuid) != -1;
     }
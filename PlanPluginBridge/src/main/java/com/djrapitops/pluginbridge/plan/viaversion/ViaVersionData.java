@@ -8,22 +8,23 @@ import com.djrapitops.plugin.api.utility.log.Log;
 import main.java.com.djrapitops.plan.data.element.AnalysisContainer;
 import main.java.com.djrapitops.plan.data.element.InspectContainer;
 import main.java.com.djrapitops.plan.data.element.TableContainer;
+import main.java.com.djrapitops.plan.data.plugin.BatchedServerData;
 import main.java.com.djrapitops.plan.data.plugin.ContainerSize;
+import main.java.com.djrapitops.plan.data.plugin.PlayerColumns;
 import main.java.com.djrapitops.plan.data.plugin.PluginData;
 
+import java.io.Serializable;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * PluginData for ViaVersion plugin.
  *
  * @author Rsl1122
  */
-public class ViaVersionData extends PluginData {
+public class ViaVersionData extends PluginData implements BatchedServerData {
+
+    private static final String PROTOCOL_VERSION = "protocol_version";
 
     private final ProtocolTable table;
 
@@ -50,17 +51,24 @@ public class ViaVersionData extends PluginData {
 
     @Override
     public AnalysisContainer getServerData(Collection<UUID> collection, AnalysisContainer analysisContainer) throws Exception {
-        Map<UUID, Integer> versions;
+        return getServerData(PlayerColumns.fetch(this, collection), analysisContainer);
+    }
 
-        try {
-            versions = table.getProtocolVersions();
-        } catch (SQLException ex) {
-            Log.toLog(this.getClass().getName(), ex);
-            return analysisContainer;
+    @Override
+    public void fetchBatch(PlayerColumns.Batch batch) throws Exception {
+        List<UUID> uuids = batch.getUuids();
+        Map<UUID, Integer> versions = table.getProtocolVersions(uuids);
+        for (int i = 0; i < uuids.size(); i++) {
+            Integer protocolVersion = versions.get(uuids.get(i));
+            if (protocolVersion != null) {
+                batch.setLong(PROTOCOL_VERSION, i, protocolVersion);
+            }
         }
+    }
 
-        Map<UUID, String> userVersions = versions.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Protocol.getMCVersion(entry.getValue())));
+    @Override
+    public AnalysisContainer getServerData(PlayerColumns columns, AnalysisContainer analysisContainer) {
+        Map<UUID, Serializable> userVersions = columns.toLongMap(PROTOCOL_VERSION, version -> Protocol.getMCVersion((int) version));
 
         analysisContainer.addPlayerTableValues(getWithIcon("Last Version", "signal"), userVersions);
 
@@ -68,7 +76,7 @@ public class ViaVersionData extends PluginData {
         String membersS = getWithIcon("Users", "users");
         TableContainer versionTable = new TableContainer(versionS, membersS);
         versionTable.setColor("light-green");
-        Map<String, Integer> usersPerVersion = getUsersPerVersion(versions);
+        Map<String, Integer> usersPerVersion = getUsersPerVersion(userVersions.values());
         for (Map.Entry<String, Integer> entry : usersPerVersion.entrySet()) {
             versionTable.addRow(entry.getKey(), entry.getValue());
         }
@@ -77,15 +85,11 @@ public class ViaVersionData extends PluginData {
         return analysisContainer;
     }
 
-    private Map<String, Integer> getUsersPerVersion(Map<UUID, Integer> versions) {
+    private Map<String, Integer> getUsersPerVersion(Collection<Serializable> versions) {
         Map<String, Integer> usersPerVersion = new HashMap<>();
 
-        for (int protocolVersion : versions.values()) {
-            String mcVer = Protocol.getMCVersion(protocolVersion);
-            if (!usersPerVersion.containsKey(mcVer)) {
-                usersPerVersion.put(mcVer, 0);
-            }
-            usersPerVersion.replace(mcVer, usersPerVersion.get(mcVer) + 1);
+        for (Serializable mcVer : versions) {
+            usersPerVersion.merge(mcVer.toString(), 1, Integer::sum);
         }
         return usersPerVersion;
     }